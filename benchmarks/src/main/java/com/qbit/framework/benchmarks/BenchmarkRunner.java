@@ -0,0 +1,36 @@
+package com.qbit.framework.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口，参数与 JMH 命令行一致
+ * <p>未指定 {@code -prof} 时默认启用 {@link GCProfiler}（分配速率 gc.alloc.rate.norm）和 {@link ThreadCountProfiler}
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar HttpClientBenchmark -p client=jdk,okhttp -p payloadBytes=1024
+ * </pre>
+ *
+ * @author Qbit Framework
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class).addProfiler(ThreadCountProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
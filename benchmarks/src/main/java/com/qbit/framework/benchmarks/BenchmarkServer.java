@@ -0,0 +1,133 @@
+package com.qbit.framework.benchmarks;
+
+import com.qbit.framework.core.toolkits.http.codec.JsonCodec;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基准测试用的本地 HTTP 服务，基于 JDK 内置 {@link HttpServer}，不依赖网络
+ *
+ * <ul>
+ *   <li>{@code GET /payload?size=N&latencyMs=M}：等待 M 毫秒后返回约 N 字节（至少一个订单，约 0.4KB）的 JSON</li>
+ *   <li>{@code POST /echo?latencyMs=M}：等待 M 毫秒后原样返回请求体</li>
+ * </ul>
+ *
+ * <p>响应体按大小预先生成并缓存，服务端开销不随请求增长；处理线程数不设上限，避免服务端成为瓶颈</p>
+ *
+ * @author Qbit Framework
+ */
+public class BenchmarkServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<Integer, byte[]> payloads = new ConcurrentHashMap<>();
+
+    private BenchmarkServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * 在回环地址的随机端口启动
+     */
+    public static BenchmarkServer start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "bench-server-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        BenchmarkServer benchmarkServer = new BenchmarkServer(server, executor);
+        server.createContext("/payload", benchmarkServer::handlePayload);
+        server.createContext("/echo", benchmarkServer::handleEcho);
+        server.setExecutor(executor);
+        server.start();
+        return benchmarkServer;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public String payloadUrl(int size, int latencyMs) {
+        return baseUrl() + "/payload?size=" + size + "&latencyMs=" + latencyMs;
+    }
+
+    /**
+     * 预先生成指定大小的响应体，避免首个请求承担生成开销
+     */
+    public byte[] payload(int size) {
+        return payloads.computeIfAbsent(size, s -> JsonCodec.jackson().encode(Payloads.ofSize(s)));
+    }
+
+    private void handlePayload(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange);
+        byte[] body = payload(Integer.parseInt(query.getOrDefault("size", "1024")));
+        sleep(query);
+        respond(exchange, body);
+    }
+
+    private void handleEcho(HttpExchange exchange) throws IOException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readAllBytes();
+        }
+        sleep(query(exchange));
+        respond(exchange, body);
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleep(Map<String, String> query) {
+        int latencyMs = Integer.parseInt(query.getOrDefault("latencyMs", "0"));
+        if (latencyMs <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        String raw = exchange.getRequestURI().getRawQuery();
+        Map<String, String> query = new HashMap<>();
+        if (raw == null) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(pair.substring(0, eq), pair.substring(eq + 1));
+            }
+        }
+        return query;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
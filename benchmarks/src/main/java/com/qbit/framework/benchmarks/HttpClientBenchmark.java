@@ -0,0 +1,138 @@
+package com.qbit.framework.benchmarks;
+
+import com.qbit.framework.core.toolkits.http.HttpClient;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpUtils;
+import com.qbit.framework.starter.merchant.config.FeignAutoConfiguration;
+import com.qbit.framework.starter.merchant.properties.FeignApiProperties;
+import feign.Feign;
+import feign.Retryer;
+import okhttp3.OkHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 对比三种出站 HTTP 客户端在本地服务上的吞吐、延迟分位数、分配速率和线程数
+ *
+ * <ul>
+ *   <li>{@code jdk}：{@link HttpUtils#createJdkHttpClient(boolean)}，带链路追踪拦截器</li>
+ *   <li>{@code okhttp}：{@link HttpUtils#createOkHttpClient(boolean)}，带链路追踪拦截器</li>
+ *   <li>{@code feign}：internal-api-starter 的 {@link FeignAutoConfiguration} 装配出的 OkHttp + Feign，带链路追踪拦截器，关闭日志</li>
+ * </ul>
+ *
+ * <p>并发度由 {@code threads1 / threads16 / threads64} 三个方法区分，每个线程同步发请求；
+ * SampleTime 模式输出 p50/p90/p99/p99.9，默认的 {@link BenchmarkRunner} 同时输出 gc.alloc.rate.norm（每次请求分配字节数）和线程数</p>
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar HttpClientBenchmark.threads16 -p payloadBytes=16384 -p latencyMs=5
+ * </pre>
+ *
+ * @author Qbit Framework
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HttpClientBenchmark {
+
+    @Param({"jdk", "okhttp", "feign"})
+    public String client;
+
+    @Param({"256", "16384", "262144"})
+    public int payloadBytes;
+
+    /**
+     * 服务端处理延迟，0 衡量客户端自身开销，非 0 时并发度决定连接数和线程占用
+     */
+    @Param({"0", "5"})
+    public int latencyMs;
+
+    private BenchmarkServer server;
+    private HttpClient httpClient;
+    private OkHttpClient feignOkHttp;
+    private Supplier<byte[]> call;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = BenchmarkServer.start();
+        server.payload(payloadBytes);
+        switch (client) {
+            case "jdk" -> call = toolkitCall(HttpUtils.createJdkHttpClient(true));
+            case "okhttp" -> call = toolkitCall(HttpUtils.createOkHttpClient(true));
+            case "feign" -> call = feignCall();
+            default -> throw new IllegalArgumentException("Unknown client: " + client);
+        }
+    }
+
+    private Supplier<byte[]> toolkitCall(HttpClient httpClient) {
+        this.httpClient = httpClient;
+        HttpRequest request = HttpRequest.builder(server.payloadUrl(payloadBytes, latencyMs)).get().build();
+        return () -> httpClient.execute(request).getBodyBytes();
+    }
+
+    /**
+     * 与应用内的装配一致：复用 {@link FeignAutoConfiguration} 的 Bean 方法，
+     * 重试沿用 Spring Cloud OpenFeign 的默认值（不重试）
+     */
+    private Supplier<byte[]> feignCall() {
+        FeignApiProperties properties = new FeignApiProperties();
+        properties.setLogEnabled(false);
+        FeignAutoConfiguration configuration = new FeignAutoConfiguration();
+        feignOkHttp = configuration.okHttpClient(properties);
+        PayloadApi api = Feign.builder()
+                .client(configuration.feignClient(feignOkHttp))
+                .options(configuration.feignRequestOptions(properties))
+                .requestInterceptor(configuration.feignTraceInterceptor())
+                .retryer(Retryer.NEVER_RETRY)
+                .target(PayloadApi.class, server.baseUrl());
+        return () -> api.payload(payloadBytes, latencyMs);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        if (feignOkHttp != null) {
+            feignOkHttp.dispatcher().executorService().shutdown();
+            feignOkHttp.connectionPool().evictAll();
+        }
+        server.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] threads1() {
+        return call.get();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public byte[] threads16() {
+        return call.get();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public byte[] threads64() {
+        return call.get();
+    }
+}
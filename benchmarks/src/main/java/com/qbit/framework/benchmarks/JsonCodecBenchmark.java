@@ -0,0 +1,64 @@
+package com.qbit.framework.benchmarks;
+
+import com.qbit.framework.core.toolkits.http.codec.JsonCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 {@link JsonCodec} 三种实现在典型订单载荷上的编解码耗时与分配
+ * <p>{@code orders=1} 约 0.4KB，{@code 20} 约 8KB，{@code 500} 约 190KB；解码输入统一由 Jackson 生成
+ *
+ * @author Qbit Framework
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    @Param({"fastjson", "fastjson2", "jackson"})
+    public String codec;
+
+    @Param({"1", "20", "500"})
+    public int orders;
+
+    private JsonCodec jsonCodec;
+    private Payloads.OrderPage page;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jsonCodec = switch (codec) {
+            case "fastjson" -> JsonCodec.fastjson();
+            case "fastjson2" -> JsonCodec.fastjson2();
+            case "jackson" -> JsonCodec.jackson();
+            default -> throw new IllegalArgumentException("Unknown codec: " + codec);
+        };
+        page = Payloads.orders(orders);
+        json = JsonCodec.jackson().encode(page);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return jsonCodec.encode(page);
+    }
+
+    @Benchmark
+    public Payloads.OrderPage decode() {
+        return jsonCodec.decode(json, Payloads.OrderPage.class);
+    }
+}
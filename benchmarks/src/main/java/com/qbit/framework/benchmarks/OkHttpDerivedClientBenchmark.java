@@ -0,0 +1,80 @@
+package com.qbit.framework.benchmarks;
+
+import com.qbit.framework.core.toolkits.http.OkHttpClientImpl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求级超时的开销：复用按超时配置缓存的派生客户端（{@link OkHttpClientImpl} 的做法），对比每次请求 {@code newBuilder().build()}
+ * <p>两组都直接使用 OkHttp，请求打到同一个本地服务，差值即派生客户端的成本，主要看 gc.alloc.rate.norm
+ *
+ * @author Qbit Framework
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class OkHttpDerivedClientBenchmark {
+
+    private static final Duration READ_TIMEOUT = Duration.ofSeconds(5);
+
+    private BenchmarkServer server;
+    private OkHttpClient okHttpClient;
+    private OkHttpClient cachedDerived;
+    private Request request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = BenchmarkServer.start();
+        String url = server.payloadUrl(256, 0);
+        okHttpClient = new OkHttpClient();
+        // 读超时与基础客户端不同，需要派生客户端
+        cachedDerived = okHttpClient.newBuilder()
+                .readTimeout(READ_TIMEOUT)
+                .build();
+        request = new Request.Builder().url(url).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        okHttpClient.dispatcher().executorService().shutdown();
+        okHttpClient.connectionPool().evictAll();
+        server.close();
+    }
+
+    @Benchmark
+    public byte[] cachedDerivedClient() throws IOException {
+        try (Response response = cachedDerived.newCall(request).execute()) {
+            return response.body().bytes();
+        }
+    }
+
+    @Benchmark
+    public byte[] newBuilderPerRequest() throws IOException {
+        OkHttpClient derived = okHttpClient.newBuilder()
+                .readTimeout(READ_TIMEOUT)
+                .build();
+        try (Response response = derived.newCall(request).execute()) {
+            return response.body().bytes();
+        }
+    }
+}
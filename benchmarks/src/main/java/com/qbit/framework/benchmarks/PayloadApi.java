@@ -0,0 +1,15 @@
+package com.qbit.framework.benchmarks;
+
+import feign.Param;
+import feign.RequestLine;
+
+/**
+ * {@link BenchmarkServer} 的 Feign 接口
+ *
+ * @author Qbit Framework
+ */
+public interface PayloadApi {
+
+    @RequestLine("GET /payload?size={size}&latencyMs={latencyMs}")
+    byte[] payload(@Param("size") int size, @Param("latencyMs") int latencyMs);
+}
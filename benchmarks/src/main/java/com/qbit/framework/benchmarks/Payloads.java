@@ -0,0 +1,101 @@
+package com.qbit.framework.benchmarks;
+
+import com.qbit.framework.core.toolkits.http.codec.JsonCodec;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基准测试的典型业务载荷：分页订单列表，字段覆盖字符串、数字、金额、嵌套对象、列表和 Map
+ *
+ * @author Qbit Framework
+ */
+public final class Payloads {
+
+    private static final long BASE_TIME = 1_700_000_000_000L;
+
+    private Payloads() {
+    }
+
+    /**
+     * 包含指定订单数的分页结果
+     */
+    public static OrderPage orders(int count) {
+        OrderPage page = new OrderPage();
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            orders.add(order(i));
+        }
+        page.setOrders(orders);
+        page.setTotal(count);
+        page.setCursor("c-" + count);
+        return page;
+    }
+
+    /**
+     * 序列化后约 {@code bytes} 字节的分页结果，至少包含一个订单
+     */
+    public static OrderPage ofSize(int bytes) {
+        int single = JsonCodec.jackson().encode(orders(1)).length;
+        int perOrder = JsonCodec.jackson().encode(orders(2)).length - single;
+        return orders(1 + Math.max(0, (bytes - single + perOrder - 1) / perOrder));
+    }
+
+    private static Order order(int i) {
+        Order order = new Order();
+        order.setId(100_000L + i);
+        order.setOrderNo(String.format("PO%012d", i));
+        order.setMerchantId("M" + (i % 97));
+        order.setAmount(new BigDecimal("1999.90").add(BigDecimal.valueOf(i, 2)));
+        order.setCurrency("CNY");
+        order.setStatus(i % 3 == 0 ? "PAID" : "CREATED");
+        order.setCreatedAt(BASE_TIME + i * 1000L);
+        List<OrderItem> items = new ArrayList<>(3);
+        for (int j = 0; j < 3; j++) {
+            OrderItem item = new OrderItem();
+            item.setSku("SKU-" + (i * 3 + j));
+            item.setName("商品 " + j);
+            item.setQuantity(j + 1);
+            item.setPrice(new BigDecimal("666.63"));
+            items.add(item);
+        }
+        order.setItems(items);
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("channel", "app");
+        attributes.put("region", "cn-east");
+        order.setAttributes(attributes);
+        return order;
+    }
+
+    @Data
+    public static class OrderPage {
+        private List<Order> orders;
+        private int total;
+        private String cursor;
+    }
+
+    @Data
+    public static class Order {
+        private long id;
+        private String orderNo;
+        private String merchantId;
+        private BigDecimal amount;
+        private String currency;
+        private String status;
+        private long createdAt;
+        private List<OrderItem> items;
+        private Map<String, String> attributes;
+    }
+
+    @Data
+    public static class OrderItem {
+        private String sku;
+        private String name;
+        private int quantity;
+        private BigDecimal price;
+    }
+}
@@ -0,0 +1,69 @@
+package com.qbit.framework.benchmarks;
+
+import com.qbit.framework.core.toolkits.thread.ResizableCapacityBlockingQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 有界线程池队列在生产者、消费者并发下的入队/出队吞吐：
+ * {@link ResizableCapacityBlockingQueue} 对比 {@link LinkedBlockingQueue}
+ * <p>使用不阻塞的 offer/poll，队列满或空时立即返回，测到的是锁竞争本身；4 个生产者对 4 个消费者
+ *
+ * @author Qbit Framework
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskQueueBenchmark {
+
+    private static final Runnable TASK = () -> { };
+
+    @Param({"linked", "resizable"})
+    public String queue;
+
+    @Param({"1024"})
+    public int capacity;
+
+    private BlockingQueue<Runnable> tasks;
+
+    @Setup
+    public void setUp() {
+        tasks = switch (queue) {
+            case "linked" -> new LinkedBlockingQueue<>(capacity);
+            case "resizable" -> new ResizableCapacityBlockingQueue<>(capacity);
+            default -> throw new IllegalArgumentException("Unknown queue: " + queue);
+        };
+    }
+
+    @Benchmark
+    @Group("transfer")
+    @GroupThreads(4)
+    public boolean offer() {
+        return tasks.offer(TASK);
+    }
+
+    @Benchmark
+    @Group("transfer")
+    @GroupThreads(4)
+    public Runnable poll() {
+        return tasks.poll();
+    }
+}
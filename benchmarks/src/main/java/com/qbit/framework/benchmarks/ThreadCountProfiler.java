@@ -0,0 +1,49 @@
+package com.qbit.framework.benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * 统计每轮迭代使用的线程数，用法：{@code -prof com.qbit.framework.benchmarks.ThreadCountProfiler}
+ *
+ * <ul>
+ *   <li>{@code threads.peak}：迭代期间 JVM 存活线程数峰值，包含 JMH 工作线程和本地服务端线程</li>
+ *   <li>{@code threads.started}：迭代期间新建的线程数，持续大于 0 说明客户端在按请求创建线程</li>
+ * </ul>
+ *
+ * @author Qbit Framework
+ */
+public class ThreadCountProfiler implements InternalProfiler {
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private long startedBefore;
+
+    @Override
+    public String getDescription() {
+        return "Peak live threads and threads started per iteration";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        threads.resetPeakThreadCount();
+        startedBefore = threads.getTotalStartedThreadCount();
+    }
+
+    @Override
+    public List<Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                                       IterationResult result) {
+        long started = threads.getTotalStartedThreadCount() - startedBefore;
+        return List.of(
+                new ScalarResult("threads.peak", threads.getPeakThreadCount(), "threads", AggregationPolicy.MAX),
+                new ScalarResult("threads.started", started, "threads", AggregationPolicy.AVG));
+    }
+}
@@ -0,0 +1,50 @@
+package com.qbit.framework.benchmarks;
+
+import com.qbit.framework.core.toolkits.http.interceptor.TokenBucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TokenBucket#reserve(long)} 在竞争下的开销：申请许可是一次 CAS，线程越多重试越多
+ * <p>速率设得足够高，许可永不耗尽，测到的是纯粹的申请成本
+ *
+ * @author Qbit Framework
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenBucketBenchmark {
+
+    private final TokenBucket bucket = new TokenBucket(1e12, 1_000_000, System::nanoTime);
+
+    @Benchmark
+    @Threads(1)
+    public long reserveThreads1() {
+        return bucket.reserve(0);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long reserveThreads8() {
+        return bucket.reserve(0);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public long reserveThreads32() {
+        return bucket.reserve(0);
+    }
+}
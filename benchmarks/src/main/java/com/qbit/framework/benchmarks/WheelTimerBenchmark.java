@@ -0,0 +1,86 @@
+package com.qbit.framework.benchmarks;
+
+import com.qbit.framework.core.toolkits.thread.HashedWheelTimer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 调度后立即取消一个超时任务的开销：{@link HashedWheelTimer} 对比 {@link ScheduledThreadPoolExecutor}
+ * <p>模拟锁续期、请求截止时间等"大多会被取消"的超时；{@code pending} 为预先挂着的长超时任务数，
+ * 延迟队列的插入和删除随之变为 O(log n)，时间轮不受影响。延迟队列开启 removeOnCancel，
+ * 否则取消的任务会一直留到到期
+ *
+ * @author Qbit Framework
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WheelTimerBenchmark {
+
+    private static final Runnable NOOP = () -> {
+    };
+
+    @Param({"0", "100000"})
+    public int pending;
+
+    private HashedWheelTimer wheelTimer;
+    private ScheduledThreadPoolExecutor scheduledExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        wheelTimer = new HashedWheelTimer("bench-wheel", Duration.ofMillis(10), 512, Runnable::run);
+        scheduledExecutor = new ScheduledThreadPoolExecutor(1);
+        scheduledExecutor.setRemoveOnCancelPolicy(true);
+        for (int i = 0; i < pending; i++) {
+            wheelTimer.newTimeout(NOOP, 1, TimeUnit.HOURS);
+            scheduledExecutor.schedule(NOOP, 1, TimeUnit.HOURS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        wheelTimer.stop();
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean wheelTimer() {
+        return wheelTimer.newTimeout(NOOP, 30, TimeUnit.SECONDS).cancel();
+    }
+
+    @Benchmark
+    public boolean scheduledExecutor() {
+        return scheduledExecutor.schedule(NOOP, 30, TimeUnit.SECONDS).cancel(false);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean wheelTimerThreads8() {
+        return wheelTimer.newTimeout(NOOP, 30, TimeUnit.SECONDS).cancel();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean scheduledExecutorThreads8() {
+        return scheduledExecutor.schedule(NOOP, 30, TimeUnit.SECONDS).cancel(false);
+    }
+}
@@ -0,0 +1,39 @@
+package com.qbit.framework.core.web.executor;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 线程池注册表自动配置：配置绑定调参 + Actuator 端点
+ * <p>通过配置 framework.executor.enabled 控制是否启用
+ *
+ * @author Qbit Framework
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(ExecutorTuningProperties.class)
+@ConditionalOnProperty(prefix = ExecutorTuningProperties.PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ExecutorRegistryAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ExecutorTuningApplier executorTuningApplier(Environment environment) {
+        return new ExecutorTuningApplier(environment);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    static class ExecutorsEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ExecutorsEndpoint executorsEndpoint() {
+            return new ExecutorsEndpoint();
+        }
+    }
+}
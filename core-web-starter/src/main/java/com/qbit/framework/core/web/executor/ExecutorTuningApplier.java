@@ -0,0 +1,69 @@
+package com.qbit.framework.core.web.executor;
+
+import com.qbit.framework.core.toolkits.thread.registry.ExecutorRegistry;
+import com.qbit.framework.core.toolkits.thread.registry.ExecutorTuning;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+/**
+ * 将 framework.executor.pools 配置应用到 {@link ExecutorRegistry}
+ * <p>应用启动完成时应用一次；引入 Spring Cloud 时，配置中心刷新触发的 EnvironmentChangeEvent
+ * 会重新绑定配置并再次应用，无需直接依赖 Spring Cloud
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public class ExecutorTuningApplier implements ApplicationListener<ApplicationEvent> {
+
+    private static final String ENVIRONMENT_CHANGE_EVENT =
+            "org.springframework.cloud.context.environment.EnvironmentChangeEvent";
+
+    private static final Bindable<ExecutorTuningProperties> BINDABLE = Bindable.of(ExecutorTuningProperties.class);
+
+    private final Environment environment;
+
+    public ExecutorTuningApplier(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof ApplicationReadyEvent
+                || ENVIRONMENT_CHANGE_EVENT.equals(event.getClass().getName())) {
+            apply();
+        }
+    }
+
+    /**
+     * 从当前 Environment 重新绑定并应用调参配置
+     */
+    public void apply() {
+        ExecutorTuningProperties properties = Binder.get(environment)
+                .bind(ExecutorTuningProperties.PREFIX, BINDABLE)
+                .orElseGet(ExecutorTuningProperties::new);
+        for (Map.Entry<String, ExecutorTuning> entry : properties.getPools().entrySet()) {
+            String name = entry.getKey();
+            ExecutorTuning tuning = entry.getValue();
+            if (tuning == null || tuning.isEmpty()) {
+                continue;
+            }
+            if (ExecutorRegistry.get(name).isEmpty()) {
+                log.warn("Executor [{}] configured under {}.pools is not registered, skipped",
+                        name, ExecutorTuningProperties.PREFIX);
+                continue;
+            }
+            try {
+                ExecutorRegistry.tune(name, tuning);
+            } catch (IllegalArgumentException e) {
+                log.error("Failed to tune executor [{}]: {}", name, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.qbit.framework.core.web.executor;
+
+import com.qbit.framework.core.toolkits.thread.registry.ExecutorTuning;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 线程池在线调参配置
+ * <pre>
+ * framework:
+ *   executor:
+ *     pools:
+ *       order-export:
+ *         core-pool-size: 8
+ *         maximum-pool-size: 32
+ *         queue-capacity: 2000
+ *         rejection-policy: CallerRunsPolicy
+ * </pre>
+ *
+ * @author Qbit Framework
+ */
+@Data
+@ConfigurationProperties(prefix = ExecutorTuningProperties.PREFIX)
+public class ExecutorTuningProperties {
+
+    public static final String PREFIX = "framework.executor";
+
+    /**
+     * 是否启用线程池注册表的调参与端点
+     */
+    private boolean enabled = true;
+
+    /**
+     * 按线程池名称配置的调参项，名称与 {@code ThreadPoolUtils} 创建时的线程名称前缀一致
+     */
+    private Map<String, ExecutorTuning> pools = new LinkedHashMap<>();
+}
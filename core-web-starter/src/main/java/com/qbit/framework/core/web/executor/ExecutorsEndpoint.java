@@ -0,0 +1,52 @@
+package com.qbit.framework.core.web.executor;
+
+import com.qbit.framework.core.toolkits.thread.registry.ExecutorRegistry;
+import com.qbit.framework.core.toolkits.thread.registry.ExecutorStats;
+import com.qbit.framework.core.toolkits.thread.registry.ExecutorTuning;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * 线程池端点
+ * <ul>
+ *   <li>GET  /actuator/executors：所有线程池状态</li>
+ *   <li>GET  /actuator/executors/{name}：指定线程池状态</li>
+ *   <li>POST /actuator/executors/{name}：在线调参，body 为
+ *       {@code {"corePoolSize":8,"maximumPoolSize":32,"queueCapacity":2000,"rejectionPolicy":"CallerRunsPolicy"}}</li>
+ * </ul>
+ * 需通过 management.endpoints.web.exposure.include 暴露
+ *
+ * @author Qbit Framework
+ */
+@Endpoint(id = "executors")
+public class ExecutorsEndpoint {
+
+    @ReadOperation
+    public List<ExecutorStats> executors() {
+        return ExecutorRegistry.stats();
+    }
+
+    @ReadOperation
+    public ExecutorStats executor(@Selector String name) {
+        return ExecutorRegistry.stats(name).orElse(null);
+    }
+
+    @WriteOperation
+    public ExecutorStats tune(@Selector String name,
+                              @Nullable Integer corePoolSize,
+                              @Nullable Integer maximumPoolSize,
+                              @Nullable Integer queueCapacity,
+                              @Nullable String rejectionPolicy) {
+        ExecutorTuning tuning = new ExecutorTuning();
+        tuning.setCorePoolSize(corePoolSize);
+        tuning.setMaximumPoolSize(maximumPoolSize);
+        tuning.setQueueCapacity(queueCapacity);
+        tuning.setRejectionPolicy(rejectionPolicy);
+        return ExecutorRegistry.tune(name, tuning);
+    }
+}
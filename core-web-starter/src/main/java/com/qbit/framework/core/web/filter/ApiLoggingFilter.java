@@ -60,7 +60,11 @@ public class ApiLoggingFilter extends CommonsRequestLoggingFilter implements Ord
     @Override
     protected String getMessagePayload(HttpServletRequest request) {
         if (request instanceof CachedBodyHttpServletRequest caRequest) {
-            return caRequest.getContentAsString();
+            String payload = caRequest.getContentAsString();
+            if (payload.length() > getMaxPayloadLength()) {
+                return payload.substring(0, getMaxPayloadLength()) + "...(truncated)";
+            }
+            return caRequest.isContentTruncated() ? payload + "...(truncated)" : payload;
         }
         return null;
     }
@@ -22,8 +22,9 @@ public class ServiceFiltersConfiguration {
     @Bean
     @ConditionalOnServiceFilter("content-caching")
     @ConditionalOnMissingBean(name = "contentCachingRequestFilter")
-    public FilterRegistrationBean<ContentCachingRequestFilter> contentCachingRequestFilterRegistration() {
-        FilterRegistrationBean<ContentCachingRequestFilter> r = new FilterRegistrationBean<>(new ContentCachingRequestFilter());
+    public FilterRegistrationBean<ContentCachingRequestFilter> contentCachingRequestFilterRegistration(ServiceFiltersProperties properties) {
+        ContentCachingRequestFilter filter = new ContentCachingRequestFilter(Math.toIntExact(properties.getContentCachingLimit().toBytes()));
+        FilterRegistrationBean<ContentCachingRequestFilter> r = new FilterRegistrationBean<>(filter);
         r.setName("contentCachingRequestFilter");
         r.addUrlPatterns("/*");
         r.setOrder(WebFilterOrdered.ContentCachingRequestFilter.getOrder());
@@ -2,6 +2,7 @@ package com.qbit.framework.core.web.filter.config;
 
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 import java.util.List;
 
@@ -16,6 +17,10 @@ public class ServiceFiltersProperties {
     private List<String> exclude;
     private Boolean traceEnabled = true;
     private Boolean contentCachingEnabled = true;
+    /**
+     * 请求体缓存上限，超出部分不缓存（日志和 getContentAsString 只包含前缀），业务仍可读到完整请求体
+     */
+    private DataSize contentCachingLimit = DataSize.ofKilobytes(64);
     private Boolean errorHandlingEnabled = true;
     private Boolean apiLoggingEnabled = true;
 }
\ No newline at end of file
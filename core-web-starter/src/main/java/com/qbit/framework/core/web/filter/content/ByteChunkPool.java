@@ -0,0 +1,49 @@
+package com.qbit.framework.core.web.filter.content;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 固定大小字节块池，请求体缓存按块申请，请求结束后归还，避免每个请求重新分配缓冲区
+ * <p>池满时归还的块直接丢弃，池空时新建，池本身不会阻塞调用方
+ *
+ * @author Qbit Framework
+ */
+final class ByteChunkPool {
+
+    static final int DEFAULT_CHUNK_SIZE = 4 * 1024;
+
+    /**
+     * 最多保留 1024 个块（4MB），超出部分交给 GC
+     */
+    static final ByteChunkPool SHARED = new ByteChunkPool(DEFAULT_CHUNK_SIZE, 1024);
+
+    private final int chunkSize;
+    private final BlockingQueue<byte[]> chunks;
+
+    ByteChunkPool(int chunkSize, int maxPooledChunks) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be > 0");
+        }
+        if (maxPooledChunks <= 0) {
+            throw new IllegalArgumentException("maxPooledChunks must be > 0");
+        }
+        this.chunkSize = chunkSize;
+        this.chunks = new ArrayBlockingQueue<>(maxPooledChunks);
+    }
+
+    int chunkSize() {
+        return chunkSize;
+    }
+
+    byte[] acquire() {
+        byte[] chunk = chunks.poll();
+        return chunk != null ? chunk : new byte[chunkSize];
+    }
+
+    void release(byte[] chunk) {
+        if (chunk.length == chunkSize) {
+            chunks.offer(chunk);
+        }
+    }
+}
@@ -5,34 +5,93 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 /**
+ * 请求体可重复读的请求包装
+ * <p>只缓存请求体的前 {@code cacheLimit} 个字节（池化字节块，边读边缓存），供日志、验签等使用；
+ * 业务代码通过 {@link #getInputStream()} 仍能读到完整请求体，大请求不会整体复制到堆中</p>
+ *
  * @author Qbit Framework
  */
 public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
 
-    private final byte[] cachedBody;
+    private final RequestBodyCache cache;
 
+    /**
+     * 使用已读出的完整请求体
+     */
     public CachedBodyHttpServletRequest(HttpServletRequest request, byte[] cachedBody) {
         super(request);
-        this.cachedBody = cachedBody;
+        this.cache = new RequestBodyCache(cachedBody);
     }
 
+    /**
+     * 按需读取请求体，最多缓存前 {@code cacheLimit} 个字节
+     */
+    public CachedBodyHttpServletRequest(HttpServletRequest request, int cacheLimit) {
+        this(request, cacheLimit, ByteChunkPool.SHARED);
+    }
+
+    CachedBodyHttpServletRequest(HttpServletRequest request, int cacheLimit, ByteChunkPool pool) {
+        super(request);
+        this.cache = new RequestBodyCache(request, pool, cacheLimit);
+    }
+
+    /**
+     * 缓存的请求体内容（最多 {@code cacheLimit} 字节）
+     * <p>业务尚未读取请求体时会先从原始流预读到上限；非阻塞读取开始后只返回已读到的部分</p>
+     */
     public String getContentAsString() {
-        return new String(cachedBody, StandardCharsets.UTF_8);
+        return new String(getContentAsByteArray(), charset());
+    }
+
+    public byte[] getContentAsByteArray() {
+        try {
+            cache.fill();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read request body", e);
+        }
+        return cache.toByteArray();
+    }
+
+    /**
+     * 请求体是否超过缓存上限，为 true 时 {@link #getContentAsString()} 只是前缀
+     */
+    public boolean isContentTruncated() {
+        return cache.isTruncated();
     }
 
     @Override
     public ServletInputStream getInputStream() {
-        return new CachedBodyServletInputStream(cachedBody);
+        return new TeeServletInputStream(cache);
     }
 
     @Override
     public BufferedReader getReader() {
-        return new BufferedReader(
-                new InputStreamReader(getInputStream(), StandardCharsets.UTF_8)
-        );
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset()));
+    }
+
+    /**
+     * 请求处理完成后归还缓存占用的字节块
+     */
+    void release() {
+        cache.release();
+    }
+
+    private Charset charset() {
+        String encoding = getCharacterEncoding();
+        if (encoding == null) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
     }
 }
@@ -1,39 +0,0 @@
-package com.qbit.framework.core.web.filter.content;
-
-import jakarta.servlet.ReadListener;
-import jakarta.servlet.ServletInputStream;
-
-import java.io.ByteArrayInputStream;
-
-/**
- * @author Qbit Framework
- */
-public class CachedBodyServletInputStream extends ServletInputStream {
-
-    private final ByteArrayInputStream buffer;
-
-    public CachedBodyServletInputStream(byte[] cachedBody) {
-        this.buffer = new ByteArrayInputStream(cachedBody);
-    }
-
-    @Override
-    public boolean isFinished() {
-        return buffer.available() == 0;
-    }
-
-    @Override
-    public boolean isReady() {
-        return true;
-    }
-
-    @Override
-    public void setReadListener(ReadListener readListener) {
-        // 不支持异步读取
-        throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public int read() {
-        return buffer.read();
-    }
-}
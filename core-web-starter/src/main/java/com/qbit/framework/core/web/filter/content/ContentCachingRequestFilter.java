@@ -1,5 +1,7 @@
 package com.qbit.framework.core.web.filter.content;
 
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,10 +16,29 @@ import java.io.IOException;
 
 /**
  * 请求流可重复读
+ * <p>请求体不在进入过滤器时整体读出，而是边读边缓存前 {@code cacheLimit} 个字节：
+ * 不超过上限的请求体可以任意次重复读取，更大的请求体只保留前缀用于日志和验签，业务仍按流读到完整内容</p>
  */
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class ContentCachingRequestFilter extends OncePerRequestFilter {
 
+    /**
+     * 默认缓存上限 64KB
+     */
+    public static final int DEFAULT_CACHE_LIMIT = 64 * 1024;
+
+    private final int cacheLimit;
+
+    public ContentCachingRequestFilter() {
+        this(DEFAULT_CACHE_LIMIT);
+    }
+
+    public ContentCachingRequestFilter(int cacheLimit) {
+        if (cacheLimit < 0) {
+            throw new IllegalArgumentException("cacheLimit must be >= 0");
+        }
+        this.cacheLimit = cacheLimit;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -29,14 +50,50 @@ public class ContentCachingRequestFilter extends OncePerRequestFilter {
                         contentType.startsWith("application/octet-stream"));
 
         // 对文件流或已包装过的请求，直接放行
-        if (isMultipart || WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class) != null) {
+        if (isMultipart || WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class) != null
+                || WebUtils.getNativeRequest(request, CachedBodyHttpServletRequest.class) != null) {
             filterChain.doFilter(request, response);
             return;
         }
-        byte[] bytes = request.getInputStream().readAllBytes();
         // 包装请求，使其支持重复读取
-        CachedBodyHttpServletRequest wrappedRequest = new CachedBodyHttpServletRequest(request, bytes);
-        filterChain.doFilter(wrappedRequest, response);
+        CachedBodyHttpServletRequest wrappedRequest = new CachedBodyHttpServletRequest(request, cacheLimit);
+        try {
+            filterChain.doFilter(wrappedRequest, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // 异步请求可能仍在读取请求体，完成后再归还缓冲区
+                request.getAsyncContext().addListener(new ReleaseListener(wrappedRequest));
+            } else {
+                wrappedRequest.release();
+            }
+        }
     }
-}
 
+    private static final class ReleaseListener implements AsyncListener {
+
+        private final CachedBodyHttpServletRequest request;
+
+        private ReleaseListener(CachedBodyHttpServletRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            request.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // 再次 startAsync 时监听器会被移除，需要重新注册
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
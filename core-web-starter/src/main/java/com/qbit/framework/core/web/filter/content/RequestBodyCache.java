@@ -0,0 +1,222 @@
+package com.qbit.framework.core.web.filter.content;
+
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 请求体前缀缓存，由同一请求的所有 {@link TeeServletInputStream} 共享
+ *
+ * <ul>
+ *   <li>缓存的始终是请求体的前 {@code min(limit, 已读字节数)} 个字节，存放在池化的字节块中</li>
+ *   <li>原始输入流只会被顺序读一次，读到的字节在缓存未满时顺带写入缓存（tee）</li>
+ *   <li>{@link #fill()} 在无人读取时预读到上限，供日志、验签等在业务读取之前使用</li>
+ * </ul>
+ *
+ * <p>与请求对象一样不是线程安全的</p>
+ *
+ * @author Qbit Framework
+ */
+final class RequestBodyCache {
+
+    private final ServletRequest request;
+    private final ByteChunkPool pool;
+    private final int limit;
+    private final List<byte[]> chunks = new ArrayList<>();
+    /**
+     * 预先给定的完整请求体，非空时不读取原始输入流
+     */
+    private final byte[] preloaded;
+
+    private ServletInputStream delegate;
+    private int size;
+    /**
+     * 已从原始输入流读出的字节数，超过 limit 的部分不在缓存中
+     */
+    private long delegatePosition;
+    private boolean eof;
+    private boolean nonBlocking;
+    private boolean released;
+
+    RequestBodyCache(ServletRequest request, ByteChunkPool pool, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must be >= 0");
+        }
+        this.request = request;
+        this.pool = pool;
+        this.limit = limit;
+        this.preloaded = null;
+    }
+
+    RequestBodyCache(byte[] body) {
+        this.request = null;
+        this.pool = null;
+        this.limit = body.length;
+        this.preloaded = body;
+        this.size = body.length;
+        this.delegatePosition = body.length;
+        this.eof = true;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long delegatePosition() {
+        return delegatePosition;
+    }
+
+    boolean isEof() {
+        return eof;
+    }
+
+    /**
+     * 请求体超过缓存上限（已确认有更多字节，或声明的长度超过上限）
+     */
+    boolean isTruncated() {
+        if (delegatePosition > size) {
+            return true;
+        }
+        return size == limit && !eof && request != null && request.getContentLengthLong() > limit;
+    }
+
+    /**
+     * 进入非阻塞读模式后不再预读：原始流只能在 isReady 为 true 时读取
+     */
+    void markNonBlocking() {
+        this.nonBlocking = true;
+    }
+
+    boolean isNonBlocking() {
+        return nonBlocking;
+    }
+
+    /**
+     * 在没有流读到缓存之外之前，从原始流预读直到缓存满或请求体结束
+     */
+    void fill() throws IOException {
+        if (eof || nonBlocking || released || delegatePosition != size) {
+            return;
+        }
+        int chunkSize = pool.chunkSize();
+        while (size < limit && !eof) {
+            int chunkOffset = size % chunkSize;
+            if (chunkOffset == 0 && chunks.size() == size / chunkSize) {
+                chunks.add(pool.acquire());
+            }
+            int n = delegate().read(chunks.get(size / chunkSize), chunkOffset,
+                    Math.min(chunkSize - chunkOffset, limit - size));
+            if (n < 0) {
+                eof = true;
+            } else {
+                size += n;
+                delegatePosition += n;
+            }
+        }
+    }
+
+    /**
+     * 从缓存读取，{@code position} 必须小于 {@link #size()}
+     */
+    int readCached(long position, byte[] b, int off, int len) {
+        checkNotReleased();
+        int pos = (int) position;
+        int n = Math.min(len, size - pos);
+        if (preloaded != null) {
+            System.arraycopy(preloaded, pos, b, off, n);
+            return n;
+        }
+        int chunkSize = pool.chunkSize();
+        int copied = 0;
+        while (copied < n) {
+            int chunkOffset = (pos + copied) % chunkSize;
+            int count = Math.min(n - copied, chunkSize - chunkOffset);
+            System.arraycopy(chunks.get((pos + copied) / chunkSize), chunkOffset, b, off + copied, count);
+            copied += count;
+        }
+        return n;
+    }
+
+    /**
+     * 从原始流读取并写入缓存，调用方的位置必须等于 {@link #delegatePosition()}
+     */
+    int readDelegate(byte[] b, int off, int len) throws IOException {
+        checkNotReleased();
+        if (eof) {
+            return -1;
+        }
+        int n = delegate().read(b, off, len);
+        if (n < 0) {
+            eof = true;
+            return -1;
+        }
+        append(b, off, n);
+        delegatePosition += n;
+        return n;
+    }
+
+    ServletInputStream delegate() throws IOException {
+        if (delegate == null) {
+            delegate = request.getInputStream();
+        }
+        return delegate;
+    }
+
+    byte[] toByteArray() {
+        if (released) {
+            return new byte[0];
+        }
+        byte[] content = new byte[size];
+        if (size > 0) {
+            readCached(0, content, 0, size);
+        }
+        return content;
+    }
+
+    /**
+     * 归还字节块，之后缓存内容不可再读
+     */
+    void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        if (pool != null) {
+            chunks.forEach(pool::release);
+        }
+        chunks.clear();
+    }
+
+    private void append(byte[] b, int off, int len) {
+        // 只有缓存之外没有已读字节时追加，保证缓存始终是请求体的前缀
+        if (preloaded != null || delegatePosition != size) {
+            return;
+        }
+        int chunkSize = pool.chunkSize();
+        int remaining = Math.min(len, limit - size);
+        while (remaining > 0) {
+            int chunkOffset = size % chunkSize;
+            if (chunkOffset == 0 && chunks.size() == size / chunkSize) {
+                chunks.add(pool.acquire());
+            }
+            int count = Math.min(remaining, chunkSize - chunkOffset);
+            System.arraycopy(b, off, chunks.get(size / chunkSize), chunkOffset, count);
+            off += count;
+            size += count;
+            remaining -= count;
+        }
+    }
+
+    private void checkNotReleased() {
+        if (released) {
+            throw new IllegalStateException("Request body cache has been released");
+        }
+    }
+}
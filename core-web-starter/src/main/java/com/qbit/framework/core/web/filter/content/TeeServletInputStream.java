@@ -0,0 +1,157 @@
+package com.qbit.framework.core.web.filter.content;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+import java.io.IOException;
+
+/**
+ * 请求体输入流：先读缓存中的前缀，读到缓存末尾后接着读原始流，并把读到的字节写入缓存
+ *
+ * <ul>
+ *   <li>每次 {@code getInputStream()} 返回新的流，都从请求体开头读起；请求体不超过缓存上限时可以任意次重复读取</li>
+ *   <li>请求体超过上限时，超出部分只能被读一次：已有流读过缓存之外的字节后，其他流读到缓存末尾会抛出 {@link IOException}</li>
+ *   <li>支持 {@link #setReadListener(ReadListener)} 非阻塞读取：缓存部分立即可读，其余部分由容器回调驱动</li>
+ * </ul>
+ *
+ * @author Qbit Framework
+ */
+final class TeeServletInputStream extends ServletInputStream {
+
+    private final RequestBodyCache cache;
+    private final byte[] single = new byte[1];
+    private long position;
+
+    TeeServletInputStream(RequestBodyCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int n = read(single, 0, 1);
+        return n < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position < cache.size()) {
+            int n = cache.readCached(position, b, off, len);
+            position += n;
+            return n;
+        }
+        if (position < cache.delegatePosition()) {
+            throw new IOException("Request body beyond the first " + cache.limit()
+                    + " bytes has already been consumed and cannot be read again");
+        }
+        int n = cache.readDelegate(b, off, len);
+        if (n > 0) {
+            position += n;
+        }
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (position < cache.size()) {
+            return (int) (cache.size() - position);
+        }
+        return atFrontier() && !cache.isEof() ? cache.delegate().available() : 0;
+    }
+
+    @Override
+    public boolean isFinished() {
+        if (position < cache.size()) {
+            return false;
+        }
+        if (cache.isEof()) {
+            return position >= cache.delegatePosition();
+        }
+        if (!atFrontier()) {
+            return false;
+        }
+        try {
+            return cache.delegate().isFinished();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        if (position < cache.size() || cache.isEof() || !atFrontier()) {
+            // 缓存可读、已到末尾或即将抛出异常，都不会阻塞
+            return true;
+        }
+        try {
+            return cache.delegate().isReady();
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+        if (readListener == null) {
+            throw new NullPointerException("readListener cannot be null");
+        }
+        cache.markNonBlocking();
+        if (cache.isEof()) {
+            // 原始流已读完，没有容器回调，数据全部来自缓存
+            notifyCached(readListener);
+            return;
+        }
+        try {
+            cache.delegate().setReadListener(new TeeReadListener(readListener));
+        } catch (IOException e) {
+            readListener.onError(e);
+        }
+    }
+
+    private boolean atFrontier() {
+        return position == cache.delegatePosition();
+    }
+
+    private void notifyCached(ReadListener readListener) {
+        try {
+            if (!isFinished()) {
+                readListener.onDataAvailable();
+            }
+            readListener.onAllDataRead();
+        } catch (Throwable t) {
+            readListener.onError(t);
+        }
+    }
+
+    /**
+     * 容器回调适配：原始流读完时，如果调用方还有缓存中的字节没读，先通知一次可读
+     */
+    private final class TeeReadListener implements ReadListener {
+
+        private final ReadListener target;
+
+        private TeeReadListener(ReadListener target) {
+            this.target = target;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            target.onDataAvailable();
+        }
+
+        @Override
+        public void onAllDataRead() throws IOException {
+            if (position < cache.size()) {
+                target.onDataAvailable();
+            }
+            target.onAllDataRead();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            target.onError(t);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.qbit.framework.core.web.http;
+
+import com.qbit.framework.core.toolkits.http.interceptor.CircuitBreakerInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 出站 HTTP 熔断指标自动配置：将容器中的 {@link CircuitBreakerInterceptor} 导出到 Micrometer
+ * <p>通过配置 framework.http.breaker.metrics.enabled 控制是否启用
+ *
+ * @author Qbit Framework
+ */
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "framework.http.breaker.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CircuitBreakerMetricsAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MicrometerConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public MicrometerCircuitBreakerMetrics micrometerCircuitBreakerMetrics(
+                ObjectProvider<CircuitBreakerInterceptor> interceptors) {
+            return new MicrometerCircuitBreakerMetrics(interceptors.orderedStream().toList());
+        }
+    }
+}
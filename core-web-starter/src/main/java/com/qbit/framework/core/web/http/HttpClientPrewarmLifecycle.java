@@ -0,0 +1,81 @@
+package com.qbit.framework.core.web.http;
+
+import com.qbit.framework.core.toolkits.http.ConnectionPrewarmer;
+import com.qbit.framework.core.toolkits.http.HttpClient;
+import com.qbit.framework.core.toolkits.http.HttpUtils;
+import com.qbit.framework.core.toolkits.http.dns.DnsCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 启动阶段预热出站 HTTP 连接
+ * <p>在 Web 服务器启动（phase = DEFAULT_PHASE - 2048）之前执行，预热完成后应用才开始接收流量，
+ * 部署后首批请求不再承担 DNS 解析和建连开销
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public class HttpClientPrewarmLifecycle implements SmartLifecycle {
+
+    /**
+     * 早于 Web 服务器启动，晚于框架线程池等基础设施
+     */
+    public static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 2560;
+
+    private final HttpClientWarmupProperties.Prewarm properties;
+    private final ObjectProvider<HttpClient> clients;
+    private final ObjectProvider<DnsCache> dnsCache;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public HttpClientPrewarmLifecycle(HttpClientWarmupProperties properties, ObjectProvider<HttpClient> clients,
+                                      ObjectProvider<DnsCache> dnsCache) {
+        this.properties = properties.getPrewarm();
+        this.clients = clients;
+        this.dnsCache = dnsCache;
+    }
+
+    @Override
+    public void start() {
+        if (!running.compareAndSet(false, true) || properties.getUrls().isEmpty()) {
+            return;
+        }
+        List<HttpClient> targets = new ArrayList<>();
+        clients.orderedStream().forEach(targets::add);
+        if (properties.isIncludeDefaultClient() && !targets.contains(HttpUtils.getDefaultClient())) {
+            targets.add(HttpUtils.getDefaultClient());
+        }
+        ConnectionPrewarmer.Result result = ConnectionPrewarmer.builder()
+                .urls(properties.getUrls())
+                .connectionsPerHost(properties.getConnectionsPerHost())
+                .timeout(properties.getTimeout())
+                .dnsCache(dnsCache.getIfAvailable())
+                .build()
+                .prewarm(targets);
+        if (!result.isSuccessful() && properties.isFailOnError()) {
+            // 直接抛异常 → Spring Boot 启动失败 → 不会暴露 HTTP
+            throw new IllegalStateException(String.format(
+                    "HTTP connection prewarm failed: %d request(s), %d host(s) unresolved",
+                    result.getFailed(), result.getDnsFailures()));
+        }
+    }
+
+    @Override
+    public void stop() {
+        running.set(false);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
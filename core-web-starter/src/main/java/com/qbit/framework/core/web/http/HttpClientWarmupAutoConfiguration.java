@@ -0,0 +1,44 @@
+package com.qbit.framework.core.web.http;
+
+import com.qbit.framework.core.toolkits.http.HttpClient;
+import com.qbit.framework.core.toolkits.http.dns.DnsCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 出站 HTTP 客户端的 DNS 缓存与启动预热自动配置
+ * <p>framework.http.dns.enabled 开启共享的 {@link DnsCache}，framework.http.prewarm.urls 配置预热地址
+ *
+ * @author Qbit Framework
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(HttpClientWarmupProperties.class)
+public class HttpClientWarmupAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = HttpClientWarmupProperties.PREFIX, name = "dns.enabled", havingValue = "true")
+    public DnsCache dnsCache(HttpClientWarmupProperties properties) {
+        HttpClientWarmupProperties.Dns dns = properties.getDns();
+        DnsCache.Builder builder = DnsCache.builder()
+                .ttl(dns.getTtl())
+                .maximumHosts(dns.getMaximumHosts());
+        if (dns.getRefreshAfter() != null) {
+            builder.refreshAfter(dns.getRefreshAfter());
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = HttpClientWarmupProperties.PREFIX, name = "prewarm.enabled", havingValue = "true", matchIfMissing = true)
+    public HttpClientPrewarmLifecycle httpClientPrewarmLifecycle(HttpClientWarmupProperties properties,
+                                                                 ObjectProvider<HttpClient> clients,
+                                                                 ObjectProvider<DnsCache> dnsCache) {
+        return new HttpClientPrewarmLifecycle(properties, clients, dnsCache);
+    }
+}
@@ -0,0 +1,94 @@
+package com.qbit.framework.core.web.http;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 出站 HTTP 客户端的 DNS 缓存与连接预热配置
+ * <pre>
+ * framework:
+ *   http:
+ *     dns:
+ *       enabled: true
+ *       ttl: 60s
+ *       refresh-after: 30s
+ *     prewarm:
+ *       urls:
+ *         - https://pay.internal/actuator/health
+ *       connections-per-host: 4
+ * </pre>
+ *
+ * @author Qbit Framework
+ */
+@Data
+@ConfigurationProperties(prefix = HttpClientWarmupProperties.PREFIX)
+public class HttpClientWarmupProperties {
+
+    public static final String PREFIX = "framework.http";
+
+    private Dns dns = new Dns();
+
+    private Prewarm prewarm = new Prewarm();
+
+    @Data
+    public static class Dns {
+
+        /**
+         * 是否创建共享的 DnsCache Bean，供 OkHttp 客户端和预热使用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 解析结果的最长使用时长
+         */
+        private Duration ttl = Duration.ofSeconds(60);
+
+        /**
+         * 超过该时长后访问触发后台刷新，为空时取 TTL 的一半
+         */
+        private Duration refreshAfter;
+
+        /**
+         * 最多缓存的主机数
+         */
+        private int maximumHosts = 1024;
+    }
+
+    @Data
+    public static class Prewarm {
+
+        /**
+         * 是否在启动时预热连接（未配置预热地址时不执行）
+         */
+        private boolean enabled = true;
+
+        /**
+         * 预热地址，通常是下游的健康检查接口
+         */
+        private List<String> urls = new ArrayList<>();
+
+        /**
+         * 每个地址预先建立的连接数
+         */
+        private int connectionsPerHost = 2;
+
+        /**
+         * 预热的最长等待时间
+         */
+        private Duration timeout = Duration.ofSeconds(5);
+
+        /**
+         * 是否同时预热 {@code HttpUtils} 的默认客户端
+         */
+        private boolean includeDefaultClient = true;
+
+        /**
+         * 预热失败时是否终止启动，默认只记录警告
+         */
+        private boolean failOnError = false;
+    }
+}
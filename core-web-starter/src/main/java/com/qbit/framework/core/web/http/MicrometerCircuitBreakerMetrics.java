@@ -0,0 +1,108 @@
+package com.qbit.framework.core.web.http;
+
+import com.qbit.framework.core.toolkits.http.interceptor.CircuitBreaker;
+import com.qbit.framework.core.toolkits.http.interceptor.CircuitBreakerInterceptor;
+import com.qbit.framework.core.toolkits.http.interceptor.CircuitBreakerListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 将 {@link CircuitBreakerInterceptor} 的熔断状态与事件导出到 Micrometer
+ * <ul>
+ *   <li>framework.http.breaker.state{host}：当前状态，0=CLOSED、1=OPEN、2=HALF_OPEN</li>
+ *   <li>framework.http.breaker.transitions{host, from, to}：状态变更次数</li>
+ *   <li>framework.http.breaker.rejected{host}：被熔断拒绝的调用数</li>
+ * </ul>
+ * <p>多个拦截器调用同一主机时共用一组指标
+ *
+ * @author Qbit Framework
+ */
+public class MicrometerCircuitBreakerMetrics implements CircuitBreakerListener, MeterBinder, DisposableBean {
+
+    private final List<CircuitBreakerInterceptor> interceptors;
+
+    /** 按主机缓存的指标 */
+    private final Map<String, HostMeters> meters = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry registry;
+
+    public MicrometerCircuitBreakerMetrics(List<CircuitBreakerInterceptor> interceptors) {
+        this.interceptors = List.copyOf(interceptors);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        meters.clear();
+        for (CircuitBreakerInterceptor interceptor : interceptors) {
+            interceptor.removeListener(this);
+            interceptor.addListener(this);
+            interceptor.getBreakers().values().forEach(this::meters);
+        }
+    }
+
+    @Override
+    public void onCreated(CircuitBreaker breaker) {
+        meters(breaker);
+    }
+
+    @Override
+    public void onStateTransition(CircuitBreaker breaker, CircuitBreaker.State from, CircuitBreaker.State to) {
+        MeterRegistry r = registry;
+        if (r == null) {
+            return;
+        }
+        // 状态变更很少，直接按标签查找注册
+        Counter.builder("framework.http.breaker.transitions")
+                .tag("host", breaker.getName())
+                .tag("from", from.name())
+                .tag("to", to.name())
+                .register(r)
+                .increment();
+    }
+
+    @Override
+    public void onRejected(CircuitBreaker breaker) {
+        HostMeters m = meters(breaker);
+        if (m != null) {
+            m.rejected.increment();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        interceptors.forEach(interceptor -> interceptor.removeListener(this));
+    }
+
+    private HostMeters meters(CircuitBreaker breaker) {
+        MeterRegistry r = registry;
+        if (r == null) {
+            return null;
+        }
+        return meters.computeIfAbsent(breaker.getName(), host -> new HostMeters(r, breaker));
+    }
+
+    /**
+     * 单个主机的指标，首次出现时注册一次，之后直接复用
+     */
+    private static final class HostMeters {
+        private final Counter rejected;
+
+        private HostMeters(MeterRegistry registry, CircuitBreaker breaker) {
+            Gauge.builder("framework.http.breaker.state", breaker, b -> b.getState().ordinal())
+                    .tag("host", breaker.getName())
+                    .description("Circuit breaker state: 0=CLOSED, 1=OPEN, 2=HALF_OPEN")
+                    .register(registry);
+            this.rejected = Counter.builder("framework.http.breaker.rejected")
+                    .tag("host", breaker.getName())
+                    .register(registry);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.qbit.framework.core.web.initializer;
 
+import com.qbit.framework.core.toolkits.thread.ThreadPoolUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
@@ -13,7 +14,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -197,27 +197,11 @@ public class SystemInitializationLifecycle implements SmartLifecycle, Applicatio
 
     /**
      * 创建执行器服务
+     * 通过 {@link ThreadPoolUtils} 创建，初始化期间应用被终止时也能由统一停机流程回收
      */
     private ExecutorService createExecutorService(int initializerCount) {
-        // JDK 21+ 推荐使用虚拟线程
-        // return Executors.newVirtualThreadPerTaskExecutor();
-
-        // JDK 17/11 使用 ForkJoinPool 或固定线程池
         int threadCount = Math.min(initializerCount, Runtime.getRuntime().availableProcessors());
-        return Executors.newFixedThreadPool(
-                threadCount,
-                new ThreadFactory() {
-                    private final AtomicInteger counter = new AtomicInteger(0);
-
-                    @Override
-                    public Thread newThread(Runnable r) {
-                        Thread thread = new Thread(r);
-                        thread.setName("system-initializer-" + counter.incrementAndGet());
-                        thread.setDaemon(false); // 非守护线程，确保初始化完成
-                        return thread;
-                    }
-                }
-        );
+        return ThreadPoolUtils.newFixedThreadPool(threadCount, "system-initializer");
     }
 
     /**
@@ -293,17 +277,7 @@ public class SystemInitializationLifecycle implements SmartLifecycle, Applicatio
      * 优雅关闭执行器服务
      */
     private void shutdownExecutorService(ExecutorService executorService) {
-        executorService.shutdown();
-        try {
-            if (!executorService.awaitTermination(10, TimeUnit.SECONDS)) {
-                log.warn("ExecutorService did not terminate gracefully, forcing shutdown");
-                executorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            log.error("ExecutorService shutdown interrupted", e);
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+        ThreadPoolUtils.shutdownGracefully(executorService, 10, TimeUnit.SECONDS);
     }
 
 
@@ -0,0 +1,60 @@
+package com.qbit.framework.core.web.lock;
+
+import com.qbit.framework.core.toolkits.transaction.LockMetrics;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 分布式锁统计自动配置：应用配置、持有者信息存储、Micrometer 指标与 Actuator 端点
+ * <p>通过配置 framework.lock.metrics.enabled 控制是否启用
+ *
+ * @author Qbit Framework
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(LockMetricsProperties.class)
+@ConditionalOnProperty(prefix = "framework.lock.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LockMetricsAutoConfiguration {
+
+    @Bean
+    public SmartInitializingSingleton lockMetricsInitializer(LockMetricsProperties properties,
+                                                             ObjectProvider<RedissonClient> redissonClient) {
+        return () -> {
+            LockMetrics.setMaxPrefixes(properties.getMaxPrefixes());
+            LockMetrics.setLeaseWarningRatio(properties.getLeaseWarningRatio());
+            LockMetrics.setSlowHoldThreshold(properties.getSlowHoldThreshold());
+            if (properties.isPublishHolder()) {
+                LockMetrics.setHolderStore(redissonClient.getIfAvailable());
+            }
+        };
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MicrometerConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public MicrometerLockMetricsListener micrometerLockMetricsListener() {
+            return new MicrometerLockMetricsListener();
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    static class LocksEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public LocksEndpoint locksEndpoint() {
+            return new LocksEndpoint();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.qbit.framework.core.web.lock;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 分布式锁统计配置
+ *
+ * @author Qbit Framework
+ */
+@Data
+@ConfigurationProperties(prefix = "framework.lock.metrics")
+public class LockMetricsProperties {
+
+    /**
+     * 是否启用锁统计的指标导出与端点
+     */
+    private boolean enabled = true;
+
+    /**
+     * 锁名称前缀的最大数量，超出后归入 "_other"
+     */
+    private int maxPrefixes = 200;
+
+    /**
+     * 持有时间达到租约时间的该比例时告警
+     */
+    private double leaseWarningRatio = 0.8D;
+
+    /**
+     * 看门狗续期的锁持有超过该时间时告警
+     */
+    private Duration slowHoldThreshold = Duration.ofSeconds(10);
+
+    /**
+     * 是否将持有者信息写入 Redis（{@code <锁名称>:holder}），便于其他实例超时时定位持有者
+     * <p>开启后每次加锁额外产生写入、清除两条 Redis 命令，默认关闭
+     */
+    private boolean publishHolder = false;
+}
@@ -0,0 +1,32 @@
+package com.qbit.framework.core.web.lock;
+
+import com.qbit.framework.core.toolkits.transaction.LockMetrics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 分布式锁端点
+ * <ul>
+ *   <li>GET /actuator/locks：当前 JVM 持有的锁及竞争最激烈的前缀</li>
+ *   <li>GET /actuator/locks?top=20：指定返回的前缀数量</li>
+ * </ul>
+ *
+ * @author Qbit Framework
+ */
+@Endpoint(id = "locks")
+public class LocksEndpoint {
+
+    private static final int DEFAULT_TOP = 10;
+
+    @ReadOperation
+    public Map<String, Object> locks(@Nullable Integer top) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("held", LockMetrics.heldLocks());
+        result.put("topContended", LockMetrics.topContended(top != null && top > 0 ? top : DEFAULT_TOP));
+        return result;
+    }
+}
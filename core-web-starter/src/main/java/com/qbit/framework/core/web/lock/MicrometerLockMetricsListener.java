@@ -0,0 +1,112 @@
+package com.qbit.framework.core.web.lock;
+
+import com.qbit.framework.core.toolkits.transaction.LockMetrics;
+import com.qbit.framework.core.toolkits.transaction.LockMetricsListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 将 {@link LockMetrics} 事件导出到 Micrometer
+ * <ul>
+ *   <li>framework.lock.wait{prefix, outcome=acquired|timeout}：等待时间</li>
+ *   <li>framework.lock.hold{prefix}：持有时间</li>
+ *   <li>framework.lock.lease.warnings{prefix}：持有时间接近租约的次数</li>
+ *   <li>framework.lock.held：当前 JVM 持有的锁数量</li>
+ * </ul>
+ *
+ * @author Qbit Framework
+ */
+public class MicrometerLockMetricsListener implements LockMetricsListener, MeterBinder, DisposableBean {
+
+    /** 按前缀缓存的指标，前缀数量受 {@link LockMetrics#setMaxPrefixes(int)} 限制 */
+    private final Map<String, PrefixMeters> meters = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry registry;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        meters.clear();
+        Gauge.builder("framework.lock.held", LockMetrics::heldCount)
+                .description("Locks currently held by this JVM")
+                .register(registry);
+        LockMetrics.addListener(this);
+    }
+
+    @Override
+    public void onAcquired(String prefix, long waitNanos) {
+        PrefixMeters m = meters(prefix);
+        if (m != null) {
+            m.acquiredWait.record(waitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void onTimeout(String prefix, long waitNanos) {
+        PrefixMeters m = meters(prefix);
+        if (m != null) {
+            m.timeoutWait.record(waitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void onReleased(String prefix, long holdNanos, boolean leaseWarning) {
+        PrefixMeters m = meters(prefix);
+        if (m == null) {
+            return;
+        }
+        m.hold.record(holdNanos, TimeUnit.NANOSECONDS);
+        if (leaseWarning) {
+            m.leaseWarnings.increment();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        LockMetrics.removeListener(this);
+    }
+
+    private PrefixMeters meters(String prefix) {
+        MeterRegistry r = registry;
+        if (r == null) {
+            return null;
+        }
+        return meters.computeIfAbsent(prefix, p -> new PrefixMeters(r, p));
+    }
+
+    /**
+     * 单个前缀的指标，首次出现时注册一次，之后直接复用
+     */
+    private static final class PrefixMeters {
+        private final Timer acquiredWait;
+        private final Timer timeoutWait;
+        private final Timer hold;
+        private final Counter leaseWarnings;
+
+        private PrefixMeters(MeterRegistry registry, String prefix) {
+            this.acquiredWait = wait(registry, prefix, "acquired");
+            this.timeoutWait = wait(registry, prefix, "timeout");
+            this.hold = Timer.builder("framework.lock.hold")
+                    .tag("prefix", prefix)
+                    .register(registry);
+            this.leaseWarnings = Counter.builder("framework.lock.lease.warnings")
+                    .tag("prefix", prefix)
+                    .register(registry);
+        }
+
+        private static Timer wait(MeterRegistry registry, String prefix, String outcome) {
+            return Timer.builder("framework.lock.wait")
+                    .tag("prefix", prefix)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
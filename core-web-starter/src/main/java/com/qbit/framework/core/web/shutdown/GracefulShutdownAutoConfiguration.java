@@ -0,0 +1,41 @@
+package com.qbit.framework.core.web.shutdown;
+
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownStage;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 框架线程池统一优雅停机自动配置
+ * <p>通过配置 framework.shutdown.enabled 控制是否启用，framework.shutdown.timeout 设置总期限
+ *
+ * @author Qbit Framework
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(GracefulShutdownProperties.class)
+@ConditionalOnProperty(prefix = "framework.shutdown", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class GracefulShutdownAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public GracefulShutdownCoordinator gracefulShutdownCoordinator(GracefulShutdownProperties properties) {
+        return new GracefulShutdownCoordinator(properties);
+    }
+
+    @Bean
+    public ShutdownStageLifecycle ingressShutdownLifecycle(GracefulShutdownCoordinator coordinator) {
+        return new ShutdownStageLifecycle(coordinator, ShutdownStage.INGRESS, GracefulShutdownCoordinator.INGRESS_PHASE);
+    }
+
+    @Bean
+    public ShutdownStageLifecycle workerShutdownLifecycle(GracefulShutdownCoordinator coordinator) {
+        return new ShutdownStageLifecycle(coordinator, ShutdownStage.WORKER, GracefulShutdownCoordinator.WORKER_PHASE);
+    }
+
+    @Bean
+    public ShutdownStageLifecycle ioShutdownLifecycle(GracefulShutdownCoordinator coordinator) {
+        return new ShutdownStageLifecycle(coordinator, ShutdownStage.IO, GracefulShutdownCoordinator.IO_PHASE);
+    }
+}
@@ -0,0 +1,72 @@
+package com.qbit.framework.core.web.shutdown;
+
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownRegistry;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownStage;
+import com.qbit.framework.core.toolkits.thread.shutdown.StageDrainResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 优雅停机协调器
+ * 由各阶段的 {@link ShutdownStageLifecycle} 驱动，所有阶段共享同一个期限预算：
+ * 第一个阶段开始停机时计算截止时间，后续阶段只能使用剩余时间
+ *
+ * <p>SmartLifecycle 按 phase 从大到小停止，阶段顺序如下：</p>
+ * <ol>
+ *   <li>Web 服务器优雅停机（phase = DEFAULT_PHASE - 1024）</li>
+ *   <li>{@link ShutdownStage#INGRESS}：停止定时任务调度等入口</li>
+ *   <li>Web 服务器停止（phase = DEFAULT_PHASE - 2048）</li>
+ *   <li>{@link ShutdownStage#WORKER}：排空工作线程池</li>
+ *   <li>{@link ShutdownStage#IO}：等待进行中的 I/O 完成并关闭客户端</li>
+ * </ol>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public class GracefulShutdownCoordinator {
+
+    public static final int INGRESS_PHASE = SmartLifecycle.DEFAULT_PHASE - 1536;
+    public static final int WORKER_PHASE = SmartLifecycle.DEFAULT_PHASE - 3072;
+    public static final int IO_PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final Duration timeout;
+    private final AtomicInteger abandonedTasks = new AtomicInteger();
+    private volatile long deadlineNanos;
+    private volatile long startNanos;
+
+    public GracefulShutdownCoordinator(GracefulShutdownProperties properties) {
+        this.timeout = properties.getTimeout();
+    }
+
+    /**
+     * 排空指定阶段
+     */
+    public synchronized void drain(ShutdownStage stage) {
+        if (startNanos == 0L) {
+            startNanos = System.nanoTime();
+            deadlineNanos = startNanos + timeout.toNanos();
+            log.info("Graceful shutdown started, budget {} ms", timeout.toMillis());
+        }
+
+        StageDrainResult result = ShutdownRegistry.drain(stage, deadlineNanos);
+        abandonedTasks.addAndGet(result.getAbandonedTasks());
+        if (result.getParticipants() > 0) {
+            log.info("Shutdown stage {} finished in {} ms: {}/{} drained, {} task(s) abandoned",
+                    stage, result.getDurationMillis(), result.getDrained(), result.getParticipants(),
+                    result.getAbandonedTasks());
+        }
+
+        if (stage == ShutdownStage.IO) {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (abandonedTasks.get() > 0) {
+                log.warn("Graceful shutdown completed in {} ms, {} task(s) abandoned", elapsed, abandonedTasks.get());
+            } else {
+                log.info("Graceful shutdown completed in {} ms", elapsed);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.qbit.framework.core.web.shutdown;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 优雅停机配置
+ *
+ * @author Qbit Framework
+ */
+@Data
+@ConfigurationProperties(prefix = "framework.shutdown")
+public class GracefulShutdownProperties {
+
+    /**
+     * 是否启用框架线程池的统一优雅停机
+     */
+    private boolean enabled = true;
+
+    /**
+     * 所有停机阶段共享的总期限
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+}
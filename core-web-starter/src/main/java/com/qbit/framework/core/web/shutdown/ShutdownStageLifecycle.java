@@ -0,0 +1,47 @@
+package com.qbit.framework.core.web.shutdown;
+
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownStage;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 单个停机阶段的生命周期适配器，在对应 phase 停止时触发 {@link GracefulShutdownCoordinator#drain}
+ *
+ * @author Qbit Framework
+ */
+public class ShutdownStageLifecycle implements SmartLifecycle {
+
+    private final GracefulShutdownCoordinator coordinator;
+    private final ShutdownStage stage;
+    private final int phase;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public ShutdownStageLifecycle(GracefulShutdownCoordinator coordinator, ShutdownStage stage, int phase) {
+        this.coordinator = coordinator;
+        this.stage = stage;
+        this.phase = phase;
+    }
+
+    @Override
+    public void start() {
+        running.set(true);
+    }
+
+    @Override
+    public void stop() {
+        if (running.compareAndSet(true, false)) {
+            coordinator.drain(stage);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @Override
+    public int getPhase() {
+        return phase;
+    }
+}
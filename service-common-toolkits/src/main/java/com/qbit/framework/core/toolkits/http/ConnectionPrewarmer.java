@@ -0,0 +1,241 @@
+package com.qbit.framework.core.toolkits.http;
+
+import com.qbit.framework.core.toolkits.http.dns.DnsCache;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 连接预热：启动时对下游主机提前完成 DNS 解析和 TCP/TLS 建连，避免首批请求承担建连开销
+ *
+ * <pre>{@code
+ * ConnectionPrewarmer prewarmer = ConnectionPrewarmer.builder()
+ *         .url("https://pay.internal/actuator/health")
+ *         .connectionsPerHost(4)
+ *         .dnsCache(dnsCache)
+ *         .build();
+ * ConnectionPrewarmer.Result result = prewarmer.prewarm(List.of(client));
+ * }</pre>
+ *
+ * <p>注意：</p>
+ * <ul>
+ *   <li>对每个地址并发发出 {@code connectionsPerHost} 个 GET 请求，收到任意状态码即视为连接已建立，连接随后留在客户端连接池中；
+ *   不使用 HEAD：JDK HttpClient 收到 HEAD 响应后不会复用该连接</li>
+ *   <li>HTTP/1.1 下并发请求各占一条连接；HTTP/2 下同一主机只有一条连接，多余的请求复用它</li>
+ *   <li>请求经过客户端的拦截器，预热地址应选择健康检查等轻量接口</li>
+ * </ul>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public class ConnectionPrewarmer {
+
+    private final List<String> urls;
+    private final int connectionsPerHost;
+    private final Duration timeout;
+    private final DnsCache dnsCache;
+
+    private ConnectionPrewarmer(Builder builder) {
+        this.urls = List.copyOf(builder.urls);
+        this.connectionsPerHost = builder.connectionsPerHost;
+        this.timeout = builder.timeout;
+        this.dnsCache = builder.dnsCache;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 预热客户端，最多等待 {@code timeout}，不抛出请求异常
+     *
+     * @param clients 需要预热的客户端，各自维护独立的连接池
+     * @return 预热结果
+     */
+    public Result prewarm(Collection<? extends HttpClient> clients) {
+        long start = System.nanoTime();
+        int dnsFailures = resolveHosts();
+
+        AtomicInteger succeeded = new AtomicInteger();
+        List<String> failures = new ArrayList<>();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (HttpClient client : clients) {
+            for (String url : urls) {
+                HttpRequest request = HttpRequest.builder(url).get().timeout(timeout).build();
+                for (int i = 0; i < connectionsPerHost; i++) {
+                    futures.add(send(client, request).handle((response, error) -> {
+                        if (error != null) {
+                            synchronized (failures) {
+                                failures.add(url + ": " + error);
+                            }
+                        } else {
+                            succeeded.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+            }
+        }
+        int expected = futures.size();
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Connection prewarm did not finish within {} ms", timeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // handle 已吞掉请求异常
+        }
+        int failed;
+        synchronized (failures) {
+            failed = expected - succeeded.get();
+            for (String failure : failures) {
+                log.warn("Connection prewarm failed: {}", failure);
+            }
+        }
+        Result result = new Result(succeeded.get(), failed, dnsFailures,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Connection prewarm finished: {} succeeded, {} failed, {} DNS failures in {} ms",
+                result.succeeded, result.failed, result.dnsFailures, result.elapsedMillis);
+        return result;
+    }
+
+    /**
+     * 先通过 DNS 缓存解析所有主机，返回解析失败的主机数
+     */
+    private int resolveHosts() {
+        if (dnsCache == null) {
+            return 0;
+        }
+        Set<String> hosts = new LinkedHashSet<>();
+        for (String url : urls) {
+            String host = URI.create(url).getHost();
+            if (host != null) {
+                hosts.add(host);
+            }
+        }
+        int failed = 0;
+        for (String host : hosts) {
+            try {
+                dnsCache.lookup(host);
+            } catch (UnknownHostException e) {
+                failed++;
+                log.warn("Connection prewarm could not resolve {}", host);
+            }
+        }
+        return failed;
+    }
+
+    private static CompletableFuture<HttpResponse> send(HttpClient client, HttpRequest request) {
+        try {
+            return client.executeAsync(request);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 预热结果
+     */
+    @Getter
+    public static final class Result {
+        /**
+         * 收到响应的请求数
+         */
+        private final int succeeded;
+        /**
+         * 失败或超时的请求数
+         */
+        private final int failed;
+        /**
+         * 解析失败的主机数
+         */
+        private final int dnsFailures;
+        private final long elapsedMillis;
+
+        Result(int succeeded, int failed, int dnsFailures, long elapsedMillis) {
+            this.succeeded = succeeded;
+            this.failed = failed;
+            this.dnsFailures = dnsFailures;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public boolean isSuccessful() {
+            return failed == 0 && dnsFailures == 0;
+        }
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private final List<String> urls = new ArrayList<>();
+        private int connectionsPerHost = 2;
+        private Duration timeout = Duration.ofSeconds(5);
+        private DnsCache dnsCache;
+
+        private Builder() {
+        }
+
+        /**
+         * 预热地址，通常是下游的健康检查接口
+         */
+        public Builder url(String url) {
+            this.urls.add(Objects.requireNonNull(url, "url cannot be null"));
+            return this;
+        }
+
+        public Builder urls(Collection<String> urls) {
+            urls.forEach(this::url);
+            return this;
+        }
+
+        /**
+         * 每个地址预先建立的连接数，默认 2
+         */
+        public Builder connectionsPerHost(int connectionsPerHost) {
+            if (connectionsPerHost <= 0) {
+                throw new IllegalArgumentException("connectionsPerHost must be > 0");
+            }
+            this.connectionsPerHost = connectionsPerHost;
+            return this;
+        }
+
+        /**
+         * 整个预热过程的最长等待时间，同时作为单个请求的超时，默认 5 秒
+         */
+        public Builder timeout(Duration timeout) {
+            if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+                throw new IllegalArgumentException("timeout must be > 0");
+            }
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * 预热前先通过 DNS 缓存解析主机
+         */
+        public Builder dnsCache(DnsCache dnsCache) {
+            this.dnsCache = dnsCache;
+            return this;
+        }
+
+        public ConnectionPrewarmer build() {
+            return new ConnectionPrewarmer(this);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.qbit.framework.core.toolkits.http;
+
+import com.qbit.framework.core.toolkits.tracing.context.MdcTraceContext;
+import org.slf4j.MDC;
+
+import java.io.InterruptedIOException;
+import java.net.http.HttpTimeoutException;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * 异步请求的公共处理：取消传播、异常转换、完成时恢复调用方 MDC
+ *
+ * @author Qbit Framework
+ */
+final class HttpAsyncSupport {
+
+    private HttpAsyncSupport() {
+        throw new AssertionError();
+    }
+
+    /**
+     * 创建返回给调用方的 Future，取消时同时取消底层调用
+     *
+     * @param cancelAction 取消底层调用的动作
+     */
+    static <T> CompletableFuture<T> cancellable(Runnable cancelAction) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                cancelAction.run();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 捕获调用方的 MDC 上下文
+     */
+    static Map<String, String> captureContext() {
+        return MDC.getCopyOfContextMap();
+    }
+
+    /**
+     * 在调用方 MDC 上下文中完成 Future，同步执行的后续阶段可以读取链路 ID
+     */
+    static <T> void complete(CompletableFuture<T> future, Map<String, String> context, T value) {
+        try (MdcTraceContext ignored = MdcTraceContext.setAll(context)) {
+            future.complete(value);
+        }
+    }
+
+    /**
+     * 在调用方 MDC 上下文中以转换后的异常完成 Future
+     */
+    static void fail(CompletableFuture<?> future, Map<String, String> context, HttpRequest request, Throwable error) {
+        try (MdcTraceContext ignored = MdcTraceContext.setAll(context)) {
+            future.completeExceptionally(toException(request, error));
+        }
+    }
+
+    /**
+     * 转换为 {@link HttpClientException}，取消异常保持原样
+     */
+    static Throwable toException(HttpRequest request, Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof CancellationException || cause instanceof HttpClientException) {
+            return cause;
+        }
+        if (cause instanceof HttpTimeoutException
+                || cause instanceof InterruptedIOException && "timeout".equals(cause.getMessage())) {
+            return new HttpClientException("HTTP request timed out: " + request.getMethod() + " "
+                    + request.getFullUrl(), cause);
+        }
+        return new HttpClientException("HTTP request failed: " + request.getMethod() + " "
+                + request.getFullUrl(), cause);
+    }
+
+    static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * 取消底层 Future 的动作
+     */
+    static Runnable cancelling(Future<?> future) {
+        return () -> future.cancel(true);
+    }
+}
@@ -1,8 +1,15 @@
 package com.qbit.framework.core.toolkits.http;
 
-import com.qbit.framework.core.toolkits.http.interceptor.HttpClientInterceptor;
+import com.qbit.framework.core.toolkits.http.codec.JsonCodec;
+import com.qbit.framework.core.toolkits.http.interceptor.HttpInterceptor;
 
+import com.qbit.framework.core.toolkits.tracing.context.MdcTraceContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * HTTP 客户端接口，支持不同的实现（OkHttp、JDK HttpClient等）
@@ -22,19 +29,97 @@ public interface HttpClient {
     HttpResponse execute(HttpRequest request) throws HttpClientException;
 
     /**
-     * 添加拦截器
+     * 异步执行HTTP请求
+     * <p>拦截器在调用线程上执行；返回的 Future 以 {@link HttpClientException} 异常完成表示请求失败或超时，
+     * 取消 Future 会取消底层调用；完成时恢复调用方的 MDC 上下文。
+     * <p>默认实现在公共线程池中调用 {@link #execute(HttpRequest)}，每个请求占用一个线程；
+     * 内置实现基于非阻塞 I/O 覆盖该方法
+     *
+     * @param request HTTP请求对象
+     * @return HTTP响应
+     */
+    default CompletableFuture<HttpResponse> executeAsync(HttpRequest request) {
+        Callable<HttpResponse> call = () -> execute(request);
+        Callable<HttpResponse> task = MdcTraceContext.wrap(call);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new HttpClientException(e);
+            }
+        });
+    }
+
+    /**
+     * 以流式方式执行HTTP请求，响应体不在堆上缓存，调用方负责关闭返回的响应
+     * <p>默认实现基于 {@link #execute(HttpRequest)}，响应体仍完整读入内存；
+     * 内置实现直接暴露底层连接的输入流
+     *
+     * @param request HTTP请求对象
+     * @return 流式响应
+     * @throws HttpClientException 请求异常
+     */
+    default StreamingHttpResponse executeStreaming(HttpRequest request) throws HttpClientException {
+        HttpResponse response = execute(request);
+        return new StreamingHttpResponse(response.getStatusCode(), response.getHeaders(), response.isSuccessful(),
+                new ByteArrayInputStream(response.getBodyBytes()));
+    }
+
+    /**
+     * 下载响应体到文件，响应体边读边写，不在堆上缓存
+     *
+     * @param request HTTP请求对象
+     * @param target  目标文件
+     * @return 目标文件
+     * @throws HttpClientException 请求异常、响应不成功或写入失败
+     */
+    default Path downloadTo(HttpRequest request, Path target) throws HttpClientException {
+        return executeStreaming(request).downloadTo(target);
+    }
+
+    /**
+     * 添加拦截器，按 {@link HttpInterceptor#getOrder()} 排序；请求改写型的 {@code HttpClientInterceptor} 同样适用
      *
      * @param interceptor 拦截器
      * @return 当前客户端实例（支持链式调用）
      */
-    HttpClient addInterceptor(HttpClientInterceptor interceptor);
+    HttpClient addInterceptor(HttpInterceptor interceptor);
 
     /**
      * 获取所有拦截器
      *
      * @return 拦截器列表
      */
-    List<HttpClientInterceptor> getInterceptors();
+    List<HttpInterceptor> getInterceptors();
+
+    /**
+     * 开启请求体 gzip 压缩：请求体达到阈值且调用方未指定 Content-Encoding 时压缩发送，服务端需支持解压
+     *
+     * @param minBytes 压缩阈值（字节），小于 0 关闭压缩
+     * @return 当前客户端实例（支持链式调用）
+     */
+    default HttpClient requestCompression(int minBytes) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support request compression");
+    }
+
+    /**
+     * 设置 JSON 编解码器，用于序列化请求体和解析响应体，默认 {@link JsonCodec#defaultCodec()}
+     *
+     * @param jsonCodec 编解码器
+     * @return 当前客户端实例（支持链式调用）
+     */
+    default HttpClient jsonCodec(JsonCodec jsonCodec) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support custom JsonCodec");
+    }
+
+    /**
+     * 获取 JSON 编解码器
+     */
+    default JsonCodec getJsonCodec() {
+        return JsonCodec.defaultCodec();
+    }
 
     /**
      * 关闭HTTP客户端，释放资源
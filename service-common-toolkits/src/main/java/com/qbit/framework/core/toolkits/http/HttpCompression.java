@@ -0,0 +1,129 @@
+package com.qbit.framework.core.toolkits.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 请求体压缩与响应体解压的公共处理，只使用 JDK 自带的 gzip/deflate
+ *
+ * @author Qbit Framework
+ */
+final class HttpCompression {
+
+    /**
+     * 客户端自动声明的可接受编码
+     */
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+    static final String GZIP = "gzip";
+
+    private HttpCompression() {
+        throw new AssertionError();
+    }
+
+    /**
+     * 调用方未指定 Accept-Encoding 时由客户端声明并透明解压；调用方自行指定时原样返回响应体
+     */
+    static boolean isTransparent(HttpRequest request) {
+        return header(request.getHeaders(), "Accept-Encoding") == null;
+    }
+
+    /**
+     * 请求体是否需要压缩：开启了压缩、达到阈值且调用方没有自行指定 Content-Encoding
+     *
+     * @param threshold 压缩阈值（字节），小于 0 表示不压缩
+     */
+    static boolean shouldCompress(HttpRequest request, long length, int threshold) {
+        return threshold >= 0 && length >= threshold && header(request.getHeaders(), "Content-Encoding") == null;
+    }
+
+    static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 按 Content-Encoding 解压响应体，未压缩或不认识的编码原样返回
+     */
+    static byte[] decode(byte[] body, Map<String, List<String>> headers) throws IOException {
+        String encoding = contentEncoding(headers);
+        if (body == null || body.length == 0 || !isSupported(encoding)) {
+            return body;
+        }
+        try (InputStream in = decode(new ByteArrayInputStream(body), encoding)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * 按 Content-Encoding 包装响应流，未压缩或不认识的编码原样返回
+     */
+    static InputStream decode(InputStream in, String encoding) throws IOException {
+        if (in == null || encoding == null) {
+            return in;
+        }
+        switch (encoding) {
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(in, 8192);
+            case "deflate":
+                return new InflaterInputStream(in);
+            default:
+                return in;
+        }
+    }
+
+    static String contentEncoding(Map<String, List<String>> headers) {
+        List<String> values = values(headers, "Content-Encoding");
+        return values == null || values.isEmpty() ? null : values.get(0).trim().toLowerCase(Locale.ROOT);
+    }
+
+    static boolean isSupported(String encoding) {
+        return "gzip".equals(encoding) || "x-gzip".equals(encoding) || "deflate".equals(encoding);
+    }
+
+    /**
+     * 解压后的响应头：去掉 Content-Encoding 和 Content-Length，与解压后的响应体保持一致
+     */
+    static Map<String, List<String>> decodedHeaders(Map<String, List<String>> headers) {
+        Map<String, List<String>> copy = new LinkedHashMap<>();
+        headers.forEach((name, values) -> {
+            if (name == null || (!"content-encoding".equalsIgnoreCase(name) && !"content-length".equalsIgnoreCase(name))) {
+                copy.put(name, values);
+            }
+        });
+        return copy;
+    }
+
+    private static String header(Map<String, String> headers, String name) {
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static List<String> values(Map<String, List<String>> headers, String name) {
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
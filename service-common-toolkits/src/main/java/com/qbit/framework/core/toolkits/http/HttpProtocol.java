@@ -0,0 +1,28 @@
+package com.qbit.framework.core.toolkits.http;
+
+/**
+ * 客户端使用的 HTTP 协议
+ *
+ * @author Qbit Framework
+ */
+public enum HttpProtocol {
+
+    /**
+     * 只使用 HTTP/1.1
+     */
+    HTTP_1_1,
+
+    /**
+     * HTTPS 通过 ALPN 协商 HTTP/2，不支持时回退 HTTP/1.1；同一主机的请求复用一条连接并发多路传输
+     */
+    HTTP_2,
+
+    /**
+     * 明文 HTTP/2（h2c），用于确定支持 HTTP/2 的内部服务
+     * <ul>
+     *   <li>OkHttp：先验知识（prior knowledge）直接以 HTTP/2 通信，该客户端的所有目标都必须支持 h2c</li>
+     *   <li>JDK HttpClient：不支持先验知识，首个请求通过 {@code Upgrade: h2c} 升级，服务端不支持时继续使用 HTTP/1.1</li>
+     * </ul>
+     */
+    H2C
+}
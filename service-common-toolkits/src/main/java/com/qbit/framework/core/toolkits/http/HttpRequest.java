@@ -40,10 +40,68 @@ public class HttpRequest {
         this.contentType = builder.contentType;
     }
 
+    /**
+     * 复制请求并替换请求头，其余字段与原请求共享
+     */
+    private HttpRequest(HttpRequest source, Map<String, String> headers) {
+        this.url = source.url;
+        this.method = source.method;
+        this.headers = Collections.unmodifiableMap(headers);
+        this.queryParams = source.queryParams;
+        this.body = source.body;
+        this.connectTimeout = source.connectTimeout;
+        this.readTimeout = source.readTimeout;
+        this.writeTimeout = source.writeTimeout;
+        this.followRedirects = source.followRedirects;
+        this.contentType = source.contentType;
+    }
+
     public static Builder builder(String url) {
         return new Builder(url);
     }
 
+    /**
+     * 返回添加（或覆盖）一个请求头后的新请求，只复制请求头，其余字段与原请求共享；
+     * 拦截器改写请求头时应使用该方法而不是重新构建整个请求
+     */
+    public HttpRequest withHeader(String name, String value) {
+        Objects.requireNonNull(name, "Header name cannot be null");
+        if (headers.containsKey(name) && Objects.equals(headers.get(name), value)) {
+            return this;
+        }
+        Map<String, String> copy = new LinkedHashMap<>(headers);
+        copy.put(name, value);
+        return new HttpRequest(this, copy);
+    }
+
+    /**
+     * 返回添加（或覆盖）一组请求头后的新请求，请求头只复制一次
+     */
+    public HttpRequest withHeaders(Map<String, String> extraHeaders) {
+        if (extraHeaders == null || extraHeaders.isEmpty()) {
+            return this;
+        }
+        Map<String, String> copy = new LinkedHashMap<>(headers);
+        copy.putAll(extraHeaders);
+        return new HttpRequest(this, copy);
+    }
+
+    /**
+     * 以当前请求为模板创建构建器，用于修改请求头以外的字段
+     */
+    public Builder newBuilder() {
+        return new Builder(url)
+                .method(method)
+                .headers(headers)
+                .queryParams(queryParams)
+                .body(body)
+                .contentType(contentType)
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .writeTimeout(writeTimeout)
+                .followRedirects(followRedirects);
+    }
+
     public static class Builder {
         private final String url;
         private String method = HttpMethod.GET.name();
@@ -1,32 +1,110 @@
 package com.qbit.framework.core.toolkits.http;
 
-import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.TypeReference;
-import lombok.AllArgsConstructor;
+import com.qbit.framework.core.toolkits.http.codec.JsonCodec;
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
  * HTTP 响应对象
+ * <p>客户端实现以字节保存响应体，JSON 解析方法通过 {@link JsonCodec} 直接在字节上解析；
+ * {@link #getBody()} 在首次调用时才按 Content-Type 的字符集解码为字符串
  *
  * @author Qbit Framework
 
  * @date 2026/1/7
  */
 @Getter
-@AllArgsConstructor
 public class HttpResponse {
+    private static final byte[] EMPTY = new byte[0];
+
     private final int statusCode;
-    private final String body;
+    @Getter(AccessLevel.NONE)
+    private final byte[] bodyBytes;
+    @Getter(AccessLevel.NONE)
+    private volatile String body;
     private final Map<String, List<String>> headers;
     /**
      * -- GETTER --
      *  判断响应是否成功（状态码 2xx）
      */
     private final boolean successful;
+    /**
+     * 解析响应体使用的 JSON 编解码器
+     */
+    private final JsonCodec jsonCodec;
+
+    /**
+     * 以字符串响应体构造，使用默认的 JSON 编解码器
+     */
+    public HttpResponse(int statusCode, String body, Map<String, List<String>> headers, boolean successful) {
+        this(statusCode, body, headers, successful, JsonCodec.defaultCodec());
+    }
+
+    private HttpResponse(int statusCode, String body, Map<String, List<String>> headers, boolean successful,
+                         JsonCodec jsonCodec) {
+        this.statusCode = statusCode;
+        this.bodyBytes = null;
+        this.body = body;
+        this.headers = headers;
+        this.successful = successful;
+        this.jsonCodec = jsonCodec;
+    }
+
+    /**
+     * 以字节响应体构造
+     *
+     * @param body      响应体字节，由响应对象持有，调用方不应再修改
+     * @param jsonCodec 解析响应体使用的 JSON 编解码器
+     */
+    public HttpResponse(int statusCode, byte[] body, Map<String, List<String>> headers, boolean successful,
+                        JsonCodec jsonCodec) {
+        this.statusCode = statusCode;
+        this.bodyBytes = body != null ? body : EMPTY;
+        this.headers = headers;
+        this.successful = successful;
+        this.jsonCodec = jsonCodec != null ? jsonCodec : JsonCodec.defaultCodec();
+    }
+
+    /**
+     * 复制响应并替换响应头，响应体和编解码器与原响应共享
+     */
+    public HttpResponse withHeaders(Map<String, List<String>> headers) {
+        if (bodyBytes == null) {
+            return new HttpResponse(statusCode, body, headers, successful, jsonCodec);
+        }
+        return new HttpResponse(statusCode, bodyBytes, headers, successful, jsonCodec);
+    }
+
+    /**
+     * 响应体字符串，字节响应体在首次调用时按 Content-Type 的字符集（默认 UTF-8）解码
+     */
+    public String getBody() {
+        String value = body;
+        if (value == null && bodyBytes != null) {
+            value = new String(bodyBytes, charset());
+            body = value;
+        }
+        return value;
+    }
+
+    /**
+     * 响应体字节，不要修改返回的数组
+     */
+    public byte[] getBodyBytes() {
+        if (bodyBytes != null) {
+            return bodyBytes;
+        }
+        return body != null ? body.getBytes(StandardCharsets.UTF_8) : EMPTY;
+    }
 
     /**
      * 获取指定header的值（第一个）
@@ -44,9 +122,12 @@ public class HttpResponse {
     }
 
     /**
-     * 获取响应体长度
+     * 获取响应体长度（字节响应体为字节数）
      */
     public int getContentLength() {
+        if (bodyBytes != null) {
+            return bodyBytes.length;
+        }
         return body != null ? body.length() : 0;
     }
 
@@ -63,7 +144,7 @@ public class HttpResponse {
     public <T> T as(Class<T> clazz) {
         checkSuccessful();
         try {
-            return JSON.parseObject(body, clazz);
+            return decode(clazz);
         } catch (Exception e) {
             throw new HttpClientException("Failed to parse response body to " + clazz.getSimpleName(), e);
         }
@@ -80,7 +161,7 @@ public class HttpResponse {
     public <T> T as(TypeReference<T> typeReference) {
         checkSuccessful();
         try {
-            return JSON.parseObject(body, typeReference);
+            return decode(typeReference.getType());
         } catch (Exception e) {
             throw new HttpClientException("Failed to parse response body", e);
         }
@@ -97,7 +178,7 @@ public class HttpResponse {
     public <T> List<T> asList(Class<T> elementType) {
         checkSuccessful();
         try {
-            return JSON.parseArray(body, elementType);
+            return decode(buildParameterizedType(List.class, elementType));
         } catch (Exception e) {
             throw new HttpClientException("Failed to parse response body to List<" + elementType.getSimpleName() + ">", e);
         }
@@ -112,7 +193,7 @@ public class HttpResponse {
     public Map<String, Object> asMap() {
         checkSuccessful();
         try {
-            return JSON.parseObject(body, new TypeReference<Map<String, Object>>() {});
+            return decode(new TypeReference<Map<String, Object>>() {}.getType());
         } catch (Exception e) {
             throw new HttpClientException("Failed to parse response body to Map", e);
         }
@@ -129,7 +210,7 @@ public class HttpResponse {
     public <T> Map<String, T> asMapOf(Class<T> valueType) {
         checkSuccessful();
         try {
-            return JSON.parseObject(body, new TypeReference<Map<String, T>>(valueType) {});
+            return decode(buildParameterizedType(Map.class, String.class, valueType));
         } catch (Exception e) {
             throw new HttpClientException("Failed to parse response body to Map<String, " + valueType.getSimpleName() + ">", e);
         }
@@ -144,7 +225,7 @@ public class HttpResponse {
     public List<Map<String, Object>> asListOfMap() {
         checkSuccessful();
         try {
-            return JSON.parseObject(body, new TypeReference<List<Map<String, Object>>>() {});
+            return decode(new TypeReference<List<Map<String, Object>>>() {}.getType());
         } catch (Exception e) {
             throw new HttpClientException("Failed to parse response body to List<Map>", e);
         }
@@ -164,11 +245,11 @@ public class HttpResponse {
         checkSuccessful();
         try {
             if (typeArguments == null || typeArguments.length == 0) {
-                return JSON.parseObject(body, wrapperClass);
+                return decode(wrapperClass);
             }
             
             // 构建泛型类型
-            return JSON.parseObject(body, buildParameterizedType(wrapperClass, typeArguments));
+            return decode(buildParameterizedType(wrapperClass, typeArguments));
         } catch (Exception e) {
             throw new HttpClientException("Failed to parse response body to generic type", e);
         }
@@ -193,7 +274,7 @@ public class HttpResponse {
             return null;
         }
         try {
-            return JSON.parseObject(body, clazz);
+            return decode(clazz);
         } catch (Exception e) {
             return null;
         }
@@ -212,18 +293,50 @@ public class HttpResponse {
             return defaultValue;
         }
         try {
-            return JSON.parseObject(body, clazz);
+            return decode(clazz);
         } catch (Exception e) {
             return defaultValue;
         }
     }
 
+    /**
+     * 使用编解码器直接从响应体字节解析
+     * <p>编解码器按 UTF-8 读取字节，Content-Type 声明了其他字符集（如 GBK）时先按该字符集解码再转为 UTF-8
+     */
+    private <T> T decode(Type type) {
+        Charset charset = charset();
+        if (bodyBytes == null || StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset)) {
+            return jsonCodec.decode(getBodyBytes(), type);
+        }
+        return jsonCodec.decode(getBody().getBytes(StandardCharsets.UTF_8), type);
+    }
+
+    private Charset charset() {
+        List<String> contentTypes = headers != null ? headers.get("Content-Type") : null;
+        if (contentTypes == null && headers != null) {
+            contentTypes = headers.get("content-type");
+        }
+        if (contentTypes != null && !contentTypes.isEmpty()) {
+            String contentType = contentTypes.get(0).toLowerCase(Locale.ROOT);
+            int index = contentType.indexOf("charset=");
+            if (index >= 0) {
+                String name = contentType.substring(index + 8).split(";")[0].trim().replace("\"", "");
+                try {
+                    return Charset.forName(name);
+                } catch (IllegalArgumentException e) {
+                    return StandardCharsets.UTF_8;
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
     /**
      * 检查响应是否成功，不成功则抛出异常
      */
     private void checkSuccessful() {
         if (!successful) {
-            throw new HttpClientException("Request failed with status code: " + statusCode + ", body: " + body);
+            throw new HttpClientException("Request failed with status code: " + statusCode + ", body: " + getBody());
         }
     }
 
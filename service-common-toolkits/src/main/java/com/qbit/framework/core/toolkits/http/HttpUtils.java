@@ -1,8 +1,9 @@
 package com.qbit.framework.core.toolkits.http;
 
-import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.TypeReference;
-import com.qbit.framework.core.toolkits.http.interceptor.HttpClientInterceptor;
+import com.qbit.framework.core.toolkits.http.codec.JsonCodec;
+import com.qbit.framework.core.toolkits.http.dns.DnsCache;
+import com.qbit.framework.core.toolkits.http.interceptor.HttpInterceptor;
 import com.qbit.framework.core.toolkits.http.interceptor.TraceInterceptor;
 
 import java.time.Duration;
@@ -166,7 +167,7 @@ public class HttpUtils {
         if (!response.isSuccessful()) {
             throw new HttpClientException("Request failed with status: " + response.getStatusCode());
         }
-        return JSON.parseObject(response.getBody(), clazz);
+        return response.getJsonCodec().decode(response.getBodyBytes(), clazz);
     }
 
     /**
@@ -176,7 +177,7 @@ public class HttpUtils {
         if (!response.isSuccessful()) {
             throw new HttpClientException("Request failed with status: " + response.getStatusCode());
         }
-        return JSON.parseObject(response.getBody(), typeReference);
+        return response.getJsonCodec().decode(response.getBodyBytes(), typeReference.getType());
     }
 
     // ==================== 高级用法 ====================
@@ -290,7 +291,13 @@ public class HttpUtils {
         private boolean useOkHttp = false;
         private boolean enableTrace = true;
         private Duration timeout;
-        private final java.util.List<HttpClientInterceptor> interceptors = new java.util.ArrayList<>();
+        private JsonCodec jsonCodec;
+        private HttpProtocol protocol = HttpProtocol.HTTP_2;
+        private int maxRequestsPerHost = 64;
+        private Duration pingInterval;
+        private int compressionThreshold = -1;
+        private DnsCache dnsCache;
+        private final java.util.List<HttpInterceptor> interceptors = new java.util.ArrayList<>();
 
         public ClientBuilder useOkHttp() {
             this.useOkHttp = true;
@@ -307,24 +314,82 @@ public class HttpUtils {
             return this;
         }
 
-        public ClientBuilder addInterceptor(HttpClientInterceptor interceptor) {
+        public ClientBuilder addInterceptor(HttpInterceptor interceptor) {
             this.interceptors.add(interceptor);
             return this;
         }
 
+        /**
+         * HTTP 协议，默认 {@link HttpProtocol#HTTP_2}（HTTPS 协商，不支持时回退 HTTP/1.1）
+         */
+        public ClientBuilder protocol(HttpProtocol protocol) {
+            this.protocol = java.util.Objects.requireNonNull(protocol, "protocol cannot be null");
+            return this;
+        }
+
+        /**
+         * 每个主机的并发异步请求上限（仅 OkHttp），默认 64；HTTP/2 下即单条连接上的并发流数
+         */
+        public ClientBuilder maxRequestsPerHost(int maxRequestsPerHost) {
+            if (maxRequestsPerHost <= 0) {
+                throw new IllegalArgumentException("maxRequestsPerHost must be > 0");
+            }
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /**
+         * HTTP/2 连接保活 PING 间隔（仅 OkHttp），默认不发送
+         */
+        public ClientBuilder pingInterval(Duration pingInterval) {
+            this.pingInterval = pingInterval;
+            return this;
+        }
+
+        /**
+         * DNS 缓存（仅 OkHttp）；JDK 17 的 HttpClient 没有解析器扩展点，与 JDK 客户端一起使用时构建失败
+         */
+        public ClientBuilder dnsCache(DnsCache dnsCache) {
+            this.dnsCache = dnsCache;
+            return this;
+        }
+
+        /**
+         * 请求体达到阈值（字节）时以 gzip 压缩发送，默认不压缩
+         */
+        public ClientBuilder requestCompression(int minBytes) {
+            this.compressionThreshold = minBytes;
+            return this;
+        }
+
+        /**
+         * JSON 编解码器，默认 {@link JsonCodec#defaultCodec()}
+         */
+        public ClientBuilder jsonCodec(JsonCodec jsonCodec) {
+            this.jsonCodec = jsonCodec;
+            return this;
+        }
+
         public HttpClient build() {
             HttpClient client;
 
             if (useOkHttp) {
-                client = new OkHttpClientImpl();
-            } else if (timeout != null) {
-                client = new JdkHttpClientImpl(
-                        java.net.http.HttpClient.newBuilder()
-                                .connectTimeout(timeout)
-                                .build()
-                );
+                client = OkHttpClientImpl.create(protocol, maxRequestsPerHost, pingInterval, dnsCache);
+            } else if (dnsCache != null) {
+                throw new IllegalStateException("dnsCache requires useOkHttp(): JDK HttpClient has no resolver hook");
             } else {
-                client = new JdkHttpClientImpl();
+                java.net.http.HttpClient.Builder jdkBuilder = timeout != null
+                        ? java.net.http.HttpClient.newBuilder().connectTimeout(timeout)
+                        : JdkHttpClientImpl.defaultBuilder();
+                client = new JdkHttpClientImpl(jdkBuilder.version(JdkHttpClientImpl.version(protocol)).build());
+            }
+
+            if (compressionThreshold >= 0) {
+                client.requestCompression(compressionThreshold);
+            }
+
+            if (jsonCodec != null) {
+                client.jsonCodec(jsonCodec);
             }
 
             // 添加链路追踪拦截器
@@ -333,7 +398,7 @@ public class HttpUtils {
             }
 
             // 添加自定义拦截器
-            for (HttpClientInterceptor interceptor : interceptors) {
+            for (HttpInterceptor interceptor : interceptors) {
                 client.addInterceptor(interceptor);
             }
 
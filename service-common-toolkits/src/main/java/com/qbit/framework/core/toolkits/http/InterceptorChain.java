@@ -0,0 +1,169 @@
+package com.qbit.framework.core.toolkits.http;
+
+import com.qbit.framework.core.toolkits.http.interceptor.HttpClientInterceptor;
+import com.qbit.framework.core.toolkits.http.interceptor.HttpInterceptor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * 拦截器调用链实现，每一层持有下一个拦截器的下标，链的末端交给底层客户端执行
+ * <p>异步调用时，拦截器返回的往往是下游 Future 的派生 Future（{@code whenComplete}/{@code thenApply} 等），
+ * 取消它不会影响下游；因此每一层记录交给下游后得到的 Future，本层结果被取消时逐层向下取消，直到底层传输</p>
+ *
+ * @author Qbit Framework
+ */
+final class InterceptorChain implements HttpInterceptor.Chain {
+
+    private final List<HttpInterceptor> interceptors;
+    private final int index;
+    private final HttpRequest request;
+    private final Function<HttpRequest, HttpResponse> transport;
+    private final Function<HttpRequest, CompletableFuture<HttpResponse>> asyncTransport;
+
+    /** 通过本链节点发出的下游调用（重试、对冲可能有多次），受 this 保护 */
+    private List<CompletableFuture<HttpResponse>> issued;
+    private boolean cancelled;
+
+    private InterceptorChain(List<HttpInterceptor> interceptors, int index, HttpRequest request,
+                             Function<HttpRequest, HttpResponse> transport,
+                             Function<HttpRequest, CompletableFuture<HttpResponse>> asyncTransport) {
+        this.interceptors = interceptors;
+        this.index = index;
+        this.request = request;
+        this.transport = transport;
+        this.asyncTransport = asyncTransport;
+    }
+
+    /**
+     * 同步执行调用链
+     */
+    static HttpResponse execute(List<HttpInterceptor> interceptors, HttpRequest request,
+                                Function<HttpRequest, HttpResponse> transport,
+                                Function<HttpRequest, CompletableFuture<HttpResponse>> asyncTransport) {
+        return new InterceptorChain(interceptors, 0, request, transport, asyncTransport).proceed(request);
+    }
+
+    /**
+     * 异步执行调用链，拦截器同步抛出的异常转换为异常完成的 Future
+     */
+    static CompletableFuture<HttpResponse> executeAsync(List<HttpInterceptor> interceptors, HttpRequest request,
+                                                        Function<HttpRequest, HttpResponse> transport,
+                                                        Function<HttpRequest, CompletableFuture<HttpResponse>> asyncTransport) {
+        return new InterceptorChain(interceptors, 0, request, transport, asyncTransport).proceedAsync(request);
+    }
+
+    /**
+     * 只执行请求改写型拦截器（{@link HttpClientInterceptor}），用于响应不经过拦截器的流式调用
+     */
+    static HttpRequest rewrite(List<HttpInterceptor> interceptors, HttpRequest request) {
+        HttpRequest result = request;
+        for (HttpInterceptor interceptor : interceptors) {
+            if (interceptor instanceof HttpClientInterceptor) {
+                result = ((HttpClientInterceptor) interceptor).intercept(result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 返回加入拦截器并按优先级排序后的新列表（写时复制，进行中的调用链不受影响）
+     */
+    static List<HttpInterceptor> plus(List<HttpInterceptor> interceptors, HttpInterceptor interceptor) {
+        List<HttpInterceptor> copy = new ArrayList<>(interceptors);
+        copy.add(interceptor);
+        copy.sort(Comparator.comparingInt(HttpInterceptor::getOrder));
+        return List.copyOf(copy);
+    }
+
+    @Override
+    public HttpRequest request() {
+        return request;
+    }
+
+    @Override
+    public HttpResponse proceed(HttpRequest request) {
+        if (index >= interceptors.size()) {
+            return transport.apply(request);
+        }
+        HttpInterceptor interceptor = interceptors.get(index);
+        HttpResponse response = interceptor.intercept(next(request));
+        if (response == null) {
+            throw new HttpClientException("Interceptor " + interceptor.getClass().getName() + " returned null response");
+        }
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> proceedAsync(HttpRequest request) {
+        return issue(request, true);
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> proceedAsyncDetached(HttpRequest request) {
+        return issue(request, false);
+    }
+
+    private CompletableFuture<HttpResponse> issue(HttpRequest request, boolean tracked) {
+        try {
+            if (index >= interceptors.size()) {
+                CompletableFuture<HttpResponse> response = asyncTransport.apply(request);
+                return tracked ? track(response) : response;
+            }
+            HttpInterceptor interceptor = interceptors.get(index);
+            InterceptorChain next = next(request);
+            CompletableFuture<HttpResponse> response = interceptor.interceptAsync(next);
+            if (response == null) {
+                throw new HttpClientException("Interceptor " + interceptor.getClass().getName() + " returned null future");
+            }
+            response.whenComplete((r, e) -> {
+                if (response.isCancelled()) {
+                    next.cancelIssued();
+                }
+            });
+            return tracked ? track(response) : response;
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(HttpAsyncSupport.toException(request, e));
+        }
+    }
+
+    /**
+     * 记录拦截器通过 {@link #proceedAsync(HttpRequest)} 发出的下游调用
+     */
+    private CompletableFuture<HttpResponse> track(CompletableFuture<HttpResponse> future) {
+        boolean cancel;
+        synchronized (this) {
+            cancel = cancelled;
+            if (!cancel) {
+                if (issued == null) {
+                    issued = new ArrayList<>(1);
+                }
+                issued.add(future);
+            }
+        }
+        if (cancel) {
+            // 上游已取消后才发出的调用（如重试）直接取消
+            future.cancel(true);
+        }
+        return future;
+    }
+
+    private void cancelIssued() {
+        List<CompletableFuture<HttpResponse>> futures;
+        synchronized (this) {
+            cancelled = true;
+            futures = issued;
+            issued = null;
+        }
+        if (futures != null) {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private InterceptorChain next(HttpRequest request) {
+        return new InterceptorChain(interceptors, index + 1, request, transport, asyncTransport);
+    }
+}
@@ -1,20 +1,26 @@
 package com.qbit.framework.core.toolkits.http;
 
-import com.alibaba.fastjson.JSON;
+import com.qbit.framework.core.toolkits.http.codec.JsonCodec;
 import com.qbit.framework.core.toolkits.http.interceptor.HttpClientInterceptor;
+import com.qbit.framework.core.toolkits.http.interceptor.HttpInterceptor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
  * JDK HttpClient 实现（JDK 11+）
+ * <p>调用方未指定 Accept-Encoding 时自动声明 gzip/deflate 并透明解压响应体；
+ * 通过 {@link #requestCompression(int)} 开启后，超过阈值的请求体以 gzip 压缩发送
  *
  * @author Qbit Framework
 
@@ -24,16 +30,24 @@ import java.util.stream.Collectors;
 public class JdkHttpClientImpl implements HttpClient {
 
     private final java.net.http.HttpClient httpClient;
-    private final List<HttpClientInterceptor> interceptors = new ArrayList<>();
+    private volatile List<HttpInterceptor> interceptors = List.of();
+    private volatile JsonCodec jsonCodec = JsonCodec.defaultCodec();
+    private volatile int compressionThreshold = -1;
 
     /**
      * 使用默认配置构造
      */
     public JdkHttpClientImpl() {
-        this(java.net.http.HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .followRedirects(java.net.http.HttpClient.Redirect.NORMAL)
-                .build());
+        this(defaultBuilder().build());
+    }
+
+    /**
+     * 使用默认配置和指定协议构造
+     * <p>JDK HttpClient 的并发流上限等 HTTP/2 参数是进程级的，通过系统属性
+     * {@code jdk.httpclient.maxstreams}、{@code jdk.httpclient.windowsize} 调整
+     */
+    public JdkHttpClientImpl(HttpProtocol protocol) {
+        this(defaultBuilder().version(version(protocol)).build());
     }
 
     /**
@@ -50,19 +64,130 @@ public class JdkHttpClientImpl implements HttpClient {
         return new JdkHttpClientImpl(builder.build());
     }
 
+    /**
+     * 默认配置：连接超时 10 秒，跟随重定向
+     */
+    static java.net.http.HttpClient.Builder defaultBuilder() {
+        return java.net.http.HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .followRedirects(java.net.http.HttpClient.Redirect.NORMAL);
+    }
+
+    static java.net.http.HttpClient.Version version(HttpProtocol protocol) {
+        return protocol == HttpProtocol.HTTP_1_1
+                ? java.net.http.HttpClient.Version.HTTP_1_1
+                : java.net.http.HttpClient.Version.HTTP_2;
+    }
+
     @Override
     public HttpResponse execute(HttpRequest request) throws HttpClientException {
         try {
-            // 应用拦截器
-            HttpRequest processedRequest = applyInterceptors(request);
+            return InterceptorChain.execute(interceptors, request, this::send, this::sendAsync);
+        } catch (HttpClientException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error during HTTP request: {} {}", request.getMethod(), request.getFullUrl(), e);
+            throw new HttpClientException("Unexpected error during HTTP request", e);
+        }
+    }
+
+    /**
+     * 拦截器在调用线程上执行；链末端基于 {@code sendAsync} 非阻塞发送，等待响应期间不占用调用线程
+     */
+    @Override
+    public CompletableFuture<HttpResponse> executeAsync(HttpRequest request) {
+        return InterceptorChain.executeAsync(interceptors, request, this::send, this::sendAsync);
+    }
 
+    /**
+     * 调用链末端：同步发送
+     */
+    private HttpResponse send(HttpRequest request) {
+        try {
             // 构建JDK HttpRequest
-            java.net.http.HttpRequest jdkRequest = buildJdkHttpRequest(processedRequest);
+            java.net.http.HttpRequest jdkRequest = buildJdkHttpRequest(request);
 
             // 执行请求
-            java.net.http.HttpResponse<String> response = httpClient.send(jdkRequest, BodyHandlers.ofString());
+            java.net.http.HttpResponse<byte[]> response = httpClient.send(jdkRequest, BodyHandlers.ofByteArray());
 
-            return buildHttpResponse(response);
+            return buildHttpResponse(response, HttpCompression.isTransparent(request));
+        } catch (IOException e) {
+            log.error("HTTP request failed: {} {}", request.getMethod(), request.getFullUrl(), e);
+            throw new HttpClientException("HTTP request failed", e);
+        } catch (InterruptedException e) {
+            log.error("HTTP request interrupted: {} {}", request.getMethod(), request.getFullUrl(), e);
+            Thread.currentThread().interrupt();
+            throw new HttpClientException("HTTP request interrupted", e);
+        } catch (HttpClientException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error during HTTP request: {} {}", request.getMethod(), request.getFullUrl(), e);
+            throw new HttpClientException("Unexpected error during HTTP request", e);
+        }
+    }
+
+    /**
+     * 调用链末端：基于 {@code sendAsync} 异步发送
+     */
+    private CompletableFuture<HttpResponse> sendAsync(HttpRequest request) {
+        Map<String, String> context = HttpAsyncSupport.captureContext();
+        java.net.http.HttpRequest jdkRequest;
+        try {
+            jdkRequest = buildJdkHttpRequest(request);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(HttpAsyncSupport.toException(request, e));
+        }
+
+        CompletableFuture<java.net.http.HttpResponse<byte[]>> call =
+                httpClient.sendAsync(jdkRequest, BodyHandlers.ofByteArray());
+        CompletableFuture<HttpResponse> future = HttpAsyncSupport.cancellable(HttpAsyncSupport.cancelling(call));
+        call.whenComplete((response, error) -> {
+            if (error != null) {
+                log.debug("Async HTTP request failed: {} {}", request.getMethod(), request.getFullUrl(), error);
+                HttpAsyncSupport.fail(future, context, request, error);
+                return;
+            }
+            HttpResponse httpResponse;
+            try {
+                httpResponse = buildHttpResponse(response, HttpCompression.isTransparent(request));
+            } catch (IOException e) {
+                HttpAsyncSupport.fail(future, context, request, e);
+                return;
+            }
+            HttpAsyncSupport.complete(future, context, httpResponse);
+        });
+        return future;
+    }
+
+    /**
+     * 基于 {@code BodyHandlers.ofInputStream} 的流式实现，收到响应头即返回，响应体按读取进度从连接上拉取
+     * <p>响应不经过拦截器，只执行请求改写型拦截器（{@link HttpClientInterceptor}）；压缩的响应体边读边解压
+     */
+    @Override
+    public StreamingHttpResponse executeStreaming(HttpRequest request) throws HttpClientException {
+        try {
+            HttpRequest processedRequest = InterceptorChain.rewrite(interceptors, request);
+            java.net.http.HttpRequest jdkRequest = buildJdkHttpRequest(processedRequest);
+            java.net.http.HttpResponse<InputStream> response = httpClient.send(jdkRequest, BodyHandlers.ofInputStream());
+            int statusCode = response.statusCode();
+            Map<String, List<String>> headers = response.headers().map();
+            InputStream body = response.body();
+            try {
+                String encoding = HttpCompression.contentEncoding(headers);
+                if (HttpCompression.isTransparent(processedRequest) && HttpCompression.isSupported(encoding)) {
+                    body = HttpCompression.decode(body, encoding);
+                    headers = HttpCompression.decodedHeaders(headers);
+                }
+                return new StreamingHttpResponse(statusCode, headers, statusCode >= 200 && statusCode < 300, body);
+            } catch (IOException | RuntimeException e) {
+                // 响应交给调用方之前失败，由这里释放连接
+                try {
+                    response.body().close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
         } catch (IOException e) {
             log.error("HTTP request failed: {} {}", request.getMethod(), request.getFullUrl(), e);
             throw new HttpClientException("HTTP request failed", e);
@@ -89,33 +214,42 @@ public class JdkHttpClientImpl implements HttpClient {
             builder.header("Content-Type", request.getContentType());
         }
 
-        // 构建请求体
-        java.net.http.HttpRequest.BodyPublisher bodyPublisher = buildBodyPublisher(request);
+        // 声明可接受的压缩编码，收到压缩响应后透明解压
+        if (HttpCompression.isTransparent(request)) {
+            builder.header("Accept-Encoding", HttpCompression.ACCEPT_ENCODING);
+        }
+
+        // 构建请求体，超过阈值时压缩
+        byte[] body = buildBody(request);
+        if (body != null && HttpCompression.shouldCompress(request, body.length, compressionThreshold)) {
+            body = HttpCompression.gzip(body);
+            builder.header("Content-Encoding", HttpCompression.GZIP);
+        }
 
         // 设置方法和请求体
-        builder.method(request.getMethod(), bodyPublisher);
+        builder.method(request.getMethod(), body != null ? BodyPublishers.ofByteArray(body) : BodyPublishers.noBody());
 
         return builder.build();
     }
 
-    private java.net.http.HttpRequest.BodyPublisher buildBodyPublisher(HttpRequest request) {
+    /**
+     * 请求体字节，GET、HEAD 没有请求体时返回 null
+     */
+    private byte[] buildBody(HttpRequest request) {
         if (request.getBody() == null) {
             // GET、DELETE等可能没有请求体
             if ("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod())) {
-                return BodyPublishers.noBody();
+                return null;
             }
-            return BodyPublishers.ofString("");
+            return new byte[0];
         }
 
         // 根据Content-Type处理不同类型的body
         if (request.getContentType().contains("application/json")) {
-            String json;
             if (request.getBody() instanceof String) {
-                json = (String) request.getBody();
-            } else {
-                json = JSON.toJSONString(request.getBody());
+                return ((String) request.getBody()).getBytes(StandardCharsets.UTF_8);
             }
-            return BodyPublishers.ofString(json);
+            return jsonCodec.encode(request.getBody());
         } else if (request.getContentType().contains("application/x-www-form-urlencoded")) {
             if (request.getBody() instanceof Map) {
                 @SuppressWarnings("unchecked")
@@ -123,14 +257,14 @@ public class JdkHttpClientImpl implements HttpClient {
                 String formBody = formData.entrySet().stream()
                         .map(entry -> urlEncode(entry.getKey()) + "=" + urlEncode(entry.getValue()))
                         .collect(Collectors.joining("&"));
-                return BodyPublishers.ofString(formBody);
+                return formBody.getBytes(StandardCharsets.UTF_8);
             }
-            return BodyPublishers.ofString("");
+            return new byte[0];
         } else if (request.getBody() instanceof String) {
-            return BodyPublishers.ofString((String) request.getBody());
+            return ((String) request.getBody()).getBytes(StandardCharsets.UTF_8);
         } else {
             // 其他类型转JSON
-            return BodyPublishers.ofString(JSON.toJSONString(request.getBody()));
+            return jsonCodec.encode(request.getBody());
         }
     }
 
@@ -142,43 +276,56 @@ public class JdkHttpClientImpl implements HttpClient {
         }
     }
 
-    private HttpResponse buildHttpResponse(java.net.http.HttpResponse<String> response) {
+    /**
+     * @param transparent 是否由客户端声明了 Accept-Encoding，是则解压响应体并去掉编码相关响应头
+     */
+    private HttpResponse buildHttpResponse(java.net.http.HttpResponse<byte[]> response, boolean transparent)
+            throws IOException {
         int statusCode = response.statusCode();
-        String body = response.body();
+        byte[] body = response.body();
 
         // 转换headers
         HttpHeaders jdkHeaders = response.headers();
         Map<String, List<String>> headers = jdkHeaders.map();
+        if (transparent && HttpCompression.isSupported(HttpCompression.contentEncoding(headers))) {
+            body = HttpCompression.decode(body, headers);
+            headers = HttpCompression.decodedHeaders(headers);
+        }
 
         boolean successful = statusCode >= 200 && statusCode < 300;
 
-        return new HttpResponse(statusCode, body, headers, successful);
+        return new HttpResponse(statusCode, body, headers, successful, jsonCodec);
     }
 
     @Override
-    public HttpClient addInterceptor(HttpClientInterceptor interceptor) {
+    public HttpClient addInterceptor(HttpInterceptor interceptor) {
         if (interceptor != null) {
-            this.interceptors.add(interceptor);
-            // 按优先级排序
-            this.interceptors.sort(Comparator.comparingInt(HttpClientInterceptor::getOrder));
+            // 按优先级排序，写时复制
+            this.interceptors = InterceptorChain.plus(interceptors, interceptor);
         }
         return this;
     }
 
     @Override
-    public List<HttpClientInterceptor> getInterceptors() {
-        return Collections.unmodifiableList(interceptors);
+    public List<HttpInterceptor> getInterceptors() {
+        return interceptors;
     }
 
-    /**
-     * 应用所有拦截器
-     */
-    private HttpRequest applyInterceptors(HttpRequest request) {
-        HttpRequest result = request;
-        for (HttpClientInterceptor interceptor : interceptors) {
-            result = interceptor.intercept(result);
-        }
-        return result;
+    @Override
+    public HttpClient requestCompression(int minBytes) {
+        this.compressionThreshold = minBytes;
+        return this;
+    }
+
+    @Override
+    public HttpClient jsonCodec(JsonCodec jsonCodec) {
+        this.jsonCodec = Objects.requireNonNull(jsonCodec, "JsonCodec cannot be null");
+        return this;
+    }
+
+    @Override
+    public JsonCodec getJsonCodec() {
+        return jsonCodec;
     }
 
     @Override
@@ -1,16 +1,30 @@
 package com.qbit.framework.core.toolkits.http;
 
-import com.alibaba.fastjson.JSON;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.qbit.framework.core.toolkits.http.codec.JsonCodec;
+import com.qbit.framework.core.toolkits.http.dns.DnsCache;
 import com.qbit.framework.core.toolkits.http.interceptor.HttpClientInterceptor;
+import com.qbit.framework.core.toolkits.http.interceptor.HttpInterceptor;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownHandler;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownRegistry;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownStage;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
+import okio.Buffer;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
  * OkHttp 实现的 HTTP 客户端
+ * <p>调用方未指定 Accept-Encoding 时由 OkHttp 自动声明 gzip 并透明解压；
+ * 通过 {@link #requestCompression(int)} 开启后，超过阈值的请求体以 gzip 压缩发送
  *
  * @author zhoubobing
  * @date 2026/1/7
@@ -18,19 +32,109 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class OkHttpClientImpl implements HttpClient {
 
+    /**
+     * OkHttp 停机处理器：等待进行中的调用完成，超时后取消剩余调用，并关闭分发线程池、清理连接池
+     */
+    public static final ShutdownHandler<OkHttpClient> SHUTDOWN_HANDLER = OkHttpClientImpl::drainClient;
+
+    /**
+     * 派生客户端缓存上限，超时配置组合通常只有少数几种
+     */
+    private static final int MAX_DERIVED_CLIENTS = 64;
+
+    /**
+     * 每个主机的默认并发异步调用上限：OkHttp 默认只有 5，扇出聚合场景下放宽到 64
+     */
+    private static final int DEFAULT_MAX_REQUESTS_PER_HOST = 64;
+
     private final OkHttpClient okHttpClient;
-    private final List<HttpClientInterceptor> interceptors = new ArrayList<>();
+    private final ClientProfile baseProfile;
+    private final Cache<ClientProfile, OkHttpClient> derivedClients = Caffeine.newBuilder()
+            .maximumSize(MAX_DERIVED_CLIENTS)
+            .build();
+    private volatile List<HttpInterceptor> interceptors = List.of();
+    private volatile JsonCodec jsonCodec = JsonCodec.defaultCodec();
+    private volatile int compressionThreshold = -1;
 
     /**
      * 使用默认配置构造
      */
     public OkHttpClientImpl() {
-        this(new OkHttpClient.Builder()
+        this(defaultBuilder(DEFAULT_MAX_REQUESTS_PER_HOST).build());
+    }
+
+    /**
+     * 使用默认配置和指定协议构造
+     */
+    public OkHttpClientImpl(HttpProtocol protocol) {
+        this(protocol, DEFAULT_MAX_REQUESTS_PER_HOST, null);
+    }
+
+    /**
+     * 使用默认配置、指定协议和多路复用参数构造
+     *
+     * @param maxRequestsPerHost 每个主机的并发异步请求上限；HTTP/2 下同一主机的请求复用一条连接，即该连接上的并发流数
+     * @param pingInterval       HTTP/2 连接保活 PING 间隔，对端无响应时关闭连接；null 表示不发送
+     */
+    public OkHttpClientImpl(HttpProtocol protocol, int maxRequestsPerHost, Duration pingInterval) {
+        this(protocolBuilder(protocol, maxRequestsPerHost, pingInterval).build());
+    }
+
+    /**
+     * 使用默认配置、指定协议、多路复用参数和 DNS 缓存创建
+     *
+     * @param dnsCache DNS 缓存，null 表示使用系统解析
+     */
+    public static OkHttpClientImpl create(HttpProtocol protocol, int maxRequestsPerHost, Duration pingInterval,
+                                          DnsCache dnsCache) {
+        OkHttpClient.Builder builder = protocolBuilder(protocol, maxRequestsPerHost, pingInterval);
+        if (dnsCache != null) {
+            builder.dns(dnsCache::lookup);
+        }
+        return new OkHttpClientImpl(builder.build());
+    }
+
+    private static OkHttpClient.Builder defaultBuilder(int maxRequestsPerHost) {
+        return new OkHttpClient.Builder()
                 .connectTimeout(10, TimeUnit.SECONDS)
                 .readTimeout(30, TimeUnit.SECONDS)
                 .writeTimeout(30, TimeUnit.SECONDS)
                 .retryOnConnectionFailure(true)
-                .build());
+                .dispatcher(defaultDispatcher(maxRequestsPerHost));
+    }
+
+    private static OkHttpClient.Builder protocolBuilder(HttpProtocol protocol, int maxRequestsPerHost,
+                                                        Duration pingInterval) {
+        Objects.requireNonNull(protocol, "protocol cannot be null");
+        if (maxRequestsPerHost <= 0) {
+            throw new IllegalArgumentException("maxRequestsPerHost must be > 0");
+        }
+        OkHttpClient.Builder builder = defaultBuilder(maxRequestsPerHost);
+        switch (protocol) {
+            case HTTP_1_1:
+                builder.protocols(List.of(Protocol.HTTP_1_1));
+                break;
+            case H2C:
+                builder.protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+                break;
+            default:
+                builder.protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1));
+                break;
+        }
+        if (pingInterval != null) {
+            builder.pingInterval(pingInterval);
+        }
+        return builder;
+    }
+
+    /**
+     * 异步调用的分发器
+     */
+    private static Dispatcher defaultDispatcher(int maxRequestsPerHost) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Math.max(256, maxRequestsPerHost));
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        return dispatcher;
     }
 
     /**
@@ -38,6 +142,9 @@ public class OkHttpClientImpl implements HttpClient {
      */
     public OkHttpClientImpl(OkHttpClient okHttpClient) {
         this.okHttpClient = Objects.requireNonNull(okHttpClient, "OkHttpClient cannot be null");
+        this.baseProfile = new ClientProfile(okHttpClient.connectTimeoutMillis(), okHttpClient.readTimeoutMillis(),
+                okHttpClient.writeTimeoutMillis(), okHttpClient.followRedirects());
+        ShutdownRegistry.register("okhttp-client", ShutdownStage.IO, okHttpClient, SHUTDOWN_HANDLER);
     }
 
     /**
@@ -50,19 +157,34 @@ public class OkHttpClientImpl implements HttpClient {
     @Override
     public HttpResponse execute(HttpRequest request) throws HttpClientException {
         try {
-            // 应用拦截器
-            HttpRequest processedRequest = applyInterceptors(request);
+            return InterceptorChain.execute(interceptors, request, this::send, this::sendAsync);
+        } catch (HttpClientException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error during HTTP request: {} {}", request.getMethod(), request.getFullUrl(), e);
+            throw new HttpClientException("Unexpected error during HTTP request", e);
+        }
+    }
 
-            // 创建OkHttp客户端（针对每个请求的超时设置）
-            OkHttpClient client = okHttpClient.newBuilder()
-                    .connectTimeout(processedRequest.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
-                    .readTimeout(processedRequest.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS)
-                    .writeTimeout(processedRequest.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS)
-                    .followRedirects(processedRequest.isFollowRedirects())
-                    .build();
+    /**
+     * 拦截器在调用线程上执行；链末端基于 {@code enqueue} 非阻塞发送，等待响应期间不占用调用线程，响应体在分发线程上读取
+     * <p>并发受 {@link Dispatcher} 的 maxRequests/maxRequestsPerHost 限制
+     */
+    @Override
+    public CompletableFuture<HttpResponse> executeAsync(HttpRequest request) {
+        return InterceptorChain.executeAsync(interceptors, request, this::send, this::sendAsync);
+    }
+
+    /**
+     * 调用链末端：同步发送
+     */
+    private HttpResponse send(HttpRequest request) {
+        try {
+            // 按请求的超时配置获取客户端（相同配置复用同一个派生客户端）
+            OkHttpClient client = clientFor(request);
 
             // 构建请求
-            Request okRequest = buildOkHttpRequest(processedRequest);
+            Request okRequest = buildOkHttpRequest(request);
 
             // 执行请求
             try (Response response = client.newCall(okRequest).execute()) {
@@ -71,12 +193,97 @@ public class OkHttpClientImpl implements HttpClient {
         } catch (IOException e) {
             log.error("HTTP request failed: {} {}", request.getMethod(), request.getFullUrl(), e);
             throw new HttpClientException("HTTP request failed", e);
+        } catch (HttpClientException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error during HTTP request: {} {}", request.getMethod(), request.getFullUrl(), e);
+            throw new HttpClientException("Unexpected error during HTTP request", e);
+        }
+    }
+
+    /**
+     * 调用链末端：基于 {@code enqueue} 异步发送
+     */
+    private CompletableFuture<HttpResponse> sendAsync(HttpRequest request) {
+        Map<String, String> context = HttpAsyncSupport.captureContext();
+        Call call;
+        try {
+            call = clientFor(request).newCall(buildOkHttpRequest(request));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(HttpAsyncSupport.toException(request, e));
+        }
+
+        CompletableFuture<HttpResponse> future = HttpAsyncSupport.cancellable(call::cancel);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failedCall, IOException e) {
+                log.debug("Async HTTP request failed: {} {}", request.getMethod(), request.getFullUrl(), e);
+                HttpAsyncSupport.fail(future, context, request, e);
+            }
+
+            @Override
+            public void onResponse(Call completedCall, Response response) {
+                HttpResponse httpResponse;
+                try (response) {
+                    httpResponse = buildHttpResponse(response);
+                } catch (IOException e) {
+                    HttpAsyncSupport.fail(future, context, request, e);
+                    return;
+                }
+                HttpAsyncSupport.complete(future, context, httpResponse);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 流式实现，响应体直接使用 {@link ResponseBody#byteStream()}，关闭流即关闭响应并归还连接
+     * <p>读超时作用于每次读取，而不是整个下载过程；响应不经过拦截器，只执行请求改写型拦截器（{@link HttpClientInterceptor}）
+     */
+    @Override
+    public StreamingHttpResponse executeStreaming(HttpRequest request) throws HttpClientException {
+        Response response = null;
+        try {
+            HttpRequest processedRequest = InterceptorChain.rewrite(interceptors, request);
+            response = clientFor(processedRequest).newCall(buildOkHttpRequest(processedRequest)).execute();
+            ResponseBody body = response.body();
+            return new StreamingHttpResponse(response.code(), response.headers().toMultimap(),
+                    response.isSuccessful(), body != null ? body.byteStream() : null);
+        } catch (IOException e) {
+            log.error("HTTP request failed: {} {}", request.getMethod(), request.getFullUrl(), e);
+            throw new HttpClientException("HTTP request failed", e);
         } catch (Exception e) {
+            if (response != null) {
+                response.close();
+            }
             log.error("Unexpected error during HTTP request: {} {}", request.getMethod(), request.getFullUrl(), e);
             throw new HttpClientException("Unexpected error during HTTP request", e);
         }
     }
 
+    /**
+     * 获取与请求超时配置一致的客户端
+     * <p>与基础客户端配置相同时直接使用基础客户端，否则按 (connect, read, write, followRedirects) 缓存派生客户端，
+     * 避免每次请求 {@code newBuilder().build()} 重新创建客户端对象图；派生客户端共享基础客户端的连接池和分发器，
+     * 淘汰时无需关闭
+     */
+    private OkHttpClient clientFor(HttpRequest request) {
+        ClientProfile profile = new ClientProfile(
+                request.getConnectTimeout().toMillis(),
+                request.getReadTimeout().toMillis(),
+                request.getWriteTimeout().toMillis(),
+                request.isFollowRedirects());
+        if (profile.equals(baseProfile)) {
+            return okHttpClient;
+        }
+        return derivedClients.get(profile, p -> okHttpClient.newBuilder()
+                .connectTimeout(p.connectMillis, TimeUnit.MILLISECONDS)
+                .readTimeout(p.readMillis, TimeUnit.MILLISECONDS)
+                .writeTimeout(p.writeMillis, TimeUnit.MILLISECONDS)
+                .followRedirects(p.followRedirects)
+                .build());
+    }
+
     private Request buildOkHttpRequest(HttpRequest request) {
         Request.Builder builder = new Request.Builder()
                 .url(request.getFullUrl());
@@ -89,8 +296,11 @@ public class OkHttpClientImpl implements HttpClient {
             builder.addHeader("Content-Type", request.getContentType());
         }
 
-        // 构建请求体
+        // 构建请求体，超过阈值时压缩
         RequestBody requestBody = buildRequestBody(request);
+        if (requestBody != null) {
+            requestBody = compress(request, requestBody, builder);
+        }
 
         // 设置方法和请求体
         builder.method(request.getMethod(), requestBody);
@@ -111,13 +321,10 @@ public class OkHttpClientImpl implements HttpClient {
 
         // 根据Content-Type处理不同类型的body
         if (request.getContentType().contains("application/json")) {
-            String json;
             if (request.getBody() instanceof String) {
-                json = (String) request.getBody();
-            } else {
-                json = JSON.toJSONString(request.getBody());
+                return RequestBody.create((String) request.getBody(), mediaType);
             }
-            return RequestBody.create(json, mediaType);
+            return RequestBody.create(jsonCodec.encode(request.getBody()), mediaType);
         } else if (request.getContentType().contains("application/x-www-form-urlencoded")) {
             FormBody.Builder formBuilder = new FormBody.Builder();
             if (request.getBody() instanceof Map) {
@@ -130,13 +337,27 @@ public class OkHttpClientImpl implements HttpClient {
             return RequestBody.create((String) request.getBody(), mediaType);
         } else {
             // 其他类型转JSON
-            return RequestBody.create(JSON.toJSONString(request.getBody()), mediaType);
+            return RequestBody.create(jsonCodec.encode(request.getBody()), mediaType);
+        }
+    }
+
+    private RequestBody compress(HttpRequest request, RequestBody body, Request.Builder builder) {
+        try {
+            if (!HttpCompression.shouldCompress(request, body.contentLength(), compressionThreshold)) {
+                return body;
+            }
+            Buffer buffer = new Buffer();
+            body.writeTo(buffer);
+            builder.header("Content-Encoding", HttpCompression.GZIP);
+            return RequestBody.create(HttpCompression.gzip(buffer.readByteArray()), body.contentType());
+        } catch (IOException e) {
+            throw new HttpClientException("Failed to compress request body", e);
         }
     }
 
     private HttpResponse buildHttpResponse(Response response) throws IOException {
         int statusCode = response.code();
-        String body = response.body() != null ? response.body().string() : "";
+        byte[] body = response.body() != null ? response.body().bytes() : null;
 
         // 转换headers
         Map<String, List<String>> headers = new LinkedHashMap<>();
@@ -144,40 +365,74 @@ public class OkHttpClientImpl implements HttpClient {
 
         boolean successful = response.isSuccessful();
 
-        return new HttpResponse(statusCode, body, headers, successful);
+        return new HttpResponse(statusCode, body, headers, successful, jsonCodec);
     }
 
     @Override
-    public HttpClient addInterceptor(HttpClientInterceptor interceptor) {
+    public HttpClient addInterceptor(HttpInterceptor interceptor) {
         if (interceptor != null) {
-            this.interceptors.add(interceptor);
-            // 按优先级排序
-            this.interceptors.sort(Comparator.comparingInt(HttpClientInterceptor::getOrder));
+            // 按优先级排序，写时复制
+            this.interceptors = InterceptorChain.plus(interceptors, interceptor);
         }
         return this;
     }
 
     @Override
-    public List<HttpClientInterceptor> getInterceptors() {
-        return Collections.unmodifiableList(interceptors);
+    public List<HttpInterceptor> getInterceptors() {
+        return interceptors;
     }
 
-    /**
-     * 应用所有拦截器
-     */
-    private HttpRequest applyInterceptors(HttpRequest request) {
-        HttpRequest result = request;
-        for (HttpClientInterceptor interceptor : interceptors) {
-            result = interceptor.intercept(result);
-        }
-        return result;
+    @Override
+    public HttpClient requestCompression(int minBytes) {
+        this.compressionThreshold = minBytes;
+        return this;
+    }
+
+    @Override
+    public HttpClient jsonCodec(JsonCodec jsonCodec) {
+        this.jsonCodec = Objects.requireNonNull(jsonCodec, "JsonCodec cannot be null");
+        return this;
+    }
+
+    @Override
+    public JsonCodec getJsonCodec() {
+        return jsonCodec;
     }
 
     @Override
     public void close() {
         if (okHttpClient != null) {
+            ShutdownRegistry.unregister(okHttpClient);
             okHttpClient.dispatcher().executorService().shutdown();
             okHttpClient.connectionPool().evictAll();
+            derivedClients.invalidateAll();
         }
     }
+
+    private static int drainClient(OkHttpClient client, Duration timeout) throws InterruptedException {
+        Dispatcher dispatcher = client.dispatcher();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (dispatcher.runningCallsCount() + dispatcher.queuedCallsCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50L);
+        }
+        int abandoned = dispatcher.runningCallsCount() + dispatcher.queuedCallsCount();
+        if (abandoned > 0) {
+            dispatcher.cancelAll();
+        }
+        dispatcher.executorService().shutdown();
+        client.connectionPool().evictAll();
+        return abandoned;
+    }
+
+    /**
+     * 派生客户端的缓存键
+     */
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class ClientProfile {
+        private final long connectMillis;
+        private final long readMillis;
+        private final long writeMillis;
+        private final boolean followRedirects;
+    }
 }
@@ -0,0 +1,151 @@
+package com.qbit.framework.core.toolkits.http;
+
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 流式 HTTP 响应，响应体以 {@link InputStream} 形式按需读取，不在堆上缓存完整内容
+ * <p>持有底层连接，必须关闭（推荐 try-with-resources）；{@link #bytes()}、{@link #downloadTo(Path)} 读取完成后自动关闭
+ *
+ * <pre>{@code
+ * try (StreamingHttpResponse response = client.executeStreaming(request)) {
+ *     try (InputStream in = response.getBody()) {
+ *         // 逐段处理
+ *     }
+ * }
+ *
+ * client.executeStreaming(request).downloadTo(Paths.get("/data/export.csv"));
+ * }</pre>
+ *
+ * @author Qbit Framework
+ */
+@Getter
+public class StreamingHttpResponse implements Closeable {
+
+    /**
+     * 每次 transferFrom 的最大字节数
+     */
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    private final int statusCode;
+    private final Map<String, List<String>> headers;
+    private final boolean successful;
+    /**
+     * 响应体输入流，只能读取一次
+     */
+    private final InputStream body;
+
+    public StreamingHttpResponse(int statusCode, Map<String, List<String>> headers, boolean successful, InputStream body) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.successful = successful;
+        this.body = body != null ? body : InputStream.nullInputStream();
+    }
+
+    /**
+     * 获取指定header的值（第一个）
+     */
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+
+    /**
+     * 获取指定header的所有值
+     */
+    public List<String> getHeaders(String name) {
+        return headers.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * 以通道形式读取响应体，关闭通道即关闭响应
+     */
+    public ReadableByteChannel channel() {
+        return Channels.newChannel(body);
+    }
+
+    /**
+     * 读取完整响应体为字节数组并关闭响应，适用于二进制内容（图片、压缩包等）
+     *
+     * @throws HttpClientException 读取失败
+     */
+    public byte[] bytes() {
+        try (InputStream in = body) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new HttpClientException("Failed to read response body", e);
+        }
+    }
+
+    /**
+     * 将响应体写入文件并关闭响应
+     * <p>先写入同目录下的临时文件，完成后原子替换目标文件，下载中断时不会留下不完整的目标文件；
+     * 通过 {@link FileChannel#transferFrom} 写入，由文件通道直接从输入通道读取，不经过额外的用户态缓冲
+     *
+     * @param target 目标文件
+     * @return 目标文件
+     * @throws HttpClientException 响应不成功或写入失败
+     */
+    public Path downloadTo(Path target) {
+        try (ReadableByteChannel source = channel()) {
+            if (!successful) {
+                throw new HttpClientException("Download failed with status code: " + statusCode);
+            }
+            Path absolute = target.toAbsolutePath();
+            Path directory = absolute.getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            Path temp = Files.createTempFile(directory, absolute.getFileName().toString(), ".part");
+            try {
+                try (FileChannel file = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    long position = 0;
+                    long transferred;
+                    while ((transferred = file.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                        position += transferred;
+                    }
+                }
+                return Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new HttpClientException("Failed to download response body to " + target, e);
+        }
+    }
+
+    /**
+     * 关闭响应体，释放底层连接；未读完的响应体会被丢弃
+     */
+    @Override
+    public void close() {
+        try {
+            body.close();
+        } catch (IOException e) {
+            throw new HttpClientException("Failed to close response body", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingHttpResponse{" +
+                "statusCode=" + statusCode +
+                ", successful=" + successful +
+                '}';
+    }
+}
@@ -0,0 +1,131 @@
+package com.qbit.framework.core.toolkits.http.cache;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Cache-Control 指令与相关头的解析
+ *
+ * @author Qbit Framework
+ */
+final class CacheControl {
+
+    static final String CACHE_CONTROL = "Cache-Control";
+    static final String PRAGMA = "Pragma";
+    static final String EXPIRES = "Expires";
+    static final String DATE = "Date";
+    static final String AGE = "Age";
+    static final String ETAG = "ETag";
+    static final String LAST_MODIFIED = "Last-Modified";
+    static final String VARY = "Vary";
+    static final String IF_NONE_MATCH = "If-None-Match";
+    static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    static final String AUTHORIZATION = "Authorization";
+
+    private final Map<String, String> directives;
+
+    private CacheControl(Map<String, String> directives) {
+        this.directives = directives;
+    }
+
+    /**
+     * 解析指令，名称转为小写；{@code Pragma: no-cache} 视为 {@code no-cache}
+     */
+    static CacheControl parse(String cacheControl, String pragma) {
+        Map<String, String> directives = new HashMap<>();
+        if (cacheControl != null) {
+            for (String part : cacheControl.split(",")) {
+                String directive = part.trim();
+                if (directive.isEmpty()) {
+                    continue;
+                }
+                int eq = directive.indexOf('=');
+                if (eq < 0) {
+                    directives.put(directive.toLowerCase(Locale.ROOT), "");
+                } else {
+                    String value = directive.substring(eq + 1).trim();
+                    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                        value = value.substring(1, value.length() - 1);
+                    }
+                    directives.put(directive.substring(0, eq).trim().toLowerCase(Locale.ROOT), value);
+                }
+            }
+        }
+        if (pragma != null && pragma.toLowerCase(Locale.ROOT).contains("no-cache")) {
+            directives.putIfAbsent("no-cache", "");
+        }
+        return new CacheControl(directives);
+    }
+
+    boolean has(String directive) {
+        return directives.containsKey(directive);
+    }
+
+    /**
+     * 秒数指令的值，不存在或格式错误时返回 -1
+     */
+    long seconds(String directive) {
+        String value = directives.get(directive);
+        if (value == null || value.isEmpty()) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // ==================== 头读取 ====================
+
+    /**
+     * 忽略大小写读取头的第一个值（OkHttp 的头名称为小写）
+     */
+    static String header(Map<String, List<String>> headers, String name) {
+        List<String> values = headers.get(name);
+        if (values == null) {
+            for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+                if (name.equalsIgnoreCase(entry.getKey())) {
+                    values = entry.getValue();
+                    break;
+                }
+            }
+        }
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+
+    /**
+     * 忽略大小写读取请求头
+     */
+    static String requestHeader(Map<String, String> headers, String name) {
+        String value = headers.get(name);
+        if (value != null) {
+            return value;
+        }
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 解析 HTTP 日期，格式错误时返回 -1
+     */
+    static long parseDate(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+}
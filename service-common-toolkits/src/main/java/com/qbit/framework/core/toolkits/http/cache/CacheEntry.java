@@ -0,0 +1,261 @@
+package com.qbit.framework.core.toolkits.http.cache;
+
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import com.qbit.framework.core.toolkits.http.codec.JsonCodec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.qbit.framework.core.toolkits.http.cache.CacheControl.*;
+
+/**
+ * 缓存的响应及其新鲜度信息（RFC 7234 第 4.2 节，按私有缓存语义计算）
+ *
+ * @author Qbit Framework
+ */
+final class CacheEntry {
+
+    /**
+     * 可缓存的状态码（RFC 7231 第 6.1 节）
+     */
+    private static final Set<Integer> CACHEABLE_STATUS = Set.of(200, 203, 204, 300, 301, 404, 405, 410, 414, 501);
+
+    /**
+     * 每个条目的固定开销估算（对象头、字段、Map 节点等）
+     */
+    private static final int ENTRY_OVERHEAD = 512;
+
+    /**
+     * {@code Vary: *} 的标记值，此类响应不可缓存
+     */
+    private static final Map<String, String> VARY_ALL = new HashMap<>();
+
+    final int statusCode;
+    final byte[] body;
+    final JsonCodec jsonCodec;
+    final Map<String, List<String>> headers;
+    final boolean successful;
+    final String etag;
+    final String lastModified;
+    /** 存储时刻（本地时钟） */
+    final long storedAt;
+    /** 存储时响应已有的年龄 */
+    final long initialAge;
+    /** 新鲜期，0 表示每次使用前都需要重新验证 */
+    final long freshness;
+    /** 过期后仍可直接返回、同时后台重新验证的时长 */
+    final long staleWhileRevalidate;
+    /** Vary 指定的请求头及其取值，null 表示不区分 */
+    final Map<String, String> vary;
+    final int weight;
+    final AtomicBoolean revalidating = new AtomicBoolean();
+
+    private CacheEntry(int statusCode, byte[] body, JsonCodec jsonCodec, Map<String, List<String>> headers,
+                       boolean successful, long storedAt, long initialAge, long freshness, long staleWhileRevalidate,
+                       Map<String, String> vary) {
+        this.statusCode = statusCode;
+        this.body = body;
+        this.jsonCodec = jsonCodec;
+        this.headers = headers;
+        this.successful = successful;
+        this.etag = header(headers, ETAG);
+        this.lastModified = header(headers, LAST_MODIFIED);
+        this.storedAt = storedAt;
+        this.initialAge = initialAge;
+        this.freshness = freshness;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.vary = vary;
+        this.weight = weigh(body, headers);
+    }
+
+    /**
+     * 根据网络响应创建缓存条目，不可缓存时返回 null
+     */
+    static CacheEntry of(HttpRequest request, HttpResponse response, long now) {
+        if (!CACHEABLE_STATUS.contains(response.getStatusCode())) {
+            return null;
+        }
+        Map<String, List<String>> headers = copy(response.getHeaders());
+        CacheControl cacheControl = CacheControl.parse(header(headers, CACHE_CONTROL), header(headers, PRAGMA));
+        if (cacheControl.has("no-store")) {
+            return null;
+        }
+        if (requestHeader(request.getHeaders(), AUTHORIZATION) != null && !cacheControl.has("public")
+                && !cacheControl.has("s-maxage") && !cacheControl.has("must-revalidate")) {
+            // 缓存按 URL 由所有调用方共享，带凭证请求的响应只有明确允许共享时才存储（RFC 7234 第 3.2 节）
+            return null;
+        }
+        Map<String, String> vary = varyValues(request, header(headers, VARY));
+        if (vary == VARY_ALL) {
+            return null;
+        }
+        boolean validatable = header(headers, ETAG) != null || header(headers, LAST_MODIFIED) != null;
+        long freshness = freshness(cacheControl, headers, now);
+        if (freshness < 0 && !validatable) {
+            // 没有明确的新鲜期也没有验证器，不做启发式缓存
+            return null;
+        }
+        long staleWhileRevalidate = cacheControl.has("must-revalidate") || cacheControl.has("no-cache")
+                ? 0 : Math.max(0, TimeUnit.SECONDS.toMillis(cacheControl.seconds("stale-while-revalidate")));
+        return new CacheEntry(response.getStatusCode(), response.getBodyBytes(), response.getJsonCodec(), headers,
+                response.isSuccessful(), now, initialAge(headers), Math.max(0, freshness), staleWhileRevalidate, vary);
+    }
+
+    /**
+     * 收到 304 后用新响应头更新条目并重新计算新鲜期
+     */
+    CacheEntry revalidated(HttpResponse notModified, long now) {
+        Map<String, List<String>> merged = copy(headers);
+        notModified.getHeaders().forEach((name, values) -> {
+            if (name != null && !"content-length".equalsIgnoreCase(name)) {
+                merged.put(name, values);
+            }
+        });
+        CacheControl cacheControl = CacheControl.parse(header(merged, CACHE_CONTROL), header(merged, PRAGMA));
+        long staleWhileRevalidate = cacheControl.has("must-revalidate") || cacheControl.has("no-cache")
+                ? 0 : Math.max(0, TimeUnit.SECONDS.toMillis(cacheControl.seconds("stale-while-revalidate")));
+        return new CacheEntry(statusCode, body, jsonCodec, merged, successful, now, initialAge(merged),
+                Math.max(0, freshness(cacheControl, merged, now)), staleWhileRevalidate, vary);
+    }
+
+    long age(long now) {
+        return initialAge + Math.max(0, now - storedAt);
+    }
+
+    boolean validatable() {
+        return etag != null || lastModified != null;
+    }
+
+    /**
+     * 请求头是否与 Vary 记录的取值一致
+     */
+    boolean matches(HttpRequest request) {
+        if (vary == null) {
+            return true;
+        }
+        for (Map.Entry<String, String> entry : vary.entrySet()) {
+            String value = requestHeader(request.getHeaders(), entry.getKey());
+            if (value == null ? entry.getValue() != null : !value.equals(entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 条件请求：带上 If-None-Match / If-Modified-Since
+     */
+    HttpRequest conditional(HttpRequest request) {
+        Map<String, String> conditions = new HashMap<>(4);
+        if (etag != null) {
+            conditions.put(IF_NONE_MATCH, etag);
+        }
+        if (lastModified != null) {
+            conditions.put(IF_MODIFIED_SINCE, lastModified);
+        }
+        return request.withHeaders(conditions);
+    }
+
+    HttpResponse toResponse(long now) {
+        Map<String, List<String>> view = copy(headers);
+        view.put(AGE, List.of(String.valueOf(TimeUnit.MILLISECONDS.toSeconds(age(now)))));
+        return new HttpResponse(statusCode, body, view, successful, jsonCodec);
+    }
+
+    /**
+     * 在缓存中保留的时长：超过新鲜期与 stale-while-revalidate 之后，只有能重新验证的条目才值得继续保留
+     */
+    long retainMillis(long validatorRetention, long now) {
+        long usable = freshness + staleWhileRevalidate - age(now);
+        return Math.max(0, validatable() ? usable + validatorRetention : usable);
+    }
+
+    // ==================== 新鲜度计算 ====================
+
+    /**
+     * 新鲜期：优先 max-age，其次 Expires - Date；no-cache 为 0；都没有时返回 -1
+     */
+    private static long freshness(CacheControl cacheControl, Map<String, List<String>> headers, long now) {
+        if (cacheControl.has("no-cache")) {
+            return 0;
+        }
+        long maxAge = cacheControl.seconds("max-age");
+        if (maxAge >= 0) {
+            return TimeUnit.SECONDS.toMillis(maxAge);
+        }
+        String expires = header(headers, EXPIRES);
+        if (expires != null) {
+            long expiresAt = parseDate(expires);
+            if (expiresAt < 0) {
+                // 无效的 Expires（如 "0"）表示已过期
+                return 0;
+            }
+            long date = parseDate(header(headers, DATE));
+            return Math.max(0, expiresAt - (date >= 0 ? date : now));
+        }
+        return -1;
+    }
+
+    /**
+     * 初始年龄：取 Age 头（上游缓存已持有的时长）
+     * <p>不使用 (本地时间 - Date) 计算表观年龄，客户端与服务端的时钟偏差会让响应一到达就被判定为过期；
+     * Expires 与 Date 之差不受时钟偏差影响，仍用于计算新鲜期
+     */
+    private static long initialAge(Map<String, List<String>> headers) {
+        String ageHeader = header(headers, AGE);
+        if (ageHeader == null) {
+            return 0;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(ageHeader.trim())));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Map<String, String> varyValues(HttpRequest request, String varyHeader) {
+        if (varyHeader == null || varyHeader.isBlank()) {
+            return null;
+        }
+        Map<String, String> values = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String name : varyHeader.split(",")) {
+            String trimmed = name.trim();
+            if ("*".equals(trimmed)) {
+                return VARY_ALL;
+            }
+            if (!trimmed.isEmpty()) {
+                values.put(trimmed, requestHeader(request.getHeaders(), trimmed));
+            }
+        }
+        return values;
+    }
+
+    private static Map<String, List<String>> copy(Map<String, List<String>> headers) {
+        Map<String, List<String>> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.forEach((name, values) -> {
+            // JDK HttpClient 的 HTTP/1.1 响应可能包含名称为 null 的状态行
+            if (name != null) {
+                copy.put(name, new ArrayList<>(values));
+            }
+        });
+        return copy;
+    }
+
+    private static int weigh(byte[] body, Map<String, List<String>> headers) {
+        long weight = ENTRY_OVERHEAD + (body != null ? body.length : 0);
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            weight += 2L * entry.getKey().length();
+            for (String value : entry.getValue()) {
+                weight += 2L * value.length();
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+}
@@ -0,0 +1,371 @@
+package com.qbit.framework.core.toolkits.http.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import com.qbit.framework.core.toolkits.http.interceptor.HttpInterceptor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.qbit.framework.core.toolkits.http.cache.CacheControl.*;
+
+/**
+ * HTTP 响应缓存拦截器（RFC 7234 私有缓存语义），基于 Caffeine 按字节数限制容量
+ *
+ * <p>特性：</p>
+ * <ul>
+ *   <li>只缓存 GET 请求；遵循响应的 {@code Cache-Control}（max-age、no-cache、no-store、must-revalidate）与 {@code Expires}</li>
+ *   <li>过期后带 {@code If-None-Match}/{@code If-Modified-Since} 重新验证，收到 304 时复用缓存的响应体</li>
+ *   <li>{@code stale-while-revalidate} 窗口内直接返回旧响应，同时异步重新验证（同一条目同时只有一个验证请求）</li>
+ *   <li>请求带 {@code Cache-Control: no-cache}/{@code max-age=0} 时强制重新验证，{@code no-store} 时不读写缓存</li>
+ *   <li>同一 URL 的 POST/PUT/PATCH/DELETE 成功后使缓存失效</li>
+ *   <li>按 {@code Vary} 记录的请求头取值匹配，每个 URL 只保留一个变体；{@code Vary: *} 不缓存</li>
+ *   <li>缓存按 URL 由该客户端的所有调用方共享：带 {@code Authorization} 的请求，响应只有带
+ *   {@code public}、{@code s-maxage} 或 {@code must-revalidate} 时才缓存（RFC 7234 第 3.2 节）</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * HttpCacheInterceptor cache = HttpCacheInterceptor.builder()
+ *         .maximumBytes(32 * 1024 * 1024)
+ *         .build();
+ * HttpClient client = HttpUtils.createJdkHttpClient().addInterceptor(cache);
+ *
+ * client.execute(HttpRequest.builder(configUrl).build());
+ * log.info("http cache hits={}, misses={}", cache.getHitCount(), cache.getMissCount());
+ * }</pre>
+ *
+ * <p>不做启发式缓存：响应既没有明确的新鲜期也没有验证器时不缓存。请求本身带条件头时直接透传。</p>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public class HttpCacheInterceptor implements HttpInterceptor {
+
+    private final Cache<String, CacheEntry> cache;
+    private final Clock clock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+
+    private HttpCacheInterceptor(Builder builder) {
+        this.clock = builder.clock;
+        long validatorRetention = builder.validatorRetention.toMillis();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(builder.maximumBytes)
+                .weigher((String key, CacheEntry entry) -> entry.weight)
+                .expireAfter(new Expiry<String, CacheEntry>() {
+                    @Override
+                    public long expireAfterCreate(String key, CacheEntry entry, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(entry.retainMillis(validatorRetention, clock.millis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CacheEntry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CacheEntry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public HttpResponse intercept(Chain chain) {
+        HttpRequest request = chain.request();
+        Lookup lookup = lookup(request);
+        switch (lookup.action) {
+            case HIT:
+                return lookup.entry.toResponse(clock.millis());
+            case STALE:
+                revalidateInBackground(chain, request, lookup.entry);
+                return lookup.entry.toResponse(clock.millis());
+            case REVALIDATE:
+                return onValidated(request, lookup.entry, chain.proceed(lookup.entry.conditional(request)));
+            case MISS:
+                return onNetwork(request, chain.proceed(request));
+            default:
+                return onBypass(request, chain.proceed(request));
+        }
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> interceptAsync(Chain chain) {
+        HttpRequest request = chain.request();
+        Lookup lookup = lookup(request);
+        switch (lookup.action) {
+            case HIT:
+                return CompletableFuture.completedFuture(lookup.entry.toResponse(clock.millis()));
+            case STALE:
+                revalidateInBackground(chain, request, lookup.entry);
+                return CompletableFuture.completedFuture(lookup.entry.toResponse(clock.millis()));
+            case REVALIDATE:
+                return chain.proceedAsync(lookup.entry.conditional(request))
+                        .thenApply(response -> onValidated(request, lookup.entry, response));
+            case MISS:
+                return chain.proceedAsync(request).thenApply(response -> onNetwork(request, response));
+            default:
+                return chain.proceedAsync(request).thenApply(response -> onBypass(request, response));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // 在追踪拦截器之后，重试等拦截器之前：命中缓存时不再经过内层拦截器
+        return -80;
+    }
+
+    // ==================== 缓存管理与统计 ====================
+
+    /**
+     * 使指定 URL（含查询参数）的缓存失效
+     */
+    public void invalidate(String fullUrl) {
+        cache.invalidate(fullUrl);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 新鲜命中次数（未访问网络）
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * stale-while-revalidate 窗口内返回旧响应的次数
+     */
+    public long getStaleHitCount() {
+        return staleHits.sum();
+    }
+
+    /**
+     * 未命中次数（无可用条目，完整请求）
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 发出的条件请求次数（含后台重新验证）
+     */
+    public long getRevalidationCount() {
+        return revalidations.sum();
+    }
+
+    /**
+     * 条件请求收到 304 的次数
+     */
+    public long getNotModifiedCount() {
+        return notModified.sum();
+    }
+
+    /**
+     * 不经过缓存的请求次数（非 GET、no-store、请求自带条件头）
+     */
+    public long getBypassCount() {
+        return bypasses.sum();
+    }
+
+    /**
+     * 缓存条目数
+     */
+    public long getEntryCount() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    /**
+     * 缓存占用的估算字节数
+     */
+    public long getCachedBytes() {
+        cache.cleanUp();
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    // ==================== 内部实现 ====================
+
+    private Lookup lookup(HttpRequest request) {
+        CacheControl requestControl = CacheControl.parse(
+                requestHeader(request.getHeaders(), CACHE_CONTROL), requestHeader(request.getHeaders(), PRAGMA));
+        if (!"GET".equals(request.getMethod()) || requestControl.has("no-store")
+                || requestHeader(request.getHeaders(), IF_NONE_MATCH) != null
+                || requestHeader(request.getHeaders(), IF_MODIFIED_SINCE) != null) {
+            bypasses.increment();
+            return Lookup.BYPASS;
+        }
+        CacheEntry entry = cache.getIfPresent(request.getFullUrl());
+        if (entry == null || !entry.matches(request)) {
+            misses.increment();
+            return Lookup.MISS;
+        }
+
+        long age = entry.age(clock.millis());
+        long freshness = entry.freshness;
+        long requestMaxAge = requestControl.seconds("max-age");
+        if (requestMaxAge >= 0) {
+            freshness = Math.min(freshness, TimeUnit.SECONDS.toMillis(requestMaxAge));
+        }
+        boolean forceRevalidate = requestControl.has("no-cache") || requestMaxAge == 0;
+        if (!forceRevalidate && age < freshness) {
+            hits.increment();
+            return new Lookup(Action.HIT, entry);
+        }
+        if (!forceRevalidate && age < entry.freshness + entry.staleWhileRevalidate) {
+            staleHits.increment();
+            return new Lookup(Action.STALE, entry);
+        }
+        if (entry.validatable()) {
+            revalidations.increment();
+            return new Lookup(Action.REVALIDATE, entry);
+        }
+        misses.increment();
+        return Lookup.MISS;
+    }
+
+    /**
+     * stale-while-revalidate：通过异步调用链重新验证，不阻塞当前调用
+     */
+    private void revalidateInBackground(Chain chain, HttpRequest request, CacheEntry entry) {
+        if (!entry.revalidating.compareAndSet(false, true)) {
+            return;
+        }
+        HttpRequest revalidation = entry.validatable() ? entry.conditional(request) : request;
+        if (entry.validatable()) {
+            revalidations.increment();
+        }
+        chain.proceedAsync(revalidation).whenComplete((response, error) -> {
+            try {
+                if (response != null) {
+                    onValidated(request, entry, response);
+                } else {
+                    log.debug("Background revalidation failed: {}", request.getFullUrl(), error);
+                }
+            } finally {
+                entry.revalidating.set(false);
+            }
+        });
+    }
+
+    private HttpResponse onValidated(HttpRequest request, CacheEntry entry, HttpResponse response) {
+        if (response.getStatusCode() != 304) {
+            return onNetwork(request, response);
+        }
+        notModified.increment();
+        long now = clock.millis();
+        CacheEntry updated = entry.revalidated(response, now);
+        cache.put(request.getFullUrl(), updated);
+        return updated.toResponse(now);
+    }
+
+    private HttpResponse onNetwork(HttpRequest request, HttpResponse response) {
+        CacheEntry entry = CacheEntry.of(request, response, clock.millis());
+        if (entry != null) {
+            cache.put(request.getFullUrl(), entry);
+        } else {
+            cache.invalidate(request.getFullUrl());
+        }
+        return response;
+    }
+
+    /**
+     * 不安全方法执行成功后使同一 URL 的缓存失效（RFC 7234 第 4.4 节）
+     */
+    private HttpResponse onBypass(HttpRequest request, HttpResponse response) {
+        boolean unsafe = !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())
+                && !"OPTIONS".equals(request.getMethod());
+        if (unsafe && response.getStatusCode() < 400) {
+            cache.invalidate(request.getFullUrl());
+            cache.invalidate(request.getUrl());
+        }
+        return response;
+    }
+
+    private enum Action {
+        HIT, STALE, REVALIDATE, MISS, BYPASS
+    }
+
+    private static final class Lookup {
+        private static final Lookup MISS = new Lookup(Action.MISS, null);
+        private static final Lookup BYPASS = new Lookup(Action.BYPASS, null);
+
+        private final Action action;
+        private final CacheEntry entry;
+
+        private Lookup(Action action, CacheEntry entry) {
+            this.action = action;
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private long maximumBytes = 64L * 1024 * 1024;
+        private Duration validatorRetention = Duration.ofMinutes(10);
+        private Clock clock = Clock.systemUTC();
+
+        private Builder() {
+        }
+
+        /**
+         * 缓存容量上限（估算字节数，按响应体和响应头计算），默认 64MB
+         */
+        public Builder maximumBytes(long maximumBytes) {
+            if (maximumBytes <= 0) {
+                throw new IllegalArgumentException("maximumBytes must be > 0");
+            }
+            this.maximumBytes = maximumBytes;
+            return this;
+        }
+
+        /**
+         * 带验证器（ETag/Last-Modified）的条目过期后继续保留的时长，用于条件请求，默认 10 分钟
+         */
+        public Builder validatorRetention(Duration validatorRetention) {
+            Objects.requireNonNull(validatorRetention, "validatorRetention cannot be null");
+            if (validatorRetention.isNegative()) {
+                throw new IllegalArgumentException("validatorRetention must be >= 0");
+            }
+            this.validatorRetention = validatorRetention;
+            return this;
+        }
+
+        /**
+         * 时钟，默认系统时钟（测试时可替换）
+         */
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+            return this;
+        }
+
+        public HttpCacheInterceptor build() {
+            return new HttpCacheInterceptor(this);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.qbit.framework.core.toolkits.http.codec;
+
+import com.alibaba.fastjson2.JSON;
+import com.qbit.framework.core.toolkits.http.HttpClientException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * 基于 fastjson2 的编解码器，直接读写 UTF-8 字节和流
+ *
+ * @author Qbit Framework
+ */
+public final class Fastjson2JsonCodec implements JsonCodec {
+
+    static final Fastjson2JsonCodec INSTANCE = new Fastjson2JsonCodec();
+
+    private Fastjson2JsonCodec() {
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            return JSON.toJSONBytes(value);
+        } catch (RuntimeException e) {
+            throw new HttpClientException("Failed to encode JSON with fastjson2", e);
+        }
+    }
+
+    @Override
+    public void encode(Object value, OutputStream out) throws IOException {
+        try {
+            JSON.writeTo(out, value);
+        } catch (RuntimeException e) {
+            throw new HttpClientException("Failed to encode JSON with fastjson2", e);
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] json, Type type) {
+        try {
+            return JSON.parseObject(json, type);
+        } catch (RuntimeException e) {
+            throw new HttpClientException("Failed to decode JSON with fastjson2", e);
+        }
+    }
+
+    @Override
+    public <T> T decode(InputStream in, Type type) throws IOException {
+        try {
+            return JSON.parseObject(in, type);
+        } catch (RuntimeException e) {
+            throw new HttpClientException("Failed to decode JSON with fastjson2", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "fastjson2";
+    }
+}
@@ -0,0 +1,42 @@
+package com.qbit.framework.core.toolkits.http.codec;
+
+import com.alibaba.fastjson.JSON;
+import com.qbit.framework.core.toolkits.http.HttpClientException;
+
+import java.lang.reflect.Type;
+
+/**
+ * 基于 fastjson 1.x API 的编解码器，序列化规则与历史版本的 {@code JSON.toJSONString}/{@code JSON.parseObject} 一致
+ *
+ * @author Qbit Framework
+ */
+public final class FastjsonJsonCodec implements JsonCodec {
+
+    static final FastjsonJsonCodec INSTANCE = new FastjsonJsonCodec();
+
+    private FastjsonJsonCodec() {
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            return JSON.toJSONBytes(value);
+        } catch (RuntimeException e) {
+            throw new HttpClientException("Failed to encode JSON with fastjson", e);
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] json, Type type) {
+        try {
+            return JSON.parseObject(json, type);
+        } catch (RuntimeException e) {
+            throw new HttpClientException("Failed to decode JSON with fastjson", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "fastjson";
+    }
+}
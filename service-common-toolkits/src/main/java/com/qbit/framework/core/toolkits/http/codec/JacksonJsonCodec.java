@@ -0,0 +1,105 @@
+package com.qbit.framework.core.toolkits.http.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qbit.framework.core.toolkits.http.HttpClientException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于 Jackson 的编解码器，可传入与 Web 层相同配置的 ObjectMapper，使出入站 JSON 规则一致
+ *
+ * <pre>{@code
+ * HttpClient client = HttpUtils.builder()
+ *         .jsonCodec(new JacksonJsonCodec(objectMapper))
+ *         .build();
+ * }</pre>
+ *
+ * @author Qbit Framework
+ */
+public final class JacksonJsonCodec implements JsonCodec {
+
+    /**
+     * 解析 {@link Type} 为 {@link JavaType} 有一定开销，按类型缓存，数量有上限
+     */
+    private static final int MAX_CACHED_TYPES = 1024;
+
+    /**
+     * 默认实例：注册 classpath 上的模块（如 JSR-310），忽略未知字段
+     */
+    static final JacksonJsonCodec DEFAULT = new JacksonJsonCodec(new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+
+    private final ObjectMapper objectMapper;
+    private final Map<Type, JavaType> javaTypes = new ConcurrentHashMap<>();
+
+    public JacksonJsonCodec(ObjectMapper objectMapper) {
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper cannot be null");
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new HttpClientException("Failed to encode JSON with Jackson", e);
+        }
+    }
+
+    /**
+     * 写入调用方的输出流，写完只刷新不关闭（不受 ObjectMapper 的 AUTO_CLOSE_TARGET 配置影响）
+     */
+    @Override
+    public void encode(Object value, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            objectMapper.writeValue(generator, value);
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] json, Type type) {
+        try {
+            return objectMapper.readValue(json, javaType(type));
+        } catch (IOException e) {
+            throw new HttpClientException("Failed to decode JSON with Jackson", e);
+        }
+    }
+
+    /**
+     * 从调用方的输入流解析，读完不关闭（不受 ObjectMapper 的 AUTO_CLOSE_SOURCE 配置影响）
+     */
+    @Override
+    public <T> T decode(InputStream in, Type type) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return objectMapper.readValue(parser, javaType(type));
+        }
+    }
+
+    private JavaType javaType(Type type) {
+        JavaType javaType = javaTypes.get(type);
+        if (javaType == null) {
+            javaType = objectMapper.constructType(type);
+            if (javaTypes.size() < MAX_CACHED_TYPES) {
+                javaTypes.put(type, javaType);
+            }
+        }
+        return javaType;
+    }
+
+    @Override
+    public String toString() {
+        return "jackson";
+    }
+}
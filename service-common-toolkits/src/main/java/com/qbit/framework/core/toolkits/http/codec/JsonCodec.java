@@ -0,0 +1,72 @@
+package com.qbit.framework.core.toolkits.http.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * JSON 编解码器 SPI：请求体序列化和响应体解析直接在字节上进行，不经过中间 String
+ *
+ * <pre>{@code
+ * HttpClient client = HttpUtils.builder()
+ *         .jsonCodec(JsonCodec.jackson())      // 与 Web 层序列化规则保持一致
+ *         .build();
+ * }</pre>
+ *
+ * <p>内置实现：</p>
+ * <ul>
+ *   <li>{@link #fastjson()}：fastjson 1.x API（默认，与历史行为一致）</li>
+ *   <li>{@link #fastjson2()}：fastjson2，通常最快</li>
+ *   <li>{@link #jackson()}：Jackson，自定义 ObjectMapper 时直接构造 {@link JacksonJsonCodec}</li>
+ * </ul>
+ *
+ * <p>实现必须线程安全；编解码失败时抛出 {@link com.qbit.framework.core.toolkits.http.HttpClientException}</p>
+ *
+ * @author Qbit Framework
+ */
+public interface JsonCodec {
+
+    /**
+     * 序列化为 UTF-8 字节
+     */
+    byte[] encode(Object value);
+
+    /**
+     * 序列化并写入输出流，默认先序列化为字节
+     */
+    default void encode(Object value, OutputStream out) throws IOException {
+        out.write(encode(value));
+    }
+
+    /**
+     * 从 UTF-8 字节解析为指定类型
+     */
+    <T> T decode(byte[] json, Type type);
+
+    /**
+     * 从输入流解析为指定类型，默认先读出全部字节
+     */
+    default <T> T decode(InputStream in, Type type) throws IOException {
+        return decode(in.readAllBytes(), type);
+    }
+
+    /**
+     * 默认编解码器（fastjson 1.x API）
+     */
+    static JsonCodec defaultCodec() {
+        return FastjsonJsonCodec.INSTANCE;
+    }
+
+    static JsonCodec fastjson() {
+        return FastjsonJsonCodec.INSTANCE;
+    }
+
+    static JsonCodec fastjson2() {
+        return Fastjson2JsonCodec.INSTANCE;
+    }
+
+    static JsonCodec jackson() {
+        return JacksonJsonCodec.DEFAULT;
+    }
+}
@@ -0,0 +1,306 @@
+package com.qbit.framework.core.toolkits.http.dns;
+
+import com.qbit.framework.core.toolkits.thread.ThreadPoolUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DNS 缓存：解析结果最多使用 TTL 时长，超过刷新时间后仍返回当前结果，同时在后台重新解析
+ *
+ * <pre>{@code
+ * DnsCache dns = DnsCache.builder()
+ *         .ttl(Duration.ofSeconds(60))
+ *         .refreshAfter(Duration.ofSeconds(30))
+ *         .build();
+ * HttpClient client = HttpUtils.builder().useOkHttp().dnsCache(dns).build();
+ * }</pre>
+ *
+ * <p>注意：</p>
+ * <ul>
+ *   <li>过期（超过 TTL）的结果不会再返回，调用线程同步重新解析；同一主机并发的同步解析只执行一次</li>
+ *   <li>后台刷新失败时保留旧结果直到 TTL，解析失败不缓存</li>
+ *   <li>缓存的主机数达到上限后，新主机只解析不缓存</li>
+ *   <li>JDK 17 的 HttpClient 没有解析器扩展点，只有 OkHttp 客户端能直接使用；JDK 客户端依赖 JVM 自身的 InetAddress 缓存</li>
+ * </ul>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public class DnsCache {
+
+    private final DnsResolver resolver;
+    private final Clock clock;
+    private final long ttlMillis;
+    private final long refreshAfterMillis;
+    private final int maximumHosts;
+    private final Executor refreshExecutor;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Entry>> resolving = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private DnsCache(Builder builder) {
+        this.resolver = builder.resolver;
+        this.clock = builder.clock;
+        this.ttlMillis = builder.ttl.toMillis();
+        this.refreshAfterMillis = builder.refreshAfter != null ? builder.refreshAfter.toMillis() : ttlMillis / 2;
+        this.maximumHosts = builder.maximumHosts;
+        this.refreshExecutor = builder.refreshExecutor != null ? builder.refreshExecutor : RefreshExecutorHolder.EXECUTOR;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 解析主机名，签名与 {@code okhttp3.Dns#lookup} 一致，可直接作为 OkHttp 的 Dns 使用
+     *
+     * @throws UnknownHostException 无法解析
+     */
+    public List<InetAddress> lookup(String host) throws UnknownHostException {
+        Objects.requireNonNull(host, "host cannot be null");
+        Entry entry = entries.get(host);
+        long now = clock.millis();
+        if (entry != null && now - entry.resolvedAt < ttlMillis) {
+            hits.increment();
+            if (now - entry.resolvedAt >= refreshAfterMillis) {
+                refreshAsync(host, entry);
+            }
+            return entry.addresses;
+        }
+        misses.increment();
+        return resolveShared(host).addresses;
+    }
+
+    /**
+     * 缓存中的地址，不触发解析；未缓存或已过期返回 null
+     */
+    public List<InetAddress> getIfPresent(String host) {
+        Entry entry = entries.get(host);
+        return entry != null && clock.millis() - entry.resolvedAt < ttlMillis ? entry.addresses : null;
+    }
+
+    public void invalidate(String host) {
+        entries.remove(host);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * 当前缓存的主机数（含已过期未清理的）
+     */
+    public int getCachedHosts() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 后台刷新成功的次数
+     */
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    /**
+     * 解析失败的次数（含后台刷新失败）
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * 同步解析，同一主机并发的调用共享一次解析
+     */
+    private Entry resolveShared(String host) throws UnknownHostException {
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> shared = resolving.putIfAbsent(host, mine);
+        if (shared == null) {
+            try {
+                Entry entry = resolve(host);
+                mine.complete(entry);
+                return entry;
+            } catch (UnknownHostException | RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                resolving.remove(host, mine);
+            }
+        }
+        try {
+            return shared.join();
+        } catch (RuntimeException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof UnknownHostException) {
+                throw (UnknownHostException) cause;
+            }
+            throw e;
+        }
+    }
+
+    private Entry resolve(String host) throws UnknownHostException {
+        List<InetAddress> addresses;
+        try {
+            addresses = resolver.resolve(host);
+        } catch (UnknownHostException | RuntimeException e) {
+            failures.increment();
+            throw e;
+        }
+        if (addresses == null || addresses.isEmpty()) {
+            failures.increment();
+            throw new UnknownHostException("No address resolved for " + host);
+        }
+        Entry entry = new Entry(List.copyOf(addresses), clock.millis());
+        store(host, entry);
+        return entry;
+    }
+
+    private void refreshAsync(String host, Entry entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    resolve(host);
+                    refreshes.increment();
+                } catch (Exception e) {
+                    log.warn("DNS refresh failed for {}, keeping cached addresses until they expire: {}", host, e.toString());
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            // 刷新线程池拒绝时下次访问再尝试
+            entry.refreshing.set(false);
+        }
+    }
+
+    private void store(String host, Entry entry) {
+        if (!entries.containsKey(host) && entries.size() >= maximumHosts) {
+            long now = clock.millis();
+            entries.values().removeIf(cached -> now - cached.resolvedAt >= ttlMillis);
+            if (entries.size() >= maximumHosts) {
+                return;
+            }
+        }
+        entries.put(host, entry);
+    }
+
+    private static final class Entry {
+        final List<InetAddress> addresses;
+        final long resolvedAt;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(List<InetAddress> addresses, long resolvedAt) {
+            this.addresses = addresses;
+            this.resolvedAt = resolvedAt;
+        }
+    }
+
+    /**
+     * 默认的后台刷新线程，首次使用时创建，所有实例共享
+     */
+    private static final class RefreshExecutorHolder {
+        static final Executor EXECUTOR = ThreadPoolUtils.newSingleThreadExecutor("dns-refresh");
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private DnsResolver resolver = DnsResolver.SYSTEM;
+        private Clock clock = Clock.systemUTC();
+        private Duration ttl = Duration.ofSeconds(60);
+        private Duration refreshAfter;
+        private int maximumHosts = 1024;
+        private Executor refreshExecutor;
+
+        private Builder() {
+        }
+
+        /**
+         * 实际执行解析的解析器，默认 {@link DnsResolver#SYSTEM}
+         */
+        public Builder resolver(DnsResolver resolver) {
+            this.resolver = Objects.requireNonNull(resolver, "resolver cannot be null");
+            return this;
+        }
+
+        /**
+         * 解析结果的最长使用时长，默认 60 秒
+         */
+        public Builder ttl(Duration ttl) {
+            if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("ttl must be > 0");
+            }
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * 超过该时长后访问会触发后台刷新，默认为 TTL 的一半
+         */
+        public Builder refreshAfter(Duration refreshAfter) {
+            if (refreshAfter == null || refreshAfter.isNegative()) {
+                throw new IllegalArgumentException("refreshAfter must be >= 0");
+            }
+            this.refreshAfter = refreshAfter;
+            return this;
+        }
+
+        /**
+         * 最多缓存的主机数，默认 1024
+         */
+        public Builder maximumHosts(int maximumHosts) {
+            if (maximumHosts <= 0) {
+                throw new IllegalArgumentException("maximumHosts must be > 0");
+            }
+            this.maximumHosts = maximumHosts;
+            return this;
+        }
+
+        /**
+         * 后台刷新使用的线程池，默认共享的单线程池
+         */
+        public Builder refreshExecutor(Executor refreshExecutor) {
+            this.refreshExecutor = Objects.requireNonNull(refreshExecutor, "refreshExecutor cannot be null");
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+            return this;
+        }
+
+        public DnsCache build() {
+            if (refreshAfter != null && refreshAfter.compareTo(ttl) > 0) {
+                throw new IllegalArgumentException("refreshAfter must not exceed ttl");
+            }
+            return new DnsCache(this);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.qbit.framework.core.toolkits.http.dns;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 主机名解析器
+ *
+ * @author Qbit Framework
+ */
+@FunctionalInterface
+public interface DnsResolver {
+
+    /**
+     * 系统解析器，即 {@link InetAddress#getAllByName(String)}，结果同时受 JVM 自身缓存（networkaddress.cache.ttl）影响
+     */
+    DnsResolver SYSTEM = host -> Arrays.asList(InetAddress.getAllByName(host));
+
+    /**
+     * 解析主机名
+     *
+     * @param host 主机名
+     * @return 地址列表，不为空
+     * @throws UnknownHostException 无法解析
+     */
+    List<InetAddress> resolve(String host) throws UnknownHostException;
+}
@@ -5,7 +5,9 @@ import com.qbit.framework.core.toolkits.http.HttpClient;
 import com.qbit.framework.core.toolkits.http.HttpRequest;
 import com.qbit.framework.core.toolkits.http.HttpResponse;
 import com.qbit.framework.core.toolkits.http.HttpUtils;
+import com.qbit.framework.core.toolkits.http.interceptor.CircuitBreakerInterceptor;
 import com.qbit.framework.core.toolkits.http.interceptor.LoggingInterceptor;
+import com.qbit.framework.core.toolkits.http.interceptor.RetryInterceptor;
 
 import java.time.Duration;
 import java.util.List;
@@ -196,7 +198,8 @@ public class HttpClientExamples {
     public void example8_withRetry() {
         HttpClient client = HttpUtils.builder()
                 .enableTrace(true)
-                .addInterceptor(new RetryInterceptor(3))  // 自定义重试拦截器
+                .addInterceptor(RetryInterceptor.builder().maxAttempts(3).build())  // 受预算限制的重试
+                .addInterceptor(CircuitBreakerInterceptor.builder().build())        // 按主机熔断
                 .build();
 
         HttpRequest request = HttpUtils.request("https://api.example.com/data")
@@ -280,19 +283,8 @@ public class HttpClientExamples {
             // 计算签名
             String sign = calculateSignature(request);
 
-            // 添加签名到请求头
-            return HttpRequest.builder(request.getUrl())
-                    .method(request.getMethod())
-                    .headers(request.getHeaders())
-                    .queryParams(request.getQueryParams())
-                    .body(request.getBody())
-                    .contentType(request.getContentType())
-                    .connectTimeout(request.getConnectTimeout())
-                    .readTimeout(request.getReadTimeout())
-                    .writeTimeout(request.getWriteTimeout())
-                    .followRedirects(request.isFollowRedirects())
-                    .header("X-Signature", sign)
-                    .build();
+            // 添加签名到请求头（只复制请求头）
+            return request.withHeader("X-Signature", sign);
         }
 
         private String calculateSignature(HttpRequest request) {
@@ -305,27 +297,4 @@ public class HttpClientExamples {
             return -50;  // 在追踪之后，日志之前
         }
     }
-
-    /**
-     * 自定义重试拦截器示例（注意：这只是示例，实际重试需要在客户端层面实现）
-     */
-    static class RetryInterceptor implements com.qbit.framework.core.toolkits.http.interceptor.HttpClientInterceptor {
-        private final int maxRetries;
-
-        public RetryInterceptor(int maxRetries) {
-            this.maxRetries = maxRetries;
-        }
-
-        @Override
-        public HttpRequest intercept(HttpRequest request) {
-            // 拦截器只能修改请求，不能修改执行逻辑
-            // 真正的重试需要在外层实现
-            return request;
-        }
-
-        @Override
-        public int getOrder() {
-            return 0;
-        }
-    }
 }
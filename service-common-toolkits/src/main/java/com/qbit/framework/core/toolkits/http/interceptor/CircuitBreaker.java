@@ -0,0 +1,256 @@
+package com.qbit.framework.core.toolkits.http.interceptor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.util.List;
+
+/**
+ * 单个下游（host:port）的熔断器，由 {@link CircuitBreakerInterceptor} 按主机创建
+ *
+ * <p>状态流转：</p>
+ * <ul>
+ *   <li>CLOSED：正常放行，在最近 {@code windowSize} 次调用的滑动窗口上统计失败率和慢调用率，
+ *       调用数达到 {@code minimumCalls} 且任一比例超过阈值时转为 OPEN</li>
+ *   <li>OPEN：直接拒绝调用，经过 {@code openDuration} 后转为 HALF_OPEN</li>
+ *   <li>HALF_OPEN：只放行 {@code halfOpenCalls} 次探测调用，全部完成后按同样的阈值判断，
+ *       未超过则转为 CLOSED 并清空窗口，否则重新 OPEN</li>
+ * </ul>
+ *
+ * <p>状态变更很少且按主机隔离，使用对象锁保证窗口与状态一致</p>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final Config config;
+    private final Clock clock;
+
+    /**
+     * 滑动窗口：每次调用的结果按位记录，FAILURE 与 SLOW 可以同时出现
+     */
+    private final byte[] window;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+    private int windowSlowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAtMillis;
+    private int halfOpenPermits;
+    private int halfOpenCalls;
+    private int halfOpenFailures;
+    private int halfOpenSlowCalls;
+    private long openCount;
+    private long rejectedCount;
+
+    CircuitBreaker(String name, Config config) {
+        this.name = name;
+        this.config = config;
+        this.clock = config.clock;
+        this.window = new byte[config.windowSize];
+    }
+
+    /**
+     * 申请一次调用许可
+     *
+     * @return 允许调用时返回 true；拒绝时返回 false，调用方不应再调用 {@link #onResult}
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.millis() - openedAtMillis < config.openMillis) {
+                    rejectedCount++;
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+                // fall through
+            default:
+                if (halfOpenPermits == 0) {
+                    rejectedCount++;
+                    return false;
+                }
+                halfOpenPermits--;
+                return true;
+        }
+    }
+
+    /**
+     * 记录一次已放行调用的结果
+     *
+     * @param durationMillis 调用耗时
+     * @param failed         是否失败
+     */
+    public synchronized void onResult(long durationMillis, boolean failed) {
+        boolean slow = durationMillis >= config.slowCallMillis;
+        if (state == State.HALF_OPEN) {
+            halfOpenCalls++;
+            halfOpenFailures += failed ? 1 : 0;
+            halfOpenSlowCalls += slow ? 1 : 0;
+            if (halfOpenCalls == config.halfOpenCalls) {
+                if (exceeds(halfOpenCalls, halfOpenFailures, halfOpenSlowCalls)) {
+                    transitionTo(State.OPEN);
+                } else {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // 熔断前已放行的调用，结果不再计入
+            return;
+        }
+        record((byte) ((failed ? FAILURE : SUCCESS) | (slow ? SLOW : SUCCESS)));
+        if (windowCalls >= config.minimumCalls && exceeds(windowCalls, windowFailures, windowSlowCalls)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    /**
+     * 放弃一次已放行的调用（如调用方取消），不计入统计，归还半开许可
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && halfOpenPermits + halfOpenCalls < config.halfOpenCalls) {
+            halfOpenPermits++;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 当前状态；OPEN 超过等待时间后，在下一次调用时才转为 HALF_OPEN
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * 滑动窗口内的失败率（百分比），窗口为空时为 0
+     */
+    public synchronized float getFailureRate() {
+        return windowCalls == 0 ? 0F : windowFailures * 100F / windowCalls;
+    }
+
+    /**
+     * 滑动窗口内的慢调用率（百分比），窗口为空时为 0
+     */
+    public synchronized float getSlowCallRate() {
+        return windowCalls == 0 ? 0F : windowSlowCalls * 100F / windowCalls;
+    }
+
+    /**
+     * 滑动窗口内的调用数
+     */
+    public synchronized int getBufferedCalls() {
+        return windowCalls;
+    }
+
+    /**
+     * 进入 OPEN 状态的次数
+     */
+    public synchronized long getOpenCount() {
+        return openCount;
+    }
+
+    /**
+     * 被拒绝的调用数
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    private boolean exceeds(int calls, int failures, int slowCalls) {
+        return failures * 100F / calls >= config.failureRateThreshold
+                || slowCalls * 100F / calls >= config.slowCallRateThreshold;
+    }
+
+    private void record(byte outcome) {
+        if (windowCalls == window.length) {
+            byte evicted = window[windowIndex];
+            windowFailures -= (evicted & FAILURE) != 0 ? 1 : 0;
+            windowSlowCalls -= (evicted & SLOW) != 0 ? 1 : 0;
+        } else {
+            windowCalls++;
+        }
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        windowFailures += (outcome & FAILURE) != 0 ? 1 : 0;
+        windowSlowCalls += (outcome & SLOW) != 0 ? 1 : 0;
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        for (CircuitBreakerListener listener : config.listeners) {
+            listener.onStateTransition(this, previous, next);
+        }
+        switch (next) {
+            case OPEN:
+                openedAtMillis = clock.millis();
+                openCount++;
+                log.warn("Circuit breaker {} {} -> OPEN (failure rate {}%, slow call rate {}%)", name, previous,
+                        previous == State.HALF_OPEN ? halfOpenFailures * 100 / halfOpenCalls : (int) getFailureRate(),
+                        previous == State.HALF_OPEN ? halfOpenSlowCalls * 100 / halfOpenCalls : (int) getSlowCallRate());
+                break;
+            case HALF_OPEN:
+                halfOpenPermits = config.halfOpenCalls;
+                halfOpenCalls = 0;
+                halfOpenFailures = 0;
+                halfOpenSlowCalls = 0;
+                log.info("Circuit breaker {} OPEN -> HALF_OPEN, probing with {} calls", name, halfOpenPermits);
+                break;
+            default:
+                windowIndex = 0;
+                windowCalls = 0;
+                windowFailures = 0;
+                windowSlowCalls = 0;
+                log.info("Circuit breaker {} {} -> CLOSED", name, previous);
+                break;
+        }
+    }
+
+    /**
+     * 熔断参数，同一拦截器创建的熔断器共享
+     */
+    static final class Config {
+        private final Clock clock;
+        private final int windowSize;
+        private final int minimumCalls;
+        private final float failureRateThreshold;
+        private final float slowCallRateThreshold;
+        private final long slowCallMillis;
+        private final long openMillis;
+        private final int halfOpenCalls;
+        private final List<CircuitBreakerListener> listeners;
+
+        Config(Clock clock, int windowSize, int minimumCalls, float failureRateThreshold, float slowCallRateThreshold,
+               long slowCallMillis, long openMillis, int halfOpenCalls, List<CircuitBreakerListener> listeners) {
+            this.clock = clock;
+            this.windowSize = windowSize;
+            this.minimumCalls = minimumCalls;
+            this.failureRateThreshold = failureRateThreshold;
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            this.slowCallMillis = slowCallMillis;
+            this.openMillis = openMillis;
+            this.halfOpenCalls = halfOpenCalls;
+            this.listeners = listeners;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.qbit.framework.core.toolkits.http.interceptor;
+
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * 熔断拦截器：按下游主机（host:port）维护 {@link CircuitBreaker}，失败率或慢调用率过高时快速失败，
+ * 避免调用线程堆积在注定超时的请求上
+ *
+ * <pre>{@code
+ * CircuitBreakerInterceptor breaker = CircuitBreakerInterceptor.builder()
+ *         .failureRateThreshold(50)                     // 失败率 >= 50% 熔断
+ *         .slowCall(Duration.ofSeconds(2), 80)          // 超过 2 秒的调用 >= 80% 熔断
+ *         .openDuration(Duration.ofSeconds(30))         // 熔断 30 秒后半开探测
+ *         .build();
+ * HttpClient client = HttpUtils.createJdkHttpClient()
+ *         .addInterceptor(breaker)
+ *         .addInterceptor(RetryInterceptor.builder().build());
+ * }</pre>
+ *
+ * <p>注意：</p>
+ * <ul>
+ *   <li>请求异常和 5xx 响应计为失败，可通过 {@code failurePredicate} 自定义；熔断时抛出 {@link CircuitBreakerOpenException}</li>
+ *   <li>位于重试拦截器之内，每次重试都单独计入统计，熔断后重试拦截器不再重试</li>
+ *   <li>调用方取消的异步请求不计入统计</li>
+ *   <li>每个主机的状态可通过 {@link #getBreakers()} 获取；状态变更与拒绝事件可通过
+ *       {@link #addListener(CircuitBreakerListener)} 导出到指标系统</li>
+ * </ul>
+ *
+ * @author Qbit Framework
+ */
+public class CircuitBreakerInterceptor implements HttpInterceptor {
+
+    private final CircuitBreaker.Config config;
+    private final Clock clock;
+    private final Predicate<HttpResponse> failurePredicate;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder rejected = new LongAdder();
+
+    private CircuitBreakerInterceptor(Builder builder) {
+        this.clock = builder.clock;
+        this.failurePredicate = builder.failurePredicate;
+        this.config = new CircuitBreaker.Config(builder.clock, builder.windowSize, builder.minimumCalls,
+                builder.failureRateThreshold, builder.slowCallRateThreshold, builder.slowCallDuration.toMillis(),
+                builder.openDuration.toMillis(), builder.halfOpenCalls, listeners);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public HttpResponse intercept(Chain chain) {
+        HttpRequest request = chain.request();
+        CircuitBreaker breaker = acquire(request);
+        long start = clock.millis();
+        // 任何异常（包括 Error）都计为失败，保证半开状态下已放行的许可被归还
+        boolean failed = true;
+        try {
+            HttpResponse response = chain.proceed(request);
+            failed = failurePredicate.test(response);
+            return response;
+        } finally {
+            breaker.onResult(clock.millis() - start, failed);
+        }
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> interceptAsync(Chain chain) {
+        HttpRequest request = chain.request();
+        CircuitBreaker breaker;
+        try {
+            breaker = acquire(request);
+        } catch (CircuitBreakerOpenException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = clock.millis();
+        CompletableFuture<HttpResponse> future;
+        try {
+            future = chain.proceedAsync(request);
+        } catch (Throwable e) {
+            breaker.onResult(clock.millis() - start, true);
+            throw e;
+        }
+        return future.whenComplete((response, error) -> {
+            if (error == null) {
+                breaker.onResult(clock.millis() - start, failurePredicate.test(response));
+            } else if (unwrap(error) instanceof CancellationException) {
+                breaker.release();
+            } else {
+                breaker.onResult(clock.millis() - start, true);
+            }
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        // 在重试拦截器（40）之内、对冲拦截器（60）之外
+        return 50;
+    }
+
+    /**
+     * 各主机的熔断器，键为 host:port
+     */
+    public Map<String, CircuitBreaker> getBreakers() {
+        return Collections.unmodifiableMap(breakers);
+    }
+
+    /**
+     * 指定主机的熔断状态，尚未调用过的主机为 CLOSED
+     *
+     * @param host host:port 或请求 URL；不带端口时与熔断器的键一致地补默认端口（https 为 443，其余为 80）
+     */
+    public CircuitBreaker.State getState(String host) {
+        CircuitBreaker breaker = breakers.get(hostOf(host));
+        return breaker != null ? breaker.getState() : CircuitBreaker.State.CLOSED;
+    }
+
+    /**
+     * 注册熔断事件监听器
+     */
+    public void addListener(CircuitBreakerListener listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener cannot be null"));
+    }
+
+    public void removeListener(CircuitBreakerListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 所有主机被熔断拒绝的调用总数
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private CircuitBreaker acquire(HttpRequest request) {
+        String host = hostOf(request.getUrl());
+        CircuitBreaker breaker = breakers.get(host);
+        if (breaker == null) {
+            CircuitBreaker created = new CircuitBreaker(host, config);
+            breaker = breakers.putIfAbsent(host, created);
+            if (breaker == null) {
+                breaker = created;
+                for (CircuitBreakerListener listener : listeners) {
+                    listener.onCreated(created);
+                }
+            }
+        }
+        if (!breaker.tryAcquire()) {
+            rejected.increment();
+            for (CircuitBreakerListener listener : listeners) {
+                listener.onRejected(breaker);
+            }
+            throw new CircuitBreakerOpenException(host);
+        }
+        return breaker;
+    }
+
+    /**
+     * 提取 host:port，不带端口时补默认端口，使同一主机的不同写法共用一个熔断器
+     */
+    static String hostOf(String url) {
+        int schemeEnd = url.indexOf("://");
+        int start = schemeEnd < 0 ? 0 : schemeEnd + 3;
+        int end = start;
+        while (end < url.length() && "/?#".indexOf(url.charAt(end)) < 0) {
+            end++;
+        }
+        String authority = url.substring(start, end).toLowerCase(Locale.ROOT);
+        int at = authority.lastIndexOf('@');
+        if (at >= 0) {
+            authority = authority.substring(at + 1);
+        }
+        if (authority.lastIndexOf(':') > authority.lastIndexOf(']')) {
+            return authority;
+        }
+        return authority + (url.regionMatches(true, 0, "https://", 0, 8) ? ":443" : ":80");
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private int windowSize = 100;
+        private int minimumCalls = 20;
+        private float failureRateThreshold = 50F;
+        private float slowCallRateThreshold = 100F;
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenCalls = 5;
+        private Predicate<HttpResponse> failurePredicate = response -> response.getStatusCode() >= 500;
+        private Clock clock = Clock.systemUTC();
+
+        private Builder() {
+        }
+
+        /**
+         * 滑动窗口大小（最近的调用次数），默认 100
+         */
+        public Builder windowSize(int windowSize) {
+            if (windowSize <= 0) {
+                throw new IllegalArgumentException("windowSize must be > 0");
+            }
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * 窗口内至少有多少次调用才开始计算比例，默认 20
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls <= 0) {
+                throw new IllegalArgumentException("minimumCalls must be > 0");
+            }
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * 失败率阈值（百分比），默认 50
+         */
+        public Builder failureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = percentage(failureRateThreshold, "failureRateThreshold");
+            return this;
+        }
+
+        /**
+         * 慢调用判定时长和慢调用率阈值（百分比），默认 5 秒、100（全部为慢调用才熔断）
+         */
+        public Builder slowCall(Duration slowCallDuration, float slowCallRateThreshold) {
+            Objects.requireNonNull(slowCallDuration, "slowCallDuration cannot be null");
+            if (slowCallDuration.isNegative() || slowCallDuration.isZero()) {
+                throw new IllegalArgumentException("slowCallDuration must be > 0");
+            }
+            this.slowCallDuration = slowCallDuration;
+            this.slowCallRateThreshold = percentage(slowCallRateThreshold, "slowCallRateThreshold");
+            return this;
+        }
+
+        /**
+         * 熔断后等待多久进入半开状态，默认 30 秒
+         */
+        public Builder openDuration(Duration openDuration) {
+            Objects.requireNonNull(openDuration, "openDuration cannot be null");
+            if (openDuration.isNegative() || openDuration.isZero()) {
+                throw new IllegalArgumentException("openDuration must be > 0");
+            }
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        /**
+         * 半开状态放行的探测调用数，默认 5
+         */
+        public Builder halfOpenCalls(int halfOpenCalls) {
+            if (halfOpenCalls <= 0) {
+                throw new IllegalArgumentException("halfOpenCalls must be > 0");
+            }
+            this.halfOpenCalls = halfOpenCalls;
+            return this;
+        }
+
+        /**
+         * 判定响应是否失败，默认 5xx 为失败
+         */
+        public Builder failurePredicate(Predicate<HttpResponse> failurePredicate) {
+            this.failurePredicate = Objects.requireNonNull(failurePredicate, "failurePredicate cannot be null");
+            return this;
+        }
+
+        /**
+         * 时钟，用于计算调用耗时和熔断时长，主要用于测试
+         */
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+            return this;
+        }
+
+        public CircuitBreakerInterceptor build() {
+            if (minimumCalls > windowSize) {
+                throw new IllegalArgumentException("minimumCalls must be <= windowSize");
+            }
+            return new CircuitBreakerInterceptor(this);
+        }
+
+        private static float percentage(float value, String name) {
+            if (value <= 0 || value > 100) {
+                throw new IllegalArgumentException(name + " must be in (0, 100]");
+            }
+            return value;
+        }
+    }
+}
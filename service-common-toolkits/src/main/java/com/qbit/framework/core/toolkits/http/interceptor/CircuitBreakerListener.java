@@ -0,0 +1,34 @@
+package com.qbit.framework.core.toolkits.http.interceptor;
+
+/**
+ * 熔断事件监听器，用于对接 Micrometer 等指标系统，通过 {@link CircuitBreakerInterceptor#addListener} 注册
+ * <p>回调在调用线程中同步执行（状态变更时持有熔断器的锁），实现必须轻量且不抛异常
+ *
+ * @author Qbit Framework
+ */
+public interface CircuitBreakerListener {
+
+    /**
+     * 首次调用某个主机时创建了熔断器
+     *
+     * @param breaker 熔断器，名称为 host:port
+     */
+    default void onCreated(CircuitBreaker breaker) {
+    }
+
+    /**
+     * 状态变更
+     *
+     * @param breaker 熔断器
+     * @param from    原状态
+     * @param to      新状态
+     */
+    default void onStateTransition(CircuitBreaker breaker, CircuitBreaker.State from, CircuitBreaker.State to) {
+    }
+
+    /**
+     * 调用被熔断拒绝
+     */
+    default void onRejected(CircuitBreaker breaker) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.qbit.framework.core.toolkits.http.interceptor;
+
+import com.qbit.framework.core.toolkits.http.HttpClientException;
+import lombok.Getter;
+
+/**
+ * 熔断器打开时快速失败抛出的异常，不会被 {@link RetryInterceptor} 重试
+ *
+ * @author Qbit Framework
+ */
+@Getter
+public class CircuitBreakerOpenException extends HttpClientException {
+
+    /**
+     * 被熔断的下游（host:port）
+     */
+    private final String host;
+
+    public CircuitBreakerOpenException(String host) {
+        super("Circuit breaker is open for " + host);
+        this.host = host;
+    }
+}
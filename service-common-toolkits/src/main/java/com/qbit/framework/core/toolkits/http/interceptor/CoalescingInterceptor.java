@@ -0,0 +1,285 @@
+package com.qbit.framework.core.toolkits.http.interceptor;
+
+import com.qbit.framework.core.toolkits.http.HttpClientException;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 请求合并拦截器（singleflight）：相同的并发幂等请求共享同一个进行中的调用
+ * 热点缓存过期瞬间大量线程请求同一 URL 时，只有第一个请求（leader）访问下游，其余请求等待其结果，
+ * 每个调用方拿到独立的响应副本
+ *
+ * <pre>{@code
+ * HttpClient client = HttpUtils.createJdkHttpClient()
+ *         .addInterceptor(CoalescingInterceptor.builder()
+ *                 .keyHeaders("Authorization", "Accept-Language")
+ *                 .maxWait(Duration.ofSeconds(5))
+ *                 .build());
+ * }</pre>
+ *
+ * <p>注意：</p>
+ * <ul>
+ *   <li>只合并请求键相同的请求，默认键为 方法 + 完整 URL + {@code keyHeaders} 指定的请求头（默认 Authorization），
+ *       不同身份的请求不会共享响应</li>
+ *   <li>leader 失败时等待者收到同样的异常</li>
+ *   <li>等待超过 {@code maxWait} 的请求不再等待，改为自行发起调用</li>
+ * </ul>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public class CoalescingInterceptor implements HttpInterceptor {
+
+    private final Function<HttpRequest, String> keyFunction;
+    private final Duration maxWait;
+    private final Map<String, CompletableFuture<HttpResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    private CoalescingInterceptor(Builder builder) {
+        this.keyFunction = builder.keyFunction != null ? builder.keyFunction : defaultKey(builder.methods, builder.keyHeaders);
+        this.maxWait = builder.maxWait;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public HttpResponse intercept(Chain chain) {
+        HttpRequest request = chain.request();
+        String key = keyFunction.apply(request);
+        if (key == null) {
+            return chain.proceed(request);
+        }
+        CompletableFuture<HttpResponse> call = new CompletableFuture<>();
+        CompletableFuture<HttpResponse> existing = inFlight.putIfAbsent(key, call);
+        if (existing == null) {
+            leaders.increment();
+            try {
+                HttpResponse response = chain.proceed(request);
+                call.complete(response);
+                return copy(response);
+            } catch (Throwable e) {
+                // 包括 Error：等待者必须立即得到结果，而不是等到 maxWait 超时
+                call.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, call);
+            }
+        }
+
+        coalesced.increment();
+        try {
+            return copy(existing.get(maxWait.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.debug("Coalesced request waited more than {} ms, calling directly: {}", maxWait.toMillis(), key);
+            return chain.proceed(request);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpClientException("Interrupted while waiting for coalesced request: " + key, e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> interceptAsync(Chain chain) {
+        HttpRequest request = chain.request();
+        String key = keyFunction.apply(request);
+        if (key == null) {
+            return chain.proceedAsync(request);
+        }
+        CompletableFuture<HttpResponse> call = new CompletableFuture<>();
+        CompletableFuture<HttpResponse> existing = inFlight.putIfAbsent(key, call);
+        if (existing == null) {
+            leaders.increment();
+            // 共享调用与领头调用方的取消解耦
+            chain.proceedAsyncDetached(request).whenComplete((response, error) -> {
+                inFlight.remove(key, call);
+                if (error != null) {
+                    call.completeExceptionally(error);
+                } else {
+                    call.complete(response);
+                }
+            });
+            // 返回依赖的 Future，单个调用方取消不影响其他等待者
+            return call.thenApply(CoalescingInterceptor::copy);
+        }
+
+        coalesced.increment();
+        return existing.thenApply(CoalescingInterceptor::copy)
+                .orTimeout(maxWait.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        timeouts.increment();
+                        return chain.proceedAsync(request);
+                    }
+                    return CompletableFuture.failedFuture(cause);
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        // 在缓存拦截器之内：缓存未命中的并发请求才需要合并
+        return -70;
+    }
+
+    /**
+     * 作为 leader 发出的调用次数
+     */
+    public long getLeaderCount() {
+        return leaders.sum();
+    }
+
+    /**
+     * 合并到进行中调用的请求次数
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * 等待超时后自行调用的次数
+     */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    /**
+     * 当前进行中的合并键数量
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * 响应副本：响应体只读可以共享，响应头复制一份
+     */
+    private static HttpResponse copy(HttpResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        response.getHeaders().forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+        return response.withHeaders(headers);
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new HttpClientException(cause);
+    }
+
+    private static Function<HttpRequest, String> defaultKey(Set<String> methods, List<String> keyHeaders) {
+        return request -> {
+            if (!methods.contains(request.getMethod())) {
+                return null;
+            }
+            StringBuilder key = new StringBuilder(request.getMethod()).append(' ').append(request.getFullUrl());
+            for (String name : keyHeaders) {
+                key.append('\n').append(name).append(':').append(headerIgnoreCase(request.getHeaders(), name));
+            }
+            return key.toString();
+        };
+    }
+
+    private static String headerIgnoreCase(Map<String, String> headers, String name) {
+        String value = headers.get(name);
+        if (value != null) {
+            return value;
+        }
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return "";
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private Set<String> methods = Set.of("GET", "HEAD");
+        private List<String> keyHeaders = List.of("Authorization");
+        private Function<HttpRequest, String> keyFunction;
+        private Duration maxWait = Duration.ofSeconds(30);
+
+        private Builder() {
+        }
+
+        /**
+         * 参与合并的方法，只应包含幂等方法，默认 GET、HEAD
+         */
+        public Builder methods(String... methods) {
+            if (methods == null || methods.length == 0) {
+                throw new IllegalArgumentException("methods cannot be empty");
+            }
+            Set<String> upper = new HashSet<>();
+            for (String method : methods) {
+                upper.add(method.toUpperCase(Locale.ROOT));
+            }
+            this.methods = Set.copyOf(upper);
+            return this;
+        }
+
+        /**
+         * 计入请求键的请求头，默认 Authorization
+         */
+        public Builder keyHeaders(String... keyHeaders) {
+            this.keyHeaders = keyHeaders == null ? List.of() : List.copyOf(Arrays.asList(keyHeaders));
+            return this;
+        }
+
+        /**
+         * 自定义请求键，返回 null 表示该请求不参与合并；设置后 methods/keyHeaders 不再生效
+         */
+        public Builder keyFunction(Function<HttpRequest, String> keyFunction) {
+            this.keyFunction = Objects.requireNonNull(keyFunction, "keyFunction cannot be null");
+            return this;
+        }
+
+        /**
+         * 等待进行中调用的最长时间，超时后自行发起调用，默认 30 秒
+         */
+        public Builder maxWait(Duration maxWait) {
+            Objects.requireNonNull(maxWait, "maxWait cannot be null");
+            if (maxWait.isNegative() || maxWait.isZero()) {
+                throw new IllegalArgumentException("maxWait must be > 0");
+            }
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        public CoalescingInterceptor build() {
+            return new CoalescingInterceptor(this);
+        }
+    }
+}
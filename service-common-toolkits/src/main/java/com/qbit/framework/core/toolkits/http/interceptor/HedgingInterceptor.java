@@ -0,0 +1,442 @@
+package com.qbit.framework.core.toolkits.http.interceptor;
+
+import com.qbit.framework.core.toolkits.http.HttpClientException;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import com.qbit.framework.core.toolkits.thread.HashedWheelTimer;
+import com.qbit.framework.core.toolkits.thread.ThreadPoolUtils;
+import com.qbit.framework.core.toolkits.tracing.context.MdcTraceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 对冲请求拦截器：幂等请求在设定的延迟内没有响应时再发出一次相同请求，先返回者胜出，另一个被取消
+ * 用于下游 p99 远高于 p50 的场景，以少量额外请求换取尾延迟的降低
+ *
+ * <pre>{@code
+ * HttpClient client = HttpUtils.createJdkHttpClient()
+ *         .addInterceptor(HedgingInterceptor.builder()
+ *                 .percentileDelay(0.95, Duration.ofMillis(50))   // 按实时 p95 延迟对冲，初始 50ms
+ *                 .budgetPercent(10)                               // 对冲请求最多占 10%
+ *                 .build());
+ * }</pre>
+ *
+ * <p>特性：</p>
+ * <ul>
+ *   <li>对冲延迟：固定值，或按最近响应延迟的指定分位数动态调整（限制在 minDelay 与 maxDelay 之间）</li>
+ *   <li>预算：对冲请求受 {@link RetryBudget} 限制，下游整体变慢时对冲量不会超过设定比例；
+ *       可以与 {@link RetryInterceptor} 共享同一个预算</li>
+ *   <li>只对冲响应慢的请求，不对冲失败的请求（失败重试由重试拦截器负责）</li>
+ *   <li>基于 {@link Chain#proceedAsync(HttpRequest)}，同步调用时当前线程等待先到的结果</li>
+ *   <li>对冲请求默认由所有对冲拦截器共享的时间轮调度，在共享线程池中以调用方的 MDC 发出</li>
+ * </ul>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public class HedgingInterceptor implements HttpInterceptor {
+
+    private final Set<String> methods;
+    private final long fixedDelayNanos;
+    private final LatencyTracker tracker;
+    private final RetryBudget budget;
+    private final HashedWheelTimer timer;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    private HedgingInterceptor(Builder builder) {
+        this.methods = builder.methods;
+        this.fixedDelayNanos = builder.delay.toNanos();
+        this.tracker = builder.percentile > 0
+                ? new LatencyTracker(builder.percentile, builder.delay.toNanos(), builder.minDelay.toNanos(),
+                builder.maxDelay.toNanos())
+                : null;
+        this.budget = builder.budget != null ? builder.budget : new RetryBudget(builder.budgetPercent, builder.maxBurst);
+        this.timer = builder.timer != null ? builder.timer : TimerHolder.TIMER;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 同步调用：各次尝试异步发出，当前线程等待先返回的结果
+     */
+    @Override
+    public HttpResponse intercept(Chain chain) {
+        if (!methods.contains(chain.request().getMethod())) {
+            return chain.proceed(chain.request());
+        }
+        CompletableFuture<HttpResponse> future = interceptAsync(chain);
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new HttpClientException(cause);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HttpClientException("Interrupted while waiting for hedged request", e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> interceptAsync(Chain chain) {
+        HttpRequest request = chain.request();
+        if (!methods.contains(request.getMethod())) {
+            return chain.proceedAsync(request);
+        }
+        requests.increment();
+        budget.deposit();
+        return new HedgedCall(chain, request).start();
+    }
+
+    @Override
+    public int getOrder() {
+        // 靠近内层：每次尝试仍经过外层的追踪、缓存、合并等拦截器一次
+        return 60;
+    }
+
+    /**
+     * 当前对冲延迟
+     */
+    public Duration getCurrentDelay() {
+        return Duration.ofNanos(currentDelayNanos());
+    }
+
+    /**
+     * 参与对冲判断的请求数
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * 发出的对冲请求数
+     */
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * 对冲请求先于原请求返回的次数
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * 因预算不足放弃对冲的次数
+     */
+    public long getBudgetExhaustedCount() {
+        return budgetExhausted.sum();
+    }
+
+    private long currentDelayNanos() {
+        return tracker != null ? tracker.delayNanos() : fixedDelayNanos;
+    }
+
+    /**
+     * 一次对冲调用：原请求 + 至多一次对冲请求
+     */
+    private final class HedgedCall {
+        private final Chain chain;
+        private final HttpRequest request;
+        private final long startNanos = System.nanoTime();
+        /** 调用方的 MDC，对冲请求在定时器触发的线程上发出 */
+        private final Map<String, String> callerContext = MDC.getCopyOfContextMap();
+        private final CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+        private final List<CompletableFuture<HttpResponse>> attempts = new ArrayList<>(2);
+        private HashedWheelTimer.Timeout hedgeTimeout;
+        private int outstanding;
+        private boolean hedgePending = true;
+
+        private HedgedCall(Chain chain, HttpRequest request) {
+            this.chain = chain;
+            this.request = request;
+        }
+
+        private CompletableFuture<HttpResponse> start() {
+            // 结束（含调用方取消）时取消定时器和未完成的尝试
+            result.whenComplete((response, error) -> cancelRemaining());
+            synchronized (this) {
+                outstanding++;
+            }
+            launch(false);
+            synchronized (this) {
+                if (!result.isDone()) {
+                    hedgeTimeout = timer.newTimeout(this::hedge, currentDelayNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            return result;
+        }
+
+        private void hedge() {
+            synchronized (this) {
+                hedgePending = false;
+                if (result.isDone()) {
+                    return;
+                }
+                if (!budget.tryWithdraw()) {
+                    budgetExhausted.increment();
+                    return;
+                }
+                outstanding++;
+            }
+            hedges.increment();
+            try (MdcTraceContext scope = MdcTraceContext.setAll(callerContext)) {
+                log.debug("Hedging request after {} ms: {} {}",
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), request.getMethod(),
+                        request.getFullUrl());
+                launch(true);
+            }
+        }
+
+        private void launch(boolean hedge) {
+            CompletableFuture<HttpResponse> attempt;
+            try {
+                attempt = chain.proceedAsync(request);
+            } catch (RuntimeException e) {
+                attempt = CompletableFuture.failedFuture(e);
+            }
+            synchronized (this) {
+                attempts.add(attempt);
+            }
+            if (result.isDone() && !attempt.isDone()) {
+                // 发出期间另一次尝试已经胜出
+                attempt.cancel(true);
+            }
+            attempt.whenComplete((response, error) -> onAttempt(hedge, response, error));
+        }
+
+        private void onAttempt(boolean hedge, HttpResponse response, Throwable error) {
+            if (!hedge && tracker != null && (error == null || unwrap(error) instanceof CancellationException)) {
+                // 只记录原请求自身的延迟；对冲胜出后原请求被取消，此时的耗时是其延迟的下限
+                tracker.record(System.nanoTime() - startNanos);
+            }
+            if (error == null) {
+                if (result.complete(response) && hedge) {
+                    hedgeWins.increment();
+                }
+                return;
+            }
+            boolean fail;
+            synchronized (this) {
+                // 所有已发出的尝试都失败时才失败；原请求失败而对冲尚未发出时直接失败，不用对冲代替重试
+                fail = --outstanding == 0;
+                if (fail && hedgeTimeout != null) {
+                    hedgeTimeout.cancel();
+                }
+            }
+            if (fail) {
+                result.completeExceptionally(unwrap(error));
+            }
+        }
+
+        private void cancelRemaining() {
+            List<CompletableFuture<HttpResponse>> pending;
+            synchronized (this) {
+                if (hedgePending && hedgeTimeout != null) {
+                    hedgeTimeout.cancel();
+                }
+                pending = new ArrayList<>(attempts);
+            }
+            for (CompletableFuture<HttpResponse> attempt : pending) {
+                if (!attempt.isDone()) {
+                    attempt.cancel(true);
+                }
+            }
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * 响应延迟分位数跟踪：环形缓冲区记录最近的延迟，每记录一批重新计算一次分位数
+     * <p>多个尝试的回调并发记录，缓冲区用 {@link AtomicLongArray} 保证读到的是完整写入的样本</p>
+     */
+    private static final class LatencyTracker {
+        private static final int WINDOW = 1024;
+        private static final int RECOMPUTE_EVERY = 64;
+
+        private final double percentile;
+        private final long minNanos;
+        private final long maxNanos;
+        private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+        private final AtomicLong count = new AtomicLong();
+        private volatile long delayNanos;
+
+        private LatencyTracker(double percentile, long initialNanos, long minNanos, long maxNanos) {
+            this.percentile = percentile;
+            this.minNanos = minNanos;
+            this.maxNanos = maxNanos;
+            this.delayNanos = Math.max(minNanos, Math.min(maxNanos, initialNanos));
+        }
+
+        private void record(long latencyNanos) {
+            long n = count.incrementAndGet();
+            samples.set((int) ((n - 1) % WINDOW), latencyNanos);
+            if (n % RECOMPUTE_EVERY == 0) {
+                int size = (int) Math.min(n, WINDOW);
+                long[] sorted = new long[size];
+                for (int i = 0; i < size; i++) {
+                    sorted[i] = samples.get(i);
+                }
+                Arrays.sort(sorted);
+                long value = sorted[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+                delayNanos = Math.max(minNanos, Math.min(maxNanos, value));
+            }
+        }
+
+        private long delayNanos() {
+            return delayNanos;
+        }
+    }
+
+    /**
+     * 默认的对冲时间轮，首次使用时创建，所有实例共享；到期后在共享线程池中发出对冲请求，不占用时间轮线程
+     */
+    private static final class TimerHolder {
+        static final HashedWheelTimer TIMER = ThreadPoolUtils.newWheelTimer("http-hedge-timer", Duration.ofMillis(5), 512,
+                ThreadPoolUtils.newCachedThreadPool("http-hedge"));
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private Set<String> methods = Set.of("GET", "HEAD");
+        private Duration delay = Duration.ofMillis(100);
+        private double percentile;
+        private Duration minDelay = Duration.ofMillis(5);
+        private Duration maxDelay = Duration.ofSeconds(5);
+        private double budgetPercent = 10D;
+        private long maxBurst = 10;
+        private RetryBudget budget;
+        private HashedWheelTimer timer;
+
+        private Builder() {
+        }
+
+        /**
+         * 参与对冲的方法，只应包含幂等方法，默认 GET、HEAD
+         */
+        public Builder methods(String... methods) {
+            if (methods == null || methods.length == 0) {
+                throw new IllegalArgumentException("methods cannot be empty");
+            }
+            Set<String> upper = new HashSet<>();
+            for (String method : methods) {
+                upper.add(method.toUpperCase(Locale.ROOT));
+            }
+            this.methods = Set.copyOf(upper);
+            return this;
+        }
+
+        /**
+         * 固定对冲延迟，默认 100ms
+         */
+        public Builder delay(Duration delay) {
+            this.delay = positive(delay, "delay");
+            this.percentile = 0;
+            return this;
+        }
+
+        /**
+         * 按最近响应延迟的分位数对冲（如 0.95），样本不足时使用 initialDelay
+         */
+        public Builder percentileDelay(double percentile, Duration initialDelay) {
+            if (percentile <= 0 || percentile >= 1) {
+                throw new IllegalArgumentException("percentile must be in (0, 1)");
+            }
+            this.percentile = percentile;
+            this.delay = positive(initialDelay, "initialDelay");
+            return this;
+        }
+
+        /**
+         * 动态延迟的下限和上限，默认 5ms ~ 5s
+         */
+        public Builder delayBounds(Duration minDelay, Duration maxDelay) {
+            this.minDelay = positive(minDelay, "minDelay");
+            this.maxDelay = positive(maxDelay, "maxDelay");
+            if (minDelay.compareTo(maxDelay) > 0) {
+                throw new IllegalArgumentException("minDelay must be <= maxDelay");
+            }
+            return this;
+        }
+
+        /**
+         * 对冲请求占请求总数的上限百分比，默认 10
+         */
+        public Builder budgetPercent(double budgetPercent) {
+            if (budgetPercent <= 0 || budgetPercent > 100) {
+                throw new IllegalArgumentException("budgetPercent must be in (0, 100]");
+            }
+            this.budgetPercent = budgetPercent;
+            return this;
+        }
+
+        /**
+         * 最多积累的对冲令牌数（允许的突发对冲数），默认 10
+         */
+        public Builder maxBurst(long maxBurst) {
+            if (maxBurst <= 0) {
+                throw new IllegalArgumentException("maxBurst must be > 0");
+            }
+            this.maxBurst = maxBurst;
+            return this;
+        }
+
+        /**
+         * 使用外部的预算（如与重试拦截器共享），设置后 budgetPercent/maxBurst 不再生效
+         */
+        public Builder budget(RetryBudget budget) {
+            this.budget = Objects.requireNonNull(budget, "budget cannot be null");
+            return this;
+        }
+
+        /**
+         * 调度对冲的时间轮，默认使用所有对冲拦截器共享的 5ms 精度时间轮
+         */
+        public Builder timer(HashedWheelTimer timer) {
+            this.timer = Objects.requireNonNull(timer, "timer cannot be null");
+            return this;
+        }
+
+        public HedgingInterceptor build() {
+            return new HedgingInterceptor(this);
+        }
+
+        private static Duration positive(Duration value, String name) {
+            Objects.requireNonNull(value, name + " cannot be null");
+            if (value.isNegative() || value.isZero()) {
+                throw new IllegalArgumentException(name + " must be > 0");
+            }
+            return value;
+        }
+    }
+}
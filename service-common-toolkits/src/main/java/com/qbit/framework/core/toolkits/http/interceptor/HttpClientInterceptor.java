@@ -1,6 +1,9 @@
 package com.qbit.framework.core.toolkits.http.interceptor;
 
 import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * HTTP 客户端拦截器接口
@@ -8,13 +11,14 @@ import com.qbit.framework.core.toolkits.http.HttpRequest;
  * - 链路追踪
  * - 日志记录
  * - 签名认证
- * - 请求重试
+ *
+ * 该接口只能改写请求，会自动适配为 {@link HttpInterceptor}；需要观察响应、重试或短路调用时直接实现 {@link HttpInterceptor}
  *
  * @author Qbit Framework
 
  * @date 2026/1/8
  */
-public interface HttpClientInterceptor {
+public interface HttpClientInterceptor extends HttpInterceptor {
 
     /**
      * 拦截请求，可以修改请求对象
@@ -24,11 +28,13 @@ public interface HttpClientInterceptor {
      */
     HttpRequest intercept(HttpRequest request);
 
-    /**
-     * 拦截器优先级，数字越小优先级越高
-     * 默认为 0
-     */
-    default int getOrder() {
-        return 0;
+    @Override
+    default HttpResponse intercept(Chain chain) {
+        return chain.proceed(intercept(chain.request()));
+    }
+
+    @Override
+    default CompletableFuture<HttpResponse> interceptAsync(Chain chain) {
+        return chain.proceedAsync(intercept(chain.request()));
     }
 }
@@ -0,0 +1,111 @@
+package com.qbit.framework.core.toolkits.http.interceptor;
+
+import com.qbit.framework.core.toolkits.http.HttpClientException;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import com.qbit.framework.core.toolkits.tracing.context.MdcTraceContext;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 环绕式 HTTP 拦截器，可观察和改写请求与响应
+ * 通过 {@link Chain#proceed(HttpRequest)} 把请求交给下一个拦截器（最后一个交给底层客户端），可用于：
+ * - 请求改写（追踪头、签名）
+ * - 指标与耗时统计
+ * - 重试、熔断、限流（多次调用或不调用 proceed）
+ * - 响应缓存（直接返回缓存的响应，短路后续调用）
+ *
+ * <pre>{@code
+ * HttpInterceptor timing = chain -> {
+ *     long start = System.nanoTime();
+ *     HttpResponse response = chain.proceed(chain.request().withHeader("X-Client", "order-service"));
+ *     metrics.record(response.getStatusCode(), System.nanoTime() - start);
+ *     return response;
+ * };
+ * }</pre>
+ *
+ * <p>只需改写请求的拦截器可以继续实现 {@link HttpClientInterceptor}，会自动适配为环绕式拦截器。</p>
+ *
+ * @author Qbit Framework
+ */
+public interface HttpInterceptor {
+
+    /**
+     * 拦截一次调用
+     *
+     * @param chain 调用链
+     * @return 响应（通常来自 {@code chain.proceed}，也可以直接构造）
+     * @throws HttpClientException 请求异常
+     */
+    HttpResponse intercept(Chain chain) throws HttpClientException;
+
+    /**
+     * 拦截一次异步调用
+     * <p>默认实现在公共线程池中执行 {@link #intercept(Chain)}（其中的 {@code proceed} 为阻塞调用），
+     * 需要全程非阻塞的拦截器应覆盖该方法并使用 {@link Chain#proceedAsync(HttpRequest)}
+     *
+     * @param chain 调用链
+     * @return 响应
+     */
+    default CompletableFuture<HttpResponse> interceptAsync(Chain chain) {
+        Callable<HttpResponse> call = () -> intercept(chain);
+        Callable<HttpResponse> task = MdcTraceContext.wrap(call);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new HttpClientException(e);
+            }
+        });
+    }
+
+    /**
+     * 拦截器优先级，数字越小越靠外层（越先看到请求、越后看到响应）
+     * 默认为 0
+     */
+    default int getOrder() {
+        return 0;
+    }
+
+    /**
+     * 调用链
+     */
+    interface Chain {
+
+        /**
+         * 当前请求
+         */
+        HttpRequest request();
+
+        /**
+         * 把请求交给后续拦截器和底层客户端执行，可以多次调用（重试）
+         *
+         * @param request 请求
+         * @return 响应
+         * @throws HttpClientException 请求异常
+         */
+        HttpResponse proceed(HttpRequest request) throws HttpClientException;
+
+        /**
+         * 异步执行后续调用链
+         *
+         * @param request 请求
+         * @return 响应
+         */
+        CompletableFuture<HttpResponse> proceedAsync(HttpRequest request);
+
+        /**
+         * 异步执行后续调用链，但本层结果被取消时不向下取消该调用
+         * <p>用于多个调用方共享同一个下游调用的场景（如请求合并），单个调用方取消不应中断其他调用方</p>
+         *
+         * @param request 请求
+         * @return 响应
+         */
+        default CompletableFuture<HttpResponse> proceedAsyncDetached(HttpRequest request) {
+            return proceedAsync(request);
+        }
+    }
+}
@@ -1,17 +1,21 @@
 package com.qbit.framework.core.toolkits.http.interceptor;
 
 import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 /**
- * HTTP 请求日志拦截器
+ * HTTP 请求日志拦截器，记录最终请求以及响应状态和耗时
  *
  * @author Qbit Framework
 
  * @date 2026/1/8
  */
 @Slf4j
-public class LoggingInterceptor implements HttpClientInterceptor {
+public class LoggingInterceptor implements HttpInterceptor {
 
     private final boolean logHeaders;
     private final boolean logBody;
@@ -26,24 +30,52 @@ public class LoggingInterceptor implements HttpClientInterceptor {
     }
 
     @Override
-    public HttpRequest intercept(HttpRequest request) {
-        if (log.isDebugEnabled()) {
-            StringBuilder logMsg = new StringBuilder();
-            logMsg.append("HTTP Request: ").append(request.getMethod())
-                    .append(" ").append(request.getFullUrl());
-
-            if (logHeaders && !request.getHeaders().isEmpty()) {
-                logMsg.append("\nHeaders: ").append(request.getHeaders());
-            }
+    public HttpResponse intercept(Chain chain) {
+        HttpRequest request = chain.request();
+        if (!log.isDebugEnabled()) {
+            return chain.proceed(request);
+        }
+        logRequest(request);
+        long start = System.nanoTime();
+        HttpResponse response = chain.proceed(request);
+        logResponse(request, response, start);
+        return response;
+    }
 
-            if (logBody && request.getBody() != null) {
-                logMsg.append("\nBody: ").append(request.getBody());
+    @Override
+    public CompletableFuture<HttpResponse> interceptAsync(Chain chain) {
+        HttpRequest request = chain.request();
+        if (!log.isDebugEnabled()) {
+            return chain.proceedAsync(request);
+        }
+        logRequest(request);
+        long start = System.nanoTime();
+        return chain.proceedAsync(request).whenComplete((response, error) -> {
+            if (response != null) {
+                logResponse(request, response, start);
             }
+        });
+    }
+
+    private void logRequest(HttpRequest request) {
+        StringBuilder logMsg = new StringBuilder();
+        logMsg.append("HTTP Request: ").append(request.getMethod())
+                .append(" ").append(request.getFullUrl());
+
+        if (logHeaders && !request.getHeaders().isEmpty()) {
+            logMsg.append("\nHeaders: ").append(request.getHeaders());
+        }
 
-            log.debug(logMsg.toString());
+        if (logBody && request.getBody() != null) {
+            logMsg.append("\nBody: ").append(request.getBody());
         }
 
-        return request;
+        log.debug(logMsg.toString());
+    }
+
+    private void logResponse(HttpRequest request, HttpResponse response, long start) {
+        log.debug("HTTP Response: {} {} -> {} in {} ms", request.getMethod(), request.getFullUrl(),
+                response.getStatusCode(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
 
     @Override
@@ -0,0 +1,23 @@
+package com.qbit.framework.core.toolkits.http.interceptor;
+
+import com.qbit.framework.core.toolkits.http.HttpClientException;
+import lombok.Getter;
+
+/**
+ * 出站请求超出限流配额且等待时间超过上限时抛出，不会被 {@link RetryInterceptor} 重试
+ *
+ * @author Qbit Framework
+ */
+@Getter
+public class RateLimitExceededException extends HttpClientException {
+
+    /**
+     * 命中的限流规则（主机或路由前缀）
+     */
+    private final String limit;
+
+    public RateLimitExceededException(String limit) {
+        super("Outbound rate limit exceeded for " + limit);
+        this.limit = limit;
+    }
+}
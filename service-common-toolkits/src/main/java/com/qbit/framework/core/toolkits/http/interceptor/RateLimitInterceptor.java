@@ -0,0 +1,381 @@
+package com.qbit.framework.core.toolkits.http.interceptor;
+
+import com.qbit.framework.core.toolkits.http.HttpClientException;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import com.qbit.framework.core.toolkits.tracing.context.MdcTraceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 出站限流拦截器：按主机或路由前缀维护 {@link TokenBucket}，把对第三方接口的调用控制在配额之内
+ *
+ * <pre>{@code
+ * HttpClient client = HttpUtils.createJdkHttpClient()
+ *         .addInterceptor(RateLimitInterceptor.builder()
+ *                 .limit("api.example.com", 20, 5)              // 该主机 20 QPS，突发 5
+ *                 .limit("api.example.com/v1/orders", 2, 1)     // 更具体的路由单独限流
+ *                 .defaultLimit(100, 20)                        // 其他主机各自 100 QPS
+ *                 .maxWait(Duration.ofMillis(500))              // 最多排队 500ms，否则快速失败
+ *                 .build());
+ * }</pre>
+ *
+ * <p>特性：</p>
+ * <ul>
+ *   <li>规则按前缀匹配 "host[:port][/path]"（不含协议），最长的前缀优先；同一规则下的请求共享一个令牌桶</li>
+ *   <li>未命中规则时按 {@code defaultLimit} 为每个 host:port 单独限流，未设置则不限流</li>
+ *   <li>等待或失败：需要等待的时长不超过 {@code maxWait} 时等待后发出，否则抛出 {@link RateLimitExceededException}</li>
+ *   <li>收到 429 时按 {@code Retry-After}（秒数或 HTTP 日期，缺省为 {@code defaultRetryAfter}）暂停该令牌桶，
+ *       后续请求自动放慢，不再继续触发 429</li>
+ *   <li>申请许可只有一次 CAS，无锁；异步请求排队时不占用线程</li>
+ * </ul>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public class RateLimitInterceptor implements HttpInterceptor {
+
+    private final List<Limiter> rules;
+    private final Builder.Limit defaultLimit;
+    private final Map<String, Limiter> hostLimiters = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+    private final long defaultRetryAfterNanos;
+    private final LongSupplier nanoTime;
+    private final Clock clock;
+
+    private final LongAdder permitted = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    private RateLimitInterceptor(Builder builder) {
+        this.clock = builder.clock;
+        this.nanoTime = builder.clock == null ? System::nanoTime : () -> toNanos(builder.clock.instant());
+        this.rules = new ArrayList<>(builder.rules.size());
+        builder.rules.forEach((prefix, limit) -> rules.add(new Limiter(prefix, limit.bucket(nanoTime))));
+        this.rules.sort(Comparator.comparingInt((Limiter limiter) -> limiter.name.length()).reversed());
+        this.defaultLimit = builder.defaultLimit;
+        this.maxWaitNanos = builder.maxWait.toNanos();
+        this.defaultRetryAfterNanos = builder.defaultRetryAfter.toNanos();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public HttpResponse intercept(Chain chain) {
+        HttpRequest request = chain.request();
+        Limiter limiter = limiterFor(request.getUrl());
+        if (limiter == null) {
+            return chain.proceed(request);
+        }
+        long waitNanos = acquire(limiter);
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new HttpClientException("Interrupted while waiting for rate limit: " + limiter.name, e);
+            }
+        }
+        return onResponse(limiter, chain.proceed(request));
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> interceptAsync(Chain chain) {
+        HttpRequest request = chain.request();
+        Limiter limiter = limiterFor(request.getUrl());
+        if (limiter == null) {
+            return chain.proceedAsync(request);
+        }
+        long waitNanos;
+        try {
+            waitNanos = acquire(limiter);
+        } catch (RateLimitExceededException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (waitNanos <= 0) {
+            return chain.proceedAsync(request).thenApply(response -> onResponse(limiter, response));
+        }
+        // 等待后在延迟线程上发出，恢复调用方的 MDC，底层传输据此在调用方上下文中完成 Future
+        Map<String, String> callerContext = MDC.getCopyOfContextMap();
+        return CompletableFuture.runAsync(() -> {
+                }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS))
+                .thenCompose(ignored -> {
+                    try (MdcTraceContext scope = MdcTraceContext.setAll(callerContext)) {
+                        return chain.proceedAsync(request);
+                    }
+                })
+                .thenApply(response -> onResponse(limiter, response));
+    }
+
+    @Override
+    public int getOrder() {
+        // 在重试拦截器（40）之内，每次重试都消耗配额；在熔断拦截器（50）之外，被限流的请求不计入熔断统计
+        return 45;
+    }
+
+    /**
+     * 立即获得许可的请求数
+     */
+    public long getPermittedCount() {
+        return permitted.sum();
+    }
+
+    /**
+     * 排队等待后发出的请求数
+     */
+    public long getDelayedCount() {
+        return delayed.sum();
+    }
+
+    /**
+     * 因等待时间超过上限被拒绝的请求数
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 收到 429 的次数
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * 指定规则（或默认限流下的 host:port）当前立即可用的许可数，不存在时返回 -1
+     */
+    public int getAvailablePermits(String name) {
+        for (Limiter rule : rules) {
+            if (rule.name.equals(name)) {
+                return rule.bucket.getAvailablePermits();
+            }
+        }
+        Limiter limiter = hostLimiters.get(name);
+        return limiter != null ? limiter.bucket.getAvailablePermits() : -1;
+    }
+
+    private long acquire(Limiter limiter) {
+        long waitNanos = limiter.bucket.reserve(maxWaitNanos);
+        if (waitNanos < 0) {
+            rejected.increment();
+            throw new RateLimitExceededException(limiter.name);
+        }
+        if (waitNanos > 0) {
+            delayed.increment();
+        } else {
+            permitted.increment();
+        }
+        return waitNanos;
+    }
+
+    private HttpResponse onResponse(Limiter limiter, HttpResponse response) {
+        if (response.getStatusCode() == 429) {
+            throttled.increment();
+            long pauseNanos = retryAfterNanos(response);
+            limiter.bucket.pause(pauseNanos);
+            log.warn("Received 429 from {}, pausing outbound requests for {} ms", limiter.name,
+                    TimeUnit.NANOSECONDS.toMillis(pauseNanos));
+        }
+        return response;
+    }
+
+    private Limiter limiterFor(String url) {
+        String target = withoutScheme(url);
+        for (Limiter rule : rules) {
+            if (matches(target, rule.name)) {
+                return rule;
+            }
+        }
+        if (defaultLimit == null) {
+            return null;
+        }
+        return hostLimiters.computeIfAbsent(CircuitBreakerInterceptor.hostOf(url),
+                host -> new Limiter(host, defaultLimit.bucket(nanoTime)));
+    }
+
+    private long retryAfterNanos(HttpResponse response) {
+        String value = null;
+        for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+            if ("Retry-After".equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                value = header.getValue().get(0).trim();
+                break;
+            }
+        }
+        if (value == null || value.isEmpty()) {
+            return defaultRetryAfterNanos;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            // HTTP 日期格式
+        }
+        try {
+            Instant at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            Instant now = clock != null ? clock.instant() : Instant.now();
+            return Math.max(0, Duration.between(now, at).toNanos());
+        } catch (DateTimeParseException e) {
+            return defaultRetryAfterNanos;
+        }
+    }
+
+    /**
+     * 去掉协议，主机部分转为小写；路径大小写敏感，保持不变
+     */
+    private static String withoutScheme(String url) {
+        int schemeEnd = url.indexOf("://");
+        int start = schemeEnd < 0 ? 0 : schemeEnd + 3;
+        int hostEnd = start;
+        while (hostEnd < url.length() && "/?#".indexOf(url.charAt(hostEnd)) < 0) {
+            hostEnd++;
+        }
+        return url.substring(start, hostEnd).toLowerCase(Locale.ROOT) + url.substring(hostEnd);
+    }
+
+    private static boolean matches(String target, String prefix) {
+        if (!target.startsWith(prefix)) {
+            return false;
+        }
+        // 按完整的主机名或路径段匹配："a.com" 不匹配 "a.com.cn"，"/v1/order" 不匹配 "/v1/orders"
+        return target.length() == prefix.length() || prefix.endsWith("/")
+                || "/:?#".indexOf(target.charAt(prefix.length())) >= 0;
+    }
+
+    private static long toNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    /**
+     * 一条限流规则及其令牌桶
+     */
+    private static final class Limiter {
+        private final String name;
+        private final TokenBucket bucket;
+
+        private Limiter(String name, TokenBucket bucket) {
+            this.name = name;
+            this.bucket = bucket;
+        }
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private final Map<String, Limit> rules = new ConcurrentHashMap<>();
+        private Limit defaultLimit;
+        private Duration maxWait = Duration.ZERO;
+        private Duration defaultRetryAfter = Duration.ofSeconds(1);
+        private Clock clock;
+
+        private Builder() {
+        }
+
+        /**
+         * 为主机或路由前缀设置限流，如 "api.example.com"、"api.example.com:8443"、"api.example.com/v1/orders"
+         *
+         * @param target           主机或路由前缀，不含协议
+         * @param permitsPerSecond 每秒请求数
+         * @param burst            最大突发请求数
+         */
+        public Builder limit(String target, double permitsPerSecond, int burst) {
+            Objects.requireNonNull(target, "target cannot be null");
+            String normalized = withoutScheme(target.trim());
+            if (normalized.isEmpty()) {
+                throw new IllegalArgumentException("target cannot be empty");
+            }
+            rules.put(normalized, new Limit(permitsPerSecond, burst));
+            return this;
+        }
+
+        /**
+         * 未命中任何规则时，每个 host:port 的限流；不设置则不限流
+         */
+        public Builder defaultLimit(double permitsPerSecond, int burst) {
+            this.defaultLimit = new Limit(permitsPerSecond, burst);
+            return this;
+        }
+
+        /**
+         * 超出配额时最多等待的时长，默认 0（立即失败）
+         */
+        public Builder maxWait(Duration maxWait) {
+            Objects.requireNonNull(maxWait, "maxWait cannot be null");
+            if (maxWait.isNegative()) {
+                throw new IllegalArgumentException("maxWait must be >= 0");
+            }
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * 429 响应没有有效的 Retry-After 时暂停的时长，默认 1 秒
+         */
+        public Builder defaultRetryAfter(Duration defaultRetryAfter) {
+            Objects.requireNonNull(defaultRetryAfter, "defaultRetryAfter cannot be null");
+            if (defaultRetryAfter.isNegative()) {
+                throw new IllegalArgumentException("defaultRetryAfter must be >= 0");
+            }
+            this.defaultRetryAfter = defaultRetryAfter;
+            return this;
+        }
+
+        /**
+         * 时钟，主要用于测试；默认使用 {@link System#nanoTime()}
+         */
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+            return this;
+        }
+
+        public RateLimitInterceptor build() {
+            if (rules.isEmpty() && defaultLimit == null) {
+                throw new IllegalArgumentException("at least one limit or defaultLimit is required");
+            }
+            return new RateLimitInterceptor(this);
+        }
+
+        /**
+         * 速率和突发配置，构建时为每条规则创建令牌桶
+         */
+        private static final class Limit {
+            private final double permitsPerSecond;
+            private final int burst;
+
+            private Limit(double permitsPerSecond, int burst) {
+                if (permitsPerSecond <= 0) {
+                    throw new IllegalArgumentException("permitsPerSecond must be > 0");
+                }
+                if (burst <= 0) {
+                    throw new IllegalArgumentException("burst must be > 0");
+                }
+                this.permitsPerSecond = permitsPerSecond;
+                this.burst = burst;
+            }
+
+            private TokenBucket bucket(LongSupplier nanoTime) {
+                return new TokenBucket(permitsPerSecond, burst, nanoTime);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.qbit.framework.core.toolkits.http.interceptor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 重试预算：限制额外请求（重试、对冲）占正常请求的比例
+ * 每个正常请求存入 {@code percent / 100} 个令牌，每次额外请求取出一个令牌，最多积累 {@code maxBurst} 个；
+ * 下游整体故障时额外请求不超过设定比例，避免重试放大流量压垮下游
+ *
+ * <pre>{@code
+ * RetryBudget budget = new RetryBudget(10, 20);   // 重试不超过请求量的 10%，允许 20 次突发
+ * HttpClient client = HttpUtils.createJdkHttpClient()
+ *         .addInterceptor(RetryInterceptor.builder().budget(budget).build())
+ *         .addInterceptor(HedgingInterceptor.builder().budget(budget).build());
+ * }</pre>
+ *
+ * <p>同一个预算可以在多个拦截器、多个客户端之间共享，实现全局的重试比例控制</p>
+ *
+ * @author Qbit Framework
+ */
+public class RetryBudget {
+
+    /**
+     * 令牌精度：1 个令牌 = 1000 个单位
+     */
+    private static final long TOKEN = 1000L;
+
+    private final long tokensPerRequest;
+    private final long maxTokens;
+    private final AtomicLong tokens;
+    private final LongAdder deposits = new LongAdder();
+    private final LongAdder withdrawals = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * @param percent  额外请求占正常请求的上限百分比，(0, 100]
+     * @param maxBurst 最多积累的令牌数，也是初始令牌数
+     */
+    public RetryBudget(double percent, long maxBurst) {
+        if (percent <= 0 || percent > 100) {
+            throw new IllegalArgumentException("percent must be in (0, 100]");
+        }
+        if (maxBurst <= 0) {
+            throw new IllegalArgumentException("maxBurst must be > 0");
+        }
+        this.tokensPerRequest = Math.round(percent * TOKEN / 100D);
+        this.maxTokens = maxBurst * TOKEN;
+        this.tokens = new AtomicLong(maxTokens);
+    }
+
+    /**
+     * 记录一次正常请求，积累令牌
+     */
+    public void deposit() {
+        deposits.increment();
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= maxTokens) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(maxTokens, current + tokensPerRequest)));
+    }
+
+    /**
+     * 申请一次额外请求
+     *
+     * @return 令牌足够时返回 true，否则返回 false 且不扣减
+     */
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                rejections.increment();
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        withdrawals.increment();
+        return true;
+    }
+
+    /**
+     * 当前可用的令牌数
+     */
+    public double getBalance() {
+        return tokens.get() / (double) TOKEN;
+    }
+
+    /**
+     * 记录的正常请求数
+     */
+    public long getDepositCount() {
+        return deposits.sum();
+    }
+
+    /**
+     * 获准的额外请求数
+     */
+    public long getWithdrawCount() {
+        return withdrawals.sum();
+    }
+
+    /**
+     * 因令牌不足被拒绝的额外请求数
+     */
+    public long getRejectedCount() {
+        return rejections.sum();
+    }
+}
@@ -0,0 +1,274 @@
+package com.qbit.framework.core.toolkits.http.interceptor;
+
+import com.qbit.framework.core.toolkits.http.HttpClientException;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import com.qbit.framework.core.toolkits.tracing.context.MdcTraceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 重试拦截器：幂等请求遇到请求异常或可重试状态码时按指数退避重试，重试总量受 {@link RetryBudget} 限制
+ *
+ * <pre>{@code
+ * HttpClient client = HttpUtils.createJdkHttpClient()
+ *         .addInterceptor(RetryInterceptor.builder()
+ *                 .maxAttempts(3)
+ *                 .backoff(Duration.ofMillis(50), Duration.ofSeconds(1))
+ *                 .budget(new RetryBudget(10, 20))   // 重试不超过请求量的 10%
+ *                 .build());
+ * }</pre>
+ *
+ * <p>注意：</p>
+ * <ul>
+ *   <li>默认只重试 GET、HEAD、PUT、DELETE、OPTIONS，状态码 502、503、504 和 {@link HttpClientException}</li>
+ *   <li>{@link CircuitBreakerOpenException}、{@link RateLimitExceededException} 不重试：下游已被熔断或配额已用尽，重试只会增加等待</li>
+ *   <li>预算耗尽时直接返回最后一次的结果，下游大面积故障时重试量不超过设定比例</li>
+ *   <li>退避采用全抖动（0 ~ 当前退避上限之间的随机值），避免大量客户端同时重试</li>
+ * </ul>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public class RetryInterceptor implements HttpInterceptor {
+
+    private final int maxAttempts;
+    private final Set<String> methods;
+    private final Set<Integer> retryStatuses;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final RetryBudget budget;
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    private RetryInterceptor(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.methods = builder.methods;
+        this.retryStatuses = builder.retryStatuses;
+        this.initialBackoffMillis = builder.initialBackoff.toMillis();
+        this.maxBackoffMillis = builder.maxBackoff.toMillis();
+        this.budget = builder.budget != null ? builder.budget : new RetryBudget(10, 10);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public HttpResponse intercept(Chain chain) {
+        HttpRequest request = chain.request();
+        if (!methods.contains(request.getMethod())) {
+            return chain.proceed(request);
+        }
+        budget.deposit();
+        for (int attempt = 1; ; attempt++) {
+            HttpResponse response;
+            try {
+                response = chain.proceed(request);
+            } catch (RuntimeException e) {
+                if (!shouldRetry(request, attempt, null, e)) {
+                    throw e;
+                }
+                sleep(backoffMillis(attempt));
+                continue;
+            }
+            if (!shouldRetry(request, attempt, response, null)) {
+                return response;
+            }
+            sleep(backoffMillis(attempt));
+        }
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> interceptAsync(Chain chain) {
+        HttpRequest request = chain.request();
+        if (!methods.contains(request.getMethod())) {
+            return chain.proceedAsync(request);
+        }
+        budget.deposit();
+        return attemptAsync(chain, request, 1, MDC.getCopyOfContextMap());
+    }
+
+    @Override
+    public int getOrder() {
+        // 在熔断拦截器（50）之外，每次重试都经过熔断统计
+        return 40;
+    }
+
+    /**
+     * 发出的重试次数
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * 因预算耗尽放弃重试的次数
+     */
+    public long getBudgetExhaustedCount() {
+        return budgetExhausted.sum();
+    }
+
+    public RetryBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * 发出第 attempt 次调用；退避后的重试在延迟线程上发出，需要恢复调用方的 MDC，
+     * 底层传输据此在调用方上下文中完成 Future
+     */
+    private CompletableFuture<HttpResponse> attemptAsync(Chain chain, HttpRequest request, int attempt,
+                                                         Map<String, String> callerContext) {
+        CompletableFuture<HttpResponse> future;
+        try {
+            future = chain.proceedAsync(request);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.handle((response, error) -> {
+            Throwable cause = error != null ? unwrap(error) : null;
+            if (!shouldRetry(request, attempt, response, cause)) {
+                return cause != null ? CompletableFuture.<HttpResponse>failedFuture(cause) : CompletableFuture.completedFuture(response);
+            }
+            return CompletableFuture.runAsync(() -> {
+                    }, CompletableFuture.delayedExecutor(backoffMillis(attempt), TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> {
+                        try (MdcTraceContext scope = MdcTraceContext.setAll(callerContext)) {
+                            return attemptAsync(chain, request, attempt + 1, callerContext);
+                        }
+                    });
+        }).thenCompose(next -> next);
+    }
+
+    private boolean shouldRetry(HttpRequest request, int attempt, HttpResponse response, Throwable error) {
+        boolean retryable = error != null ? isRetryable(error) : retryStatuses.contains(response.getStatusCode());
+        if (!retryable || attempt >= maxAttempts) {
+            return false;
+        }
+        if (!budget.tryWithdraw()) {
+            budgetExhausted.increment();
+            log.debug("Retry budget exhausted, giving up after {} attempt(s): {} {}", attempt, request.getMethod(),
+                    request.getFullUrl());
+            return false;
+        }
+        retries.increment();
+        log.debug("Retrying {} {} (attempt {}), cause: {}", request.getMethod(), request.getFullUrl(), attempt + 1,
+                error != null ? error.toString() : response.getStatusCode());
+        return true;
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        return error instanceof HttpClientException
+                && !(error instanceof CircuitBreakerOpenException)
+                && !(error instanceof RateLimitExceededException);
+    }
+
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 30));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpClientException("Interrupted while waiting to retry", e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private int maxAttempts = 3;
+        private Set<String> methods = Set.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+        private Set<Integer> retryStatuses = Set.of(502, 503, 504);
+        private Duration initialBackoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofSeconds(1);
+        private RetryBudget budget;
+
+        private Builder() {
+        }
+
+        /**
+         * 最多尝试次数（含首次），默认 3
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts <= 0) {
+                throw new IllegalArgumentException("maxAttempts must be > 0");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * 允许重试的方法，只应包含幂等方法，默认 GET、HEAD、PUT、DELETE、OPTIONS
+         */
+        public Builder methods(String... methods) {
+            if (methods == null || methods.length == 0) {
+                throw new IllegalArgumentException("methods cannot be empty");
+            }
+            Set<String> upper = new HashSet<>();
+            for (String method : methods) {
+                upper.add(method.toUpperCase(Locale.ROOT));
+            }
+            this.methods = Set.copyOf(upper);
+            return this;
+        }
+
+        /**
+         * 触发重试的响应状态码，默认 502、503、504
+         */
+        public Builder retryStatuses(Integer... retryStatuses) {
+            this.retryStatuses = retryStatuses == null ? Set.of() : Set.of(retryStatuses);
+            return this;
+        }
+
+        /**
+         * 指数退避的初始值和上限，默认 50ms ~ 1s
+         */
+        public Builder backoff(Duration initialBackoff, Duration maxBackoff) {
+            Objects.requireNonNull(initialBackoff, "initialBackoff cannot be null");
+            Objects.requireNonNull(maxBackoff, "maxBackoff cannot be null");
+            if (initialBackoff.isNegative() || initialBackoff.compareTo(maxBackoff) > 0) {
+                throw new IllegalArgumentException("initialBackoff must be in [0, maxBackoff]");
+            }
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        /**
+         * 重试预算，默认每个拦截器独立的 10% 预算（允许 10 次突发）；传入共享实例可实现全局重试比例控制
+         */
+        public Builder budget(RetryBudget budget) {
+            this.budget = Objects.requireNonNull(budget, "budget cannot be null");
+            return this;
+        }
+
+        public RetryInterceptor build() {
+            return new RetryInterceptor(this);
+        }
+    }
+}
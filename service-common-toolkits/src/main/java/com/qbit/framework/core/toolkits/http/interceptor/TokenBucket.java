@@ -0,0 +1,82 @@
+package com.qbit.framework.core.toolkits.http.interceptor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 无锁令牌桶，按 GCRA（通用信元速率算法）实现
+ * 只维护一个"理论到达时间"（TAT），申请许可是一次 CAS，没有后台补充线程
+ *
+ * <ul>
+ *   <li>速率 {@code permitsPerSecond}：相邻许可的间隔为 {@code 1s / permitsPerSecond}</li>
+ *   <li>突发 {@code burst}：空闲足够久后允许连续获取的许可数</li>
+ *   <li>预约：等待时间不超过调用方给定的上限时，预先占用未来的许可并返回需要等待的时长</li>
+ * </ul>
+ *
+ * @author Qbit Framework
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier nanoTime;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param permitsPerSecond 每秒许可数
+     * @param burst            最大突发许可数
+     * @param nanoTime         纳秒时间源，通常为 {@code System::nanoTime}
+     */
+    public TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoTime) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be > 0");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst must be > 0");
+        }
+        this.intervalNanos = Math.max(1L, Math.round(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.nanoTime = nanoTime;
+        this.theoreticalArrival = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    /**
+     * 申请一个许可
+     *
+     * @param maxWaitNanos 最多愿意等待的时长，0 表示不等待
+     * @return 需要等待的纳秒数（0 表示立即可用，调用方应等待该时长后再发出请求）；
+     * 超过 {@code maxWaitNanos} 时返回 -1 且不占用许可
+     */
+    public long reserve(long maxWaitNanos) {
+        while (true) {
+            long now = nanoTime.getAsLong();
+            long tat = theoreticalArrival.get();
+            // 请求在 TAT - tolerance 之前到达时需要等待
+            long waitNanos = tat - toleranceNanos - now;
+            if (waitNanos > maxWaitNanos) {
+                return -1;
+            }
+            if (theoreticalArrival.compareAndSet(tat, Math.max(tat, now) + intervalNanos)) {
+                return Math.max(0, waitNanos);
+            }
+        }
+    }
+
+    /**
+     * 在指定时长内不再发放许可（如下游返回 429 Retry-After），恢复后按正常速率发放，突发额度需要重新积累；已预约的许可不受影响
+     */
+    public void pause(long pauseNanos) {
+        long resumeTat = nanoTime.getAsLong() + pauseNanos + toleranceNanos;
+        theoreticalArrival.accumulateAndGet(resumeTat, Math::max);
+    }
+
+    /**
+     * 当前立即可用的许可数（近似值，用于监控）
+     */
+    public int getAvailablePermits() {
+        long now = nanoTime.getAsLong();
+        long headroom = now + toleranceNanos - Math.max(theoreticalArrival.get(), now);
+        return headroom < 0 ? 0 : (int) (headroom / intervalNanos) + 1;
+    }
+}
@@ -4,6 +4,9 @@ import com.qbit.framework.core.toolkits.http.HttpRequest;
 import com.qbit.framework.core.toolkits.tracing.TraceUtils;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static com.qbit.framework.core.toolkits.constants.WebConstants.SPAN_ID;
 import static com.qbit.framework.core.toolkits.constants.WebConstants.TRACE_ID;
 
@@ -53,25 +56,16 @@ public class TraceInterceptor implements HttpClientInterceptor {
             return request;
         }
 
-        // 构建新的请求，添加追踪头
-        HttpRequest.Builder builder = HttpRequest.builder(request.getUrl())
-                .method(request.getMethod())
-                .headers(request.getHeaders())
-                .queryParams(request.getQueryParams())
-                .body(request.getBody())
-                .contentType(request.getContentType())
-                .connectTimeout(request.getConnectTimeout())
-                .readTimeout(request.getReadTimeout())
-                .writeTimeout(request.getWriteTimeout())
-                .followRedirects(request.isFollowRedirects())
-                .header(TraceUtils.TRACE_ID_HEADER, traceId);
+        // 只复制请求头，其余字段与原请求共享
+        Map<String, String> traceHeaders = new LinkedHashMap<>(4);
+        traceHeaders.put(TraceUtils.TRACE_ID_HEADER, traceId);
 
         log.debug("HTTP request trace propagation: traceId={}", traceId);
 
         // 处理 spanId
         if (spanId != null && !spanId.isBlank()) {
             String targetSpanId = generateNewSpan ? TraceUtils.newId() : spanId;
-            builder.header(TraceUtils.SPAN_ID_HEADER, targetSpanId);
+            traceHeaders.put(TraceUtils.SPAN_ID_HEADER, targetSpanId);
             if (generateNewSpan) {
                 log.debug("HTTP request trace propagation: parent spanId={}, new spanId={}", spanId, targetSpanId);
             } else {
@@ -79,7 +73,7 @@ public class TraceInterceptor implements HttpClientInterceptor {
             }
         }
 
-        return builder.build();
+        return request.withHeaders(traceHeaders);
     }
 
     @Override
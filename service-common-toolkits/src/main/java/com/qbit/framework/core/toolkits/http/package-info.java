@@ -33,6 +33,11 @@
  * // 使用自定义客户端
  * HttpClient okHttpClient = HttpUtils.createOkHttpClient();
  * HttpResponse response = HttpUtils.execute(okHttpClient, request);
+ *
+ * // 异步请求（扇出聚合不占用调用线程）
+ * CompletableFuture<HttpResponse> user = client.executeAsync(userRequest);
+ * CompletableFuture<HttpResponse> orders = client.executeAsync(ordersRequest);
+ * CompletableFuture.allOf(user, orders).join();
  * }</pre>
  * 
  * <b>响应处理：</b>
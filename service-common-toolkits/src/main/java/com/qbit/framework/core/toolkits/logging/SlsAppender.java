@@ -11,9 +11,12 @@ import com.aliyun.openservices.log.common.Consts.CompressType;
 import com.aliyun.openservices.log.common.LogItem;
 import com.aliyun.openservices.log.request.PutLogsRequest;
 import com.aliyun.openservices.log.response.PutLogsResponse;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownRegistry;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownStage;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -204,6 +207,9 @@ public class SlsAppender extends AppenderBase<ILoggingEvent> {
             workerThread.start();
             addInfo("Worker thread started: " + WORKER_THREAD_NAME);
 
+            // 应用优雅停机时，在 I/O 阶段等待队列中的日志发送完毕
+            ShutdownRegistry.register(WORKER_THREAD_NAME, ShutdownStage.IO, this, SlsAppender::awaitQueueDrained);
+
             super.start();
             addInfo("SLS Appender started successfully - Project: " + project +
                     ", Logstore: " + logstore +
@@ -237,6 +243,7 @@ public class SlsAppender extends AppenderBase<ILoggingEvent> {
 
         addInfo("Stopping SLS Appender...");
         running.set(false);
+        ShutdownRegistry.unregister(this);
 
         // 等待工作线程结束
         if (workerThread != null) {
@@ -262,6 +269,26 @@ public class SlsAppender extends AppenderBase<ILoggingEvent> {
         addInfo("SLS Appender stopped successfully");
     }
 
+    /**
+     * 等待队列中的日志被工作线程取走发送，不停止 Appender
+     * <p>由 {@link ShutdownRegistry} 在应用优雅停机的 I/O 阶段调用，最终的资源释放仍由 {@link #stop()} 完成
+     *
+     * @param timeout 最长等待时间
+     * @return 超时后队列中仍未发送的日志条数
+     * @throws InterruptedException 等待被中断
+     */
+    public int awaitQueueDrained(Duration timeout) throws InterruptedException {
+        BlockingQueue<ILoggingEvent> queue = eventQueue;
+        if (queue == null) {
+            return 0;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!queue.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(50L);
+        }
+        return queue.size();
+    }
+
     /**
      * 验证配置参数的有效性
      * @return 配置是否有效
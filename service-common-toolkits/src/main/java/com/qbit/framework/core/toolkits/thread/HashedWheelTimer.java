@@ -0,0 +1,517 @@
+package com.qbit.framework.core.toolkits.thread;
+
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownRegistry;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownStage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 哈希时间轮定时器
+ * 适用于海量、短生命周期且大多会被取消的超时任务（锁续期看门狗、HTTP 截止时间、重试延迟等）
+ *
+ * <p>与 {@link java.util.concurrent.ScheduledThreadPoolExecutor} 的区别：</p>
+ * <ul>
+ *   <li>调度与取消均为 O(1)：调度只入无锁队列，取消只做状态 CAS，不涉及堆调整</li>
+ *   <li>取消的任务在下一个 tick 从时间轮中摘除，不会像延迟队列那样残留到到期</li>
+ *   <li>精度为一个 tick，不适合要求毫秒级精确触发的场景</li>
+ *   <li>时间轮线程只负责推进和分发，到期任务交给 {@code taskExecutor} 执行，
+ *       耗时任务不会拖慢时间轮</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * HashedWheelTimer timer = ThreadPoolUtils.newWheelTimer("lock-watchdog", Duration.ofMillis(10), 512, executor);
+ * HashedWheelTimer.Timeout timeout = timer.newTimeout(() -> renew(lock), 10, TimeUnit.SECONDS);
+ * // 任务提前完成
+ * timeout.cancel();
+ * }</pre>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public class HashedWheelTimer {
+
+    private static final int WORKER_STATE_INIT = 0;
+    private static final int WORKER_STATE_STARTED = 1;
+    private static final int WORKER_STATE_SHUTDOWN = 2;
+
+    /** 每个 tick 最多从待调度队列转移的任务数，避免突发调度阻塞时间轮推进 */
+    private static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+    private final String name;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor taskExecutor;
+    private final long maxPendingTimeouts;
+    private final Thread workerThread;
+
+    private final AtomicInteger workerState = new AtomicInteger(WORKER_STATE_INIT);
+    private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final CountDownLatch startTimeInitialized = new CountDownLatch(1);
+    private final Set<Timeout> unprocessedTimeouts = new HashSet<>();
+
+    /** 时间轮启动时间（纳秒），0 表示尚未启动 */
+    private volatile long startTime;
+
+    /**
+     * 创建时间轮
+     *
+     * @param name         线程名称
+     * @param tick         tick 间隔（精度）
+     * @param wheelSize    槽位数，会向上取整为 2 的幂
+     * @param taskExecutor 到期任务的执行器
+     */
+    public HashedWheelTimer(String name, Duration tick, int wheelSize, Executor taskExecutor) {
+        this(name, tick, wheelSize, taskExecutor, -1);
+    }
+
+    /**
+     * 创建时间轮
+     *
+     * @param name               线程名称
+     * @param tick               tick 间隔（精度）
+     * @param wheelSize          槽位数，会向上取整为 2 的幂
+     * @param taskExecutor       到期任务的执行器
+     * @param maxPendingTimeouts 最大待触发任务数，超过后拒绝调度；小于等于 0 表示不限制
+     */
+    public HashedWheelTimer(String name, Duration tick, int wheelSize, Executor taskExecutor, long maxPendingTimeouts) {
+        Objects.requireNonNull(name, "name cannot be null");
+        Objects.requireNonNull(tick, "tick cannot be null");
+        if (tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("tick must be > 0");
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize must be in (0, 2^30]: " + wheelSize);
+        }
+        this.name = name;
+        this.tickNanos = Math.max(tick.toNanos(), TimeUnit.MILLISECONDS.toNanos(1));
+        this.taskExecutor = Objects.requireNonNull(taskExecutor, "taskExecutor cannot be null");
+        this.maxPendingTimeouts = maxPendingTimeouts;
+
+        int normalized = 1;
+        while (normalized < wheelSize) {
+            normalized <<= 1;
+        }
+        this.wheel = new Bucket[normalized];
+        for (int i = 0; i < normalized; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = normalized - 1;
+        if (this.tickNanos >= Long.MAX_VALUE / normalized) {
+            throw new IllegalArgumentException("tick * wheelSize overflows: " + tick + " * " + normalized);
+        }
+
+        this.workerThread = new Thread(new Worker(), name);
+        this.workerThread.setDaemon(true);
+
+        ShutdownRegistry.register(name, ShutdownStage.WORKER, this, (timer, timeout) -> timer.stop().size());
+    }
+
+    /**
+     * 调度一次性延迟任务，时间轮线程在首次调度时自动启动
+     *
+     * @param task  任务
+     * @param delay 延迟
+     * @param unit  时间单位
+     * @return 可取消的句柄
+     * @throws RejectedExecutionException 超过最大待触发任务数
+     * @throws IllegalStateException      时间轮已停止
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        Objects.requireNonNull(task, "task cannot be null");
+        Objects.requireNonNull(unit, "unit cannot be null");
+
+        long pending = pendingCount.incrementAndGet();
+        if (maxPendingTimeouts > 0 && pending > maxPendingTimeouts) {
+            pendingCount.decrementAndGet();
+            throw new RejectedExecutionException("Number of pending timeouts (" + pending
+                    + ") is greater than or equal to maximum allowed pending timeouts (" + maxPendingTimeouts + ")");
+        }
+
+        try {
+            start();
+        } catch (IllegalStateException e) {
+            pendingCount.decrementAndGet();
+            throw e;
+        }
+
+        long deadline = System.nanoTime() + unit.toNanos(delay) - startTime;
+        // 防止溢出
+        if (delay > 0 && deadline < 0) {
+            deadline = Long.MAX_VALUE;
+        }
+        WheelTimeout timeout = new WheelTimeout(task, deadline);
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 调度一次性延迟任务
+     */
+    public Timeout newTimeout(Runnable task, Duration delay) {
+        return newTimeout(task, delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 当前待触发（含已取消但尚未摘除）的任务数
+     */
+    public long pendingTimeouts() {
+        return pendingCount.get();
+    }
+
+    /**
+     * 停止时间轮，返回尚未触发且未取消的任务
+     *
+     * @return 未处理的任务
+     */
+    public Set<Timeout> stop() {
+        if (Thread.currentThread() == workerThread) {
+            throw new IllegalStateException(HashedWheelTimer.class.getSimpleName()
+                    + ".stop() cannot be called from a timer task");
+        }
+        if (!workerState.compareAndSet(WORKER_STATE_STARTED, WORKER_STATE_SHUTDOWN)) {
+            workerState.set(WORKER_STATE_SHUTDOWN);
+            return Collections.emptySet();
+        }
+
+        ShutdownRegistry.unregister(this);
+        boolean interrupted = false;
+        while (workerThread.isAlive()) {
+            workerThread.interrupt();
+            try {
+                workerThread.join(100);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("HashedWheelTimer [{}] stopped, {} timeout(s) unprocessed", name, unprocessedTimeouts.size());
+        return Collections.unmodifiableSet(unprocessedTimeouts);
+    }
+
+    private void start() {
+        switch (workerState.get()) {
+            case WORKER_STATE_INIT:
+                if (workerState.compareAndSet(WORKER_STATE_INIT, WORKER_STATE_STARTED)) {
+                    workerThread.start();
+                }
+                break;
+            case WORKER_STATE_STARTED:
+                break;
+            case WORKER_STATE_SHUTDOWN:
+                throw new IllegalStateException("HashedWheelTimer [" + name + "] cannot be started once stopped");
+            default:
+                throw new Error("Invalid worker state");
+        }
+
+        while (startTime == 0) {
+            try {
+                startTimeInitialized.await();
+            } catch (InterruptedException ignore) {
+                // 必须等到 startTime 初始化完成
+            }
+        }
+    }
+
+    /**
+     * 定时任务句柄
+     */
+    public interface Timeout {
+
+        /**
+         * 原始任务
+         */
+        Runnable task();
+
+        /**
+         * 是否已到期并提交执行
+         */
+        boolean isExpired();
+
+        /**
+         * 是否已取消
+         */
+        boolean isCancelled();
+
+        /**
+         * 取消任务，O(1)，实际摘除在下一个 tick 完成
+         *
+         * @return 是否取消成功（已到期或已取消返回 false）
+         */
+        boolean cancel();
+    }
+
+    // ==================== 时间轮线程 ====================
+
+    private final class Worker implements Runnable {
+
+        /** 当前 tick，仅时间轮线程访问 */
+        private long tick;
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            // 0 用作未初始化标记
+            startTime = now == 0 ? 1 : now;
+            startTimeInitialized.countDown();
+
+            do {
+                long deadline = waitForNextTick();
+                if (deadline > 0) {
+                    int idx = (int) (tick & mask);
+                    processCancelledTimeouts();
+                    transferTimeoutsToBuckets();
+                    wheel[idx].expireTimeouts(deadline);
+                    tick++;
+                }
+            } while (workerState.get() == WORKER_STATE_STARTED);
+
+            for (Bucket bucket : wheel) {
+                bucket.clearTimeouts(unprocessedTimeouts);
+            }
+            for (;;) {
+                WheelTimeout timeout = pendingTimeouts.poll();
+                if (timeout == null) {
+                    break;
+                }
+                if (!timeout.isCancelled()) {
+                    unprocessedTimeouts.add(timeout);
+                }
+                timeout.detach();
+            }
+            processCancelledTimeouts();
+        }
+
+        private void transferTimeoutsToBuckets() {
+            for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+                WheelTimeout timeout = pendingTimeouts.poll();
+                if (timeout == null) {
+                    break;
+                }
+                if (timeout.state() == WheelTimeout.ST_CANCELLED) {
+                    // 由 processCancelledTimeouts 统一摘除
+                    continue;
+                }
+
+                long calculated = timeout.deadline / tickNanos;
+                timeout.remainingRounds = (calculated - tick) / wheel.length;
+
+                // 已过期的任务放到当前槽位，本 tick 立即触发
+                long ticks = Math.max(calculated, tick);
+                wheel[(int) (ticks & mask)].add(timeout);
+            }
+        }
+
+        private void processCancelledTimeouts() {
+            for (;;) {
+                WheelTimeout timeout = cancelledTimeouts.poll();
+                if (timeout == null) {
+                    break;
+                }
+                timeout.detach();
+            }
+        }
+
+        /**
+         * 等待下一个 tick
+         *
+         * @return 相对 startTime 的当前时间；收到停止信号时返回 {@link Long#MIN_VALUE}
+         */
+        private long waitForNextTick() {
+            long deadline = tickNanos * (tick + 1);
+            for (;;) {
+                long currentTime = System.nanoTime() - startTime;
+                long sleepMillis = (deadline - currentTime + 999_999) / 1_000_000;
+                if (sleepMillis <= 0) {
+                    return currentTime == Long.MIN_VALUE ? -Long.MAX_VALUE : currentTime;
+                }
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    if (workerState.get() == WORKER_STATE_SHUTDOWN) {
+                        return Long.MIN_VALUE;
+                    }
+                }
+            }
+        }
+    }
+
+    // ==================== 任务与槽位 ====================
+
+    private final class WheelTimeout implements Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+
+        /** 以下字段仅时间轮线程访问 */
+        private long remainingRounds;
+        private boolean detached;
+        private WheelTimeout next;
+        private WheelTimeout prev;
+        private Bucket bucket;
+
+        private WheelTimeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public Runnable task() {
+            return task;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        private int state() {
+            return state.get();
+        }
+
+        /**
+         * 从时间轮摘除并扣减计数，重复调用无副作用（仅时间轮线程调用）
+         */
+        private void detach() {
+            if (detached) {
+                return;
+            }
+            detached = true;
+            if (bucket != null) {
+                bucket.unlink(this);
+            }
+            pendingCount.decrementAndGet();
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            try {
+                taskExecutor.execute(task);
+            } catch (Throwable t) {
+                log.warn("HashedWheelTimer [{}] failed to hand off expired task {}", name, task, t);
+            }
+        }
+
+        @Override
+        public String toString() {
+            long remaining = deadline - (System.nanoTime() - startTime);
+            return "WheelTimeout(deadline: " + (remaining >= 0 ? remaining + " ns later" : -remaining + " ns ago")
+                    + (isCancelled() ? ", cancelled" : "") + ", task: " + task + ')';
+        }
+    }
+
+    /**
+     * 时间轮槽位，双向链表，仅时间轮线程访问
+     */
+    private final class Bucket {
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        private void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expireTimeouts(long deadline) {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.isCancelled()) {
+                    // 由 processCancelledTimeouts 统一摘除
+                    timeout = next;
+                    continue;
+                }
+                if (timeout.remainingRounds <= 0) {
+                    timeout.detach();
+                    if (timeout.deadline <= deadline) {
+                        timeout.expire();
+                    } else {
+                        throw new IllegalStateException(String.format(
+                                "timeout.deadline (%d) > deadline (%d)", timeout.deadline, deadline));
+                    }
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void unlink(WheelTimeout timeout) {
+            WheelTimeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                if (timeout == tail) {
+                    tail = null;
+                    head = null;
+                } else {
+                    head = next;
+                }
+            } else if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        private void clearTimeouts(Set<Timeout> set) {
+            while (head != null) {
+                WheelTimeout timeout = head;
+                if (!timeout.isExpired() && !timeout.isCancelled()) {
+                    set.add(timeout);
+                }
+                timeout.detach();
+            }
+        }
+    }
+}
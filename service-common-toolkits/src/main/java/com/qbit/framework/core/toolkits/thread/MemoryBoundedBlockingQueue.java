@@ -0,0 +1,386 @@
+package com.qbit.framework.core.toolkits.thread;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 按内存字节预算限流的阻塞队列
+ * 与 {@link java.util.concurrent.LinkedBlockingQueue} 按任务个数限制容量不同，
+ * 该队列累计每个任务的估算字节数，超过预算后阻塞或拒绝入队，
+ * 适用于任务负载大小差异很大（几 KB ~ 几 MB）的批处理线程池
+ *
+ * <p>入队规则：</p>
+ * <ul>
+ *   <li>已用字节 + 任务字节 &lt;= 预算时直接入队</li>
+ *   <li>队列为空时总是允许入队，避免单个超大任务永远无法执行</li>
+ *   <li>{@link #offer(Object)} 最多等待 {@code offerWaitMillis}，为 0 时立即返回 false，由线程池拒绝策略处理</li>
+ *   <li>{@link #put(Object)} 一直阻塞直到有足够预算</li>
+ * </ul>
+ *
+ * <p>任务大小在入队时估算一次并随任务保存，出队时按同一数值归还预算，保证计数不漂移。</p>
+ *
+ * @param <E> 元素类型
+ * @author Qbit Framework
+ */
+public class MemoryBoundedBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private final long maxBytes;
+    private final long offerWaitNanos;
+    private final TaskSizeEstimator<? super E> estimator;
+
+    private final ArrayDeque<Node<E>> nodes = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /** 当前已占用的字节数，受 lock 保护 */
+    private long usedBytes;
+
+    /**
+     * 创建队列，预算耗尽时 {@link #offer(Object)} 立即返回 false
+     *
+     * @param maxBytes  字节预算
+     * @param estimator 任务大小估算器
+     */
+    public MemoryBoundedBlockingQueue(long maxBytes, TaskSizeEstimator<? super E> estimator) {
+        this(maxBytes, estimator, 0L);
+    }
+
+    /**
+     * 创建队列
+     *
+     * @param maxBytes        字节预算
+     * @param estimator       任务大小估算器
+     * @param offerWaitMillis 预算耗尽时 {@link #offer(Object)} 的最长等待时间（毫秒），0 表示不等待
+     */
+    public MemoryBoundedBlockingQueue(long maxBytes, TaskSizeEstimator<? super E> estimator, long offerWaitMillis) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be > 0");
+        }
+        if (offerWaitMillis < 0) {
+            throw new IllegalArgumentException("offerWaitMillis must be >= 0");
+        }
+        this.maxBytes = maxBytes;
+        this.estimator = Objects.requireNonNull(estimator, "estimator cannot be null");
+        this.offerWaitNanos = TimeUnit.MILLISECONDS.toNanos(offerWaitMillis);
+    }
+
+    // ==================== 入队 ====================
+
+    @Override
+    public boolean offer(E e) {
+        try {
+            return offer(e, offerWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(e);
+        long size = estimate(e);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (!fits(size)) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(e, size);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        Objects.requireNonNull(e);
+        long size = estimate(e);
+        lock.lockInterruptibly();
+        try {
+            while (!fits(size)) {
+                notFull.await();
+            }
+            enqueue(e, size);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ==================== 出队 ====================
+
+    @Override
+    public E poll() {
+        lock.lock();
+        try {
+            return nodes.isEmpty() ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (nodes.isEmpty()) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (nodes.isEmpty()) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E peek() {
+        lock.lock();
+        try {
+            Node<E> head = nodes.peekFirst();
+            return head != null ? head.item : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        if (maxElements <= 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            int n = 0;
+            while (n < maxElements && !nodes.isEmpty()) {
+                Node<E> node = nodes.pollFirst();
+                usedBytes -= node.size;
+                c.add(node.item);
+                n++;
+            }
+            if (n > 0) {
+                notFull.signalAll();
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            Iterator<Node<E>> it = nodes.iterator();
+            while (it.hasNext()) {
+                Node<E> node = it.next();
+                if (o.equals(node.item)) {
+                    it.remove();
+                    usedBytes -= node.size;
+                    notFull.signalAll();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            nodes.clear();
+            usedBytes = 0L;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ==================== 状态 ====================
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 按字节预算计量，无法精确换算为元素个数：预算耗尽时返回 0，否则返回 {@link Integer#MAX_VALUE}
+     */
+    @Override
+    public int remainingCapacity() {
+        return remainingBytes() > 0 ? Integer.MAX_VALUE : 0;
+    }
+
+    /**
+     * 当前已占用的估算字节数
+     */
+    public long usedBytes() {
+        lock.lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 剩余字节预算
+     */
+    public long remainingBytes() {
+        lock.lock();
+        try {
+            return Math.max(0L, maxBytes - usedBytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 字节预算
+     */
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * 返回快照迭代器，迭代期间的入队/出队不会反映到迭代结果中；
+     * {@link Iterator#remove()} 会从队列中移除对应元素并归还预算
+     */
+    @Override
+    public Iterator<E> iterator() {
+        List<E> snapshot;
+        lock.lock();
+        try {
+            snapshot = new ArrayList<>(nodes.size());
+            for (Node<E> node : nodes) {
+                snapshot.add(node.item);
+            }
+        } finally {
+            lock.unlock();
+        }
+        Iterator<E> delegate = snapshot.iterator();
+        return new Iterator<>() {
+            private E last;
+
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public E next() {
+                last = delegate.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                removeIdentity(last);
+                last = null;
+            }
+        };
+    }
+
+    // ==================== 内部方法 ====================
+
+    private long estimate(E e) {
+        long size = estimator.estimate(e);
+        if (size < 0) {
+            throw new IllegalArgumentException("Estimated task size must be >= 0: " + size);
+        }
+        return size;
+    }
+
+    private boolean fits(long size) {
+        return nodes.isEmpty() || usedBytes + size <= maxBytes;
+    }
+
+    private void enqueue(E e, long size) {
+        nodes.addLast(new Node<>(e, size));
+        usedBytes += size;
+        notEmpty.signal();
+    }
+
+    private E dequeue() {
+        Node<E> node = nodes.pollFirst();
+        usedBytes -= node.size;
+        // 释放的字节可能满足多个较小的等待任务
+        notFull.signalAll();
+        return node.item;
+    }
+
+    private void removeIdentity(E item) {
+        lock.lock();
+        try {
+            Iterator<Node<E>> it = nodes.iterator();
+            while (it.hasNext()) {
+                Node<E> node = it.next();
+                if (node.item == item) {
+                    it.remove();
+                    usedBytes -= node.size;
+                    notFull.signalAll();
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Node<E> {
+        private final E item;
+        private final long size;
+
+        private Node(E item, long size) {
+            this.item = item;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package com.qbit.framework.core.toolkits.thread;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 容量可在运行时调整的有界阻塞队列
+ * {@link java.util.concurrent.LinkedBlockingQueue} 的容量创建后不可修改，
+ * 该队列允许通过 {@link #setCapacity(int)} 在线扩缩容，用于线程池的动态调参
+ *
+ * <p>实现沿用 LinkedBlockingQueue 的双锁链表：入队与出队各持一把锁，生产者与消费者互不竞争；
+ * 容量为 volatile 字段，只在入队锁下判断。</p>
+ *
+ * <p>缩容时不会丢弃已排队的任务，只是在队列长度降到新容量以下前拒绝入队。</p>
+ *
+ * @param <E> 元素类型
+ * @author Qbit Framework
+ */
+public class ResizableCapacityBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final ReentrantLock takeLock = new ReentrantLock();
+    private final Condition notEmpty = takeLock.newCondition();
+    private final ReentrantLock putLock = new ReentrantLock();
+    private final Condition notFull = putLock.newCondition();
+
+    /** 链表头为哨兵节点，head.item 恒为 null，受 takeLock 保护 */
+    private Node<E> head;
+    /** 链表尾，last.next 恒为 null，受 putLock 保护 */
+    private Node<E> last;
+
+    private volatile int capacity;
+
+    /**
+     * 创建队列
+     *
+     * @param capacity 初始容量
+     */
+    public ResizableCapacityBlockingQueue(int capacity) {
+        checkCapacity(capacity);
+        this.capacity = capacity;
+        this.last = this.head = new Node<>(null);
+    }
+
+    /**
+     * 调整容量
+     *
+     * @param capacity 新容量
+     */
+    public void setCapacity(int capacity) {
+        checkCapacity(capacity);
+        putLock.lock();
+        try {
+            int old = this.capacity;
+            this.capacity = capacity;
+            if (capacity > old && count.get() < capacity) {
+                notFull.signalAll();
+            }
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    /**
+     * 当前容量
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // ==================== 入队 ====================
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        if (count.get() >= capacity) {
+            return false;
+        }
+        int c;
+        putLock.lock();
+        try {
+            if (count.get() >= capacity) {
+                return false;
+            }
+            enqueue(new Node<>(e));
+            c = count.getAndIncrement();
+            if (c + 1 < capacity) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) {
+            signalNotEmpty();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(e);
+        long nanos = unit.toNanos(timeout);
+        int c;
+        putLock.lockInterruptibly();
+        try {
+            while (count.get() >= capacity) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(new Node<>(e));
+            c = count.getAndIncrement();
+            if (c + 1 < capacity) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) {
+            signalNotEmpty();
+        }
+        return true;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        Objects.requireNonNull(e);
+        int c;
+        putLock.lockInterruptibly();
+        try {
+            while (count.get() >= capacity) {
+                notFull.await();
+            }
+            enqueue(new Node<>(e));
+            c = count.getAndIncrement();
+            if (c + 1 < capacity) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) {
+            signalNotEmpty();
+        }
+    }
+
+    // ==================== 出队 ====================
+
+    @Override
+    public E poll() {
+        if (count.get() == 0) {
+            return null;
+        }
+        E x;
+        int c;
+        takeLock.lock();
+        try {
+            if (count.get() == 0) {
+                return null;
+            }
+            x = dequeue();
+            c = count.getAndDecrement();
+            if (c > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        afterTake(c);
+        return x;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        E x;
+        int c;
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            x = dequeue();
+            c = count.getAndDecrement();
+            if (c > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        afterTake(c);
+        return x;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E x;
+        int c;
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                notEmpty.await();
+            }
+            x = dequeue();
+            c = count.getAndDecrement();
+            if (c > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        afterTake(c);
+        return x;
+    }
+
+    @Override
+    public E peek() {
+        takeLock.lock();
+        try {
+            Node<E> first = head.next;
+            return first == null ? null : first.item;
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        if (maxElements <= 0) {
+            return 0;
+        }
+        int before;
+        int n = 0;
+        takeLock.lock();
+        try {
+            before = count.get();
+            int max = Math.min(maxElements, before);
+            while (n < max) {
+                c.add(dequeue());
+                n++;
+            }
+            if (n > 0) {
+                count.getAndAdd(-n);
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (n > 0 && before >= capacity) {
+            signalNotFull();
+        }
+        return n;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        fullyLock();
+        try {
+            for (Node<E> pred = head, p = pred.next; p != null; pred = p, p = p.next) {
+                if (o.equals(p.item)) {
+                    unlink(p, pred);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        fullyLock();
+        try {
+            for (Node<E> p, h = head; (p = h.next) != null; h = p) {
+                h.next = h;
+                p.item = null;
+            }
+            head = last;
+            count.set(0);
+            notFull.signalAll();
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    // ==================== 状态 ====================
+
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - count.get());
+    }
+
+    /**
+     * 返回快照迭代器，{@link Iterator#remove()} 会从队列中移除对应元素
+     */
+    @Override
+    public Iterator<E> iterator() {
+        List<E> snapshot = new ArrayList<>();
+        fullyLock();
+        try {
+            for (Node<E> p = head.next; p != null; p = p.next) {
+                snapshot.add(p.item);
+            }
+        } finally {
+            fullyUnlock();
+        }
+        Iterator<E> delegate = snapshot.iterator();
+        return new Iterator<>() {
+            private E lastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public E next() {
+                lastReturned = delegate.next();
+                return lastReturned;
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned == null) {
+                    throw new IllegalStateException();
+                }
+                removeIdentity(lastReturned);
+                lastReturned = null;
+            }
+        };
+    }
+
+    // ==================== 内部方法 ====================
+
+    private static void checkCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+    }
+
+    /**
+     * 持有 putLock 时调用
+     */
+    private void enqueue(Node<E> node) {
+        last = last.next = node;
+    }
+
+    /**
+     * 持有 takeLock 且队列非空时调用
+     */
+    private E dequeue() {
+        Node<E> h = head;
+        Node<E> first = h.next;
+        // 帮助 GC
+        h.next = h;
+        head = first;
+        E x = first.item;
+        first.item = null;
+        return x;
+    }
+
+    /**
+     * 出队前队列长度不低于容量时，可能有生产者在等待，需要唤醒
+     * <p>缩容后长度可能高于容量，此时每次出队都唤醒一次，直到长度降到容量以下</p>
+     */
+    private void afterTake(int countBeforeTake) {
+        if (countBeforeTake >= capacity) {
+            signalNotFull();
+        }
+    }
+
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    private void signalNotFull() {
+        putLock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    private void fullyLock() {
+        putLock.lock();
+        takeLock.lock();
+    }
+
+    private void fullyUnlock() {
+        takeLock.unlock();
+        putLock.unlock();
+    }
+
+    /**
+     * 持有两把锁时调用
+     */
+    private void unlink(Node<E> p, Node<E> pred) {
+        p.item = null;
+        pred.next = p.next;
+        if (last == p) {
+            last = pred;
+        }
+        if (count.getAndDecrement() >= capacity) {
+            notFull.signal();
+        }
+    }
+
+    private void removeIdentity(E item) {
+        fullyLock();
+        try {
+            for (Node<E> pred = head, p = pred.next; p != null; pred = p, p = p.next) {
+                if (p.item == item) {
+                    unlink(p, pred);
+                    return;
+                }
+            }
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    private static final class Node<E> {
+        private E item;
+        private Node<E> next;
+
+        private Node(E item) {
+            this.item = item;
+        }
+    }
+}
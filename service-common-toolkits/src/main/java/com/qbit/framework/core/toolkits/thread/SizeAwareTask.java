@@ -0,0 +1,27 @@
+package com.qbit.framework.core.toolkits.thread;
+
+/**
+ * 可自报内存占用的任务
+ * 携带大块负载（如 Excel 分片、批量数据）的任务实现该接口后，
+ * {@link TaskSizeEstimator#sizeAware()} 会使用其返回值计入队列字节预算
+ * <p>注意：{@code submit()} 会将任务包装为 {@code FutureTask}，需通过 {@code execute()} 提交才能被识别
+ *
+ * <pre>{@code
+ * class ExcelChunkTask implements Runnable, SizeAwareTask {
+ *     private final byte[] chunk;
+ *
+ *     public long estimatedSize() {
+ *         return chunk.length + 64;
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author Qbit Framework
+ */
+public interface SizeAwareTask {
+
+    /**
+     * 任务保留的近似字节数
+     */
+    long estimatedSize();
+}
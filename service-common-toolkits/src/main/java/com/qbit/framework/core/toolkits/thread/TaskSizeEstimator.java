@@ -0,0 +1,63 @@
+package com.qbit.framework.core.toolkits.thread;
+
+/**
+ * 任务内存占用估算器
+ * 用于 {@link MemoryBoundedBlockingQueue} 计算队列中任务的近似保留字节数，
+ * 不依赖 {@code java.lang.instrument.Instrumentation}，估算值只需保持量级正确即可
+ *
+ * @param <E> 任务类型
+ * @author Qbit Framework
+ */
+@FunctionalInterface
+public interface TaskSizeEstimator<E> {
+
+    /**
+     * 未知任务的默认估算值（对象头 + 闭包捕获的少量引用）
+     */
+    long DEFAULT_TASK_SIZE = 64L;
+
+    /**
+     * 估算任务保留的字节数
+     *
+     * @param task 任务
+     * @return 估算字节数，必须大于等于 0
+     */
+    long estimate(E task);
+
+    /**
+     * 固定大小估算器，所有任务按相同字节数计算
+     *
+     * @param bytes 每个任务的字节数
+     * @param <E>   任务类型
+     * @return 估算器
+     */
+    static <E> TaskSizeEstimator<E> fixed(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("bytes must be >= 0");
+        }
+        return task -> bytes;
+    }
+
+    /**
+     * 默认估算器：任务实现了 {@link SizeAwareTask} 时使用其自报大小，否则按 {@link #DEFAULT_TASK_SIZE} 计算
+     *
+     * @param <E> 任务类型
+     * @return 估算器
+     */
+    static <E> TaskSizeEstimator<E> sizeAware() {
+        return sizeAware(DEFAULT_TASK_SIZE);
+    }
+
+    /**
+     * 默认估算器：任务实现了 {@link SizeAwareTask} 时使用其自报大小，否则使用给定的兜底值
+     *
+     * @param fallbackBytes 未实现 {@link SizeAwareTask} 时的字节数
+     * @param <E>           任务类型
+     * @return 估算器
+     */
+    static <E> TaskSizeEstimator<E> sizeAware(long fallbackBytes) {
+        return task -> task instanceof SizeAwareTask sized
+                ? Math.max(0L, sized.estimatedSize())
+                : fallbackBytes;
+    }
+}
@@ -1,13 +1,19 @@
 package com.qbit.framework.core.toolkits.thread;
 
+import com.qbit.framework.core.toolkits.thread.registry.ExecutorRegistry;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownRegistry;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownStage;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 线程池工具类
  * 提供常用的线程池创建和管理功能
+ * <p>创建的线程池会自动注册到 {@link ShutdownRegistry}，应用停机时统一排空；
+ * 同时注册到 {@link ExecutorRegistry}，支持运行时查看状态和调参（有界队列可在线调整容量）
  * @author Qbit Framework
  */
 @Slf4j
@@ -25,14 +31,14 @@ public final class ThreadPoolUtils {
      * @return ExecutorService
      */
     public static ExecutorService newFixedThreadPool(int poolSize, String threadName) {
-        return new ThreadPoolExecutor(
+        return managed(threadName, new ThreadPoolExecutor(
                 poolSize,
                 poolSize,
                 0L,
                 TimeUnit.MILLISECONDS,
                 new LinkedBlockingQueue<>(),
                 new NamedThreadFactory(threadName)
-        );
+        ));
     }
 
     /**
@@ -44,15 +50,15 @@ public final class ThreadPoolUtils {
      * @return ExecutorService
      */
     public static ExecutorService newFixedThreadPool(int poolSize, int queueCapacity, String threadName) {
-        return new ThreadPoolExecutor(
+        return managed(threadName, new ThreadPoolExecutor(
                 poolSize,
                 poolSize,
                 0L,
                 TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(queueCapacity),
+                new ResizableCapacityBlockingQueue<>(queueCapacity),
                 new NamedThreadFactory(threadName),
                 new ThreadPoolExecutor.CallerRunsPolicy()
-        );
+        ));
     }
 
     /**
@@ -62,14 +68,14 @@ public final class ThreadPoolUtils {
      * @return ExecutorService
      */
     public static ExecutorService newCachedThreadPool(String threadName) {
-        return new ThreadPoolExecutor(
+        return managed(threadName, new ThreadPoolExecutor(
                 0,
                 Integer.MAX_VALUE,
                 60L,
                 TimeUnit.SECONDS,
                 new SynchronousQueue<>(),
                 new NamedThreadFactory(threadName)
-        );
+        ));
     }
 
     /**
@@ -79,14 +85,14 @@ public final class ThreadPoolUtils {
      * @return ExecutorService
      */
     public static ExecutorService newSingleThreadExecutor(String threadName) {
-        return new ThreadPoolExecutor(
+        return managed(threadName, new ThreadPoolExecutor(
                 1,
                 1,
                 0L,
                 TimeUnit.MILLISECONDS,
                 new LinkedBlockingQueue<>(),
                 new NamedThreadFactory(threadName)
-        );
+        ));
     }
 
     /**
@@ -97,7 +103,7 @@ public final class ThreadPoolUtils {
      * @return ScheduledExecutorService
      */
     public static ScheduledExecutorService newScheduledThreadPool(int corePoolSize, String threadName) {
-        return new ScheduledThreadPoolExecutor(corePoolSize, new NamedThreadFactory(threadName));
+        return managed(threadName, new ScheduledThreadPoolExecutor(corePoolSize, new NamedThreadFactory(threadName)));
     }
 
     /**
@@ -118,15 +124,82 @@ public final class ThreadPoolUtils {
             TimeUnit timeUnit,
             int queueCapacity,
             String threadName) {
-        return new ThreadPoolExecutor(
+        return managed(threadName, new ThreadPoolExecutor(
                 corePoolSize,
                 maximumPoolSize,
                 keepAliveTime,
                 timeUnit,
-                new LinkedBlockingQueue<>(queueCapacity),
+                new ResizableCapacityBlockingQueue<>(queueCapacity),
                 new NamedThreadFactory(threadName),
                 new ThreadPoolExecutor.CallerRunsPolicy()
-        );
+        ));
+    }
+
+    /**
+     * 创建按内存字节预算限制队列的线程池
+     * 队列按任务估算字节数而非任务个数限流，适用于任务负载大小差异很大的批处理场景
+     *
+     * @param corePoolSize    核心线程数
+     * @param maximumPoolSize 最大线程数
+     * @param maxQueuedBytes  队列中任务的最大估算字节数
+     * @param estimator       任务大小估算器
+     * @param threadName      线程名称前缀
+     * @return ExecutorService
+     */
+    public static ExecutorService newMemoryBoundedThreadPool(
+            int corePoolSize,
+            int maximumPoolSize,
+            long maxQueuedBytes,
+            TaskSizeEstimator<Runnable> estimator,
+            String threadName) {
+        return newMemoryBoundedThreadPool(corePoolSize, maximumPoolSize, maxQueuedBytes, estimator, 0L,
+                new ThreadPoolExecutor.CallerRunsPolicy(), threadName);
+    }
+
+    /**
+     * 创建按内存字节预算限制队列的线程池
+     * <p>预算耗尽时，提交线程最多等待 {@code offerWaitMillis}，仍无预算则交给拒绝策略处理
+     *
+     * @param corePoolSize    核心线程数
+     * @param maximumPoolSize 最大线程数
+     * @param maxQueuedBytes  队列中任务的最大估算字节数
+     * @param estimator       任务大小估算器
+     * @param offerWaitMillis 预算耗尽时提交线程的最长等待时间（毫秒），0 表示不等待
+     * @param handler         拒绝策略
+     * @param threadName      线程名称前缀
+     * @return ExecutorService
+     */
+    public static ExecutorService newMemoryBoundedThreadPool(
+            int corePoolSize,
+            int maximumPoolSize,
+            long maxQueuedBytes,
+            TaskSizeEstimator<Runnable> estimator,
+            long offerWaitMillis,
+            RejectedExecutionHandler handler,
+            String threadName) {
+        return managed(threadName, new ThreadPoolExecutor(
+                corePoolSize,
+                maximumPoolSize,
+                60L,
+                TimeUnit.SECONDS,
+                new MemoryBoundedBlockingQueue<>(maxQueuedBytes, estimator, offerWaitMillis),
+                new NamedThreadFactory(threadName),
+                handler
+        ));
+    }
+
+    /**
+     * 创建哈希时间轮定时器
+     * 适用于海量、大多会被取消的超时任务，到期任务交给 {@code taskExecutor} 执行
+     *
+     * @param threadName   时间轮线程名称
+     * @param tick         tick 间隔（精度）
+     * @param wheelSize    槽位数
+     * @param taskExecutor 到期任务的执行器
+     * @return HashedWheelTimer
+     */
+    public static HashedWheelTimer newWheelTimer(String threadName, Duration tick, int wheelSize, Executor taskExecutor) {
+        return new HashedWheelTimer(threadName, tick, wheelSize, taskExecutor);
     }
 
     /**
@@ -149,6 +222,10 @@ public final class ThreadPoolUtils {
         if (executor == null || executor.isShutdown()) {
             return;
         }
+        ShutdownRegistry.unregister(executor);
+        if (executor instanceof ThreadPoolExecutor threadPoolExecutor) {
+            ExecutorRegistry.unregister(threadPoolExecutor);
+        }
 
         try {
             executor.shutdown();
@@ -164,6 +241,15 @@ public final class ThreadPoolUtils {
         }
     }
 
+    /**
+     * 注册到全局优雅停机注册表和线程池注册表
+     */
+    private static <E extends ThreadPoolExecutor> E managed(String threadName, E executor) {
+        ShutdownRegistry.register(threadName, ShutdownStage.WORKER, executor);
+        ExecutorRegistry.register(threadName, executor);
+        return executor;
+    }
+
     /**
      * 自定义线程工厂，支持线程命名
      */
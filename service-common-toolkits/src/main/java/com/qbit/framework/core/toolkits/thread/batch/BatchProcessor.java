@@ -0,0 +1,358 @@
+package com.qbit.framework.core.toolkits.thread.batch;
+
+import com.qbit.framework.core.toolkits.thread.ThreadPoolUtils;
+import com.qbit.framework.core.toolkits.tracing.context.MdcTraceContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * 分片并行批处理工具
+ * 将数据源按固定大小切片，以有限并发窗口提交执行，汇总每个分片的结果与失败信息
+ *
+ * <p>特性：</p>
+ * <ul>
+ *   <li>背压：同时在途的分片数不超过 {@code parallelism}，窗口满时才暂停读取数据源，
+ *       数据源只会被惰性读取，不会一次性切分全部数据</li>
+ *   <li>失败策略：分片级重试（可配置退避与可重试异常），失败后继续或快速终止</li>
+ *   <li>结果保序：开启 {@code preserveOrder} 时结果按分片序号返回</li>
+ *   <li>执行器无关：并发由窗口控制而非线程池大小，可直接传入
+ *       {@code Executors.newVirtualThreadPerTaskExecutor()}（JDK 21+）使用虚拟线程</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * BatchResult<Long, Integer> result = BatchProcessor.<Long, Integer>builder()
+ *         .chunkSize(500)
+ *         .parallelism(8)
+ *         .maxAttempts(3)
+ *         .preserveOrder(true)
+ *         .build()
+ *         .process(orderIds.stream(), chunk -> orderMapper.archive(chunk));
+ *
+ * result.getFailures().forEach(f -> log.warn("分片 {} 归档失败", f.getChunkIndex(), f.getCause()));
+ * }</pre>
+ *
+ * @param <T> 元素类型
+ * @param <R> 分片结果类型
+ * @author Qbit Framework
+ */
+@Slf4j
+public final class BatchProcessor<T, R> {
+
+    private final int chunkSize;
+    private final int parallelism;
+    private final Executor executor;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Predicate<Throwable> retryOn;
+    private final boolean continueOnError;
+    private final boolean preserveOrder;
+
+    private BatchProcessor(Builder<T, R> builder) {
+        this.chunkSize = builder.chunkSize;
+        this.parallelism = builder.parallelism;
+        this.executor = builder.executor;
+        this.maxAttempts = builder.maxAttempts;
+        this.retryBackoff = builder.retryBackoff;
+        this.retryOn = builder.retryOn;
+        this.continueOnError = builder.continueOnError;
+        this.preserveOrder = builder.preserveOrder;
+    }
+
+    public static <T, R> Builder<T, R> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * 分片处理函数
+     */
+    @FunctionalInterface
+    public interface ChunkFunction<T, R> {
+
+        /**
+         * 处理一个分片
+         *
+         * @param chunk 分片元素（只读）
+         * @return 分片结果
+         * @throws Exception 处理失败，按重试策略重试
+         */
+        R apply(List<T> chunk) throws Exception;
+    }
+
+    public BatchResult<T, R> process(Stream<T> source, ChunkFunction<T, R> function) {
+        Objects.requireNonNull(source, "source cannot be null");
+        try (source) {
+            return process(source.iterator(), function);
+        }
+    }
+
+    public BatchResult<T, R> process(Iterable<T> source, ChunkFunction<T, R> function) {
+        Objects.requireNonNull(source, "source cannot be null");
+        return process(source.iterator(), function);
+    }
+
+    /**
+     * 执行批处理，阻塞直到所有已提交分片完成
+     *
+     * @param source   数据源，在调用线程中惰性读取
+     * @param function 分片处理函数
+     * @return 批处理结果
+     */
+    public BatchResult<T, R> process(Iterator<T> source, ChunkFunction<T, R> function) {
+        Objects.requireNonNull(source, "source cannot be null");
+        Objects.requireNonNull(function, "function cannot be null");
+
+        long start = System.nanoTime();
+        ExecutorService ownedExecutor = null;
+        Executor target = executor;
+        if (target == null) {
+            ownedExecutor = ThreadPoolUtils.newFixedThreadPool(parallelism, "batch-processor");
+            target = ownedExecutor;
+        }
+
+        Semaphore window = new Semaphore(parallelism);
+        AtomicBoolean aborted = new AtomicBoolean(false);
+        Queue<ChunkOutcome<R>> outcomes = new ConcurrentLinkedQueue<>();
+        Queue<ChunkFailure<T>> failures = new ConcurrentLinkedQueue<>();
+        int chunkIndex = 0;
+        long items = 0;
+
+        try {
+            while (!aborted.get()) {
+                // 先占窗口再读数据源，保证读取不超前于处理
+                try {
+                    window.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    aborted.set(true);
+                    break;
+                }
+                if (aborted.get() || !source.hasNext()) {
+                    window.release();
+                    break;
+                }
+                List<T> chunk = nextChunk(source);
+                int index = chunkIndex++;
+                items += chunk.size();
+
+                Runnable task = MdcTraceContext.wrap(() -> {
+                    try {
+                        runChunk(index, chunk, function, aborted, outcomes, failures);
+                    } finally {
+                        window.release();
+                    }
+                });
+                try {
+                    target.execute(task);
+                } catch (RejectedExecutionException e) {
+                    window.release();
+                    failures.add(new ChunkFailure<>(index, chunk, 0, e));
+                    if (!continueOnError) {
+                        aborted.set(true);
+                    }
+                }
+            }
+            // 等待所有在途分片完成
+            window.acquireUninterruptibly(parallelism);
+        } finally {
+            if (ownedExecutor != null) {
+                ThreadPoolUtils.shutdownGracefully(ownedExecutor, 10, TimeUnit.SECONDS);
+            }
+        }
+
+        List<ChunkOutcome<R>> sortedOutcomes = new ArrayList<>(outcomes);
+        if (preserveOrder) {
+            sortedOutcomes.sort(Comparator.comparingInt(o -> o.index));
+        }
+        List<R> results = new ArrayList<>(sortedOutcomes.size());
+        for (ChunkOutcome<R> outcome : sortedOutcomes) {
+            results.add(outcome.result);
+        }
+        List<ChunkFailure<T>> sortedFailures = new ArrayList<>(failures);
+        sortedFailures.sort(Comparator.comparingInt(ChunkFailure::getChunkIndex));
+
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (!sortedFailures.isEmpty()) {
+            log.warn("批处理完成：分片 {} 个，失败 {} 个，{}耗时 {} ms", chunkIndex, sortedFailures.size(),
+                    aborted.get() ? "已快速终止，" : "", duration);
+        } else {
+            log.debug("批处理完成：分片 {} 个，元素 {} 个，耗时 {} ms", chunkIndex, items, duration);
+        }
+        return new BatchResult<>(Collections.unmodifiableList(results), Collections.unmodifiableList(sortedFailures),
+                chunkIndex, items, aborted.get(), duration);
+    }
+
+    private List<T> nextChunk(Iterator<T> source) {
+        List<T> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize && source.hasNext()) {
+            chunk.add(source.next());
+        }
+        return Collections.unmodifiableList(chunk);
+    }
+
+    private void runChunk(int index, List<T> chunk, ChunkFunction<T, R> function, AtomicBoolean aborted,
+                          Queue<ChunkOutcome<R>> outcomes, Queue<ChunkFailure<T>> failures) {
+        int attempt = 0;
+        while (true) {
+            attempt++;
+            try {
+                outcomes.add(new ChunkOutcome<>(index, function.apply(chunk)));
+                return;
+            } catch (Throwable t) {
+                boolean retryable = attempt < maxAttempts && !aborted.get() && retryOn.test(t);
+                if (retryable && sleepBeforeRetry(attempt)) {
+                    log.debug("分片 #{} 第 {} 次处理失败，准备重试：{}", index, attempt, t.toString());
+                    continue;
+                }
+                log.warn("分片 #{} 处理失败，已尝试 {} 次", index, attempt, t);
+                failures.add(new ChunkFailure<>(index, chunk, attempt, t));
+                if (!continueOnError) {
+                    aborted.set(true);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 指数退避等待
+     *
+     * @return 被中断时返回 false
+     */
+    private boolean sleepBeforeRetry(int attempt) {
+        long backoff = retryBackoff.toMillis();
+        if (backoff <= 0) {
+            return true;
+        }
+        long delay = backoff << Math.min(attempt - 1, 10);
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class ChunkOutcome<R> {
+        private final int index;
+        private final R result;
+
+        private ChunkOutcome(int index, R result) {
+            this.index = index;
+            this.result = result;
+        }
+    }
+
+    /**
+     * 批处理器构建器
+     */
+    public static final class Builder<T, R> {
+        private int chunkSize = 100;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private Executor executor;
+        private int maxAttempts = 1;
+        private Duration retryBackoff = Duration.ZERO;
+        private Predicate<Throwable> retryOn = t -> true;
+        private boolean continueOnError = true;
+        private boolean preserveOrder = false;
+
+        private Builder() {
+        }
+
+        /**
+         * 分片大小，默认 100
+         */
+        public Builder<T, R> chunkSize(int chunkSize) {
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("chunkSize must be > 0");
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * 最大在途分片数，默认 CPU 核数
+         */
+        public Builder<T, R> parallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("parallelism must be > 0");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * 执行器；不指定时每次处理创建临时线程池并在结束后关闭
+         * <p>执行器的拒绝策略不应为 CallerRuns，否则会在读取线程中同步执行
+         */
+        public Builder<T, R> executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * 每个分片的最大尝试次数（含首次），默认 1 即不重试
+         */
+        public Builder<T, R> maxAttempts(int maxAttempts) {
+            if (maxAttempts <= 0) {
+                throw new IllegalArgumentException("maxAttempts must be > 0");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * 重试初始退避，每次翻倍，默认不等待
+         */
+        public Builder<T, R> retryBackoff(Duration retryBackoff) {
+            this.retryBackoff = Objects.requireNonNull(retryBackoff, "retryBackoff cannot be null");
+            return this;
+        }
+
+        /**
+         * 可重试的异常，默认全部重试
+         */
+        public Builder<T, R> retryOn(Predicate<Throwable> retryOn) {
+            this.retryOn = Objects.requireNonNull(retryOn, "retryOn cannot be null");
+            return this;
+        }
+
+        /**
+         * 分片最终失败后是否继续处理剩余数据，默认 true；
+         * false 时停止读取数据源，已在途的分片仍会执行完
+         */
+        public Builder<T, R> continueOnError(boolean continueOnError) {
+            this.continueOnError = continueOnError;
+            return this;
+        }
+
+        /**
+         * 结果是否按分片序号排列，默认按完成顺序
+         */
+        public Builder<T, R> preserveOrder(boolean preserveOrder) {
+            this.preserveOrder = preserveOrder;
+            return this;
+        }
+
+        public BatchProcessor<T, R> build() {
+            return new BatchProcessor<>(this);
+        }
+    }
+}
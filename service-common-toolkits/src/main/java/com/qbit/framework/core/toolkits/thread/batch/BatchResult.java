@@ -0,0 +1,66 @@
+package com.qbit.framework.core.toolkits.thread.batch;
+
+import com.qbit.framework.core.toolkits.exception.SystemException;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 批处理结果
+ *
+ * @param <T> 元素类型
+ * @param <R> 分片结果类型
+ * @author Qbit Framework
+ */
+@Getter
+public class BatchResult<T, R> {
+
+    /** 成功分片的结果；开启保序时按分片序号排列，否则按完成顺序 */
+    private final List<R> results;
+
+    /** 失败分片，按分片序号排列 */
+    private final List<ChunkFailure<T>> failures;
+
+    /** 已提交的分片数 */
+    private final int submittedChunks;
+
+    /** 已提交的元素数 */
+    private final long submittedItems;
+
+    /** 是否因失败快速终止（未读完数据源） */
+    private final boolean aborted;
+
+    /** 总耗时（毫秒） */
+    private final long durationMillis;
+
+    BatchResult(List<R> results, List<ChunkFailure<T>> failures, int submittedChunks, long submittedItems,
+                boolean aborted, long durationMillis) {
+        this.results = results;
+        this.failures = failures;
+        this.submittedChunks = submittedChunks;
+        this.submittedItems = submittedItems;
+        this.aborted = aborted;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * 是否全部分片成功且数据源已读完
+     */
+    public boolean isSuccess() {
+        return failures.isEmpty() && !aborted;
+    }
+
+    /**
+     * 存在失败分片时抛出异常，首个失败原因作为 cause
+     *
+     * @return this
+     */
+    public BatchResult<T, R> throwIfFailed() {
+        if (!failures.isEmpty()) {
+            ChunkFailure<T> first = failures.get(0);
+            throw new SystemException(String.format("批处理失败：%d/%d 个分片失败，首个失败分片 #%d",
+                    failures.size(), submittedChunks, first.getChunkIndex()), first.getCause());
+        }
+        return this;
+    }
+}
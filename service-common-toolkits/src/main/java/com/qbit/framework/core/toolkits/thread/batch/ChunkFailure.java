@@ -0,0 +1,40 @@
+package com.qbit.framework.core.toolkits.thread.batch;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 单个分片的失败信息
+ *
+ * @param <T> 元素类型
+ * @author Qbit Framework
+ */
+@Getter
+public class ChunkFailure<T> {
+
+    /** 分片序号（从 0 开始） */
+    private final int chunkIndex;
+
+    /** 分片内的元素，可用于补偿或重新投递 */
+    private final List<T> items;
+
+    /** 实际尝试次数 */
+    private final int attempts;
+
+    /** 最后一次失败的异常 */
+    private final Throwable cause;
+
+    ChunkFailure(int chunkIndex, List<T> items, int attempts, Throwable cause) {
+        this.chunkIndex = chunkIndex;
+        this.items = items;
+        this.attempts = attempts;
+        this.cause = cause;
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkFailure(chunkIndex=" + chunkIndex + ", size=" + items.size()
+                + ", attempts=" + attempts + ", cause=" + cause + ')';
+    }
+}
@@ -0,0 +1,256 @@
+package com.qbit.framework.core.toolkits.thread.registry;
+
+import com.qbit.framework.core.toolkits.thread.ResizableCapacityBlockingQueue;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程池注册表
+ * 汇总框架内所有具名线程池，提供运行状态查询与在线调参（核心/最大线程数、队列容量、拒绝策略）
+ *
+ * <p>{@link com.qbit.framework.core.toolkits.thread.ThreadPoolUtils} 创建的线程池会自动注册；
+ * 注册表只弱引用线程池，线程池被回收或关闭后注册项自动失效。</p>
+ *
+ * <pre>{@code
+ * ExecutorRegistry.register("order-export", executor);
+ *
+ * ExecutorTuning tuning = new ExecutorTuning();
+ * tuning.setMaximumPoolSize(32);
+ * tuning.setRejectionPolicy("CallerRunsPolicy");
+ * ExecutorRegistry.tune("order-export", tuning);
+ * }</pre>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public final class ExecutorRegistry {
+
+    private static final Map<String, WeakReference<ThreadPoolExecutor>> EXECUTORS = new ConcurrentHashMap<>();
+
+    private ExecutorRegistry() {
+        throw new AssertionError();
+    }
+
+    /**
+     * 注册线程池，拒绝策略会被包装以统计拒绝次数并支持在线替换
+     *
+     * @param name     名称，重名时自动追加序号
+     * @param executor 线程池
+     * @return 实际注册的名称
+     */
+    public static String register(String name, ThreadPoolExecutor executor) {
+        Objects.requireNonNull(name, "name cannot be null");
+        Objects.requireNonNull(executor, "executor cannot be null");
+
+        RejectedExecutionHandler handler = executor.getRejectedExecutionHandler();
+        if (!(handler instanceof TunableRejectedExecutionHandler)) {
+            executor.setRejectedExecutionHandler(new TunableRejectedExecutionHandler(handler));
+        }
+
+        purgeStale();
+        String key = name;
+        int sequence = 1;
+        while (EXECUTORS.putIfAbsent(key, new WeakReference<>(executor)) != null) {
+            key = name + "#" + (++sequence);
+        }
+        log.debug("Executor registered: {}", key);
+        return key;
+    }
+
+    /**
+     * 按名称注销
+     */
+    public static void unregister(String name) {
+        if (name != null) {
+            EXECUTORS.remove(name);
+        }
+    }
+
+    /**
+     * 按线程池注销
+     */
+    public static void unregister(ThreadPoolExecutor executor) {
+        if (executor != null) {
+            EXECUTORS.values().removeIf(ref -> ref.get() == executor);
+        }
+    }
+
+    /**
+     * 获取线程池
+     */
+    public static Optional<ThreadPoolExecutor> get(String name) {
+        WeakReference<ThreadPoolExecutor> ref = EXECUTORS.get(name);
+        return Optional.ofNullable(ref != null ? ref.get() : null);
+    }
+
+    /**
+     * 当前存活的线程池名称
+     */
+    public static List<String> names() {
+        purgeStale();
+        return EXECUTORS.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * 所有线程池的状态快照
+     */
+    public static List<ExecutorStats> stats() {
+        purgeStale();
+        List<ExecutorStats> stats = new ArrayList<>();
+        EXECUTORS.forEach((name, ref) -> {
+            ThreadPoolExecutor executor = ref.get();
+            if (executor != null) {
+                stats.add(snapshot(name, executor));
+            }
+        });
+        stats.sort(Comparator.comparing(ExecutorStats::getName));
+        return stats;
+    }
+
+    /**
+     * 指定线程池的状态快照
+     */
+    public static Optional<ExecutorStats> stats(String name) {
+        return get(name).map(executor -> snapshot(name, executor));
+    }
+
+    /**
+     * 在线调参
+     *
+     * @param name   线程池名称
+     * @param tuning 调参项，为 null 的字段保持不变
+     * @return 调参后的状态快照
+     * @throws IllegalArgumentException 线程池不存在、参数非法或队列不支持调整容量
+     */
+    public static ExecutorStats tune(String name, ExecutorTuning tuning) {
+        Objects.requireNonNull(tuning, "tuning cannot be null");
+        ThreadPoolExecutor executor = get(name)
+                .orElseThrow(() -> new IllegalArgumentException("Executor not found: " + name));
+
+        // 先校验全部参数，避免部分生效
+        int core = tuning.getCorePoolSize() != null ? tuning.getCorePoolSize() : executor.getCorePoolSize();
+        int max = tuning.getMaximumPoolSize() != null ? tuning.getMaximumPoolSize() : executor.getMaximumPoolSize();
+        if (core < 0 || max <= 0 || core > max) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid pool size for [%s]: core=%d, max=%d", name, core, max));
+        }
+        BlockingQueue<Runnable> queue = executor.getQueue();
+        if (tuning.getQueueCapacity() != null) {
+            if (!(queue instanceof ResizableCapacityBlockingQueue)) {
+                throw new IllegalArgumentException(String.format("Queue of [%s] is not resizable: %s",
+                        name, queue.getClass().getSimpleName()));
+            }
+            if (tuning.getQueueCapacity() <= 0) {
+                throw new IllegalArgumentException("queueCapacity must be > 0");
+            }
+        }
+        RejectionPolicy policy = tuning.getRejectionPolicy() != null
+                ? RejectionPolicy.of(tuning.getRejectionPolicy()) : null;
+
+        // 扩容先调 max，缩容先调 core，保证任一时刻 core <= max
+        if (core > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(max);
+            executor.setCorePoolSize(core);
+        } else {
+            executor.setCorePoolSize(core);
+            executor.setMaximumPoolSize(max);
+        }
+        if (tuning.getQueueCapacity() != null) {
+            ((ResizableCapacityBlockingQueue<?>) queue).setCapacity(tuning.getQueueCapacity());
+        }
+        if (policy != null) {
+            RejectedExecutionHandler handler = executor.getRejectedExecutionHandler();
+            if (handler instanceof TunableRejectedExecutionHandler tunable) {
+                tunable.setDelegate(policy.newHandler());
+            } else {
+                executor.setRejectedExecutionHandler(new TunableRejectedExecutionHandler(policy.newHandler()));
+            }
+        }
+
+        ExecutorStats stats = snapshot(name, executor);
+        log.info("Executor [{}] tuned: core={}, max={}, queueCapacity={}, rejectionPolicy={}", name,
+                stats.getCorePoolSize(), stats.getMaximumPoolSize(),
+                stats.getQueueSize() + stats.getQueueRemainingCapacity(), stats.getRejectionPolicy());
+        return stats;
+    }
+
+    private static ExecutorStats snapshot(String name, ThreadPoolExecutor executor) {
+        BlockingQueue<Runnable> queue = executor.getQueue();
+        RejectedExecutionHandler handler = executor.getRejectedExecutionHandler();
+        String policy;
+        long rejected;
+        if (handler instanceof TunableRejectedExecutionHandler tunable) {
+            policy = tunable.getDelegate().getClass().getSimpleName();
+            rejected = tunable.getRejectedCount();
+        } else {
+            policy = handler.getClass().getSimpleName();
+            rejected = -1;
+        }
+        return new ExecutorStats(
+                name,
+                executor.getCorePoolSize(),
+                executor.getMaximumPoolSize(),
+                executor.getPoolSize(),
+                executor.getActiveCount(),
+                executor.getLargestPoolSize(),
+                executor.getTaskCount(),
+                executor.getCompletedTaskCount(),
+                queue.getClass().getSimpleName(),
+                queue.size(),
+                queue.remainingCapacity(),
+                queue instanceof ResizableCapacityBlockingQueue,
+                policy,
+                rejected,
+                executor.isShutdown()
+        );
+    }
+
+    private static void purgeStale() {
+        EXECUTORS.values().removeIf(ref -> {
+            ThreadPoolExecutor executor = ref.get();
+            return executor == null || executor.isTerminated();
+        });
+    }
+
+    /**
+     * 可替换委托并统计拒绝次数的拒绝策略
+     */
+    static final class TunableRejectedExecutionHandler implements RejectedExecutionHandler {
+        private volatile RejectedExecutionHandler delegate;
+        private final LongAdder rejectedCount = new LongAdder();
+
+        TunableRejectedExecutionHandler(RejectedExecutionHandler delegate) {
+            this.delegate = Objects.requireNonNull(delegate, "delegate cannot be null");
+        }
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            rejectedCount.increment();
+            delegate.rejectedExecution(r, executor);
+        }
+
+        RejectedExecutionHandler getDelegate() {
+            return delegate;
+        }
+
+        void setDelegate(RejectedExecutionHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        long getRejectedCount() {
+            return rejectedCount.sum();
+        }
+    }
+}
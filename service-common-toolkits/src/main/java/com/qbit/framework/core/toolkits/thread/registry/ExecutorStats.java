@@ -0,0 +1,55 @@
+package com.qbit.framework.core.toolkits.thread.registry;
+
+import lombok.Getter;
+
+/**
+ * 线程池运行状态快照
+ *
+ * @author Qbit Framework
+ */
+@Getter
+public class ExecutorStats {
+    private final String name;
+    private final int corePoolSize;
+    private final int maximumPoolSize;
+    private final int poolSize;
+    private final int activeCount;
+    private final int largestPoolSize;
+    private final long taskCount;
+    private final long completedTaskCount;
+    private final String queueType;
+    private final int queueSize;
+    private final int queueRemainingCapacity;
+    private final boolean queueResizable;
+    private final String rejectionPolicy;
+    private final long rejectedCount;
+    private final boolean shutdown;
+
+    ExecutorStats(String name, int corePoolSize, int maximumPoolSize, int poolSize, int activeCount,
+                  int largestPoolSize, long taskCount, long completedTaskCount, String queueType, int queueSize,
+                  int queueRemainingCapacity, boolean queueResizable, String rejectionPolicy, long rejectedCount,
+                  boolean shutdown) {
+        this.name = name;
+        this.corePoolSize = corePoolSize;
+        this.maximumPoolSize = maximumPoolSize;
+        this.poolSize = poolSize;
+        this.activeCount = activeCount;
+        this.largestPoolSize = largestPoolSize;
+        this.taskCount = taskCount;
+        this.completedTaskCount = completedTaskCount;
+        this.queueType = queueType;
+        this.queueSize = queueSize;
+        this.queueRemainingCapacity = queueRemainingCapacity;
+        this.queueResizable = queueResizable;
+        this.rejectionPolicy = rejectionPolicy;
+        this.rejectedCount = rejectedCount;
+        this.shutdown = shutdown;
+    }
+
+    /**
+     * 活跃线程占最大线程数的比例
+     */
+    public double getActiveRatio() {
+        return maximumPoolSize <= 0 ? 0D : (double) activeCount / maximumPoolSize;
+    }
+}
@@ -0,0 +1,39 @@
+package com.qbit.framework.core.toolkits.thread.registry;
+
+import lombok.Data;
+
+/**
+ * 线程池调参项，为 null 的字段保持不变
+ *
+ * @author Qbit Framework
+ */
+@Data
+public class ExecutorTuning {
+
+    /**
+     * 核心线程数
+     */
+    private Integer corePoolSize;
+
+    /**
+     * 最大线程数
+     */
+    private Integer maximumPoolSize;
+
+    /**
+     * 队列容量，仅 {@link com.qbit.framework.core.toolkits.thread.ResizableCapacityBlockingQueue} 支持
+     */
+    private Integer queueCapacity;
+
+    /**
+     * 拒绝策略：AbortPolicy / CallerRunsPolicy / DiscardPolicy / DiscardOldestPolicy
+     */
+    private String rejectionPolicy;
+
+    /**
+     * 是否没有任何调参项
+     */
+    public boolean isEmpty() {
+        return corePoolSize == null && maximumPoolSize == null && queueCapacity == null && rejectionPolicy == null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.qbit.framework.core.toolkits.thread.registry;
+
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/**
+ * JDK 内置拒绝策略
+ *
+ * @author Qbit Framework
+ */
+public enum RejectionPolicy {
+
+    ABORT(ThreadPoolExecutor.AbortPolicy::new),
+    CALLER_RUNS(ThreadPoolExecutor.CallerRunsPolicy::new),
+    DISCARD(ThreadPoolExecutor.DiscardPolicy::new),
+    DISCARD_OLDEST(ThreadPoolExecutor.DiscardOldestPolicy::new);
+
+    private final Supplier<RejectedExecutionHandler> factory;
+
+    RejectionPolicy(Supplier<RejectedExecutionHandler> factory) {
+        this.factory = factory;
+    }
+
+    public RejectedExecutionHandler newHandler() {
+        return factory.get();
+    }
+
+    /**
+     * 解析策略名称，兼容 "CallerRunsPolicy"、"caller-runs"、"CALLER_RUNS" 等写法
+     *
+     * @param name 策略名称
+     * @return 拒绝策略
+     * @throws IllegalArgumentException 未知策略
+     */
+    public static RejectionPolicy of(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("rejection policy cannot be null");
+        }
+        String normalized = name.trim().toLowerCase(Locale.ROOT).replace("-", "").replace("_", "");
+        if (normalized.endsWith("policy")) {
+            normalized = normalized.substring(0, normalized.length() - "policy".length());
+        }
+        for (RejectionPolicy policy : values()) {
+            if (policy.name().toLowerCase(Locale.ROOT).replace("_", "").equals(normalized)) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown rejection policy: " + name);
+    }
+}
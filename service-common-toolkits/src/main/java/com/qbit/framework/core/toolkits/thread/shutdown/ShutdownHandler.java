@@ -0,0 +1,33 @@
+package com.qbit.framework.core.toolkits.thread.shutdown;
+
+import java.time.Duration;
+
+/**
+ * 停机处理器，描述如何排空一个已注册的目标对象
+ * <p>注册表只弱引用目标对象，处理器实现不得捕获目标对象本身，否则目标永远不会被回收
+ *
+ * @param <T> 目标对象类型
+ * @author Qbit Framework
+ */
+@FunctionalInterface
+public interface ShutdownHandler<T> {
+
+    /**
+     * 发起停机，停止接收新任务，不等待
+     * <p>同一阶段的所有目标会先统一发起停机，再逐个等待，使它们共享同一个期限
+     *
+     * @param target 目标对象
+     */
+    default void initiate(T target) {
+    }
+
+    /**
+     * 在给定时间内等待目标排空，超时后强制关闭
+     *
+     * @param target  目标对象
+     * @param timeout 剩余等待时间，可能为 0
+     * @return 被放弃（未执行）的任务数
+     * @throws InterruptedException 等待被中断
+     */
+    int awaitDrained(T target, Duration timeout) throws InterruptedException;
+}
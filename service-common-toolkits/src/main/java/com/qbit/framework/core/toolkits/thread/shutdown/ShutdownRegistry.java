@@ -0,0 +1,253 @@
+package com.qbit.framework.core.toolkits.thread.shutdown;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 全局优雅停机注册表
+ * 框架内创建的线程池、后台工作线程、I/O 客户端在创建时自动注册，
+ * 停机时按 {@link ShutdownStage} 分阶段、在共享期限内统一排空
+ *
+ * <p>注册表只弱引用目标对象，目标被回收后注册项自动失效，不会造成内存泄漏。</p>
+ *
+ * <pre>{@code
+ * // 注册自定义线程池
+ * ShutdownRegistry.register("order-export", ShutdownStage.WORKER, executor);
+ *
+ * // 注册任意对象
+ * ShutdownRegistry.register("mq-consumer", ShutdownStage.INGRESS, consumer,
+ *         (c, timeout) -> { c.shutdown(); return 0; });
+ * }</pre>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public final class ShutdownRegistry {
+
+    /** 排空进度日志间隔 */
+    private static final long PROGRESS_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    /** 强制关闭后等待线程退出的时间 */
+    private static final long FORCED_TERMINATION_WAIT_MILLIS = 1000;
+
+    private static final Map<String, Registration<?>> REGISTRATIONS = new ConcurrentHashMap<>();
+
+    /**
+     * 线程池停机处理器：先 shutdown 执行完已排队任务，超时后 shutdownNow
+     */
+    public static final ShutdownHandler<ExecutorService> EXECUTOR_HANDLER = new ShutdownHandler<>() {
+        @Override
+        public void initiate(ExecutorService executor) {
+            executor.shutdown();
+        }
+
+        @Override
+        public int awaitDrained(ExecutorService executor, Duration timeout) throws InterruptedException {
+            executor.shutdown();
+            long deadline = System.nanoTime() + timeout.toNanos();
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                if (executor.awaitTermination(Math.min(remaining, PROGRESS_LOG_INTERVAL_NANOS), TimeUnit.NANOSECONDS)) {
+                    return 0;
+                }
+                log.info("Executor still draining, remaining {} ms: {}",
+                        Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())), executor);
+            }
+            if (executor.isTerminated()) {
+                return 0;
+            }
+            int abandoned = executor.shutdownNow().size();
+            executor.awaitTermination(FORCED_TERMINATION_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            return abandoned;
+        }
+    };
+
+    private ShutdownRegistry() {
+        throw new AssertionError();
+    }
+
+    /**
+     * 注册线程池
+     *
+     * @param name     名称，重名时自动追加序号
+     * @param stage    停机阶段
+     * @param executor 线程池
+     * @return 实际注册的名称
+     */
+    public static String register(String name, ShutdownStage stage, ExecutorService executor) {
+        return register(name, stage, executor, EXECUTOR_HANDLER);
+    }
+
+    /**
+     * 注册任意停机目标
+     *
+     * @param name    名称，重名时自动追加序号
+     * @param stage   停机阶段
+     * @param target  目标对象（弱引用）
+     * @param handler 停机处理器，不得捕获 target
+     * @param <T>     目标类型
+     * @return 实际注册的名称
+     */
+    public static <T> String register(String name, ShutdownStage stage, T target, ShutdownHandler<? super T> handler) {
+        Objects.requireNonNull(name, "name cannot be null");
+        Objects.requireNonNull(stage, "stage cannot be null");
+        Objects.requireNonNull(target, "target cannot be null");
+        Objects.requireNonNull(handler, "handler cannot be null");
+
+        purgeStale();
+        String key = name;
+        int sequence = 1;
+        while (true) {
+            Registration<T> registration = new Registration<>(key, stage, target, handler);
+            if (REGISTRATIONS.putIfAbsent(key, registration) == null) {
+                log.debug("Shutdown participant registered: {} ({})", key, stage);
+                return key;
+            }
+            key = name + "#" + (++sequence);
+        }
+    }
+
+    /**
+     * 按名称注销
+     */
+    public static void unregister(String name) {
+        if (name != null) {
+            REGISTRATIONS.remove(name);
+        }
+    }
+
+    /**
+     * 按目标对象注销（已自行关闭的目标应调用该方法）
+     */
+    public static void unregister(Object target) {
+        if (target != null) {
+            REGISTRATIONS.values().removeIf(r -> r.target.get() == target);
+        }
+    }
+
+    /**
+     * 当前存活的注册项名称
+     */
+    public static List<String> registeredNames(ShutdownStage stage) {
+        purgeStale();
+        return REGISTRATIONS.values().stream()
+                .filter(r -> r.stage == stage)
+                .map(r -> r.name)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * 排空指定阶段的所有注册项
+     * <p>先对所有目标统一发起停机，再按剩余时间逐个等待，使同阶段目标共享同一期限
+     *
+     * @param stage         停机阶段
+     * @param deadlineNanos 期限（{@link System#nanoTime()} 时间基准）
+     * @return 排空结果
+     */
+    public static StageDrainResult drain(ShutdownStage stage, long deadlineNanos) {
+        long start = System.nanoTime();
+        List<Registration<?>> registrations = new ArrayList<>();
+        for (Registration<?> registration : REGISTRATIONS.values()) {
+            if (registration.stage == stage && registration.target.get() != null) {
+                registrations.add(registration);
+            }
+        }
+        if (registrations.isEmpty()) {
+            return new StageDrainResult(stage, 0, 0, 0, 0);
+        }
+
+        log.info("Draining {} {} participant(s) within {} ms: {}", registrations.size(), stage,
+                Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - start)),
+                registrations.stream().map(r -> r.name).toList());
+
+        for (Registration<?> registration : registrations) {
+            registration.initiate();
+        }
+
+        int drained = 0;
+        int abandoned = 0;
+        for (Registration<?> registration : registrations) {
+            Duration remaining = Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+            long participantStart = System.nanoTime();
+            int abandonedTasks = registration.awaitDrained(remaining);
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - participantStart);
+            if (abandonedTasks == 0) {
+                drained++;
+                log.info("Shutdown participant [{}] drained in {} ms", registration.name, elapsed);
+            } else if (abandonedTasks > 0) {
+                abandoned += abandonedTasks;
+                log.warn("Shutdown participant [{}] did not drain in time, abandoned {} task(s)",
+                        registration.name, abandonedTasks);
+            } else {
+                log.warn("Shutdown participant [{}] failed to drain after {} ms", registration.name, elapsed);
+            }
+            REGISTRATIONS.remove(registration.name, registration);
+        }
+
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new StageDrainResult(stage, registrations.size(), drained, abandoned, duration);
+    }
+
+    private static void purgeStale() {
+        REGISTRATIONS.values().removeIf(r -> r.target.get() == null);
+    }
+
+    /**
+     * 注册项
+     */
+    private static final class Registration<T> {
+        private final String name;
+        private final ShutdownStage stage;
+        private final WeakReference<T> target;
+        private final ShutdownHandler<? super T> handler;
+
+        private Registration(String name, ShutdownStage stage, T target, ShutdownHandler<? super T> handler) {
+            this.name = name;
+            this.stage = stage;
+            this.target = new WeakReference<>(target);
+            this.handler = handler;
+        }
+
+        private void initiate() {
+            T t = target.get();
+            if (t == null) {
+                return;
+            }
+            try {
+                handler.initiate(t);
+            } catch (Exception e) {
+                log.error("Failed to initiate shutdown: {}", name, e);
+            }
+        }
+
+        /**
+         * @return 被放弃的任务数；被中断或异常时返回 -1
+         */
+        private int awaitDrained(Duration timeout) {
+            T t = target.get();
+            if (t == null) {
+                return 0;
+            }
+            try {
+                return handler.awaitDrained(t, timeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while draining: {}", name);
+                return -1;
+            } catch (Exception e) {
+                log.error("Failed to drain: {}", name, e);
+                return -1;
+            }
+        }
+    }
+}
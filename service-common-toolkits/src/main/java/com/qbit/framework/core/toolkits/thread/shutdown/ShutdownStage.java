@@ -0,0 +1,24 @@
+package com.qbit.framework.core.toolkits.thread.shutdown;
+
+/**
+ * 优雅停机阶段，按声明顺序依次执行
+ *
+ * @author Qbit Framework
+ */
+public enum ShutdownStage {
+
+    /**
+     * 流量入口：停止接收新任务（定时任务调度、消息消费等）
+     */
+    INGRESS,
+
+    /**
+     * 工作线程池：停止接收新任务并在期限内执行完已排队任务
+     */
+    WORKER,
+
+    /**
+     * I/O 客户端：等待进行中的请求完成后释放连接、刷出缓冲
+     */
+    IO
+}
@@ -0,0 +1,32 @@
+package com.qbit.framework.core.toolkits.thread.shutdown;
+
+import lombok.Getter;
+
+/**
+ * 单个停机阶段的排空结果
+ *
+ * @author Qbit Framework
+ */
+@Getter
+public class StageDrainResult {
+    private final ShutdownStage stage;
+    private final int participants;
+    private final int drained;
+    private final int abandonedTasks;
+    private final long durationMillis;
+
+    StageDrainResult(ShutdownStage stage, int participants, int drained, int abandonedTasks, long durationMillis) {
+        this.stage = stage;
+        this.participants = participants;
+        this.drained = drained;
+        this.abandonedTasks = abandonedTasks;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * 是否所有参与者都在期限内排空
+     */
+    public boolean isClean() {
+        return drained == participants && abandonedTasks == 0;
+    }
+}
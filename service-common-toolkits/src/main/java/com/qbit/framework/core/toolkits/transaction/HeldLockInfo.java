@@ -0,0 +1,31 @@
+package com.qbit.framework.core.toolkits.transaction;
+
+import lombok.Getter;
+
+/**
+ * 当前 JVM 持有的锁快照
+ *
+ * @author Qbit Framework
+ */
+@Getter
+public class HeldLockInfo {
+    private final String name;
+    private final String prefix;
+    private final LockHolder holder;
+    private final long heldMillis;
+
+    /** 租约时间（毫秒），-1 表示看门狗自动续期 */
+    private final long leaseMillis;
+
+    /** 持有时间是否已接近租约时间（或超过慢持有阈值） */
+    private final boolean slow;
+
+    HeldLockInfo(String name, String prefix, LockHolder holder, long heldMillis, long leaseMillis, boolean slow) {
+        this.name = name;
+        this.prefix = prefix;
+        this.holder = holder;
+        this.heldMillis = heldMillis;
+        this.leaseMillis = leaseMillis;
+        this.slow = slow;
+    }
+}
@@ -0,0 +1,69 @@
+package com.qbit.framework.core.toolkits.transaction;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 按锁名称分配的 JVM 本地锁表
+ * 作为分布式锁前的第一层：同一 JVM 内争抢同一个 key 的线程先在本地排队，
+ * 只有拿到本地锁的线程才会访问 Redis，避免本地竞争放大为 Redis 往返和 pub/sub 唤醒
+ *
+ * <p>每个 key 对应一把 {@link ReentrantReadWriteLock}：Redisson 读锁走本地读锁，同 JVM 内的读者仍可并发；
+ * 写锁和普通锁走本地写锁，与 Redis 侧的读写互斥语义一致。</p>
+ *
+ * <p>本地锁以弱引用持有：没有线程持有或等待时即可被回收，锁表大小随活跃 key 数量伸缩；
+ * 活跃 key 超过 {@code maxKeys} 时不再分配本地锁，直接走分布式锁，保证内存有界且不影响正确性。</p>
+ *
+ * @author Qbit Framework
+ */
+public final class LocalKeyLocks {
+
+    /** 默认最大活跃 key 数 */
+    public static final int DEFAULT_MAX_KEYS = 65536;
+
+    private final Cache<String, ReentrantReadWriteLock> locks = Caffeine.newBuilder().weakValues().build();
+    private final int maxKeys;
+    private final boolean fair;
+
+    /**
+     * @param maxKeys 最大活跃 key 数
+     * @param fair    是否公平锁，公平锁保证同 JVM 内按等待顺序访问 Redis
+     */
+    public LocalKeyLocks(int maxKeys, boolean fair) {
+        if (maxKeys <= 0) {
+            throw new IllegalArgumentException("maxKeys must be > 0");
+        }
+        this.maxKeys = maxKeys;
+        this.fair = fair;
+    }
+
+    /**
+     * 获取 key 对应的本地读写锁，调用方需在持有/等待期间保持对读写锁本身的强引用
+     * （只引用 readLock()/writeLock() 视图不能阻止读写锁被回收）
+     *
+     * @param key 锁名称
+     * @return 本地锁；活跃 key 超过上限时返回 null，调用方应直接使用分布式锁
+     */
+    public ReentrantReadWriteLock get(String key) {
+        ReentrantReadWriteLock lock = locks.getIfPresent(key);
+        if (lock != null) {
+            return lock;
+        }
+        if (locks.estimatedSize() >= maxKeys) {
+            locks.cleanUp();
+            if (locks.estimatedSize() >= maxKeys) {
+                return null;
+            }
+        }
+        return locks.get(key, k -> new ReentrantReadWriteLock(fair));
+    }
+
+    /**
+     * 当前活跃 key 的估算数量
+     */
+    public long size() {
+        return locks.estimatedSize();
+    }
+}
@@ -0,0 +1,65 @@
+package com.qbit.framework.core.toolkits.transaction;
+
+import com.qbit.framework.core.toolkits.tracing.TraceUtils;
+import lombok.Getter;
+
+import java.net.InetAddress;
+import java.time.Instant;
+
+import static com.qbit.framework.core.toolkits.constants.WebConstants.TRACE_ID;
+
+/**
+ * 锁持有者信息：主机、线程、链路 ID、获取时间
+ *
+ * @author Qbit Framework
+ */
+@Getter
+public class LockHolder {
+
+    private static final String HOST = resolveHost();
+
+    private final String host;
+    private final String threadName;
+    private final long threadId;
+    private final String traceId;
+    private final long acquiredAt;
+
+    LockHolder(String host, String threadName, long threadId, String traceId, long acquiredAt) {
+        this.host = host;
+        this.threadName = threadName;
+        this.threadId = threadId;
+        this.traceId = traceId;
+        this.acquiredAt = acquiredAt;
+    }
+
+    /**
+     * 当前线程作为持有者
+     */
+    static LockHolder current() {
+        Thread thread = Thread.currentThread();
+        return new LockHolder(HOST, thread.getName(), thread.getId(), TraceUtils.get(TRACE_ID),
+                System.currentTimeMillis());
+    }
+
+    /**
+     * 异步加锁的持有者：线程 ID 为加锁时使用的锁拥有者 ID，链路 ID 取自发起方
+     */
+    static LockHolder async(long ownerId, String traceId) {
+        return new LockHolder(HOST, "async", ownerId, traceId, System.currentTimeMillis());
+    }
+
+    @Override
+    public String toString() {
+        return host + "/" + threadName + "#" + threadId
+                + (traceId != null ? " trace=" + traceId : "")
+                + " since " + Instant.ofEpochMilli(acquiredAt);
+    }
+
+    private static String resolveHost() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.qbit.framework.core.toolkits.transaction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RFuture;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link LockTransactionUtil} 的锁竞争统计
+ * 记录等待时间、持有时间、超时次数（按锁名称前缀聚合）以及当前持有者，
+ * 持有时间接近租约时间或超过慢持有阈值时告警
+ *
+ * <p>锁名称前缀取第一个 ':' 之前的部分（如 {@code inventory:1001} → {@code inventory}），
+ * 前缀数量超过上限后统一归入 {@link #OVERFLOW_PREFIX}，避免指标基数膨胀。</p>
+ *
+ * <p>设置 {@link #setHolderStore(RedissonClient)} 后（默认不设置），持有者信息会异步写入 {@code <锁名称>:holder}，
+ * 其他实例获取锁超时时可以在异常信息中看到持有者的主机、线程和链路 ID。
+ * 每次加锁会多出写入、清除两条 Redis 命令，清除在写入完成后才发出，保证两者的先后顺序。</p>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public final class LockMetrics {
+
+    /** 超出前缀上限后的归并前缀 */
+    public static final String OVERFLOW_PREFIX = "_other";
+
+    /** 持有者信息 key 后缀 */
+    public static final String HOLDER_SUFFIX = ":holder";
+
+    /** 看门狗续期的锁没有固定租约，持有者信息使用该过期时间兜底 */
+    private static final long WATCHDOG_HOLDER_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final Map<String, PrefixCounters> PREFIXES = new ConcurrentHashMap<>();
+    /** 已登记的前缀数量（不含归并前缀），登记时原子占位，并发下也不会超过上限 */
+    private static final AtomicInteger PREFIX_COUNT = new AtomicInteger();
+    private static final Map<Long, HeldEntry> HELD = new ConcurrentHashMap<>();
+    private static final AtomicLong TOKEN_SEQUENCE = new AtomicLong();
+    private static final List<LockMetricsListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static volatile int maxPrefixes = 200;
+    private static volatile double leaseWarningRatio = 0.8D;
+    private static volatile long slowHoldThresholdNanos = TimeUnit.SECONDS.toNanos(10);
+    private static volatile RedissonClient holderStore;
+
+    private LockMetrics() {
+        throw new AssertionError();
+    }
+
+    // ==================== 配置 ====================
+
+    /**
+     * 最大前缀数量，默认 200
+     */
+    public static void setMaxPrefixes(int maxPrefixes) {
+        if (maxPrefixes <= 0) {
+            throw new IllegalArgumentException("maxPrefixes must be > 0");
+        }
+        LockMetrics.maxPrefixes = maxPrefixes;
+    }
+
+    /**
+     * 持有时间达到租约时间的该比例时告警，默认 0.8
+     */
+    public static void setLeaseWarningRatio(double leaseWarningRatio) {
+        if (leaseWarningRatio <= 0 || leaseWarningRatio > 1) {
+            throw new IllegalArgumentException("leaseWarningRatio must be in (0, 1]");
+        }
+        LockMetrics.leaseWarningRatio = leaseWarningRatio;
+    }
+
+    /**
+     * 看门狗续期的锁持有超过该时间时告警，默认 10 秒
+     */
+    public static void setSlowHoldThreshold(Duration threshold) {
+        LockMetrics.slowHoldThresholdNanos = Objects.requireNonNull(threshold, "threshold cannot be null").toNanos();
+    }
+
+    /**
+     * 设置持有者信息存储，为 null（默认）时只在本地记录
+     */
+    public static void setHolderStore(RedissonClient redissonClient) {
+        LockMetrics.holderStore = redissonClient;
+    }
+
+    public static void addListener(LockMetricsListener listener) {
+        LISTENERS.add(Objects.requireNonNull(listener, "listener cannot be null"));
+    }
+
+    public static void removeListener(LockMetricsListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    // ==================== 查询 ====================
+
+    /**
+     * 锁名称对应的统计前缀（已做基数控制）
+     */
+    public static String prefixOf(String lockName) {
+        return counters(lockName).prefix;
+    }
+
+    /**
+     * 当前 JVM 持有的锁数量
+     */
+    public static int heldCount() {
+        return HELD.size();
+    }
+
+    /**
+     * 当前 JVM 持有的锁，按持有时间倒序
+     */
+    public static List<HeldLockInfo> heldLocks() {
+        long now = System.nanoTime();
+        List<HeldLockInfo> result = new ArrayList<>(HELD.size());
+        for (HeldEntry entry : HELD.values()) {
+            long heldNanos = now - entry.acquiredNanos;
+            result.add(new HeldLockInfo(entry.name, entry.prefix, entry.holder,
+                    TimeUnit.NANOSECONDS.toMillis(heldNanos), entry.leaseMillis, isSlow(heldNanos, entry.leaseMillis)));
+        }
+        result.sort(Comparator.comparingLong(HeldLockInfo::getHeldMillis).reversed());
+        return result;
+    }
+
+    /**
+     * 所有前缀的统计
+     */
+    public static List<LockPrefixStats> prefixStats() {
+        Map<String, Integer> heldByPrefix = new HashMap<>();
+        for (HeldEntry entry : HELD.values()) {
+            heldByPrefix.merge(entry.prefix, 1, Integer::sum);
+        }
+        List<LockPrefixStats> result = new ArrayList<>(PREFIXES.size());
+        PREFIXES.forEach((prefix, counters) -> result.add(counters.snapshot(prefix, heldByPrefix.getOrDefault(prefix, 0))));
+        return result;
+    }
+
+    /**
+     * 竞争最激烈的前缀：按超时次数、平均等待时间倒序
+     */
+    public static List<LockPrefixStats> topContended(int limit) {
+        return prefixStats().stream()
+                .sorted(Comparator.comparingLong(LockPrefixStats::getTimeouts)
+                        .thenComparingDouble(LockPrefixStats::getAvgWaitMillis)
+                        .reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * 查询锁的持有者：优先本地，其次持有者信息存储
+     *
+     * @return 持有者描述，未知时返回 null
+     */
+    public static String describeHolder(String lockName) {
+        for (HeldEntry entry : HELD.values()) {
+            if (entry.name.equals(lockName)) {
+                return entry.holder.toString();
+            }
+        }
+        RedissonClient store = holderStore;
+        if (store == null) {
+            return null;
+        }
+        try {
+            RBucket<String> bucket = store.getBucket(lockName + HOLDER_SUFFIX, StringCodec.INSTANCE);
+            return bucket.get();
+        } catch (Exception e) {
+            log.debug("Failed to read lock holder: {}", lockName, e);
+            return null;
+        }
+    }
+
+    // ==================== 记录（由 LockTransactionUtil 调用） ====================
+
+    /**
+     * 记录获取成功
+     *
+     * @return 持有令牌，释放时传回
+     */
+    static long onAcquired(String lockName, long waitNanos, long leaseMillis) {
+        return onAcquired(lockName, waitNanos, leaseMillis, LockHolder.current());
+    }
+
+    /**
+     * 记录获取成功（指定持有者，异步加锁时持有者不是当前线程）
+     *
+     * @return 持有令牌，释放时传回
+     */
+    static long onAcquired(String lockName, long waitNanos, long leaseMillis, LockHolder holder) {
+        PrefixCounters counters = counters(lockName);
+        String prefix = counters.prefix;
+        counters.recordAcquired(waitNanos);
+
+        long token = TOKEN_SEQUENCE.incrementAndGet();
+        HeldEntry entry = new HeldEntry(lockName, counters, holder, System.nanoTime(), leaseMillis);
+        HELD.put(token, entry);
+        publishHolder(entry);
+
+        for (LockMetricsListener listener : LISTENERS) {
+            try {
+                listener.onAcquired(prefix, waitNanos);
+            } catch (Exception e) {
+                log.debug("Lock metrics listener failed", e);
+            }
+        }
+        return token;
+    }
+
+    /**
+     * 记录等待超时
+     */
+    static void onTimeout(String lockName, long waitNanos) {
+        PrefixCounters counters = counters(lockName);
+        String prefix = counters.prefix;
+        counters.timeouts.increment();
+        for (LockMetricsListener listener : LISTENERS) {
+            try {
+                listener.onTimeout(prefix, waitNanos);
+            } catch (Exception e) {
+                log.debug("Lock metrics listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * 记录释放，需在释放分布式锁之前调用
+     */
+    static void onReleased(long token) {
+        HeldEntry entry = HELD.remove(token);
+        if (entry == null) {
+            return;
+        }
+        long holdNanos = System.nanoTime() - entry.acquiredNanos;
+        boolean warning = isSlow(holdNanos, entry.leaseMillis);
+        PrefixCounters counters = entry.counters;
+        counters.recordReleased(holdNanos);
+        if (warning) {
+            counters.leaseWarnings.increment();
+            if (entry.leaseMillis > 0) {
+                log.warn("Lock [{}] held for {} ms, close to lease time {} ms, holder: {}", entry.name,
+                        TimeUnit.NANOSECONDS.toMillis(holdNanos), entry.leaseMillis, entry.holder);
+            } else {
+                log.warn("Lock [{}] held for {} ms (slow holder), holder: {}", entry.name,
+                        TimeUnit.NANOSECONDS.toMillis(holdNanos), entry.holder);
+            }
+        }
+        clearHolder(entry);
+
+        for (LockMetricsListener listener : LISTENERS) {
+            try {
+                listener.onReleased(entry.prefix, holdNanos, warning);
+            } catch (Exception e) {
+                log.debug("Lock metrics listener failed", e);
+            }
+        }
+    }
+
+    // ==================== 内部方法 ====================
+
+    private static boolean isSlow(long heldNanos, long leaseMillis) {
+        if (leaseMillis > 0) {
+            return heldNanos >= TimeUnit.MILLISECONDS.toNanos(leaseMillis) * leaseWarningRatio;
+        }
+        return heldNanos >= slowHoldThresholdNanos;
+    }
+
+    /**
+     * 锁名称对应的前缀统计，新前缀在上限内原子登记，超出上限归入 {@link #OVERFLOW_PREFIX}
+     */
+    private static PrefixCounters counters(String lockName) {
+        int idx = lockName.indexOf(':');
+        String prefix = idx > 0 ? lockName.substring(0, idx) : lockName;
+        PrefixCounters counters = PREFIXES.get(prefix);
+        if (counters != null) {
+            return counters;
+        }
+        // 映射函数返回 null 时不登记
+        counters = PREFIXES.computeIfAbsent(prefix, p -> reservePrefix() ? new PrefixCounters(p) : null);
+        return counters != null ? counters : PREFIXES.computeIfAbsent(OVERFLOW_PREFIX, PrefixCounters::new);
+    }
+
+    private static boolean reservePrefix() {
+        while (true) {
+            int count = PREFIX_COUNT.get();
+            if (count >= maxPrefixes) {
+                return false;
+            }
+            if (PREFIX_COUNT.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static void publishHolder(HeldEntry entry) {
+        RedissonClient store = holderStore;
+        if (store == null) {
+            return;
+        }
+        try {
+            long ttl = entry.leaseMillis > 0 ? entry.leaseMillis : WATCHDOG_HOLDER_TTL_MILLIS;
+            RBucket<String> bucket = store.getBucket(entry.name + HOLDER_SUFFIX, StringCodec.INSTANCE);
+            entry.published = bucket.setAsync(entry.holderValue, ttl, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.debug("Failed to publish lock holder: {}", entry.name, e);
+        }
+    }
+
+    private static void clearHolder(HeldEntry entry) {
+        RedissonClient store = holderStore;
+        RFuture<Void> published = entry.published;
+        if (store == null || published == null) {
+            return;
+        }
+        // 写入完成后再清除，两条命令不保证按发出顺序执行，先到的清除会留下过期的持有者信息；
+        // 仅删除自己写入的值，避免误删下一个持有者的信息
+        published.whenComplete((ignored, error) -> {
+            if (error != null) {
+                return;
+            }
+            try {
+                store.getBucket(entry.name + HOLDER_SUFFIX, StringCodec.INSTANCE)
+                        .compareAndSetAsync(entry.holderValue, null);
+            } catch (Exception e) {
+                log.debug("Failed to clear lock holder: {}", entry.name, e);
+            }
+        });
+    }
+
+    private static final class HeldEntry {
+        private final String name;
+        private final String prefix;
+        private final PrefixCounters counters;
+        private final LockHolder holder;
+        private final String holderValue;
+        private final long acquiredNanos;
+        private final long leaseMillis;
+        /** 持有者信息的写入结果，未写入时为 null */
+        private volatile RFuture<Void> published;
+
+        private HeldEntry(String name, PrefixCounters counters, LockHolder holder, long acquiredNanos, long leaseMillis) {
+            this.name = name;
+            this.prefix = counters.prefix;
+            this.counters = counters;
+            this.holder = holder;
+            this.holderValue = holder.toString();
+            this.acquiredNanos = acquiredNanos;
+            this.leaseMillis = leaseMillis;
+        }
+    }
+
+    private static final class PrefixCounters {
+        private final String prefix;
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder leaseWarnings = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0L);
+        private final LongAdder releases = new LongAdder();
+        private final LongAdder totalHoldNanos = new LongAdder();
+        private final LongAccumulator maxHoldNanos = new LongAccumulator(Math::max, 0L);
+
+        private PrefixCounters(String prefix) {
+            this.prefix = prefix;
+        }
+
+        private void recordAcquired(long waitNanos) {
+            acquisitions.increment();
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulate(waitNanos);
+        }
+
+        private void recordReleased(long holdNanos) {
+            releases.increment();
+            totalHoldNanos.add(holdNanos);
+            maxHoldNanos.accumulate(holdNanos);
+        }
+
+        private LockPrefixStats snapshot(String prefix, int held) {
+            long acquired = acquisitions.sum();
+            long released = releases.sum();
+            return new LockPrefixStats(
+                    prefix,
+                    acquired,
+                    timeouts.sum(),
+                    leaseWarnings.sum(),
+                    acquired == 0 ? 0D : toMillis(totalWaitNanos.sum()) / acquired,
+                    toMillis(maxWaitNanos.get()),
+                    released == 0 ? 0D : toMillis(totalHoldNanos.sum()) / released,
+                    toMillis(maxHoldNanos.get()),
+                    held
+            );
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000D;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.qbit.framework.core.toolkits.transaction;
+
+/**
+ * 锁事件监听器，用于对接 Micrometer 等指标系统
+ * <p>回调在加锁/释放锁的线程中同步执行，实现必须轻量且不抛异常
+ *
+ * @author Qbit Framework
+ */
+public interface LockMetricsListener {
+
+    /**
+     * 获取成功
+     *
+     * @param prefix    锁名称前缀（已做基数控制）
+     * @param waitNanos 等待时间
+     */
+    default void onAcquired(String prefix, long waitNanos) {
+    }
+
+    /**
+     * 等待超时
+     */
+    default void onTimeout(String prefix, long waitNanos) {
+    }
+
+    /**
+     * 释放
+     *
+     * @param prefix       锁名称前缀
+     * @param holdNanos    持有时间
+     * @param leaseWarning 持有时间是否接近租约时间
+     */
+    default void onReleased(String prefix, long holdNanos, boolean leaseWarning) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.qbit.framework.core.toolkits.transaction;
+
+import lombok.Getter;
+
+/**
+ * 按锁名称前缀聚合的竞争统计快照
+ *
+ * @author Qbit Framework
+ */
+@Getter
+public class LockPrefixStats {
+    private final String prefix;
+    private final long acquisitions;
+    private final long timeouts;
+    private final long leaseWarnings;
+    private final double avgWaitMillis;
+    private final double maxWaitMillis;
+    private final double avgHoldMillis;
+    private final double maxHoldMillis;
+    private final int held;
+
+    LockPrefixStats(String prefix, long acquisitions, long timeouts, long leaseWarnings, double avgWaitMillis,
+                    double maxWaitMillis, double avgHoldMillis, double maxHoldMillis, int held) {
+        this.prefix = prefix;
+        this.acquisitions = acquisitions;
+        this.timeouts = timeouts;
+        this.leaseWarnings = leaseWarnings;
+        this.avgWaitMillis = avgWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.avgHoldMillis = avgHoldMillis;
+        this.maxHoldMillis = maxHoldMillis;
+        this.held = held;
+    }
+}
@@ -1,19 +1,54 @@
 package com.qbit.framework.core.toolkits.transaction;
 
+import com.qbit.framework.core.toolkits.tracing.TraceUtils;
+import com.qbit.framework.core.toolkits.transaction.dispatch.PostCommitDispatcher;
+import com.qbit.framework.core.toolkits.tracing.context.MdcTraceContext;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.RedissonReadLock;
 import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.slf4j.MDC;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
+import static com.qbit.framework.core.toolkits.constants.WebConstants.TRACE_ID;
+
 /**
  * 分布式锁 + 事务执行工具类（基于 Redisson）
  * 确保事务提交后再释放锁，防止并发问题
  * <p>
+ * 加锁分两层：先获取按锁名称分配的本地公平读写锁（{@link LocalKeyLocks}），再获取 Redisson 锁，
+ * 同一 JVM 内同一 key 同时只有一个写者访问 Redis，Redisson 读锁对应本地读锁，读者之间不互斥；等待时间由两层共享，不会因为本地排队而延长
+ * <p>
+ * 等待/持有时间、超时次数和当前持有者记录在 {@link LockMetrics} 中
+ * <p>
+ * {@link ExecutionBuilder#executeAsync(Executor)} 基于 {@code tryLockAsync}/{@code unlockAsync} 加锁，
+ * 等待期间不占用调用线程，业务逻辑和事务在指定执行器上运行
+ * <p>
+ * 通过 {@link ExecutionBuilder#dispatcher(PostCommitDispatcher)} 可将 afterCommit/afterRollback 回调交给
+ * {@link PostCommitDispatcher} 异步执行，同一组锁的回调按提交顺序执行；
+ * 需要在重试耗尽或停机后写入发件箱的回调使用 {@link ExecutionBuilder#afterCommitDispatch(String, Function)}
+ * 等类型回调，lambda 回调无法持久化
+ * <p>
  * 使用示例：
  * <pre>{@code
  * RLock lock = redissonClient.getLock("inventory:" + productId);
@@ -24,12 +59,29 @@ import java.util.function.Supplier;
  *     return orderId;
  * });
  * 
+ * // 多锁：按名称排序后依次加锁，避免死锁
+ * LockTransactionUtil.builder(redissonClient, List.of("account:" + from, "account:" + to), transactionTemplate)
+ *     .action(() -> accountService.transfer(from, to, amount))
+ *     .execute();
+ *
+ * // 异步：等锁不阻塞请求线程
+ * CompletableFuture<Order> future = LockTransactionUtil.<Order>builder(lock, transactionTemplate)
+ *     .action(() -> orderService.create(dto))
+ *     .executeAsync(orderExecutor);
+ *
  * // 事务提交后发送 webhook
  * Order order = LockTransactionUtil.builder(lock, transactionTemplate)
  *     .action(() -> orderService.create(dto))
  *     .afterCommit(result -> webhookService.send(result))
  *     .afterRollback(() -> log.warn("Order creation failed"))
  *     .execute();
+ *
+ * // 类型回调：由分发器异步执行，失败后写入发件箱
+ * LockTransactionUtil.builder(lock, transactionTemplate)
+ *     .action(() -> orderService.create(dto))
+ *     .dispatcher(dispatcher)
+ *     .afterCommitDispatch("order.webhook", order -> JSONUtil.toJson(order))
+ *     .execute();
  * }</pre>
  *
  * @author Qbit Framework
@@ -42,6 +94,16 @@ public class LockTransactionUtil {
     /** 默认锁持有时间（秒），-1 表示使用看门狗自动续期 */
     private static final long DEFAULT_LEASE_TIME = -1;
 
+    /** 分布式锁前的本地锁表 */
+    private static final LocalKeyLocks LOCAL_LOCKS = new LocalKeyLocks(LocalKeyLocks.DEFAULT_MAX_KEYS, true);
+
+    /**
+     * 异步加锁的锁拥有者 ID 序列
+     * Redisson 以 "客户端 ID:线程 ID" 标识锁拥有者，异步加锁的回调线程不固定，
+     * 每次执行分配一个负数 ID 作为线程 ID，加锁和解锁都使用它，不会与真实线程 ID 冲突
+     */
+    private static final AtomicLong OWNER_SEQUENCE = new AtomicLong();
+
     private LockTransactionUtil() {
     }
 
@@ -52,6 +114,28 @@ public class LockTransactionUtil {
         return new ExecutionBuilder<>(lock, transactionTemplate);
     }
 
+    /**
+     * 创建多锁执行构建器
+     * <p>锁按名称排序去重后依次获取，所有调用方加锁顺序一致，不会互相死锁；
+     * 任一锁在等待时间内未获取到时回滚已获取的锁并抛出 {@link LockAcquireException}
+     */
+    public static <T> ExecutionBuilder<T> builder(Collection<? extends RLock> locks,
+                                                  TransactionTemplate transactionTemplate) {
+        return new ExecutionBuilder<>(canonicalOrder(locks), transactionTemplate);
+    }
+
+    /**
+     * 按锁名称创建多锁执行构建器
+     */
+    public static <T> ExecutionBuilder<T> builder(RedissonClient redissonClient, Collection<String> lockNames,
+                                                  TransactionTemplate transactionTemplate) {
+        List<RLock> locks = new ArrayList<>(lockNames.size());
+        for (String name : lockNames) {
+            locks.add(redissonClient.getLock(name));
+        }
+        return builder(locks, transactionTemplate);
+    }
+
     /**
      * 在分布式锁和事务保护下执行业务逻辑
      */
@@ -110,11 +194,11 @@ public class LockTransactionUtil {
             throw new IllegalStateException("No active transaction. Use execute() instead.");
         }
 
-        acquireLock(lock, waitTime, leaseTime, timeUnit);
+        HeldLocks held = acquireLocks(List.of(lock), waitTime, leaseTime, timeUnit, true);
 
         // 先注册同步器，确保无论 action 是否成功，锁都能被释放
         ResultHolder<T> holder = new ResultHolder<>();
-        registerSynchronization(lock, holder, afterCommit, afterRollback);
+        registerSynchronization(held, holder, afterCommit, afterRollback, null);
 
         // 执行业务逻辑
         T result = action.get();
@@ -124,57 +208,329 @@ public class LockTransactionUtil {
     }
 
     /**
-     * 获取分布式锁
+     * 按顺序获取本地锁和分布式锁，等待时间由所有锁共享
+     * <p>先获取全部本地锁，再获取全部分布式锁；任一失败时按逆序回滚已获取的锁
+     *
+     * @param locks        已按名称排序去重的锁
+     * @param useLocalLock 是否先获取本地锁
+     * @return 已持有的锁
      */
-    private static void acquireLock(RLock lock, long waitTime, long leaseTime, TimeUnit timeUnit) {
-        boolean acquired;
+    private static HeldLocks acquireLocks(List<RLock> locks, long waitTime, long leaseTime, TimeUnit timeUnit,
+                                          boolean useLocalLock) {
+        long start = System.nanoTime();
+        long deadline = start + timeUnit.toNanos(Math.max(waitTime, 0));
+        HeldLocks held = new HeldLocks(locks.size());
+        RLock current = null;
+        boolean success = false;
         try {
-            acquired = lock.tryLock(waitTime, leaseTime, timeUnit);
+            if (useLocalLock) {
+                for (RLock lock : locks) {
+                    current = lock;
+                    ReentrantReadWriteLock readWriteLock = LOCAL_LOCKS.get(lock.getName());
+                    if (readWriteLock == null) {
+                        continue;
+                    }
+                    LocalLock localLock = new LocalLock(readWriteLock, lock instanceof RedissonReadLock);
+                    if (!localLock.view().tryLock(remainingNanos(deadline), TimeUnit.NANOSECONDS)) {
+                        throw acquireFailed(locks, held, lock, start);
+                    }
+                    held.localLocks.add(localLock);
+                }
+            }
+            for (RLock lock : locks) {
+                current = lock;
+                boolean acquired;
+                if (waitTime <= 0) {
+                    acquired = lock.tryLock(waitTime, leaseTime, timeUnit);
+                } else {
+                    // 已消耗的时间从总等待时间中扣除
+                    long remainingMillis = TimeUnit.NANOSECONDS.toMillis(remainingNanos(deadline));
+                    long leaseMillis = leaseTime > 0 ? timeUnit.toMillis(leaseTime) : leaseTime;
+                    acquired = lock.tryLock(remainingMillis, leaseMillis, TimeUnit.MILLISECONDS);
+                }
+                if (!acquired) {
+                    throw acquireFailed(locks, held, lock, start);
+                }
+                held.locks.add(lock);
+            }
+            success = true;
+
+            long waitNanos = System.nanoTime() - start;
+            long leaseMillis = leaseTime > 0 ? timeUnit.toMillis(leaseTime) : -1;
+            for (RLock lock : held.locks) {
+                held.tokens.add(LockMetrics.onAcquired(lock.getName(), waitNanos, leaseMillis));
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new LockAcquireException("Lock acquisition interrupted: " + lock.getName(), e);
+            throw new LockAcquireException("Lock acquisition interrupted: " + current.getName(),
+                    lockNames(locks), e);
+        } finally {
+            if (!success) {
+                releaseLocks(held);
+            }
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Lock acquired: {}", lockNames(locks));
+        }
+        return held;
+    }
+
+    private static long remainingNanos(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    private static LockAcquireException acquireFailed(List<RLock> locks, HeldLocks held, RLock failed, long start) {
+        LockMetrics.onTimeout(failed.getName(), System.nanoTime() - start);
+        String holder = LockMetrics.describeHolder(failed.getName());
+        String heldBy = holder != null ? ", held by " + holder : "";
+        if (locks.size() == 1) {
+            return new LockAcquireException("Failed to acquire lock: " + failed.getName() + heldBy,
+                    lockNames(locks), null);
         }
+        return new LockAcquireException(String.format(
+                "Failed to acquire lock: %s%s (%d/%d distributed locks acquired and rolled back, keys: %s)",
+                failed.getName(), heldBy, held.locks.size(), locks.size(), lockNames(locks)), lockNames(locks), null);
+    }
 
-        if (!acquired) {
-            throw new LockAcquireException("Failed to acquire lock: " + lock.getName());
+    private static List<String> lockNames(List<RLock> locks) {
+        List<String> names = new ArrayList<>(locks.size());
+        for (RLock lock : locks) {
+            names.add(lock.getName());
         }
+        return names;
+    }
 
-        log.debug("Lock acquired: {}", lock.getName());
+    /**
+     * 按名称排序并去重，保证所有调用方以同一顺序加锁，避免死锁
+     */
+    private static List<RLock> canonicalOrder(Collection<? extends RLock> locks) {
+        if (locks == null || locks.isEmpty()) {
+            throw new IllegalArgumentException("At least one lock is required");
+        }
+        Map<String, RLock> sorted = new TreeMap<>();
+        for (RLock lock : locks) {
+            sorted.putIfAbsent(lock.getName(), lock);
+        }
+        return new ArrayList<>(sorted.values());
     }
 
     /**
      * 注册事务同步器，处理回调和锁释放
+     *
+     * @param held     需在事务完成后释放的锁，为 null 时只处理回调
+     * @param dispatch 回调分发配置，为 null 时在当前线程同步执行回调
      */
-    private static <T> void registerSynchronization(RLock lock, ResultHolder<T> holder,
-                                                     Consumer<T> afterCommit, Runnable afterRollback) {
+    private static <T> void registerSynchronization(HeldLocks held, ResultHolder<T> holder,
+                                                     Consumer<T> afterCommit, Runnable afterRollback,
+                                                     Dispatch<T> dispatch) {
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCompletion(int status) {
                 try {
-                    if (status == STATUS_COMMITTED && afterCommit != null) {
-                        log.debug("Transaction committed, executing afterCommit callback");
-                        afterCommit.accept(holder.result);
-                    } else if (status == STATUS_ROLLED_BACK && afterRollback != null) {
-                        log.debug("Transaction rolled back, executing afterRollback callback");
-                        afterRollback.run();
+                    if (status == STATUS_COMMITTED) {
+                        if (dispatch != null) {
+                            T result = holder.result;
+                            if (afterCommit != null) {
+                                dispatch.dispatcher.dispatch(dispatch.orderKey, () -> afterCommit.accept(result));
+                            }
+                            if (dispatch.afterCommitType != null) {
+                                dispatch.dispatcher.dispatch(dispatch.orderKey, dispatch.afterCommitType,
+                                        dispatch.afterCommitPayload.apply(result));
+                            }
+                        } else if (afterCommit != null) {
+                            log.debug("Transaction committed, executing afterCommit callback");
+                            afterCommit.accept(holder.result);
+                        }
+                    } else if (status == STATUS_ROLLED_BACK) {
+                        if (dispatch != null) {
+                            if (afterRollback != null) {
+                                dispatch.dispatcher.dispatch(dispatch.orderKey, afterRollback);
+                            }
+                            if (dispatch.afterRollbackType != null) {
+                                dispatch.dispatcher.dispatch(dispatch.orderKey, dispatch.afterRollbackType,
+                                        dispatch.afterRollbackPayload);
+                            }
+                        } else if (afterRollback != null) {
+                            log.debug("Transaction rolled back, executing afterRollback callback");
+                            afterRollback.run();
+                        }
                     }
                 } catch (Exception e) {
                     log.error("Callback execution failed", e);
                 } finally {
-                    releaseLock(lock);
+                    if (held != null) {
+                        releaseLocks(held);
+                    }
                 }
             }
         });
     }
 
-    private static void releaseLock(RLock lock) {
-        try {
-            if (lock.isHeldByCurrentThread()) {
-                lock.unlock();
-                log.debug("Lock released: {}", lock.getName());
+    /**
+     * 逆序释放：先释放分布式锁再释放本地锁，保证本地下一个线程访问 Redis 时锁已可用
+     */
+    private static void releaseLocks(HeldLocks held) {
+        for (int i = held.locks.size() - 1; i >= 0; i--) {
+            RLock lock = held.locks.get(i);
+            if (i < held.tokens.size()) {
+                LockMetrics.onReleased(held.tokens.get(i));
+            }
+            try {
+                if (lock.isHeldByCurrentThread()) {
+                    lock.unlock();
+                    log.debug("Lock released: {}", lock.getName());
+                }
+            } catch (Exception e) {
+                log.error("Failed to release lock: {}", lock.getName(), e);
             }
-        } catch (Exception e) {
-            log.error("Failed to release lock: {}", lock.getName(), e);
+        }
+        held.locks.clear();
+        held.tokens.clear();
+        for (int i = held.localLocks.size() - 1; i >= 0; i--) {
+            LocalLock localLock = held.localLocks.get(i);
+            if (localLock.isHeldByCurrentThread()) {
+                localLock.view().unlock();
+            }
+        }
+        held.localLocks.clear();
+    }
+
+    /**
+     * 依次异步获取分布式锁，等待时间由所有锁共享；失败时由调用方回滚已获取的锁
+     *
+     * @param index 本次要获取的锁下标
+     */
+    private static CompletableFuture<Void> acquireLocksAsync(List<RLock> locks, int index, HeldLocks held,
+                                                             long start, long waitTime, long leaseTime,
+                                                             TimeUnit timeUnit, Executor executor) {
+        if (index == locks.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        RLock lock = locks.get(index);
+        CompletableFuture<Boolean> attempt;
+        if (waitTime <= 0) {
+            attempt = lock.tryLockAsync(waitTime, leaseTime, timeUnit, held.ownerId).toCompletableFuture();
+        } else {
+            long deadline = start + timeUnit.toNanos(waitTime);
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(remainingNanos(deadline));
+            long leaseMillis = leaseTime > 0 ? timeUnit.toMillis(leaseTime) : leaseTime;
+            attempt = lock.tryLockAsync(remainingMillis, leaseMillis, TimeUnit.MILLISECONDS, held.ownerId)
+                    .toCompletableFuture();
+        }
+        return attempt.thenCompose(acquired -> {
+            if (!acquired) {
+                // 查询持有者可能访问 Redis，不能在 Redisson 回调线程上同步执行
+                return CompletableFuture.supplyAsync(() -> {
+                    throw acquireFailed(locks, held, lock, start);
+                }, executor);
+            }
+            held.locks.add(lock);
+            return acquireLocksAsync(locks, index + 1, held, start, waitTime, leaseTime, timeUnit, executor);
+        });
+    }
+
+    /**
+     * 按锁拥有者 ID 逆序异步释放，任一解锁失败只记录日志
+     *
+     * @return 全部解锁请求完成时完成
+     */
+    private static CompletableFuture<Void> releaseLocksAsync(HeldLocks held) {
+        List<CompletableFuture<Void>> unlocks = new ArrayList<>(held.locks.size());
+        for (int i = held.locks.size() - 1; i >= 0; i--) {
+            RLock lock = held.locks.get(i);
+            if (i < held.tokens.size()) {
+                LockMetrics.onReleased(held.tokens.get(i));
+            }
+            CompletableFuture<Void> unlock;
+            try {
+                unlock = lock.unlockAsync(held.ownerId).toCompletableFuture();
+            } catch (Exception e) {
+                unlock = CompletableFuture.failedFuture(e);
+            }
+            unlocks.add(unlock.handle((v, e) -> {
+                if (e != null) {
+                    log.error("Failed to release lock: {}", lock.getName(), e);
+                } else {
+                    log.debug("Lock released: {}", lock.getName());
+                }
+                return null;
+            }));
+        }
+        held.locks.clear();
+        held.tokens.clear();
+        return CompletableFuture.allOf(unlocks.toArray(new CompletableFuture[0]));
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    /**
+     * 已持有的锁
+     */
+    private static final class HeldLocks {
+        private final List<RLock> locks;
+        private final List<LocalLock> localLocks;
+        /** 与 locks 一一对应的统计令牌 */
+        private final List<Long> tokens;
+        /** 异步加锁使用的锁拥有者 ID，同步加锁时为 0（使用当前线程） */
+        private final long ownerId;
+
+        private HeldLocks(int size) {
+            this(size, 0L);
+        }
+
+        private HeldLocks(int size, long ownerId) {
+            this.locks = new ArrayList<>(size);
+            this.localLocks = new ArrayList<>(size);
+            this.tokens = new ArrayList<>(size);
+            this.ownerId = ownerId;
+        }
+    }
+
+    /**
+     * 已获取的本地锁：持有读写锁本身的强引用，防止持有期间被锁表回收
+     */
+    private static final class LocalLock {
+        private final ReentrantReadWriteLock readWriteLock;
+        /** Redisson 读锁使用共享的本地读锁，其余使用本地写锁 */
+        private final boolean shared;
+
+        private LocalLock(ReentrantReadWriteLock readWriteLock, boolean shared) {
+            this.readWriteLock = readWriteLock;
+            this.shared = shared;
+        }
+
+        private Lock view() {
+            return shared ? readWriteLock.readLock() : readWriteLock.writeLock();
+        }
+
+        private boolean isHeldByCurrentThread() {
+            return shared ? readWriteLock.getReadHoldCount() > 0 : readWriteLock.isWriteLockedByCurrentThread();
+        }
+    }
+
+    /**
+     * 交给 {@link PostCommitDispatcher} 的回调配置
+     */
+    private static final class Dispatch<T> {
+        private final PostCommitDispatcher dispatcher;
+        private final String orderKey;
+        private final String afterCommitType;
+        private final Function<? super T, String> afterCommitPayload;
+        private final String afterRollbackType;
+        private final String afterRollbackPayload;
+
+        private Dispatch(PostCommitDispatcher dispatcher, String orderKey,
+                         String afterCommitType, Function<? super T, String> afterCommitPayload,
+                         String afterRollbackType, String afterRollbackPayload) {
+            this.dispatcher = dispatcher;
+            this.orderKey = orderKey;
+            this.afterCommitType = afterCommitType;
+            this.afterCommitPayload = afterCommitPayload;
+            this.afterRollbackType = afterRollbackType;
+            this.afterRollbackPayload = afterRollbackPayload;
         }
     }
 
@@ -189,17 +545,27 @@ public class LockTransactionUtil {
      * 执行构建器，支持链式配置
      */
     public static class ExecutionBuilder<T> {
-        private final RLock lock;
+        private final List<RLock> locks;
         private final TransactionTemplate transactionTemplate;
         private long waitTime = DEFAULT_WAIT_TIME;
         private long leaseTime = DEFAULT_LEASE_TIME;
         private TimeUnit timeUnit = TimeUnit.SECONDS;
+        private boolean localLock = true;
         private Supplier<T> action;
         private Consumer<T> afterCommit;
         private Runnable afterRollback;
+        private PostCommitDispatcher dispatcher;
+        private String afterCommitType;
+        private Function<? super T, String> afterCommitPayload;
+        private String afterRollbackType;
+        private String afterRollbackPayload;
 
         ExecutionBuilder(RLock lock, TransactionTemplate transactionTemplate) {
-            this.lock = lock;
+            this(List.of(lock), transactionTemplate);
+        }
+
+        ExecutionBuilder(List<RLock> locks, TransactionTemplate transactionTemplate) {
+            this.locks = locks;
             this.transactionTemplate = transactionTemplate;
         }
 
@@ -218,6 +584,14 @@ public class LockTransactionUtil {
             return this;
         }
 
+        /**
+         * 是否先获取本地锁再访问 Redis，默认开启
+         */
+        public ExecutionBuilder<T> localLock(boolean localLock) {
+            this.localLock = localLock;
+            return this;
+        }
+
         public ExecutionBuilder<T> action(Supplier<T> action) {
             this.action = action;
             return this;
@@ -247,18 +621,51 @@ public class LockTransactionUtil {
             return this;
         }
 
+        /**
+         * 回调交给分发器异步执行，不占用当前线程；以锁名称作为顺序键，同一组锁的回调按提交顺序执行
+         */
+        public ExecutionBuilder<T> dispatcher(PostCommitDispatcher dispatcher) {
+            this.dispatcher = dispatcher;
+            return this;
+        }
+
+        /**
+         * 事务提交后由分发器执行类型回调，重试耗尽、分发器饱和或停机时写入发件箱；需同时设置 {@link #dispatcher}
+         *
+         * @param type    回调类型，需已在分发器注册处理器
+         * @param payload 由业务逻辑返回值生成载荷，在事务完成的线程上调用
+         */
+        public ExecutionBuilder<T> afterCommitDispatch(String type, Function<? super T, String> payload) {
+            this.afterCommitType = Objects.requireNonNull(type, "type cannot be null");
+            this.afterCommitPayload = Objects.requireNonNull(payload, "payload cannot be null");
+            return this;
+        }
+
+        /**
+         * 事务回滚后由分发器执行类型回调；需同时设置 {@link #dispatcher}
+         *
+         * @param type    回调类型，需已在分发器注册处理器
+         * @param payload 回调载荷
+         */
+        public ExecutionBuilder<T> afterRollbackDispatch(String type, String payload) {
+            this.afterRollbackType = Objects.requireNonNull(type, "type cannot be null");
+            this.afterRollbackPayload = payload;
+            return this;
+        }
+
         public T execute() {
             if (action == null) {
                 throw new IllegalStateException("Action must be set");
             }
+            checkCallbacks();
 
-            acquireLock(lock, waitTime, leaseTime, timeUnit);
+            HeldLocks held = acquireLocks(locks, waitTime, leaseTime, timeUnit, localLock);
 
             try {
                 return transactionTemplate.execute(status -> {
                     // 先注册同步器，确保锁释放
                     ResultHolder<T> holder = new ResultHolder<>();
-                    registerSynchronization(lock, holder, afterCommit, afterRollback);
+                    registerSynchronization(held, holder, afterCommit, afterRollback, dispatch());
 
                     // 执行业务逻辑
                     T result = action.get();
@@ -269,20 +676,134 @@ public class LockTransactionUtil {
             } catch (Exception e) {
                 // 如果事务还未开始（同步器未激活），需手动释放锁
                 if (!TransactionSynchronizationManager.isSynchronizationActive()) {
-                    releaseLock(lock);
+                    releaseLocks(held);
                 }
                 throw e;
             }
         }
+
+        /**
+         * 异步执行：等锁期间不阻塞调用线程
+         * <p>
+         * 使用 {@code tryLockAsync}/{@code unlockAsync} 加解锁，以本次执行独占的锁拥有者 ID 代替线程 ID，
+         * 加锁、执行、解锁可以发生在不同线程上；拿到全部锁后在 {@code executor} 上开启事务执行业务逻辑，
+         * 事务完成（含回调）后异步解锁，解锁完成时返回的 Future 才完成。
+         * <p>
+         * 本地锁按线程持有，异步模式下不使用本地锁层；执行器拒绝任务时释放锁并以拒绝异常完成。
+         * 业务逻辑在调用方的 MDC 上下文中执行（调用时快照，不受加锁回调所在线程影响）。
+         * 加锁失败时 Future 以 {@link LockAcquireException} 异常完成。
+         *
+         * @param executor 执行业务逻辑和事务的执行器
+         * @return 业务逻辑结果
+         */
+        public CompletableFuture<T> executeAsync(Executor executor) {
+            if (action == null) {
+                throw new IllegalStateException("Action must be set");
+            }
+            checkCallbacks();
+            Objects.requireNonNull(executor, "executor");
+
+            long ownerId = -OWNER_SEQUENCE.incrementAndGet();
+            LockHolder lockHolder = LockHolder.async(ownerId, TraceUtils.get(TRACE_ID));
+            // 加锁完成回调运行在 Redisson 的线程上，需在调用线程上快照 MDC
+            Map<String, String> callerContext = MDC.getCopyOfContextMap();
+            HeldLocks held = new HeldLocks(locks.size(), ownerId);
+            long start = System.nanoTime();
+            CompletableFuture<T> future = new CompletableFuture<>();
+
+            CompletableFuture<Void> acquiring;
+            try {
+                acquiring = acquireLocksAsync(locks, 0, held, start, waitTime, leaseTime, timeUnit, executor);
+            } catch (Exception e) {
+                acquiring = CompletableFuture.failedFuture(e);
+            }
+            acquiring.whenComplete((ignored, acquireError) -> {
+                if (acquireError != null) {
+                    Throwable cause = unwrap(acquireError);
+                    releaseLocksAsync(held).whenComplete((v, e) -> future.completeExceptionally(cause));
+                    return;
+                }
+                long waitNanos = System.nanoTime() - start;
+                long leaseMillis = leaseTime > 0 ? timeUnit.toMillis(leaseTime) : -1;
+                for (RLock lock : held.locks) {
+                    held.tokens.add(LockMetrics.onAcquired(lock.getName(), waitNanos, leaseMillis, lockHolder));
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Lock acquired asynchronously: {}", lockNames(locks));
+                }
+                try {
+                    executor.execute(() -> {
+                        try (MdcTraceContext scope = MdcTraceContext.setAll(callerContext)) {
+                            runAsyncCriticalSection(held, future);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    releaseLocksAsync(held).whenComplete((v, ex) -> future.completeExceptionally(e));
+                }
+            });
+            return future;
+        }
+
+        private Dispatch<T> dispatch() {
+            if (dispatcher == null) {
+                return null;
+            }
+            return new Dispatch<>(dispatcher, String.join(",", lockNames(locks)),
+                    afterCommitType, afterCommitPayload, afterRollbackType, afterRollbackPayload);
+        }
+
+        private void checkCallbacks() {
+            if (dispatcher == null && (afterCommitType != null || afterRollbackType != null)) {
+                throw new IllegalStateException("Dispatcher must be set for typed callbacks");
+            }
+        }
+
+        private void runAsyncCriticalSection(HeldLocks held, CompletableFuture<T> future) {
+            T result = null;
+            Throwable failure = null;
+            try {
+                result = transactionTemplate.execute(status -> {
+                    ResultHolder<T> holder = new ResultHolder<>();
+                    registerSynchronization(null, holder, afterCommit, afterRollback, dispatch());
+
+                    T value = action.get();
+                    holder.result = value;
+                    return value;
+                });
+            } catch (Throwable e) {
+                failure = e;
+            }
+            T value = result;
+            Throwable error = failure;
+            releaseLocksAsync(held).whenComplete((v, e) -> {
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else {
+                    future.complete(value);
+                }
+            });
+        }
     }
 
     public static class LockAcquireException extends RuntimeException {
+        /** 本次请求的全部锁名称 */
+        private final List<String> lockNames;
+
         public LockAcquireException(String message) {
-            super(message);
+            this(message, List.of(), null);
         }
 
         public LockAcquireException(String message, Throwable cause) {
+            this(message, List.of(), cause);
+        }
+
+        public LockAcquireException(String message, List<String> lockNames, Throwable cause) {
             super(message, cause);
+            this.lockNames = lockNames;
+        }
+
+        public List<String> getLockNames() {
+            return lockNames;
         }
     }
 }
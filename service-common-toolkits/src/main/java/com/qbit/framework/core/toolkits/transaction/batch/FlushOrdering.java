@@ -0,0 +1,21 @@
+package com.qbit.framework.core.toolkits.transaction.batch;
+
+/**
+ * 批量写入的刷出顺序
+ *
+ * @author Qbit Framework
+ */
+public enum FlushOrdering {
+
+    /**
+     * 按 SQL 分组：同一 SQL 的写入合并为一组，组按 SQL 首次出现的顺序执行，组内保持提交顺序。
+     * 批次最少，适用于写入之间没有跨表/跨语句依赖的场景
+     */
+    GROUPED,
+
+    /**
+     * 严格保序：只合并连续的同一 SQL 写入，跨语句的先后顺序与提交顺序完全一致。
+     * 适用于先插主表再插子表、先插入再更新同一行等有依赖的场景
+     */
+    STRICT
+}
@@ -0,0 +1,321 @@
+package com.qbit.framework.core.toolkits.transaction.batch;
+
+import com.qbit.framework.core.toolkits.exception.SystemException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 事务内写后批量执行工具
+ * 事务中的单行 INSERT/UPDATE/DELETE 先缓存在当前事务上，提交前（{@code beforeCommit}）按 SQL 合并为 JDBC 批量执行，
+ * 数百次单行写入只需要几次数据库往返
+ *
+ * <p>特性：</p>
+ * <ul>
+ *   <li>事务绑定：缓冲区通过 {@link TransactionSynchronizationManager} 绑定到当前事务，使用事务自身的连接执行，
+ *       事务回滚时直接丢弃；挂起（REQUIRES_NEW）时内层事务使用独立的缓冲区</li>
+ *   <li>顺序：见 {@link FlushOrdering}，默认 {@link FlushOrdering#STRICT}</li>
+ *   <li>有界：缓冲的写入数达到 {@code maxBuffered} 时立即刷出</li>
+ *   <li>读己之写：缓冲中的写入对同一事务内的查询不可见，查询前需调用 {@link #flush()}</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * TransactionalBatchWriter writer = TransactionalBatchWriter.builder(dataSource)
+ *         .batchSize(200)
+ *         .build();
+ *
+ * LockTransactionUtil.execute(lock, transactionTemplate, () -> {
+ *     for (OrderItem item : items) {
+ *         writer.write("INSERT INTO order_item (order_id, sku, qty) VALUES (?, ?, ?)",
+ *                 item.getOrderId(), item.getSku(), item.getQty());
+ *     }
+ *     writer.write("UPDATE orders SET status = ? WHERE id = ?", "CREATED", orderId);
+ *     return orderId;
+ * });
+ * }</pre>
+ *
+ * <p>写入在提交前才执行，约束冲突等数据库错误在提交时抛出并导致事务回滚；
+ * 批量执行的影响行数不回传，依赖影响行数的写入（如乐观锁更新）不应使用本工具。</p>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public final class TransactionalBatchWriter {
+
+    private final DataSource dataSource;
+    private final int batchSize;
+    private final int maxBuffered;
+    private final FlushOrdering ordering;
+
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder roundTrips = new LongAdder();
+
+    private TransactionalBatchWriter(Builder builder) {
+        this.dataSource = builder.dataSource;
+        this.batchSize = builder.batchSize;
+        this.maxBuffered = builder.maxBuffered;
+        this.ordering = builder.ordering;
+    }
+
+    public static Builder builder(DataSource dataSource) {
+        return new Builder(dataSource);
+    }
+
+    /**
+     * 缓存一次写入，在事务提交前执行
+     *
+     * @param sql  带占位符的 SQL，同一语句需使用完全相同的 SQL 文本才能合并
+     * @param args 参数
+     * @throws IllegalStateException 当前没有活动事务
+     */
+    public void write(String sql, Object... args) {
+        Objects.requireNonNull(sql, "sql cannot be null");
+        Buffer buffer = currentBuffer();
+        buffer.writes.add(new PendingWrite(sql, args != null ? args.clone() : new Object[0]));
+        writes.increment();
+        if (buffer.writes.size() >= maxBuffered) {
+            buffer.flush();
+        }
+    }
+
+    /**
+     * 立即执行当前事务中缓存的写入（例如在查询刚写入的数据之前）
+     */
+    public void flush() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Buffer buffer = (Buffer) TransactionSynchronizationManager.getResource(this);
+        if (buffer != null) {
+            buffer.flush();
+        }
+    }
+
+    /**
+     * 当前事务中待执行的写入数
+     */
+    public int pendingCount() {
+        Buffer buffer = TransactionSynchronizationManager.isSynchronizationActive()
+                ? (Buffer) TransactionSynchronizationManager.getResource(this)
+                : null;
+        return buffer != null ? buffer.writes.size() : 0;
+    }
+
+    /**
+     * 累计缓存的写入数
+     */
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    /**
+     * 累计数据库往返次数（每次 executeBatch/executeUpdate 计一次）
+     */
+    public long getRoundTrips() {
+        return roundTrips.sum();
+    }
+
+    private Buffer currentBuffer() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("No active transaction synchronization, batch writes require a transaction");
+        }
+        Buffer buffer = (Buffer) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            buffer = new Buffer();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * 按刷出顺序把待执行写入划分为语句组
+     */
+    private List<StatementGroup> plan(List<PendingWrite> pending) {
+        List<StatementGroup> groups = new ArrayList<>();
+        if (ordering == FlushOrdering.GROUPED) {
+            Map<String, StatementGroup> bySql = new LinkedHashMap<>();
+            for (PendingWrite write : pending) {
+                bySql.computeIfAbsent(write.sql, StatementGroup::new).rows.add(write.args);
+            }
+            groups.addAll(bySql.values());
+        } else {
+            StatementGroup current = null;
+            for (PendingWrite write : pending) {
+                if (current == null || !current.sql.equals(write.sql)) {
+                    current = new StatementGroup(write.sql);
+                    groups.add(current);
+                }
+                current.rows.add(write.args);
+            }
+        }
+        return groups;
+    }
+
+    private void execute(List<StatementGroup> groups) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        String sql = null;
+        try {
+            for (StatementGroup group : groups) {
+                sql = group.sql;
+                try (PreparedStatement statement = connection.prepareStatement(group.sql)) {
+                    if (group.rows.size() == 1) {
+                        bind(statement, group.rows.get(0));
+                        statement.executeUpdate();
+                        roundTrips.increment();
+                        continue;
+                    }
+                    int batched = 0;
+                    for (Object[] row : group.rows) {
+                        bind(statement, row);
+                        statement.addBatch();
+                        if (++batched == batchSize) {
+                            statement.executeBatch();
+                            roundTrips.increment();
+                            batched = 0;
+                        }
+                    }
+                    if (batched > 0) {
+                        statement.executeBatch();
+                        roundTrips.increment();
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new SystemException("Batch write failed: " + sql, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Object[] args) throws SQLException {
+        for (int i = 0; i < args.length; i++) {
+            statement.setObject(i + 1, args[i]);
+        }
+    }
+
+    /**
+     * 单个事务的写入缓冲区，同时作为事务同步器
+     */
+    private final class Buffer implements TransactionSynchronization {
+        private final List<PendingWrite> writes = new ArrayList<>();
+
+        private void flush() {
+            if (writes.isEmpty()) {
+                return;
+            }
+            List<StatementGroup> groups = plan(writes);
+            int size = writes.size();
+            writes.clear();
+            long start = System.nanoTime();
+            execute(groups);
+            if (log.isDebugEnabled()) {
+                log.debug("Flushed {} buffered writes in {} statement groups, {} ms", size, groups.size(),
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(TransactionalBatchWriter.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(TransactionalBatchWriter.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            flush();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TransactionalBatchWriter.this);
+            if (!writes.isEmpty()) {
+                log.debug("Discarded {} buffered writes, transaction status {}", writes.size(), status);
+                writes.clear();
+            }
+        }
+    }
+
+    private static final class PendingWrite {
+        private final String sql;
+        private final Object[] args;
+
+        private PendingWrite(String sql, Object[] args) {
+            this.sql = sql;
+            this.args = args;
+        }
+    }
+
+    private static final class StatementGroup {
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        private StatementGroup(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private final DataSource dataSource;
+        private int batchSize = 500;
+        private int maxBuffered = 10000;
+        private FlushOrdering ordering = FlushOrdering.STRICT;
+
+        private Builder(DataSource dataSource) {
+            this.dataSource = Objects.requireNonNull(dataSource, "dataSource cannot be null");
+        }
+
+        /**
+         * 每次 executeBatch 的最大行数，默认 500
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be > 0");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * 单个事务最多缓存的写入数，达到后立即刷出，默认 10000
+         */
+        public Builder maxBuffered(int maxBuffered) {
+            if (maxBuffered <= 0) {
+                throw new IllegalArgumentException("maxBuffered must be > 0");
+            }
+            this.maxBuffered = maxBuffered;
+            return this;
+        }
+
+        /**
+         * 刷出顺序，默认 {@link FlushOrdering#STRICT}
+         */
+        public Builder ordering(FlushOrdering ordering) {
+            this.ordering = Objects.requireNonNull(ordering, "ordering cannot be null");
+            return this;
+        }
+
+        public TransactionalBatchWriter build() {
+            return new TransactionalBatchWriter(this);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.qbit.framework.core.toolkits.transaction.dispatch;
+
+/**
+ * 按类型注册的提交后回调处理器
+ * 回调以「类型 + 字符串载荷」描述，失败后可以写入发件箱并在重启后重放
+ *
+ * @author Qbit Framework
+ */
+@FunctionalInterface
+public interface CallbackHandler {
+
+    /**
+     * 处理回调，抛出异常视为失败并按退避策略重试
+     *
+     * @param payload 回调载荷
+     * @throws Exception 处理失败
+     */
+    void handle(String payload) throws Exception;
+}
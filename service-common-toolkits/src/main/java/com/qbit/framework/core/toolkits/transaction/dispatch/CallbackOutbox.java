@@ -0,0 +1,28 @@
+package com.qbit.framework.core.toolkits.transaction.dispatch;
+
+import java.util.List;
+
+/**
+ * 回调发件箱，保存重试耗尽或停机时未执行的回调，供后续重放
+ *
+ * @author Qbit Framework
+ */
+public interface CallbackOutbox {
+
+    /**
+     * 保存条目，相同 ID 覆盖
+     */
+    void save(OutboxEntry entry);
+
+    /**
+     * 按保存顺序读取条目
+     *
+     * @param limit 最多读取条数
+     */
+    List<OutboxEntry> load(int limit);
+
+    /**
+     * 删除条目
+     */
+    void remove(String id);
+}
@@ -0,0 +1,90 @@
+package com.qbit.framework.core.toolkits.transaction.dispatch;
+
+import com.qbit.framework.core.toolkits.json.JSONUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基于本地目录的发件箱，每个条目一个 JSON 文件
+ * <p>先写临时文件再原子重命名，进程崩溃不会留下半个条目；文件名即条目 ID，按名称排序即保存顺序</p>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public class FileCallbackOutbox implements CallbackOutbox {
+
+    private static final String SUFFIX = ".json";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+
+    /**
+     * @param directory 存储目录，不存在时自动创建
+     */
+    public FileCallbackOutbox(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create outbox directory: " + directory, e);
+        }
+    }
+
+    @Override
+    public void save(OutboxEntry entry) {
+        Path target = directory.resolve(entry.getId() + SUFFIX);
+        Path temp = directory.resolve(entry.getId() + TEMP_SUFFIX);
+        try {
+            Files.write(temp, JSONUtil.toJsonBytes(entry));
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save outbox entry: " + entry.getId(), e);
+        }
+    }
+
+    @Override
+    public List<OutboxEntry> load(int limit) {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list outbox directory: " + directory, e);
+        }
+        files.sort(null);
+
+        List<OutboxEntry> entries = new ArrayList<>(Math.min(limit, files.size()));
+        for (Path file : files) {
+            if (entries.size() >= limit) {
+                break;
+            }
+            try {
+                entries.add(JSONUtil.fromJson(Files.readAllBytes(file), OutboxEntry.class));
+            } catch (Exception e) {
+                log.warn("Skip unreadable outbox entry: {}", file, e);
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public void remove(String id) {
+        try {
+            Files.deleteIfExists(directory.resolve(id + SUFFIX));
+        } catch (IOException e) {
+            log.warn("Failed to remove outbox entry: {}", id, e);
+        }
+    }
+}
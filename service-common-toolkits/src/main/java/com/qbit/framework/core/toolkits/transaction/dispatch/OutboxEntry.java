@@ -0,0 +1,38 @@
+package com.qbit.framework.core.toolkits.transaction.dispatch;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 发件箱条目
+ *
+ * @author Qbit Framework
+ */
+@Data
+public class OutboxEntry {
+
+    /** 条目 ID，按时间递增 */
+    private String id;
+
+    /** 顺序键，同一键的回调按提交顺序执行 */
+    private String key;
+
+    /** 回调类型，对应已注册的 {@link CallbackHandler} */
+    private String type;
+
+    /** 回调载荷 */
+    private String payload;
+
+    /** 提交时的 MDC 上下文（含链路 ID） */
+    private Map<String, String> context;
+
+    /** 已尝试次数 */
+    private int attempts;
+
+    /** 最后一次失败原因 */
+    private String lastError;
+
+    /** 首次提交时间（毫秒） */
+    private long createdAt;
+}
@@ -0,0 +1,575 @@
+package com.qbit.framework.core.toolkits.transaction.dispatch;
+
+import com.qbit.framework.core.toolkits.thread.HashedWheelTimer;
+import com.qbit.framework.core.toolkits.thread.ThreadPoolUtils;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownRegistry;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownStage;
+import com.qbit.framework.core.toolkits.tracing.context.MdcTraceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 事务提交后回调的异步分发器
+ * 把 afterCommit/afterRollback 中较慢的副作用（发 MQ、清缓存、HTTP 通知）交给有界线程池执行，
+ * 不再占用请求线程和数据库连接
+ *
+ * <p>特性：</p>
+ * <ul>
+ *   <li>按键保序：同一键的回调严格按提交顺序串行执行，前一个成功或放弃后才执行下一个；不同键并行</li>
+ *   <li>重试：失败后按指数退避重试（退避由 {@link HashedWheelTimer} 调度，不占用工作线程）</li>
+ *   <li>链路传播：执行时恢复提交时的 MDC 上下文</li>
+ *   <li>发件箱：按类型注册的回调在重试耗尽、分发器饱和或停机时写入 {@link CallbackOutbox}，
+ *       通过 {@link #replayOutbox(int)} 重放；条目 ID 在提交时生成，重放顺序即提交顺序。
+ *       {@link Runnable} 回调无法持久化，只记录错误日志，需要持久化的回调应使用类型回调</li>
+ *   <li>有界：在途回调数超过 {@code maxPending} 时不打乱键内顺序——该键已有排队回调时排在其后（允许超出上限）；
+ *       否则类型回调写入发件箱，且该键之后的类型回调也写入发件箱，直到下次重放；{@link Runnable} 回调在调用线程同步执行</li>
+ * </ul>
+ *
+ * <p>同一键混用 {@link Runnable} 与类型回调时，饱和期间写入发件箱的类型回调会晚于之后同步执行的 {@link Runnable} 回调。</p>
+ *
+ * <pre>{@code
+ * PostCommitDispatcher dispatcher = PostCommitDispatcher.builder()
+ *         .name("order-callbacks")
+ *         .threads(4)
+ *         .maxAttempts(5)
+ *         .outbox(new FileCallbackOutbox(Path.of("/data/outbox/order")))
+ *         .build();
+ * dispatcher.registerHandler("order.webhook", webhookService::send);
+ * dispatcher.replayOutbox(1000);
+ *
+ * LockTransactionUtil.builder(lock, transactionTemplate)
+ *     .action(() -> orderService.create(dto))
+ *     .afterCommit(order -> dispatcher.dispatch("order:" + order.getId(), "order.webhook", toJson(order)))
+ *     .execute();
+ * }</pre>
+ *
+ * <p>投递语义为至少一次：停机超时时正在执行的回调也会写入发件箱，处理器需保证幂等。</p>
+ *
+ * @author Qbit Framework
+ */
+@Slf4j
+public final class PostCommitDispatcher {
+
+    private static final AtomicLong ID_SEQUENCE = new AtomicLong();
+
+    private final String name;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final HashedWheelTimer retryTimer;
+    private final int maxPending;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final CallbackOutbox outbox;
+
+    private final Map<String, CallbackHandler> handlers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, KeyQueue> queues = new ConcurrentHashMap<>();
+    /** 饱和时有回调写入发件箱的键，之后的类型回调跟随写入，保证重放时的键内顺序 */
+    private final Set<String> divertedKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private volatile boolean closed;
+
+    private PostCommitDispatcher(Builder builder) {
+        this.name = builder.name;
+        this.ownsExecutor = builder.executor == null;
+        this.executor = ownsExecutor ? ThreadPoolUtils.newFixedThreadPool(builder.threads, builder.name) : builder.executor;
+        this.retryTimer = new HashedWheelTimer(builder.name + "-retry", Duration.ofMillis(10), 512, executor);
+        this.maxPending = builder.maxPending;
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.outbox = builder.outbox;
+
+        // 在工作线程池之前排空，未执行的回调写入发件箱
+        ShutdownRegistry.register(name, ShutdownStage.INGRESS, this,
+                (dispatcher, timeout) -> dispatcher.shutdown(timeout));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 注册类型回调处理器
+     */
+    public void registerHandler(String type, CallbackHandler handler) {
+        handlers.put(Objects.requireNonNull(type, "type cannot be null"),
+                Objects.requireNonNull(handler, "handler cannot be null"));
+    }
+
+    /**
+     * 分发回调，失败重试耗尽后只记录日志
+     * <p>{@link Runnable} 无法写入发件箱，需要持久化时使用 {@link #dispatch(String, String, String)}
+     *
+     * @param key      顺序键，同一键的回调按提交顺序执行
+     * @param callback 回调
+     */
+    public void dispatch(String key, Runnable callback) {
+        Objects.requireNonNull(callback, "callback cannot be null");
+        submit(new Task(key, MdcTraceContext.wrap(callback), null, null, MDC.getCopyOfContextMap(),
+                null, System.currentTimeMillis()));
+    }
+
+    /**
+     * 分发类型回调，失败重试耗尽后写入发件箱
+     *
+     * @param key     顺序键，同一键的回调按提交顺序执行
+     * @param type    回调类型，需已注册处理器
+     * @param payload 回调载荷
+     */
+    public void dispatch(String key, String type, String payload) {
+        if (!handlers.containsKey(type)) {
+            throw new IllegalArgumentException("No callback handler registered for type: " + type);
+        }
+        submit(new Task(key, null, type, payload, MDC.getCopyOfContextMap(), null, System.currentTimeMillis()));
+    }
+
+    /**
+     * 重放发件箱中的回调，应在处理器注册完成后、应用启动时调用一次
+     *
+     * @param limit 最多重放条数
+     * @return 重新分发的条数
+     */
+    public int replayOutbox(int limit) {
+        if (outbox == null) {
+            return 0;
+        }
+        // 重放的条目重新进入内存队列，新提交的回调排在其后
+        divertedKeys.clear();
+        int replayed = 0;
+        for (OutboxEntry entry : outbox.load(limit)) {
+            if (!handlers.containsKey(entry.getType())) {
+                log.warn("Skip outbox entry {}: no handler registered for type {}", entry.getId(), entry.getType());
+                continue;
+            }
+            submit(new Task(entry.getKey(), null, entry.getType(), entry.getPayload(), entry.getContext(),
+                    entry.getId(), entry.getCreatedAt()));
+            replayed++;
+        }
+        if (replayed > 0) {
+            log.info("Post-commit dispatcher [{}] replayed {} outbox entries", name, replayed);
+        }
+        return replayed;
+    }
+
+    /**
+     * 停止接收新回调，在给定时间内等待已提交的回调执行完毕；
+     * 超时后剩余类型回调写入发件箱
+     *
+     * @param timeout 等待时间
+     * @return 被放弃的 {@link Runnable} 回调数
+     */
+    public int shutdown(Duration timeout) {
+        closed = true;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        int abandoned = 0;
+        for (String key : List.copyOf(queues.keySet())) {
+            KeyQueue queue = queues.remove(key);
+            if (queue == null) {
+                continue;
+            }
+            synchronized (queue) {
+                for (Task task : queue.tasks) {
+                    pending.decrementAndGet();
+                    if (!persist(task, "dispatcher shut down")) {
+                        abandoned++;
+                    }
+                }
+                queue.tasks.clear();
+            }
+        }
+        retryTimer.stop();
+        ShutdownRegistry.unregister(this);
+        if (ownsExecutor) {
+            ThreadPoolUtils.shutdownGracefully(executor, Math.max(1, timeout.toMillis()), TimeUnit.MILLISECONDS);
+        }
+        if (abandoned > 0) {
+            log.warn("Post-commit dispatcher [{}] abandoned {} callbacks on shutdown", name, abandoned);
+        }
+        return abandoned;
+    }
+
+    /**
+     * 在途（排队、执行中、等待重试）的回调数
+     */
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    public long succeededCount() {
+        return succeeded.sum();
+    }
+
+    public long retriedCount() {
+        return retried.sum();
+    }
+
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    public long overflowedCount() {
+        return overflowed.sum();
+    }
+
+    // ==================== 内部实现 ====================
+
+    private void submit(Task task) {
+        if (closed || (task.isPersistable() && outbox != null && divertedKeys.contains(task.key))) {
+            overflow(task);
+            return;
+        }
+        boolean reserved = reserve();
+        boolean[] start = new boolean[1];
+        boolean[] queued = new boolean[1];
+        queues.compute(task.key, (k, queue) -> {
+            if (queue == null) {
+                if (!reserved) {
+                    return null;
+                }
+                queue = new KeyQueue();
+            }
+            synchronized (queue) {
+                queue.tasks.addLast(task);
+                if (!queue.running) {
+                    queue.running = true;
+                    start[0] = true;
+                }
+            }
+            if (!reserved) {
+                // 饱和但该键已有排队回调：排在其后以保持顺序，超出上限部分同样计入在途
+                pending.incrementAndGet();
+            }
+            queued[0] = true;
+            return queue;
+        });
+        if (!queued[0]) {
+            overflow(task);
+            return;
+        }
+        if (!reserved) {
+            overflowed.increment();
+        }
+        if (start[0]) {
+            schedule(task.key);
+        }
+    }
+
+    private boolean reserve() {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 分发器饱和（且该键没有排队回调）或已关闭：类型回调写入发件箱，Runnable 回调在调用线程同步执行
+     */
+    private void overflow(Task task) {
+        overflowed.increment();
+        if (task.isPersistable() && outbox != null) {
+            if (!closed) {
+                divertedKeys.add(task.key);
+            }
+            persist(task, closed ? "dispatcher shut down" : "dispatcher saturated");
+            return;
+        }
+        log.warn("Post-commit dispatcher [{}] {}, running callback inline, key={}", name,
+                closed ? "shut down" : "saturated", task.key);
+        Throwable error = attempt(task);
+        if (error != null) {
+            giveUp(task, error);
+        } else {
+            succeeded.increment();
+        }
+    }
+
+    private void schedule(String key) {
+        try {
+            executor.execute(() -> runHead(key));
+        } catch (RejectedExecutionException e) {
+            // 执行器已关闭，由 shutdown 负责把剩余回调写入发件箱
+            log.warn("Post-commit dispatcher [{}] executor rejected key {}", name, key);
+        }
+    }
+
+    private void runHead(String key) {
+        KeyQueue queue = queues.get(key);
+        if (queue == null) {
+            return;
+        }
+        Task task;
+        synchronized (queue) {
+            task = queue.tasks.peekFirst();
+        }
+        if (task == null) {
+            return;
+        }
+
+        Throwable error = attempt(task);
+        if (error == null) {
+            succeeded.increment();
+            if (task.outboxId != null && outbox != null) {
+                outbox.remove(task.outboxId);
+            }
+        } else if (task.attempts < maxAttempts) {
+            retried.increment();
+            long delay = backoffMillis(task.attempts);
+            log.debug("Post-commit callback failed (attempt {}/{}), retry in {} ms, key={}",
+                    task.attempts, maxAttempts, delay, key, error);
+            try {
+                retryTimer.newTimeout(() -> runHead(key), delay, TimeUnit.MILLISECONDS);
+                return;
+            } catch (RuntimeException e) {
+                giveUp(task, error);
+            }
+        } else {
+            giveUp(task, error);
+        }
+        advance(key);
+    }
+
+    /**
+     * 移除队首回调，队列非空时调度下一个，否则移除该键
+     */
+    private void advance(String key) {
+        boolean[] more = new boolean[1];
+        // 已被 shutdown 移除的键不再计数
+        queues.computeIfPresent(key, (k, queue) -> {
+            synchronized (queue) {
+                queue.tasks.pollFirst();
+                pending.decrementAndGet();
+                if (queue.tasks.isEmpty()) {
+                    return null;
+                }
+            }
+            more[0] = true;
+            return queue;
+        });
+        if (more[0]) {
+            schedule(key);
+        }
+    }
+
+    private Throwable attempt(Task task) {
+        task.attempts++;
+        try {
+            if (task.runnable != null) {
+                task.runnable.run();
+            } else {
+                try (MdcTraceContext ignored = MdcTraceContext.setAll(task.context)) {
+                    handlers.get(task.type).handle(task.payload);
+                }
+            }
+            return null;
+        } catch (Throwable e) {
+            task.lastError = e.toString();
+            return e;
+        }
+    }
+
+    private void giveUp(Task task, Throwable error) {
+        failed.increment();
+        if (!persist(task, error.toString())) {
+            log.error("Post-commit callback failed after {} attempts, key={}", task.attempts, task.key, error);
+        } else {
+            log.warn("Post-commit callback failed after {} attempts, saved to outbox, key={}",
+                    task.attempts, task.key, error);
+        }
+    }
+
+    /**
+     * 写入发件箱
+     *
+     * @return 是否已保存；Runnable 回调或未配置发件箱时返回 false
+     */
+    private boolean persist(Task task, String reason) {
+        if (!task.isPersistable() || outbox == null) {
+            return false;
+        }
+        OutboxEntry entry = new OutboxEntry();
+        entry.setId(task.id());
+        entry.setKey(task.key);
+        entry.setType(task.type);
+        entry.setPayload(task.payload);
+        entry.setContext(task.context);
+        entry.setAttempts(task.attempts);
+        entry.setLastError(task.lastError != null ? task.lastError : reason);
+        entry.setCreatedAt(task.createdAt);
+        try {
+            outbox.save(entry);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to save post-commit callback to outbox, key={}, type={}", task.key, task.type, e);
+            return false;
+        }
+    }
+
+    private long backoffMillis(int attempts) {
+        long base = initialBackoff.toMillis();
+        long delay = base << Math.min(attempts - 1, 20);
+        return Math.min(delay < 0 ? Long.MAX_VALUE : delay, maxBackoff.toMillis());
+    }
+
+    /**
+     * 单个键的待执行回调，running 表示该键已有调度中的执行
+     */
+    private static final class KeyQueue {
+        private final ArrayDeque<Task> tasks = new ArrayDeque<>();
+        private boolean running;
+    }
+
+    private static final class Task {
+        private final String key;
+        private final Runnable runnable;
+        private final String type;
+        private final String payload;
+        private final Map<String, String> context;
+        private final String outboxId;
+        private final long createdAt;
+        private final long sequence = ID_SEQUENCE.incrementAndGet();
+        private int attempts;
+        private String lastError;
+
+        private Task(String key, Runnable runnable, String type, String payload, Map<String, String> context,
+                     String outboxId, long createdAt) {
+            this.key = key != null ? key : "";
+            this.runnable = runnable;
+            this.type = type;
+            this.payload = payload;
+            this.context = context;
+            this.outboxId = outboxId;
+            this.createdAt = createdAt;
+        }
+
+        private boolean isPersistable() {
+            return type != null;
+        }
+
+        /**
+         * 发件箱条目 ID：重放的回调沿用原 ID，否则按提交时间和提交序号生成，文件名排序即提交顺序
+         */
+        private String id() {
+            return outboxId != null ? outboxId : String.format("%013d-%010d", createdAt, sequence);
+        }
+    }
+
+    /**
+     * 分发器构建器
+     */
+    public static final class Builder {
+        private String name = "post-commit";
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private ExecutorService executor;
+        private int maxPending = 10000;
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(30);
+        private CallbackOutbox outbox;
+
+        private Builder() {
+        }
+
+        /**
+         * 名称，用于线程名和停机注册，默认 post-commit
+         */
+        public Builder name(String name) {
+            this.name = Objects.requireNonNull(name, "name cannot be null");
+            return this;
+        }
+
+        /**
+         * 工作线程数，默认 CPU 核数；指定 executor 时忽略
+         */
+        public Builder threads(int threads) {
+            if (threads <= 0) {
+                throw new IllegalArgumentException("threads must be > 0");
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * 执行器；不指定时创建固定大小线程池，停机时一并关闭
+         * <p>执行器不应使用 CallerRuns 拒绝策略，否则会在重试时间轮线程中执行回调
+         */
+        public Builder executor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * 最大在途回调数，默认 10000
+         */
+        public Builder maxPending(int maxPending) {
+            if (maxPending <= 0) {
+                throw new IllegalArgumentException("maxPending must be > 0");
+            }
+            this.maxPending = maxPending;
+            return this;
+        }
+
+        /**
+         * 每个回调的最大尝试次数（含首次），默认 3
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts <= 0) {
+                throw new IllegalArgumentException("maxAttempts must be > 0");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * 重试初始退避，每次翻倍，默认 200ms
+         */
+        public Builder initialBackoff(Duration initialBackoff) {
+            this.initialBackoff = Objects.requireNonNull(initialBackoff, "initialBackoff cannot be null");
+            return this;
+        }
+
+        /**
+         * 重试最大退避，默认 30s
+         */
+        public Builder maxBackoff(Duration maxBackoff) {
+            this.maxBackoff = Objects.requireNonNull(maxBackoff, "maxBackoff cannot be null");
+            return this;
+        }
+
+        /**
+         * 发件箱，不指定时失败的回调只记录日志
+         */
+        public Builder outbox(CallbackOutbox outbox) {
+            this.outbox = outbox;
+            return this;
+        }
+
+        public PostCommitDispatcher build() {
+            return new PostCommitDispatcher(this);
+        }
+    }
+}
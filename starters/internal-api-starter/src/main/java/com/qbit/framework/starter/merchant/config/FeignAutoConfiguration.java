@@ -1,5 +1,8 @@
 package com.qbit.framework.starter.merchant.config;
 
+import com.qbit.framework.core.toolkits.http.OkHttpClientImpl;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownRegistry;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownStage;
 import com.qbit.framework.starter.merchant.interceptor.InternalRequestInterceptor;
 import com.qbit.framework.starter.merchant.properties.FeignApiProperties;
 import feign.Client;
@@ -93,7 +96,10 @@ public class FeignAutoConfiguration {
         if (Boolean.TRUE.equals(properties.getLogEnabled())) {
             builder.addInterceptor(buildHttpLoggingInterceptor(properties));
         }
-        return builder.build();
+        OkHttpClient client = builder.build();
+        // 优雅停机 I/O 阶段等待进行中的 Feign 调用完成后再释放连接
+        ShutdownRegistry.register("feign-okhttp", ShutdownStage.IO, client, OkHttpClientImpl.SHUTDOWN_HANDLER);
+        return client;
     }
 
     /**
@@ -2,6 +2,8 @@ package com.qbit.framework.business.xxljob.starter.config;
 
 import com.qbit.framework.business.xxljob.starter.properties.XxlJobProperties;
 import com.xxl.job.core.executor.impl.XxlJobSpringExecutor;
+import com.qbit.framework.business.xxljob.starter.support.DrainableXxlJobSpringExecutor;
+import com.qbit.framework.business.xxljob.starter.support.XxlJobShutdownRegistrar;
 import com.qbit.framework.business.xxljob.starter.support.XxlJobTrigger;
 import com.qbit.framework.business.xxljob.starter.actuator.XxlJobHealthIndicator;
 import org.springframework.beans.factory.ObjectProvider;
@@ -30,7 +32,7 @@ public class XxlJobAutoConfiguration {
         if (!StringUtils.hasText(props.getAppname())) {
             throw new IllegalStateException("xxl.job.appname 未配置");
         }
-        XxlJobSpringExecutor executor = new XxlJobSpringExecutor();
+        XxlJobSpringExecutor executor = new DrainableXxlJobSpringExecutor();
         executor.setAdminAddresses(props.getAdminAddresses());
         executor.setAccessToken(props.getAccessToken());
         executor.setAppname(props.getAppname());
@@ -59,6 +61,13 @@ public class XxlJobAutoConfiguration {
         return new XxlJobTrigger();
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "com.qbit.framework.core.toolkits.thread.shutdown.ShutdownRegistry")
+    public XxlJobShutdownRegistrar xxlJobShutdownRegistrar(XxlJobSpringExecutor executor) {
+        return new XxlJobShutdownRegistrar(executor);
+    }
+
     @Bean
     @ConditionalOnClass(name = "org.springframework.boot.actuate.health.HealthIndicator")
     @ConditionalOnProperty(prefix = "xxl.job", name = "healthEnabled", havingValue = "true")
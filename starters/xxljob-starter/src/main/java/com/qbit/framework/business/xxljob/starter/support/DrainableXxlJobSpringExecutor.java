@@ -0,0 +1,98 @@
+package com.qbit.framework.business.xxljob.starter.support;
+
+import com.xxl.job.core.context.XxlJobHelper;
+import com.xxl.job.core.executor.XxlJobExecutor;
+import com.xxl.job.core.executor.impl.XxlJobSpringExecutor;
+import com.xxl.job.core.handler.IJobHandler;
+import com.xxl.job.core.handler.annotation.XxlJob;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 支持优雅停机的 XXL-Job 执行器
+ * <p>注册 {@link XxlJob} 方法时用计数包装替换原处理器：停机开始后新触发的任务直接返回失败，由调度中心按失败重试或故障转移处理；
+ * 已在执行的任务计入在途数，供 {@link XxlJobShutdownRegistrar} 等待。执行器本身仍由 Spring 在 Bean 销毁时关闭</p>
+ * <p>只依赖 xxl-job 的公开与受保护 API；GLUE 模式的任务不经过处理器仓库，不在等待范围内</p>
+ *
+ * @author Qbit Framework
+ */
+public class DrainableXxlJobSpringExecutor extends XxlJobSpringExecutor {
+
+    private static final long POLL_INTERVAL_MILLIS = 100L;
+
+    private final AtomicInteger runningJobs = new AtomicInteger();
+    private volatile boolean draining;
+
+    @Override
+    protected void registJobHandler(XxlJob xxlJob, Object bean, Method executeMethod) {
+        super.registJobHandler(xxlJob, bean, executeMethod);
+        IJobHandler handler = XxlJobExecutor.loadJobHandler(xxlJob.value());
+        if (handler != null && !(handler instanceof DrainingJobHandler)) {
+            XxlJobExecutor.registJobHandler(xxlJob.value(), new DrainingJobHandler(handler));
+        }
+    }
+
+    /**
+     * 停止接收新触发的任务，不等待
+     */
+    public void stopAccepting() {
+        draining = true;
+    }
+
+    /**
+     * 正在执行的任务数
+     */
+    public int runningJobs() {
+        return runningJobs.get();
+    }
+
+    /**
+     * 在给定时间内等待正在执行的任务结束
+     *
+     * @return 超时后仍在执行的任务数
+     */
+    public int awaitRunningJobs(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int running;
+        while ((running = runningJobs.get()) > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+        return running;
+    }
+
+    private final class DrainingJobHandler extends IJobHandler {
+
+        private final IJobHandler delegate;
+
+        private DrainingJobHandler(IJobHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute() throws Exception {
+            // 先计数再检查，保证 awaitRunningJobs 不会漏掉检查之后才开始的任务
+            runningJobs.incrementAndGet();
+            try {
+                if (draining) {
+                    XxlJobHelper.handleFail("executor is shutting down");
+                    return;
+                }
+                delegate.execute();
+            } finally {
+                runningJobs.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void init() throws Exception {
+            delegate.init();
+        }
+
+        @Override
+        public void destroy() throws Exception {
+            delegate.destroy();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.qbit.framework.business.xxljob.starter.support;
+
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownHandler;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownRegistry;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownStage;
+import com.xxl.job.core.executor.impl.XxlJobSpringExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.time.Duration;
+
+/**
+ * 将 XXL-Job 执行器注册到框架优雅停机流程的 INGRESS 阶段：
+ * 先拒绝新触发的任务，再等待正在执行的任务结束
+ * <p>执行器的销毁（停止内嵌服务器、回收任务线程）仍交给 Spring 的 Bean 生命周期，
+ * INGRESS 阶段在 Bean 销毁之前执行，这里不会重复销毁执行器</p>
+ * <p>只有 {@link DrainableXxlJobSpringExecutor} 能被排空，自定义的普通执行器会跳过注册</p>
+ */
+@Slf4j
+public class XxlJobShutdownRegistrar implements SmartInitializingSingleton {
+
+    private static final ShutdownHandler<DrainableXxlJobSpringExecutor> HANDLER = new ShutdownHandler<>() {
+        @Override
+        public void initiate(DrainableXxlJobSpringExecutor executor) {
+            executor.stopAccepting();
+        }
+
+        @Override
+        public int awaitDrained(DrainableXxlJobSpringExecutor executor, Duration timeout) throws InterruptedException {
+            executor.stopAccepting();
+            return executor.awaitRunningJobs(timeout);
+        }
+    };
+
+    private final XxlJobSpringExecutor executor;
+
+    public XxlJobShutdownRegistrar(XxlJobSpringExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (executor instanceof DrainableXxlJobSpringExecutor drainable) {
+            ShutdownRegistry.register("xxl-job-executor", ShutdownStage.INGRESS, drainable, HANDLER);
+        } else {
+            log.info("xxl-job executor {} is not drainable, running jobs will not be awaited on shutdown",
+                    executor.getClass().getName());
+        }
+    }
+}
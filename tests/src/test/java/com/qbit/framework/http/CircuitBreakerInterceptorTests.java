@@ -0,0 +1,322 @@
+package com.qbit.framework.http;
+
+import com.qbit.framework.core.toolkits.http.HttpClient;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import com.qbit.framework.core.toolkits.http.JdkHttpClientImpl;
+import com.qbit.framework.core.toolkits.http.interceptor.CircuitBreaker;
+import com.qbit.framework.core.toolkits.http.interceptor.CircuitBreakerInterceptor;
+import com.qbit.framework.core.toolkits.http.interceptor.CircuitBreakerListener;
+import com.qbit.framework.core.toolkits.http.interceptor.CircuitBreakerOpenException;
+import com.qbit.framework.core.toolkits.http.interceptor.HttpInterceptor;
+import com.qbit.framework.core.toolkits.http.interceptor.RetryBudget;
+import com.qbit.framework.core.toolkits.http.interceptor.RetryInterceptor;
+import com.qbit.framework.core.toolkits.tracing.context.MdcTraceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.qbit.framework.core.toolkits.constants.WebConstants.TRACE_ID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerInterceptorTests {
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicInteger failuresBeforeSuccess = new AtomicInteger();
+    private StubServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer()
+                .route("/status", exchange -> StubServer.respond(exchange, status.get(), "ok".getBytes(StandardCharsets.UTF_8)))
+                // 在假时钟上耗时 3 秒
+                .route("/slow", exchange -> {
+                    clock.advance(Duration.ofSeconds(3));
+                    StubServer.respond(exchange, 200, "ok".getBytes(StandardCharsets.UTF_8));
+                })
+                .route("/flaky", exchange -> {
+                    int code = failuresBeforeSuccess.getAndDecrement() > 0 ? 503 : 200;
+                    StubServer.respond(exchange, code, "ok".getBytes(StandardCharsets.UTF_8));
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void failureRateOpensBreakerAndHalfOpenProbesDecide() throws Exception {
+        CircuitBreakerInterceptor breaker = CircuitBreakerInterceptor.builder()
+                .windowSize(10)
+                .minimumCalls(10)
+                .failureRateThreshold(50)
+                .openDuration(Duration.ofSeconds(30))
+                .halfOpenCalls(2)
+                .clock(clock)
+                .build();
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(breaker);
+        HttpRequest request = HttpRequest.builder(server.url("/status")).build();
+        String host = "127.0.0.1:" + request.getUrl().split(":")[2].split("/")[0];
+
+        for (int i = 0; i < 10; i++) {
+            status.set(i < 4 ? 200 : 500);
+            client.execute(request);
+        }
+        CircuitBreaker hostBreaker = breaker.getBreakers().get(host);
+        assertEquals(CircuitBreaker.State.OPEN, hostBreaker.getState());
+        assertEquals(60F, hostBreaker.getFailureRate());
+
+        // 熔断期间快速失败，请求不到达下游
+        assertThrows(CircuitBreakerOpenException.class, () -> client.execute(request));
+        ExecutionException async = assertThrows(ExecutionException.class,
+                () -> client.executeAsync(request).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(CircuitBreakerOpenException.class, async.getCause());
+        assertEquals(10, server.requests.get());
+        assertEquals(2, breaker.getRejectedCount());
+
+        // 半开探测失败，重新熔断
+        clock.advance(Duration.ofSeconds(31));
+        client.execute(request);
+        client.execute(request);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(host));
+        assertEquals(2, hostBreaker.getOpenCount());
+        assertThrows(CircuitBreakerOpenException.class, () -> client.execute(request));
+
+        // 半开探测成功，恢复并清空窗口
+        clock.advance(Duration.ofSeconds(31));
+        status.set(200);
+        client.execute(request);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, hostBreaker.getState());
+        client.execute(request);
+        assertEquals(CircuitBreaker.State.CLOSED, hostBreaker.getState());
+        assertEquals(0, hostBreaker.getBufferedCalls());
+        assertEquals(14, server.requests.get());
+    }
+
+    @Test
+    void stateLookupNormalizesHostLikeBreakerKeys() {
+        CircuitBreakerInterceptor breaker = CircuitBreakerInterceptor.builder()
+                .windowSize(2)
+                .minimumCalls(2)
+                .clock(clock)
+                .build();
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(breaker);
+        String url = server.url("/status");
+        String host = "127.0.0.1:" + url.split(":")[2].split("/")[0];
+        status.set(500);
+        client.execute(HttpRequest.builder(url).build());
+        client.execute(HttpRequest.builder(url).build());
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(host));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(url));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState("HTTP://" + host + "/other?q=1"));
+        // 不带端口时按默认端口查找，与实际调用的端口不同
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState("127.0.0.1"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState("https://127.0.0.1/status"));
+    }
+
+    @Test
+    void listenersSeeCreationTransitionsAndRejections() {
+        CircuitBreakerInterceptor breaker = CircuitBreakerInterceptor.builder()
+                .windowSize(2)
+                .minimumCalls(2)
+                .halfOpenCalls(1)
+                .clock(clock)
+                .build();
+        List<String> events = new CopyOnWriteArrayList<>();
+        breaker.addListener(new CircuitBreakerListener() {
+            @Override
+            public void onCreated(CircuitBreaker created) {
+                events.add("created");
+            }
+
+            @Override
+            public void onStateTransition(CircuitBreaker b, CircuitBreaker.State from, CircuitBreaker.State to) {
+                events.add(from + "->" + to);
+            }
+
+            @Override
+            public void onRejected(CircuitBreaker b) {
+                events.add("rejected");
+            }
+        });
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(breaker);
+        HttpRequest request = HttpRequest.builder(server.url("/status")).build();
+
+        status.set(500);
+        client.execute(request);
+        client.execute(request);
+        assertThrows(CircuitBreakerOpenException.class, () -> client.execute(request));
+        clock.advance(Duration.ofSeconds(31));
+        status.set(200);
+        client.execute(request);
+
+        assertEquals(List.of("created", "CLOSED->OPEN", "rejected", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), events);
+    }
+
+    @Test
+    void errorsReleaseHalfOpenPermit() {
+        CircuitBreakerInterceptor breaker = CircuitBreakerInterceptor.builder()
+                .windowSize(2)
+                .minimumCalls(2)
+                .halfOpenCalls(1)
+                .clock(clock)
+                .build();
+        AtomicBoolean fail = new AtomicBoolean();
+        HttpInterceptor error = new HttpInterceptor() {
+            @Override
+            public HttpResponse intercept(Chain chain) {
+                if (fail.get()) {
+                    throw new AssertionError("boom");
+                }
+                return chain.proceed(chain.request());
+            }
+
+            @Override
+            public int getOrder() {
+                return Integer.MAX_VALUE;
+            }
+        };
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(breaker).addInterceptor(error);
+        HttpRequest request = HttpRequest.builder(server.url("/status")).build();
+        status.set(500);
+        client.execute(request);
+        client.execute(request);
+        clock.advance(Duration.ofSeconds(31));
+
+        // 半开探测抛出 Error：计为失败并重新熔断，而不是一直占用唯一的探测许可
+        fail.set(true);
+        assertThrows(AssertionError.class, () -> client.execute(request));
+        String host = breaker.getBreakers().keySet().iterator().next();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(host));
+
+        fail.set(false);
+        status.set(200);
+        clock.advance(Duration.ofSeconds(31));
+        assertEquals(200, client.execute(request).getStatusCode());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(host));
+    }
+
+    @Test
+    void slowCallsOpenBreaker() {
+        CircuitBreakerInterceptor breaker = CircuitBreakerInterceptor.builder()
+                .windowSize(20)
+                .minimumCalls(5)
+                .slowCall(Duration.ofSeconds(2), 80)
+                .clock(clock)
+                .build();
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(breaker);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, client.execute(HttpRequest.builder(server.url("/slow")).build()).getStatusCode());
+        }
+        CircuitBreaker hostBreaker = breaker.getBreakers().values().iterator().next();
+        assertEquals(CircuitBreaker.State.OPEN, hostBreaker.getState());
+        assertEquals(100F, hostBreaker.getSlowCallRate());
+        assertEquals(0F, hostBreaker.getFailureRate());
+        assertThrows(CircuitBreakerOpenException.class,
+                () -> client.execute(HttpRequest.builder(server.url("/status")).build()));
+    }
+
+    @Test
+    void retriesStayWithinBudgetAndStopWhenBreakerOpens() {
+        failuresBeforeSuccess.set(2);
+        RetryInterceptor retry = RetryInterceptor.builder()
+                .maxAttempts(3)
+                .backoff(Duration.ZERO, Duration.ZERO)
+                .budget(new RetryBudget(10, 2))
+                .build();
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(retry);
+        assertEquals(200, client.execute(HttpRequest.builder(server.url("/flaky")).build()).getStatusCode());
+        assertEquals(2, retry.getRetryCount());
+        assertEquals(3, server.requests.get());
+
+        // 下游持续故障：重试量受预算限制
+        status.set(503);
+        int requests = 100;
+        for (int i = 0; i < requests; i++) {
+            assertEquals(503, client.execute(HttpRequest.builder(server.url("/status")).build()).getStatusCode());
+        }
+        long retries = retry.getRetryCount() - 2;
+        assertTrue(retries > 0);
+        assertTrue(retries <= requests * 10 / 100 + 1, "retries beyond 10% budget: " + retries);
+        assertTrue(retry.getBudgetExhaustedCount() > 0);
+        assertEquals(3 + requests + retries, server.requests.get());
+
+        // 熔断后不再重试
+        CircuitBreakerInterceptor breaker = CircuitBreakerInterceptor.builder()
+                .windowSize(5)
+                .minimumCalls(5)
+                .clock(clock)
+                .build();
+        RetryInterceptor unlimited = RetryInterceptor.builder()
+                .maxAttempts(10)
+                .backoff(Duration.ZERO, Duration.ZERO)
+                .budget(new RetryBudget(100, 100))
+                .build();
+        HttpClient guarded = new JdkHttpClientImpl().addInterceptor(breaker).addInterceptor(unlimited);
+        int before = server.requests.get();
+        assertThrows(CircuitBreakerOpenException.class,
+                () -> guarded.execute(HttpRequest.builder(server.url("/status")).build()));
+        // 第 5 次失败后熔断，第 5 次重试被熔断器拒绝，不再继续重试
+        assertEquals(5, server.requests.get() - before);
+        assertEquals(5, unlimited.getRetryCount());
+        assertEquals(1, breaker.getRejectedCount());
+    }
+
+    @Test
+    void asyncRetriesRunWithCallerMdc() throws Exception {
+        failuresBeforeSuccess.set(2);
+        RetryInterceptor retry = RetryInterceptor.builder()
+                .maxAttempts(3)
+                .backoff(Duration.ofMillis(10), Duration.ofMillis(20))
+                .budget(new RetryBudget(100, 10))
+                .build();
+        List<String> attemptTraces = new CopyOnWriteArrayList<>();
+        HttpInterceptor probe = new HttpInterceptor() {
+            @Override
+            public HttpResponse intercept(Chain chain) {
+                return chain.proceed(chain.request());
+            }
+
+            @Override
+            public CompletableFuture<HttpResponse> interceptAsync(Chain chain) {
+                attemptTraces.add(String.valueOf(MDC.get(TRACE_ID)));
+                return chain.proceedAsync(chain.request());
+            }
+
+            @Override
+            public int getOrder() {
+                // 在重试拦截器之内，记录每次尝试
+                return 100;
+            }
+        };
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(retry).addInterceptor(probe);
+        // 先在空 MDC 下启动延迟调度线程，避免基于 InheritableThreadLocal 的 MDC 实现让它继承调用方的上下文
+        CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(1, TimeUnit.MILLISECONDS)).get(5, TimeUnit.SECONDS);
+
+        CompletableFuture<String> trace;
+        try (MdcTraceContext ignored = MdcTraceContext.put(TRACE_ID, "trace-retry")) {
+            trace = client.executeAsync(HttpRequest.builder(server.url("/flaky")).build())
+                    .thenApply(response -> response.getStatusCode() + ":" + MDC.get(TRACE_ID));
+        }
+
+        // 重试在退避线程上发出，完成时仍恢复调用方的 MDC
+        assertEquals("200:trace-retry", trace.get(5, TimeUnit.SECONDS));
+        assertEquals(2, retry.getRetryCount());
+        assertEquals(List.of("trace-retry", "trace-retry", "trace-retry"), attemptTraces);
+    }
+}
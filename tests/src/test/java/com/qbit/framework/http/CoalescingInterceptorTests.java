@@ -0,0 +1,168 @@
+package com.qbit.framework.http;
+
+import com.qbit.framework.core.toolkits.http.HttpClient;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import com.qbit.framework.core.toolkits.http.JdkHttpClientImpl;
+import com.qbit.framework.core.toolkits.http.interceptor.CoalescingInterceptor;
+import com.qbit.framework.core.toolkits.http.interceptor.HttpInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingInterceptorTests {
+
+    private static final int CALLERS = 50;
+
+    private StubServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer().route("/hot", exchange -> {
+            StubServer.sleep(300);
+            String user = String.valueOf(exchange.getRequestHeaders().getFirst("Authorization"));
+            StubServer.respond(exchange, 200, ("hot:" + user).getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void concurrentIdenticalGetsShareOneUpstreamCall() throws Exception {
+        CoalescingInterceptor coalescing = CoalescingInterceptor.builder().build();
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(coalescing);
+        HttpRequest request = HttpRequest.builder(server.url("/hot")).build();
+
+        List<HttpResponse> responses = callConcurrently(client, request, CALLERS);
+
+        assertEquals(1, server.requests.get());
+        assertEquals(CALLERS, responses.size());
+        Set<Object> distinctHeaders = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (HttpResponse response : responses) {
+            assertEquals("hot:null", response.getBody());
+            distinctHeaders.add(response.getHeaders());
+        }
+        // 每个调用方拿到独立的副本
+        assertEquals(CALLERS, distinctHeaders.size());
+        assertEquals(1, coalescing.getLeaderCount());
+        assertEquals(CALLERS - 1, coalescing.getCoalescedCount());
+        assertEquals(0, coalescing.getInFlightCount());
+
+        // 异步调用同样合并
+        List<CompletableFuture<HttpResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(client.executeAsync(request));
+        }
+        for (CompletableFuture<HttpResponse> future : futures) {
+            assertEquals("hot:null", future.get(5, TimeUnit.SECONDS).getBody());
+        }
+        assertEquals(2, server.requests.get());
+    }
+
+    @Test
+    void leaderCancellationDoesNotAbortSharedCall() throws Exception {
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(CoalescingInterceptor.builder().build());
+        HttpRequest request = HttpRequest.builder(server.url("/hot")).build();
+
+        CompletableFuture<HttpResponse> leader = client.executeAsync(request);
+        CompletableFuture<HttpResponse> follower = client.executeAsync(request);
+        leader.cancel(true);
+
+        assertTrue(leader.isCancelled());
+        assertEquals("hot:null", follower.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, server.requests.get());
+    }
+
+    @Test
+    void leaderErrorIsSharedWithWaitersImmediately() throws Exception {
+        CountDownLatch leaderEntered = new CountDownLatch(1);
+        HttpInterceptor failing = chain -> {
+            leaderEntered.countDown();
+            StubServer.sleep(300);
+            throw new ServiceConfigurationError("broken transport");
+        };
+        CoalescingInterceptor coalescing = CoalescingInterceptor.builder().build();
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(coalescing).addInterceptor(failing);
+        HttpRequest request = HttpRequest.builder(server.url("/hot")).build();
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<HttpResponse> leader = pool.submit(() -> client.execute(request));
+        assertTrue(leaderEntered.await(5, TimeUnit.SECONDS));
+        Future<HttpResponse> follower = pool.submit(() -> client.execute(request));
+
+        // 等待者不应挂到 maxWait（默认 30 秒）后再自行调用
+        ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertInstanceOf(ServiceConfigurationError.class, leaderError.getCause());
+        assertInstanceOf(ServiceConfigurationError.class, followerError.getCause());
+        assertEquals(1, coalescing.getCoalescedCount());
+        assertEquals(0, coalescing.getInFlightCount());
+        assertEquals(0, server.requests.get());
+    }
+
+    @Test
+    void keyHeadersSeparateCallersAndMaxWaitFallsBack() throws Exception {
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(CoalescingInterceptor.builder().build());
+        List<HttpResponse> alice = new ArrayList<>();
+        List<HttpResponse> bob = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<List<HttpResponse>> a = pool.submit(() -> callConcurrently(client,
+                HttpRequest.builder(server.url("/hot")).header("Authorization", "alice").build(), 10));
+        Future<List<HttpResponse>> b = pool.submit(() -> callConcurrently(client,
+                HttpRequest.builder(server.url("/hot")).header("Authorization", "bob").build(), 10));
+        alice.addAll(a.get(10, TimeUnit.SECONDS));
+        bob.addAll(b.get(10, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertEquals(2, server.requests.get());
+        alice.forEach(response -> assertEquals("hot:alice", response.getBody()));
+        bob.forEach(response -> assertEquals("hot:bob", response.getBody()));
+
+        CoalescingInterceptor impatient = CoalescingInterceptor.builder().maxWait(Duration.ofMillis(50)).build();
+        HttpClient impatientClient = new JdkHttpClientImpl().addInterceptor(impatient);
+        callConcurrently(impatientClient, HttpRequest.builder(server.url("/hot")).build(), 4);
+        assertEquals(2 + 4, server.requests.get());
+        assertEquals(3, impatient.getTimeoutCount());
+    }
+
+    private static List<HttpResponse> callConcurrently(HttpClient client, HttpRequest request, int callers)
+            throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<HttpResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return client.execute(request);
+            }));
+        }
+        start.countDown();
+        List<HttpResponse> responses = new ArrayList<>();
+        for (Future<HttpResponse> future : futures) {
+            responses.add(future.get(10, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        return responses;
+    }
+}
@@ -0,0 +1,136 @@
+package com.qbit.framework.http;
+
+import com.qbit.framework.core.toolkits.http.HttpClient;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import com.qbit.framework.core.toolkits.http.JdkHttpClientImpl;
+import com.qbit.framework.core.toolkits.http.interceptor.HedgingInterceptor;
+import com.qbit.framework.core.toolkits.http.interceptor.HttpInterceptor;
+import com.qbit.framework.core.toolkits.tracing.context.MdcTraceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingInterceptorTests {
+
+    private static final int REQUESTS = 400;
+
+    private final Random random = new Random(42);
+    private StubServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer()
+                // 长尾分布：95% 约 5ms，5% 约 500ms
+                .route("/tail", exchange -> {
+                    StubServer.sleep(nextIsSlow(0.05) ? 500 : 5);
+                    StubServer.respond(exchange, 200, "ok".getBytes(StandardCharsets.UTF_8));
+                })
+                .route("/slow", exchange -> {
+                    StubServer.sleep(60);
+                    StubServer.respond(exchange, 200, "ok".getBytes(StandardCharsets.UTF_8));
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void hedgingCutsTailLatency() {
+        HttpRequest request = HttpRequest.builder(server.url("/tail")).build();
+        long plainP99 = p99(new JdkHttpClientImpl(), request);
+
+        HedgingInterceptor hedging = HedgingInterceptor.builder()
+                // 按观测到的 p90 延迟对冲，只有落入长尾的请求才会触发
+                .percentileDelay(0.9, Duration.ofMillis(100))
+                .budgetPercent(20)
+                .build();
+        long hedgedP99 = p99(new JdkHttpClientImpl().addInterceptor(hedging), request);
+
+        assertTrue(hedgedP99 * 2 < plainP99,
+                "hedging should at least halve p99: " + plainP99 + " ms -> " + hedgedP99 + " ms");
+        assertTrue(hedging.getHedgeWinCount() > 0);
+        assertTrue(hedging.getHedgeCount() <= REQUESTS * 20 / 100 + 10);
+    }
+
+    @Test
+    void budgetCapsExtraLoadWhenEverythingIsSlow() {
+        HedgingInterceptor hedging = HedgingInterceptor.builder()
+                .percentileDelay(0.5, Duration.ofMillis(10))
+                .delayBounds(Duration.ofMillis(5), Duration.ofMillis(20))
+                .budgetPercent(5)
+                .maxBurst(5)
+                .build();
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(hedging);
+        int requests = 100;
+        for (int i = 0; i < requests; i++) {
+            assertEquals("ok", client.execute(HttpRequest.builder(server.url("/slow")).build()).getBody());
+        }
+        assertTrue(hedging.getHedgeCount() <= 5 + requests * 5 / 100);
+        // 原请求都在 60ms 左右返回，分位数延迟被限制在上限
+        assertEquals(Duration.ofMillis(20), hedging.getCurrentDelay());
+        assertTrue(hedging.getBudgetExhaustedCount() > 0);
+        assertEquals(requests + hedging.getHedgeCount(), server.requests.get());
+    }
+
+    @Test
+    void hedgeIsIssuedWithCallerMdc() {
+        List<String> traceIds = new CopyOnWriteArrayList<>();
+        HttpInterceptor probe = new HttpInterceptor() {
+            @Override
+            public HttpResponse intercept(Chain chain) {
+                return chain.proceed(chain.request());
+            }
+
+            @Override
+            public CompletableFuture<HttpResponse> interceptAsync(Chain chain) {
+                traceIds.add(String.valueOf(MDC.get("X-TraceId")));
+                return chain.proceedAsync(chain.request());
+            }
+
+            @Override
+            public int getOrder() {
+                return Integer.MAX_VALUE;
+            }
+        };
+        HedgingInterceptor hedging = HedgingInterceptor.builder().delay(Duration.ofMillis(10)).build();
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(hedging).addInterceptor(probe);
+
+        try (MdcTraceContext scope = MdcTraceContext.put("X-TraceId", "trace-1")) {
+            assertEquals("ok", client.execute(HttpRequest.builder(server.url("/slow")).build()).getBody());
+        }
+        assertEquals(1, hedging.getHedgeCount());
+        assertEquals(List.of("trace-1", "trace-1"), traceIds);
+    }
+
+    private static long p99(HttpClient client, HttpRequest request) {
+        long[] latencies = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            long start = System.nanoTime();
+            assertEquals("ok", client.execute(request).getBody());
+            latencies[i] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+        Arrays.sort(latencies);
+        return latencies[(int) Math.ceil(REQUESTS * 0.99) - 1];
+    }
+
+    private boolean nextIsSlow(double probability) {
+        synchronized (random) {
+            return random.nextDouble() < probability;
+        }
+    }
+}
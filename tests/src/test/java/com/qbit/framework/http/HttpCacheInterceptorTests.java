@@ -0,0 +1,186 @@
+package com.qbit.framework.http;
+
+import com.qbit.framework.core.toolkits.http.HttpClient;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import com.qbit.framework.core.toolkits.http.JdkHttpClientImpl;
+import com.qbit.framework.core.toolkits.http.cache.HttpCacheInterceptor;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpCacheInterceptorTests {
+
+    private static final int BIG_BODY = 512 * 1024;
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger version = new AtomicInteger(1);
+    private final AtomicInteger notModified = new AtomicInteger();
+    private StubServer server;
+    private HttpCacheInterceptor cache;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer()
+                .route("/config", exchange -> versioned(exchange, "max-age=60"))
+                .route("/swr", exchange -> versioned(exchange, "max-age=10, stale-while-revalidate=30"))
+                .route("/nostore", exchange -> {
+                    exchange.getResponseHeaders().set("Cache-Control", "no-store");
+                    StubServer.respond(exchange, 200, "fresh".getBytes(StandardCharsets.UTF_8));
+                })
+                .route("/account", exchange -> {
+                    exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+                    String user = String.valueOf(exchange.getRequestHeaders().getFirst("Authorization"));
+                    StubServer.respond(exchange, 200, ("account:" + user).getBytes(StandardCharsets.UTF_8));
+                })
+                .route("/catalog", exchange -> {
+                    exchange.getResponseHeaders().set("Cache-Control", "public, max-age=60");
+                    StubServer.respond(exchange, 200, "catalog".getBytes(StandardCharsets.UTF_8));
+                })
+                .route("/big", exchange -> {
+                    exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+                    StubServer.respond(exchange, 200, "x".repeat(BIG_BODY).getBytes(StandardCharsets.UTF_8));
+                });
+        cache = HttpCacheInterceptor.builder().clock(clock).build();
+        client = new JdkHttpClientImpl().addInterceptor(cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void freshResponsesAreServedFromCacheAndRevalidatedWithEtag() {
+        HttpRequest request = HttpRequest.builder(server.url("/config")).build();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("config-v1", client.execute(request).getBody());
+        }
+        assertEquals(1, server.requests.get());
+        assertEquals(999, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // 过期后发送条件请求，304 复用缓存的响应体并刷新新鲜期
+        clock.advance(Duration.ofSeconds(61));
+        HttpResponse revalidated = client.execute(request);
+        assertEquals("config-v1", revalidated.getBody());
+        assertEquals(2, server.requests.get());
+        assertEquals(1, notModified.get());
+        assertEquals(1, cache.getNotModifiedCount());
+        client.execute(request);
+        assertEquals(2, server.requests.get());
+
+        // 内容变化后条件请求返回 200，缓存被替换
+        version.set(2);
+        clock.advance(Duration.ofSeconds(61));
+        assertEquals("config-v2", client.execute(request).getBody());
+        assertEquals("config-v2", client.execute(request).getBody());
+        assertEquals(3, server.requests.get());
+        assertEquals(2, cache.getRevalidationCount());
+    }
+
+    @Test
+    void staleWhileRevalidateServesStaleAndRefreshesInBackground() throws Exception {
+        HttpRequest request = HttpRequest.builder(server.url("/swr")).build();
+        assertEquals("config-v1", client.execute(request).getBody());
+
+        version.set(2);
+        clock.advance(Duration.ofSeconds(15));
+        // 过期但在 stale-while-revalidate 窗口内：立即返回旧响应，后台重新验证
+        assertEquals("config-v1", client.executeAsync(request).get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, cache.getStaleHitCount());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (server.requests.get() < 2 && System.nanoTime() < deadline) {
+            StubServer.sleep(10);
+        }
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String body = null;
+        while (System.nanoTime() < deadline && !"config-v2".equals(body = client.execute(request).getBody())) {
+            StubServer.sleep(10);
+        }
+        assertEquals("config-v2", body);
+        assertEquals(2, server.requests.get());
+
+        // 超出窗口后同步重新验证
+        clock.advance(Duration.ofSeconds(45));
+        assertEquals("config-v2", client.execute(request).getBody());
+        assertEquals(3, server.requests.get());
+        assertEquals(1, notModified.get());
+    }
+
+    @Test
+    void noStoreNoCacheAndUnsafeMethodsAreHonoured() {
+        HttpRequest noStore = HttpRequest.builder(server.url("/nostore")).build();
+        client.execute(noStore);
+        client.execute(noStore);
+        assertEquals(2, server.requests.get());
+        assertEquals(0, cache.getEntryCount());
+
+        HttpRequest config = HttpRequest.builder(server.url("/config")).build();
+        client.execute(config);
+        client.execute(config.withHeader("Cache-Control", "no-cache"));
+        assertEquals(4, server.requests.get());
+        assertEquals(1, notModified.get());
+
+        client.execute(HttpRequest.builder(server.url("/config")).post().jsonBody("{}").build());
+        client.execute(config);
+        assertEquals(6, server.requests.get());
+        assertEquals(1, cache.getBypassCount());
+    }
+
+    @Test
+    void authorizedResponsesAreStoredOnlyWhenExplicitlyShareable() {
+        HttpRequest alice = HttpRequest.builder(server.url("/account")).header("Authorization", "alice").build();
+        HttpRequest bob = HttpRequest.builder(server.url("/account")).header("Authorization", "bob").build();
+        assertEquals("account:alice", client.execute(alice).getBody());
+        assertEquals("account:bob", client.execute(bob).getBody());
+        assertEquals("account:alice", client.execute(alice).getBody());
+        assertEquals(3, server.requests.get());
+        assertEquals(0, cache.getEntryCount());
+
+        // public 响应允许共享存储
+        HttpRequest catalog = HttpRequest.builder(server.url("/catalog")).header("Authorization", "alice").build();
+        client.execute(catalog);
+        assertEquals("catalog", client.execute(catalog).getBody());
+        assertEquals(4, server.requests.get());
+        assertEquals(1, cache.getEntryCount());
+    }
+
+    @Test
+    void cacheIsBoundedByBytes() {
+        HttpCacheInterceptor bounded = HttpCacheInterceptor.builder()
+                .maximumBytes(3L * BIG_BODY)
+                .clock(clock)
+                .build();
+        HttpClient boundedClient = new JdkHttpClientImpl().addInterceptor(bounded);
+        for (int i = 0; i < 5; i++) {
+            boundedClient.execute(HttpRequest.builder(server.url("/big")).queryParam("page", String.valueOf(i)).build());
+        }
+        assertTrue(bounded.getEntryCount() > 0);
+        assertTrue(bounded.getEntryCount() < 5);
+        assertTrue(bounded.getCachedBytes() >= bounded.getEntryCount() * BIG_BODY);
+        assertTrue(bounded.getCachedBytes() <= 3L * BIG_BODY);
+    }
+
+    private void versioned(HttpExchange exchange, String cacheControl) throws IOException {
+        String etag = "\"v" + version.get() + "\"";
+        exchange.getResponseHeaders().set("Cache-Control", cacheControl);
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        StubServer.respond(exchange, 200, ("config-v" + version.get()).getBytes(StandardCharsets.UTF_8));
+    }
+}
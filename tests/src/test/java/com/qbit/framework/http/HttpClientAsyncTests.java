@@ -0,0 +1,118 @@
+package com.qbit.framework.http;
+
+import com.qbit.framework.core.toolkits.http.HttpClient;
+import com.qbit.framework.core.toolkits.http.HttpClientException;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import com.qbit.framework.core.toolkits.http.JdkHttpClientImpl;
+import com.qbit.framework.core.toolkits.tracing.context.MdcTraceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.qbit.framework.core.toolkits.constants.WebConstants.TRACE_ID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpClientAsyncTests {
+
+    private static final int REQUESTS = 400;
+    private static final int CALLER_THREADS = 16;
+    private static final long SERVER_DELAY_MILLIS = 20;
+
+    private StubServer server;
+    private final HttpClient client = new JdkHttpClientImpl();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer()
+                .route("/slow", exchange -> {
+                    StubServer.sleep(SERVER_DELAY_MILLIS);
+                    StubServer.respond(exchange, 200, "ok".getBytes(StandardCharsets.UTF_8));
+                })
+                .route("/hang", exchange -> {
+                    StubServer.sleep(3000);
+                    StubServer.respond(exchange, 200, new byte[0]);
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void asyncFanOutNeedsNoCallerThreadPerRequest() throws Exception {
+        HttpRequest request = HttpRequest.builder(server.url("/slow")).build();
+        client.execute(request);
+
+        // 阻塞模式：每个在途请求占用一个调用线程
+        ExecutorService callers = Executors.newFixedThreadPool(CALLER_THREADS);
+        List<Future<HttpResponse>> blocking = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            blocking.add(callers.submit(() -> client.execute(request)));
+        }
+        for (Future<HttpResponse> future : blocking) {
+            assertEquals(200, future.get(30, TimeUnit.SECONDS).getStatusCode());
+        }
+        long blockingMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int blockingConcurrency = server.maxInFlight.getAndSet(0);
+        callers.shutdown();
+
+        // 异步模式：单个调用线程发起全部请求
+        List<CompletableFuture<HttpResponse>> async = new ArrayList<>();
+        start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            async.add(client.executeAsync(request));
+        }
+        CompletableFuture.allOf(async.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        long asyncMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int asyncConcurrency = server.maxInFlight.get();
+
+        for (CompletableFuture<HttpResponse> future : async) {
+            assertEquals("ok", future.join().getBody());
+        }
+        assertTrue(blockingConcurrency <= CALLER_THREADS);
+        assertTrue(blockingMillis >= REQUESTS / CALLER_THREADS * SERVER_DELAY_MILLIS, "blocking " + blockingMillis + " ms");
+        assertTrue(asyncConcurrency > CALLER_THREADS, "async concurrency " + asyncConcurrency);
+        assertTrue(asyncMillis < blockingMillis, "async " + asyncMillis + " ms, blocking " + blockingMillis + " ms");
+    }
+
+    @Test
+    void completionRestoresCallerMdc() throws Exception {
+        CompletableFuture<String> trace;
+        try (MdcTraceContext ignored = MdcTraceContext.put(TRACE_ID, "trace-async")) {
+            trace = client.executeAsync(HttpRequest.builder(server.url("/slow")).build())
+                    .thenApply(response -> MDC.get(TRACE_ID));
+        }
+        assertEquals("trace-async", trace.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void timeoutAndCancellationPropagate() throws Exception {
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse> timedOut = client.executeAsync(HttpRequest.builder(server.url("/hang"))
+                .readTimeout(Duration.ofMillis(200))
+                .build());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> timedOut.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(HttpClientException.class, e.getCause());
+        assertTrue(e.getCause().getMessage().contains("timed out"), e.getCause().getMessage());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+
+        CompletableFuture<HttpResponse> cancelled = client.executeAsync(HttpRequest.builder(server.url("/hang")).build());
+        assertTrue(cancelled.cancel(true));
+        assertTrue(cancelled.isCancelled());
+    }
+}
@@ -0,0 +1,160 @@
+package com.qbit.framework.http;
+
+import com.qbit.framework.core.toolkits.http.HttpClient;
+import com.qbit.framework.core.toolkits.http.HttpClientException;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.JdkHttpClientImpl;
+import com.qbit.framework.core.toolkits.http.StreamingHttpResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpClientStreamingTests {
+
+    private static final long LARGE = 256L * 1024 * 1024;
+    private static final int SMALL = 4 * 1024 * 1024;
+    private static final long MAX_RETAINED = 32L * 1024 * 1024;
+
+    private final AtomicLong heapAtMidpoint = new AtomicLong();
+    private StubServer server;
+    private Path directory;
+    private final HttpClient client = new JdkHttpClientImpl();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        directory = Files.createTempDirectory("http-download");
+        server = new StubServer()
+                .route("/large", exchange -> {
+                    exchange.sendResponseHeaders(200, LARGE);
+                    // 传输到一半时在同一 JVM 内采样客户端的堆占用
+                    writePattern(exchange.getResponseBody(), LARGE, () -> heapAtMidpoint.set(usedHeapAfterGc()));
+                })
+                .route("/small", exchange -> {
+                    exchange.sendResponseHeaders(200, SMALL);
+                    writePattern(exchange.getResponseBody(), SMALL, null);
+                })
+                .route("/missing", exchange -> StubServer.respond(exchange, 404, "not found".getBytes()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void downloadToFileKeepsHeapBounded() throws Exception {
+        long baseline = usedHeapAfterGc();
+        Path target = directory.resolve("large.bin");
+
+        client.downloadTo(HttpRequest.builder(server.url("/large")).build(), target);
+
+        assertTrue(heapAtMidpoint.get() > 0, "heap was not sampled mid-transfer");
+        long retained = heapAtMidpoint.get() - baseline;
+        assertTrue(retained < MAX_RETAINED, "retained " + (retained >> 10) + " KB while streaming "
+                + (LARGE >> 20) + " MB");
+        assertEquals(LARGE, Files.size(target));
+        try (InputStream in = Files.newInputStream(target)) {
+            assertEquals(expectedCrc(LARGE), crc(in));
+        }
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count(), "temporary part file left behind");
+        }
+    }
+
+    @Test
+    void streamCanBeReadIncrementallyAndClosedEarly() throws Exception {
+        long baseline = usedHeapAfterGc();
+        try (StreamingHttpResponse response = client.executeStreaming(HttpRequest.builder(server.url("/large")).build())) {
+            assertTrue(response.isSuccessful());
+            assertEquals(String.valueOf(LARGE), response.getHeader("content-length"));
+            assertEquals(expectedCrc(LARGE), crc(response.getBody()));
+        }
+        assertTrue(heapAtMidpoint.get() - baseline < MAX_RETAINED);
+
+        // 只读取开头部分后关闭，连接被释放，服务端写入随之结束
+        try (StreamingHttpResponse response = client.executeStreaming(HttpRequest.builder(server.url("/large")).build())) {
+            assertEquals(1024, response.getBody().readNBytes(1024).length);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (server.inFlight.get() > 0 && System.nanoTime() < deadline) {
+            StubServer.sleep(20);
+        }
+        assertEquals(0, server.inFlight.get());
+    }
+
+    @Test
+    void bytesModeAndFailedDownload() throws Exception {
+        byte[] body = client.executeStreaming(HttpRequest.builder(server.url("/small")).build()).bytes();
+        assertEquals(SMALL, body.length);
+        assertEquals(expectedCrc(SMALL), crc(new java.io.ByteArrayInputStream(body)));
+
+        Path target = directory.resolve("missing.bin");
+        assertThrows(HttpClientException.class,
+                () -> client.downloadTo(HttpRequest.builder(server.url("/missing")).build(), target));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private static void writePattern(OutputStream out, long size, Runnable atMidpoint) throws IOException {
+        byte[] chunk = new byte[64 * 1024];
+        long written = 0;
+        boolean sampled = atMidpoint == null;
+        while (written < size) {
+            int length = (int) Math.min(chunk.length, size - written);
+            for (int i = 0; i < length; i++) {
+                chunk[i] = pattern(written + i);
+            }
+            out.write(chunk, 0, length);
+            written += length;
+            if (!sampled && written >= size / 2) {
+                atMidpoint.run();
+                sampled = true;
+            }
+        }
+    }
+
+    private static byte pattern(long index) {
+        return (byte) (index % 251);
+    }
+
+    private static long expectedCrc(long size) {
+        CRC32 crc = new CRC32();
+        byte[] chunk = new byte[64 * 1024];
+        for (long written = 0; written < size; written += chunk.length) {
+            int length = (int) Math.min(chunk.length, size - written);
+            for (int i = 0; i < length; i++) {
+                chunk[i] = pattern(written + i);
+            }
+            crc.update(chunk, 0, length);
+        }
+        return crc.getValue();
+    }
+
+    private static long crc(InputStream in) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+            crc.update(buffer, 0, read);
+        }
+        return crc.getValue();
+    }
+
+    private static long usedHeapAfterGc() {
+        ManagementFactory.getMemoryMXBean().gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,192 @@
+package com.qbit.framework.http;
+
+import com.qbit.framework.core.toolkits.http.ConnectionPrewarmer;
+import com.qbit.framework.core.toolkits.http.HttpClient;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.JdkHttpClientImpl;
+import com.qbit.framework.core.toolkits.http.dns.DnsCache;
+import com.qbit.framework.core.toolkits.http.dns.DnsResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpClientWarmupTests {
+
+    private final MutableClock clock = new MutableClock();
+    private final StubResolver resolver = new StubResolver();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private StubServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer().route("/health", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            // 慢一点，让并发的预热请求各占一条连接
+            StubServer.sleep(100);
+            StubServer.respond(exchange, 200, "UP".getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void cachedAddressesAreRefreshedInBackgroundAndExpireAfterTtl() throws Exception {
+        List<Runnable> refreshTasks = new ArrayList<>();
+        DnsCache cache = DnsCache.builder()
+                .resolver(resolver)
+                .ttl(Duration.ofSeconds(60))
+                .refreshAfter(Duration.ofSeconds(30))
+                .refreshExecutor(refreshTasks::add)
+                .clock(clock)
+                .build();
+        resolver.answer("pay.internal", "10.0.0.1");
+
+        assertEquals(address("10.0.0.1"), cache.lookup("pay.internal").get(0));
+        clock.advance(Duration.ofSeconds(10));
+        cache.lookup("pay.internal");
+        assertEquals(1, resolver.lookups.get());
+
+        // 超过刷新时间：先返回旧地址，刷新在后台执行且只提交一次
+        resolver.answer("pay.internal", "10.0.0.2");
+        clock.advance(Duration.ofSeconds(25));
+        assertEquals(address("10.0.0.1"), cache.lookup("pay.internal").get(0));
+        assertEquals(address("10.0.0.1"), cache.lookup("pay.internal").get(0));
+        assertEquals(1, refreshTasks.size());
+        refreshTasks.remove(0).run();
+        assertEquals(address("10.0.0.2"), cache.lookup("pay.internal").get(0));
+        assertEquals(1, cache.getRefreshCount());
+
+        // 刷新失败保留旧地址，超过 TTL 后不再返回
+        resolver.fail("pay.internal");
+        clock.advance(Duration.ofSeconds(40));
+        assertEquals(address("10.0.0.2"), cache.lookup("pay.internal").get(0));
+        refreshTasks.remove(0).run();
+        assertEquals(address("10.0.0.2"), cache.lookup("pay.internal").get(0));
+        clock.advance(Duration.ofSeconds(30));
+        assertNull(cache.getIfPresent("pay.internal"));
+        assertThrows(UnknownHostException.class, () -> cache.lookup("pay.internal"));
+        assertEquals(2, cache.getFailureCount());
+    }
+
+    @Test
+    void concurrentColdLookupsResolveOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        resolver.answer("orders.internal", "10.0.0.9");
+        resolver.blockUntil(release);
+        DnsCache cache = DnsCache.builder().resolver(resolver).clock(clock).build();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<InetAddress>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> cache.lookup("orders.internal")));
+            }
+            StubServer.sleep(100);
+            release.countDown();
+            for (Future<List<InetAddress>> future : futures) {
+                assertEquals(address("10.0.0.9"), future.get(5, TimeUnit.SECONDS).get(0));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, resolver.lookups.get());
+        assertEquals(8, cache.getMissCount());
+    }
+
+    @Test
+    void prewarmOpensConnectionsBeforeFirstRequest() {
+        DnsCache cache = DnsCache.builder().resolver(resolver).clock(clock).build();
+        resolver.answer("127.0.0.1", "127.0.0.1");
+        HttpClient client = new JdkHttpClientImpl();
+
+        ConnectionPrewarmer.Result result = ConnectionPrewarmer.builder()
+                .url(server.url("/health"))
+                .connectionsPerHost(4)
+                .dnsCache(cache)
+                .build()
+                .prewarm(List.of(client));
+        assertTrue(result.isSuccessful());
+        assertEquals(4, result.getSucceeded());
+        assertEquals(4, clientPorts.size(), "prewarm should open one connection per concurrent request");
+        assertNotNull(cache.getIfPresent("127.0.0.1"));
+
+        // 之后的请求复用预热好的连接
+        Set<Integer> warmed = Set.copyOf(clientPorts);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(200, client.execute(HttpRequest.builder(server.url("/health")).build()).getStatusCode());
+        }
+        assertEquals(warmed, clientPorts, "requests after prewarm opened new connections");
+
+        // 无法连接的地址只记录失败，不抛异常
+        ConnectionPrewarmer.Result unreachable = ConnectionPrewarmer.builder()
+                .url("http://127.0.0.1:1/health")
+                .timeout(Duration.ofSeconds(2))
+                .build()
+                .prewarm(List.of(client));
+        assertFalse(unreachable.isSuccessful());
+        assertEquals(2, unreachable.getFailed());
+    }
+
+    private static InetAddress address(String ip) throws UnknownHostException {
+        return InetAddress.getByName(ip);
+    }
+
+    /**
+     * 本地解析器桩：按配置返回地址，不访问真实 DNS
+     */
+    private static final class StubResolver implements DnsResolver {
+        final AtomicInteger lookups = new AtomicInteger();
+        private final Map<String, String> answers = new ConcurrentHashMap<>();
+        private volatile CountDownLatch gate;
+
+        void answer(String host, String ip) {
+            answers.put(host, ip);
+        }
+
+        void fail(String host) {
+            answers.remove(host);
+        }
+
+        void blockUntil(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public List<InetAddress> resolve(String host) throws UnknownHostException {
+            lookups.incrementAndGet();
+            if (gate != null) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String ip = answers.get(host);
+            if (ip == null) {
+                throw new UnknownHostException(host);
+            }
+            return List.of(InetAddress.getByAddress(host, InetAddress.getByName(ip).getAddress()));
+        }
+    }
+}
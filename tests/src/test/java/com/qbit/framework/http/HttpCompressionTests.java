@@ -0,0 +1,132 @@
+package com.qbit.framework.http;
+
+import com.qbit.framework.core.toolkits.http.HttpClient;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import com.qbit.framework.core.toolkits.http.JdkHttpClientImpl;
+import com.qbit.framework.core.toolkits.http.StreamingHttpResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpCompressionTests {
+
+    private static final byte[] PAYLOAD = payload(20_000);
+
+    private final AtomicLong wireBytes = new AtomicLong();
+    private final AtomicReference<String> receivedEncoding = new AtomicReference<>();
+    private final AtomicReference<byte[]> receivedBody = new AtomicReference<>();
+    private StubServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer()
+                .route("/orders", exchange -> {
+                    String accept = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+                    byte[] body = PAYLOAD;
+                    if (accept != null && accept.contains("gzip")) {
+                        body = gzip(PAYLOAD);
+                        exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                    }
+                    exchange.getResponseHeaders().set("Content-Type", "application/json");
+                    wireBytes.addAndGet(body.length);
+                    StubServer.respond(exchange, 200, body);
+                })
+                .route("/upload", exchange -> {
+                    byte[] body = exchange.getRequestBody().readAllBytes();
+                    wireBytes.addAndGet(body.length);
+                    String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+                    receivedEncoding.set(encoding);
+                    receivedBody.set("gzip".equals(encoding) ? gunzip(body) : body);
+                    StubServer.respond(exchange, 204, new byte[0]);
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void responsesAreDecompressedTransparently() throws Exception {
+        HttpClient client = new JdkHttpClientImpl();
+        HttpRequest request = HttpRequest.builder(server.url("/orders")).build();
+
+        HttpResponse response = client.execute(request);
+        assertArrayEquals(PAYLOAD, response.getBodyBytes());
+        assertNull(response.getHeader("Content-Encoding"));
+        long compressed = wireBytes.getAndSet(0);
+
+        // 声明 identity 时按原始大小传输，对比压缩率
+        assertArrayEquals(PAYLOAD, client.execute(request.withHeader("Accept-Encoding", "identity")).getBodyBytes());
+        long identity = wireBytes.getAndSet(0);
+        assertEquals(PAYLOAD.length, identity);
+        assertTrue(compressed * 5 < identity, "gzip ratio below 5x: " + compressed + " / " + identity + " bytes");
+
+        // 流式响应边读边解压
+        try (StreamingHttpResponse streaming = client.executeStreaming(request)) {
+            assertArrayEquals(PAYLOAD, streaming.bytes());
+        }
+
+        // 调用方自行声明 Accept-Encoding 时原样返回
+        HttpResponse raw = client.execute(request.withHeader("Accept-Encoding", "gzip"));
+        assertEquals("gzip", raw.getHeader("Content-Encoding"));
+        assertArrayEquals(PAYLOAD, gunzip(raw.getBodyBytes()));
+    }
+
+    @Test
+    void requestBodiesAboveThresholdAreCompressed() {
+        HttpClient client = new JdkHttpClientImpl().requestCompression(1024);
+
+        client.execute(HttpRequest.builder(server.url("/upload")).post()
+                .jsonBody(new String(PAYLOAD, StandardCharsets.UTF_8)).build());
+        assertEquals("gzip", receivedEncoding.get());
+        assertArrayEquals(PAYLOAD, receivedBody.get());
+        long compressed = wireBytes.getAndSet(0);
+        assertTrue(compressed * 5 < PAYLOAD.length,
+                "gzip ratio below 5x: " + compressed + " / " + PAYLOAD.length + " bytes");
+
+        // 小于阈值不压缩
+        client.execute(HttpRequest.builder(server.url("/upload")).post().jsonBody("{\"id\":1}").build());
+        assertNull(receivedEncoding.get());
+        assertEquals("{\"id\":1}", new String(receivedBody.get(), StandardCharsets.UTF_8));
+    }
+
+    private static byte[] payload(int orders) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < orders; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i).append(",\"status\":\"PAID\",\"amount\":")
+                    .append(i % 997).append(".50,\"currency\":\"CNY\"}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+}
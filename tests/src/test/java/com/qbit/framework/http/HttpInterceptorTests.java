@@ -0,0 +1,176 @@
+package com.qbit.framework.http;
+
+import com.qbit.framework.core.toolkits.http.HttpClient;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import com.qbit.framework.core.toolkits.http.JdkHttpClientImpl;
+import com.qbit.framework.core.toolkits.http.interceptor.HttpClientInterceptor;
+import com.qbit.framework.core.toolkits.http.interceptor.HttpInterceptor;
+import com.qbit.framework.core.toolkits.http.interceptor.LoggingInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpInterceptorTests {
+
+    private StubServer server;
+    private final AtomicInteger flakyCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer()
+                .route("/echo", exchange -> {
+                    String tenant = String.valueOf(exchange.getRequestHeaders().getFirst("X-Tenant"));
+                    StubServer.respond(exchange, 200, tenant.getBytes(StandardCharsets.UTF_8));
+                })
+                .route("/flaky", exchange -> {
+                    int status = flakyCalls.incrementAndGet() <= 2 ? 503 : 200;
+                    StubServer.respond(exchange, status, "ok".getBytes(StandardCharsets.UTF_8));
+                })
+                .route("/hang", exchange -> {
+                    StubServer.sleep(3000);
+                    StubServer.respond(exchange, 200, new byte[0]);
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void interceptorsNestByOrderAndRequestOnlyInterceptorsAreAdapted() throws Exception {
+        List<String> events = new CopyOnWriteArrayList<>();
+        HttpClientInterceptor tenant = request -> request.withHeader("X-Tenant", "t-1");
+        HttpClient client = new JdkHttpClientImpl()
+                .addInterceptor(around("inner", 10, events))
+                .addInterceptor(tenant)
+                .addInterceptor(around("outer", -10, events));
+
+        HttpResponse response = client.execute(HttpRequest.builder(server.url("/echo")).build());
+        assertEquals("t-1", response.getBody());
+        assertEquals(List.of("outer>", "inner>", "inner<200", "outer<200"), events);
+
+        events.clear();
+        HttpResponse async = client.executeAsync(HttpRequest.builder(server.url("/echo")).build())
+                .get(5, TimeUnit.SECONDS);
+        assertEquals("t-1", async.getBody());
+        assertEquals(List.of("outer>", "inner>", "inner<200", "outer<200"), events);
+    }
+
+    @Test
+    void interceptorCanRetryAndShortCircuit() {
+        HttpInterceptor retry = chain -> {
+            HttpResponse response = chain.proceed(chain.request());
+            for (int attempt = 1; attempt < 3 && response.getStatusCode() >= 500; attempt++) {
+                response = chain.proceed(chain.request());
+            }
+            return response;
+        };
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(retry);
+        assertEquals(200, client.execute(HttpRequest.builder(server.url("/flaky")).build()).getStatusCode());
+        assertEquals(3, server.requests.get());
+
+        HttpInterceptor cached = chain -> new HttpResponse(200, "cached", Collections.emptyMap(), true);
+        HttpClient shortCircuit = new JdkHttpClientImpl().addInterceptor(cached);
+        assertEquals("cached", shortCircuit.execute(HttpRequest.builder(server.url("/echo")).build()).getBody());
+        assertEquals(3, server.requests.get());
+    }
+
+    @Test
+    void cancellationReachesTransportThroughDerivedFutures() throws Exception {
+        AtomicReference<CompletableFuture<HttpResponse>> transport = new AtomicReference<>();
+        CountDownLatch sent = new CountDownLatch(1);
+        HttpInterceptor probe = new HttpInterceptor() {
+            @Override
+            public HttpResponse intercept(Chain chain) {
+                return chain.proceed(chain.request());
+            }
+
+            @Override
+            public CompletableFuture<HttpResponse> interceptAsync(Chain chain) {
+                CompletableFuture<HttpResponse> future = chain.proceedAsync(chain.request());
+                transport.set(future);
+                sent.countDown();
+                return future;
+            }
+
+            @Override
+            public int getOrder() {
+                return Integer.MAX_VALUE;
+            }
+        };
+        // 外层拦截器返回派生 Future，取消它本身不会传到下游
+        HttpInterceptor derived = new HttpInterceptor() {
+            @Override
+            public HttpResponse intercept(Chain chain) {
+                return chain.proceed(chain.request());
+            }
+
+            @Override
+            public CompletableFuture<HttpResponse> interceptAsync(Chain chain) {
+                return chain.proceedAsync(chain.request()).thenApply(response -> response);
+            }
+        };
+        HttpClient client = new JdkHttpClientImpl()
+                .addInterceptor(derived)
+                .addInterceptor(new LoggingInterceptor())
+                .addInterceptor(probe);
+
+        CompletableFuture<HttpResponse> result = client.executeAsync(HttpRequest.builder(server.url("/hang")).build());
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        assertTrue(result.cancel(true));
+
+        assertTrue(transport.get().isCancelled(), "transport future was not cancelled");
+        assertThrows(CancellationException.class, () -> transport.get().get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void withHeaderCopiesOnlyHeaders() {
+        HttpRequest original = HttpRequest.builder("http://example.com/a")
+                .post()
+                .header("A", "1")
+                .queryParam("q", "x")
+                .jsonBody("{}")
+                .build();
+        HttpRequest changed = original.withHeader("B", "2");
+
+        assertEquals(1, original.getHeaders().size());
+        assertEquals("2", changed.getHeaders().get("B"));
+        assertSame(original.getQueryParams(), changed.getQueryParams());
+        assertSame(original.getBody(), changed.getBody());
+        assertEquals("POST", changed.getMethod());
+        assertSame(changed, changed.withHeader("B", "2"));
+        assertEquals("PUT", changed.newBuilder().put().build().getMethod());
+    }
+
+    private static HttpInterceptor around(String name, int order, List<String> events) {
+        return new HttpInterceptor() {
+            @Override
+            public HttpResponse intercept(Chain chain) {
+                events.add(name + ">");
+                HttpResponse response = chain.proceed(chain.request());
+                events.add(name + "<" + response.getStatusCode());
+                return response;
+            }
+
+            @Override
+            public int getOrder() {
+                return order;
+            }
+        };
+    }
+}
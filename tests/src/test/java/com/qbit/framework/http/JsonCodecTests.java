@@ -0,0 +1,156 @@
+package com.qbit.framework.http;
+
+import com.alibaba.fastjson.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qbit.framework.core.toolkits.http.HttpClient;
+import com.qbit.framework.core.toolkits.http.HttpClientException;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import com.qbit.framework.core.toolkits.http.JdkHttpClientImpl;
+import com.qbit.framework.core.toolkits.http.codec.JacksonJsonCodec;
+import com.qbit.framework.core.toolkits.http.codec.JsonCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonCodecTests {
+
+    record Order(String id, int quantity, List<String> tags) {
+    }
+
+    private StubServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer()
+                .route("/echo", exchange -> {
+                    byte[] body = exchange.getRequestBody().readAllBytes();
+                    exchange.getResponseHeaders().set("Content-Type", "application/json");
+                    StubServer.respond(exchange, 200, body);
+                })
+                .route("/gbk", exchange -> {
+                    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=GBK");
+                    StubServer.respond(exchange, 200,
+                            "{\"id\":\"订单-1\",\"quantity\":1,\"tags\":[\"加急\"]}".getBytes(Charset.forName("GBK")));
+                })
+                .route("/latin1", exchange -> {
+                    exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=ISO-8859-1");
+                    StubServer.respond(exchange, 200, "café".getBytes(StandardCharsets.ISO_8859_1));
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void jacksonCodecRoundTripsBytesAndStreams() throws Exception {
+        JsonCodec codec = JsonCodec.jackson();
+        Order order = new Order("A-1", 3, List.of("urgent", "订单"));
+
+        byte[] json = codec.encode(order);
+        assertEquals(order, codec.decode(json, Order.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.encode(List.of(order, order), out);
+        List<Order> orders = codec.decode(new ByteArrayInputStream(out.toByteArray()),
+                new TypeReference<List<Order>>() {}.getType());
+        assertEquals(List.of(order, order), orders);
+
+        // 未知字段忽略，非法 JSON 统一包装为 HttpClientException
+        assertEquals(new Order("A-2", 1, null),
+                codec.decode("{\"id\":\"A-2\",\"quantity\":1,\"extra\":true}".getBytes(StandardCharsets.UTF_8), Order.class));
+        assertThrows(HttpClientException.class, () -> codec.decode("{oops".getBytes(StandardCharsets.UTF_8), Order.class));
+    }
+
+    @Test
+    void jacksonCodecLeavesCallerStreamsOpen() throws Exception {
+        JsonCodec codec = JsonCodec.jackson();
+        Order order = new Order("A-3", 1, List.of());
+
+        CloseTrackingOutputStream out = new CloseTrackingOutputStream();
+        codec.encode(order, out);
+        out.write('\n');
+        assertFalse(out.closed);
+        assertEquals(order, codec.decode(out.toByteArray(), Order.class));
+
+        CloseTrackingInputStream in = new CloseTrackingInputStream(out.toByteArray());
+        assertEquals(order, codec.decode(in, Order.class));
+        assertFalse(in.closed);
+
+        // 调用方自定义的 ObjectMapper 同样不关闭流
+        JsonCodec custom = new JacksonJsonCodec(new ObjectMapper());
+        CloseTrackingOutputStream customOut = new CloseTrackingOutputStream();
+        custom.encode(Map.of("id", "A-4"), customOut);
+        assertFalse(customOut.closed);
+        CloseTrackingInputStream customIn = new CloseTrackingInputStream(customOut.toByteArray());
+        assertEquals(Map.of("id", "A-4"), custom.decode(customIn, Map.class));
+        assertFalse(customIn.closed);
+    }
+
+    @Test
+    void clientEncodesAndDecodesWithSelectedCodec() throws Exception {
+        HttpClient client = new JdkHttpClientImpl().jsonCodec(JsonCodec.jackson());
+        assertSame(JsonCodec.jackson(), client.getJsonCodec());
+        Order order = new Order("B-7", 2, List.of("gift"));
+
+        HttpResponse response = client.execute(HttpRequest.builder(server.url("/echo")).post().jsonBody(order).build());
+        assertSame(JsonCodec.jackson(), response.getJsonCodec());
+        assertEquals(order, response.as(Order.class));
+        assertEquals(Map.of("id", "B-7", "quantity", 2, "tags", List.of("gift")), response.asMap());
+        assertEquals(response.getBodyBytes().length, response.getContentLength());
+
+        HttpResponse list = client.executeAsync(HttpRequest.builder(server.url("/echo")).post()
+                .jsonBody(List.of(order)).build()).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(order), list.asList(Order.class));
+    }
+
+    @Test
+    void bodyStringIsDecodedLazilyWithResponseCharset() {
+        HttpResponse response = new JdkHttpClientImpl().execute(HttpRequest.builder(server.url("/latin1")).build());
+        assertArrayEquals("café".getBytes(StandardCharsets.ISO_8859_1), response.getBodyBytes());
+        assertEquals("café", response.getBody());
+        assertSame(response.getBody(), response.getBody());
+    }
+
+    @Test
+    void jsonIsDecodedWithResponseCharset() {
+        HttpResponse response = new JdkHttpClientImpl().jsonCodec(JsonCodec.jackson())
+                .execute(HttpRequest.builder(server.url("/gbk")).build());
+        assertEquals(new Order("订单-1", 1, List.of("加急")), response.as(Order.class));
+        assertEquals(List.of("加急"), response.asMap().get("tags"));
+    }
+
+    private static final class CloseTrackingOutputStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static final class CloseTrackingInputStream extends ByteArrayInputStream {
+        private boolean closed;
+
+        CloseTrackingInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.qbit.framework.http;
+
+import com.qbit.framework.core.toolkits.http.HttpClient;
+import com.qbit.framework.core.toolkits.http.HttpRequest;
+import com.qbit.framework.core.toolkits.http.HttpResponse;
+import com.qbit.framework.core.toolkits.http.JdkHttpClientImpl;
+import com.qbit.framework.core.toolkits.http.interceptor.RateLimitExceededException;
+import com.qbit.framework.core.toolkits.http.interceptor.RateLimitInterceptor;
+import com.qbit.framework.core.toolkits.http.interceptor.TokenBucket;
+import com.qbit.framework.core.toolkits.tracing.context.MdcTraceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.qbit.framework.core.toolkits.constants.WebConstants.TRACE_ID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitInterceptorTests {
+
+    private final MutableClock clock = new MutableClock();
+    private StubServer server;
+    private String host;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer()
+                .route("/status", exchange -> StubServer.respond(exchange, 200, "ok".getBytes(StandardCharsets.UTF_8)))
+                .route("/orders", exchange -> StubServer.respond(exchange, 200, "ok".getBytes(StandardCharsets.UTF_8)))
+                .route("/throttled", exchange -> {
+                    exchange.getResponseHeaders().set("Retry-After", "2");
+                    StubServer.respond(exchange, 429, "slow down".getBytes(StandardCharsets.UTF_8));
+                });
+        host = server.url("").substring("http://".length());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void burstThenSteadyRateWithPerRouteBuckets() {
+        RateLimitInterceptor limiter = RateLimitInterceptor.builder()
+                .limit(host, 10, 5)
+                .limit(host + "/orders", 1, 1)
+                .clock(clock)
+                .build();
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(limiter);
+        HttpRequest status = HttpRequest.builder(server.url("/status")).build();
+
+        for (int i = 0; i < 5; i++) {
+            client.execute(status);
+        }
+        RateLimitExceededException rejected = assertThrows(RateLimitExceededException.class, () -> client.execute(status));
+        assertEquals(host, rejected.getLimit());
+
+        clock.advance(Duration.ofMillis(100));
+        client.execute(status);
+        assertThrows(RateLimitExceededException.class, () -> client.execute(status));
+
+        // 空闲再久也只积累 burst 个许可
+        clock.advance(Duration.ofSeconds(10));
+        assertEquals(5, limiter.getAvailablePermits(host));
+        for (int i = 0; i < 5; i++) {
+            client.execute(status);
+        }
+        assertThrows(RateLimitExceededException.class, () -> client.execute(status));
+
+        // 更具体的路由使用独立的令牌桶
+        HttpRequest orders = HttpRequest.builder(server.url("/orders")).queryParam("page", "1").build();
+        client.execute(orders);
+        assertThrows(RateLimitExceededException.class, () -> client.execute(orders));
+        assertEquals(12, server.requests.get());
+        assertEquals(12, limiter.getPermittedCount());
+        assertEquals(4, limiter.getRejectedCount());
+    }
+
+    @Test
+    void retryAfterPausesTheBucket() {
+        RateLimitInterceptor limiter = RateLimitInterceptor.builder()
+                .defaultLimit(100, 10)
+                .clock(clock)
+                .build();
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(limiter);
+
+        HttpResponse response = client.execute(HttpRequest.builder(server.url("/throttled")).build());
+        assertEquals(429, response.getStatusCode());
+        assertEquals(1, limiter.getThrottledCount());
+
+        // Retry-After: 2 期间同一主机的请求都不再发出
+        HttpRequest status = HttpRequest.builder(server.url("/status")).build();
+        assertThrows(RateLimitExceededException.class, () -> client.execute(status));
+        clock.advance(Duration.ofSeconds(1));
+        assertThrows(RateLimitExceededException.class, () -> client.execute(status));
+        clock.advance(Duration.ofMillis(1001));
+        assertEquals(200, client.execute(status).getStatusCode());
+        // 恢复后按正常速率发放，不会立刻突发
+        assertThrows(RateLimitExceededException.class, () -> client.execute(status));
+        assertEquals(2, server.requests.get());
+    }
+
+    @Test
+    void waitingRequestsAreSpacedAtTheConfiguredRate() throws Exception {
+        RateLimitInterceptor limiter = RateLimitInterceptor.builder()
+                .limit(host, 100, 1)
+                .maxWait(Duration.ofSeconds(5))
+                .build();
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(limiter);
+        HttpRequest request = HttpRequest.builder(server.url("/status")).build();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(client.executeAsync(request));
+        }
+        for (CompletableFuture<HttpResponse> future : futures) {
+            assertEquals(200, future.get(10, TimeUnit.SECONDS).getStatusCode());
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(millis >= 450, "requests were not spaced: " + millis + " ms");
+        assertEquals(50, limiter.getPermittedCount() + limiter.getDelayedCount());
+        // 突发为 1：几乎同时发出的请求除前几个外都需要等待令牌
+        assertTrue(limiter.getDelayedCount() >= 40, "delayed " + limiter.getDelayedCount() + " of 50");
+    }
+
+    @Test
+    void delayedRequestsCompleteWithCallerMdc() throws Exception {
+        RateLimitInterceptor limiter = RateLimitInterceptor.builder()
+                .limit(host, 20, 1)
+                .maxWait(Duration.ofSeconds(5))
+                .build();
+        HttpClient client = new JdkHttpClientImpl().addInterceptor(limiter);
+        HttpRequest request = HttpRequest.builder(server.url("/status")).build();
+        // 先在空 MDC 下启动延迟调度线程，避免基于 InheritableThreadLocal 的 MDC 实现让它继承调用方的上下文
+        CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(1, TimeUnit.MILLISECONDS)).get(5, TimeUnit.SECONDS);
+
+        List<CompletableFuture<String>> traces = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            try (MdcTraceContext ignored = MdcTraceContext.put(TRACE_ID, "trace-" + i)) {
+                traces.add(client.executeAsync(request).thenApply(response -> MDC.get(TRACE_ID)));
+            }
+        }
+        for (int i = 0; i < traces.size(); i++) {
+            assertEquals("trace-" + i, traces.get(i).get(5, TimeUnit.SECONDS));
+        }
+        // 突发为 1：后两个请求等待令牌后才发出
+        assertEquals(2, limiter.getDelayedCount());
+    }
+
+    @Test
+    void concurrentAcquireGrantsExactlyTheBurst() throws Exception {
+        TokenBucket bucket = new TokenBucket(1, 64, () -> 0L);
+        int threads = 8;
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 10_000; i++) {
+                    if (bucket.reserve(0) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        // 时间静止：不论并发多高，只能拿到 burst 个许可
+        assertEquals(64, granted.get());
+        assertEquals(0, bucket.getAvailablePermits());
+    }
+}
@@ -0,0 +1,89 @@
+package com.qbit.framework.thread;
+
+import com.qbit.framework.core.toolkits.thread.batch.BatchProcessor;
+import com.qbit.framework.core.toolkits.thread.batch.BatchResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchProcessorTests {
+
+    @Test
+    void boundsInFlightChunksAndPreservesOrder() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            BatchResult<Integer, Integer> result = BatchProcessor.<Integer, Integer>builder()
+                    .chunkSize(10)
+                    .parallelism(3)
+                    .executor(executor)
+                    .preserveOrder(true)
+                    .build()
+                    .process(IntStream.range(0, 1000).boxed(), chunk -> {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                        inFlight.decrementAndGet();
+                        return chunk.get(0);
+                    });
+
+            assertTrue(result.isSuccess());
+            assertEquals(100, result.getSubmittedChunks());
+            assertEquals(1000, result.getSubmittedItems());
+            assertTrue(maxInFlight.get() <= 3, "in-flight chunks exceeded window: " + maxInFlight.get());
+            assertEquals(IntStream.range(0, 100).map(i -> i * 10).boxed().toList(), result.getResults());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void retriesThenReportsFailedChunks() {
+        AtomicInteger attempts = new AtomicInteger();
+        BatchResult<Integer, Integer> result = BatchProcessor.<Integer, Integer>builder()
+                .chunkSize(2)
+                .parallelism(2)
+                .maxAttempts(3)
+                .build()
+                .process(List.of(1, 2, 3, 4, 5, 6), chunk -> {
+                    if (chunk.contains(3)) {
+                        attempts.incrementAndGet();
+                        throw new IllegalStateException("boom");
+                    }
+                    return chunk.size();
+                });
+
+        assertFalse(result.isSuccess());
+        assertEquals(2, result.getResults().size());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(1, result.getFailures().get(0).getChunkIndex());
+        assertEquals(List.of(3, 4), result.getFailures().get(0).getItems());
+        assertEquals(3, result.getFailures().get(0).getAttempts());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void stopsReadingSourceOnFailFast() {
+        AtomicInteger read = new AtomicInteger();
+        BatchResult<Integer, Integer> result = BatchProcessor.<Integer, Integer>builder()
+                .chunkSize(1)
+                .parallelism(1)
+                .continueOnError(false)
+                .build()
+                .process(IntStream.range(0, 100).peek(i -> read.incrementAndGet()).boxed(), chunk -> {
+                    throw new IllegalStateException("boom");
+                });
+
+        assertTrue(result.isAborted());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(read.get() < 100);
+    }
+}
@@ -0,0 +1,140 @@
+package com.qbit.framework.thread;
+
+import com.qbit.framework.core.toolkits.thread.ThreadPoolUtils;
+import com.qbit.framework.core.toolkits.thread.registry.ExecutorRegistry;
+import com.qbit.framework.core.toolkits.thread.registry.ExecutorStats;
+import com.qbit.framework.core.toolkits.thread.registry.ExecutorTuning;
+import com.qbit.framework.core.web.executor.ExecutorTuningApplier;
+import com.qbit.framework.core.web.executor.ExecutorsEndpoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorRegistryTests {
+
+    private final List<ExecutorService> executors = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executors.forEach(executor -> ThreadPoolUtils.shutdownGracefully(executor, 1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void tunesPoolQueueAndRejectionPolicy() throws Exception {
+        String name = register("registry-tune", 1, 1, 2);
+        CountDownLatch blocker = new CountDownLatch(1);
+        ExecutorService executor = executors.get(0);
+        executor.execute(() -> await(blocker));
+        executor.execute(() -> { });
+        executor.execute(() -> { });
+
+        ExecutorTuning tuning = new ExecutorTuning();
+        tuning.setMaximumPoolSize(4);
+        tuning.setCorePoolSize(3);
+        tuning.setQueueCapacity(5);
+        tuning.setRejectionPolicy("abort");
+        ExecutorStats stats = ExecutorRegistry.tune(name, tuning);
+
+        assertEquals(3, stats.getCorePoolSize());
+        assertEquals(4, stats.getMaximumPoolSize());
+        assertTrue(stats.isQueueResizable());
+        assertEquals(5, stats.getQueueSize() + stats.getQueueRemainingCapacity());
+        assertEquals("AbortPolicy", stats.getRejectionPolicy());
+
+        // 线程与队列占满后，新的拒绝策略生效并计数
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+        tuning = new ExecutorTuning();
+        tuning.setCorePoolSize(1);
+        tuning.setMaximumPoolSize(1);
+        tuning.setQueueCapacity(1);
+        ExecutorRegistry.tune(name, tuning);
+        pool.getQueue().clear();
+        executor.execute(() -> { });
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        assertEquals(1, ExecutorRegistry.stats(name).orElseThrow().getRejectedCount());
+        blocker.countDown();
+    }
+
+    @Test
+    void invalidTuningChangesNothing() {
+        String name = register("registry-invalid", 2, 4, 10);
+
+        ExecutorTuning tuning = new ExecutorTuning();
+        tuning.setCorePoolSize(8);
+        tuning.setQueueCapacity(20);
+        assertThrows(IllegalArgumentException.class, () -> ExecutorRegistry.tune(name, tuning));
+
+        ExecutorTuning unknownPolicy = new ExecutorTuning();
+        unknownPolicy.setMaximumPoolSize(8);
+        unknownPolicy.setRejectionPolicy("drop-everything");
+        assertThrows(IllegalArgumentException.class, () -> ExecutorRegistry.tune(name, unknownPolicy));
+
+        ExecutorStats stats = ExecutorRegistry.stats(name).orElseThrow();
+        assertEquals(2, stats.getCorePoolSize());
+        assertEquals(4, stats.getMaximumPoolSize());
+        assertEquals(10, stats.getQueueRemainingCapacity());
+
+        // 无界队列不支持调整容量
+        ExecutorService unbounded = ThreadPoolUtils.newFixedThreadPool(1, "registry-unbounded");
+        executors.add(unbounded);
+        ExecutorTuning capacity = new ExecutorTuning();
+        capacity.setQueueCapacity(10);
+        assertThrows(IllegalArgumentException.class, () -> ExecutorRegistry.tune("registry-unbounded", capacity));
+        assertThrows(IllegalArgumentException.class, () -> ExecutorRegistry.tune("registry-missing", capacity));
+    }
+
+    @Test
+    void applierBindsPoolsFromEnvironment() {
+        String name = register("registry-applier", 1, 2, 10);
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("framework.executor.pools." + name + ".core-pool-size", "4")
+                .withProperty("framework.executor.pools." + name + ".maximum-pool-size", "8")
+                .withProperty("framework.executor.pools." + name + ".queue-capacity", "50")
+                .withProperty("framework.executor.pools." + name + ".rejection-policy", "CallerRunsPolicy")
+                .withProperty("framework.executor.pools.registry-not-registered.core-pool-size", "4");
+
+        new ExecutorTuningApplier(environment).apply();
+
+        ExecutorStats stats = ExecutorRegistry.stats(name).orElseThrow();
+        assertEquals(4, stats.getCorePoolSize());
+        assertEquals(8, stats.getMaximumPoolSize());
+        assertEquals(50, stats.getQueueRemainingCapacity());
+        assertEquals("CallerRunsPolicy", stats.getRejectionPolicy());
+    }
+
+    @Test
+    void endpointReadsAndTunes() {
+        String name = register("registry-endpoint", 1, 2, 10);
+        ExecutorsEndpoint endpoint = new ExecutorsEndpoint();
+
+        assertTrue(endpoint.executors().stream().anyMatch(stats -> stats.getName().equals(name)));
+        assertEquals(2, endpoint.executor(name).getMaximumPoolSize());
+        assertNull(endpoint.executor("registry-missing"));
+
+        ExecutorStats stats = endpoint.tune(name, null, 6, 30, null);
+        assertEquals(1, stats.getCorePoolSize());
+        assertEquals(6, stats.getMaximumPoolSize());
+        assertEquals(30, stats.getQueueRemainingCapacity());
+    }
+
+    private String register(String name, int core, int max, int queueCapacity) {
+        ExecutorService executor = ThreadPoolUtils.newCustomThreadPool(core, max, 60, TimeUnit.SECONDS, queueCapacity, name);
+        executors.add(executor);
+        assertTrue(ExecutorRegistry.names().contains(name));
+        return name;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.qbit.framework.thread;
+
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownHandler;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownRegistry;
+import com.qbit.framework.core.toolkits.thread.shutdown.ShutdownStage;
+import com.qbit.framework.core.toolkits.thread.shutdown.StageDrainResult;
+import com.qbit.framework.core.web.shutdown.GracefulShutdownAutoConfiguration;
+import com.qbit.framework.core.web.shutdown.GracefulShutdownCoordinator;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GracefulShutdownTests {
+
+    /**
+     * 测试期间保持强引用，注册表只弱引用目标
+     */
+    private final List<StageProbe> probes = new CopyOnWriteArrayList<>();
+
+    @Test
+    void drainRunsQueuedTasksBeforeReturning() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicInteger executed = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            executor.execute(() -> {
+                sleep(20);
+                executed.incrementAndGet();
+            });
+        }
+        String name = ShutdownRegistry.register("drain-test", ShutdownStage.WORKER, executor);
+
+        StageDrainResult result = ShutdownRegistry.drain(ShutdownStage.WORKER, System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+
+        assertTrue(result.isClean());
+        assertEquals(5, executed.get());
+        assertTrue(executor.isTerminated());
+        assertFalse(ShutdownRegistry.registeredNames(ShutdownStage.WORKER).contains(name));
+    }
+
+    @Test
+    void stuckParticipantIsAbandonedAtDeadline() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> { });
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ShutdownRegistry.register("stuck-test", ShutdownStage.WORKER, executor);
+
+        long start = System.nanoTime();
+        StageDrainResult result = ShutdownRegistry.drain(ShutdownStage.WORKER, start + TimeUnit.MILLISECONDS.toNanos(200));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertFalse(result.isClean());
+        assertEquals(3, result.getAbandonedTasks());
+        assertTrue(elapsedMillis < 2000, "drain took " + elapsedMillis + " ms");
+        // shutdownNow 中断了阻塞的任务
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void stagesStopInPhaseOrderWithinSharedBudget() {
+        assertTrue(GracefulShutdownCoordinator.INGRESS_PHASE < SmartLifecycle.DEFAULT_PHASE - 1024,
+                "ingress must stop after web server graceful shutdown");
+        assertTrue(GracefulShutdownCoordinator.INGRESS_PHASE > SmartLifecycle.DEFAULT_PHASE - 2048,
+                "ingress must stop before web server stop");
+        assertTrue(GracefulShutdownCoordinator.WORKER_PHASE < SmartLifecycle.DEFAULT_PHASE - 2048);
+        assertTrue(GracefulShutdownCoordinator.IO_PHASE < GracefulShutdownCoordinator.WORKER_PHASE);
+
+        Duration budget = Duration.ofMillis(300);
+        Map<ShutdownStage, Duration> remaining = new ConcurrentHashMap<>();
+        List<ShutdownStage> order = new CopyOnWriteArrayList<>();
+        ShutdownHandler<StageProbe> recorder = (probe, timeout) -> {
+            ShutdownStage stage = probe.stage;
+            order.add(stage);
+            remaining.put(stage, timeout);
+            if (stage == ShutdownStage.INGRESS) {
+                // 入口阶段耗尽全部预算
+                sleep(budget.toMillis() + 50);
+            }
+            return 0;
+        };
+
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(GracefulShutdownAutoConfiguration.class))
+                .withPropertyValues("framework.shutdown.timeout=" + budget.toMillis() + "ms")
+                .run(context -> {
+                    assertEquals(3, context.getBeansOfType(SmartLifecycle.class).size());
+                    for (ShutdownStage stage : List.of(ShutdownStage.IO, ShutdownStage.WORKER, ShutdownStage.INGRESS)) {
+                        StageProbe probe = new StageProbe(stage);
+                        probes.add(probe);
+                        ShutdownRegistry.register("phase-test-" + stage, stage, probe, recorder);
+                    }
+                });
+
+        assertEquals(List.of(ShutdownStage.INGRESS, ShutdownStage.WORKER, ShutdownStage.IO), order);
+        assertTrue(remaining.get(ShutdownStage.INGRESS).compareTo(budget) <= 0);
+        assertEquals(Duration.ZERO, remaining.get(ShutdownStage.WORKER));
+        assertEquals(Duration.ZERO, remaining.get(ShutdownStage.IO));
+    }
+
+    private static final class StageProbe {
+        private final ShutdownStage stage;
+
+        private StageProbe(ShutdownStage stage) {
+            this.stage = stage;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.qbit.framework.thread;
+
+import com.qbit.framework.core.toolkits.thread.HashedWheelTimer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedWheelTimerTests {
+
+    @Test
+    void firesAfterDelayOnTaskExecutor() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer("wheel-test", Duration.ofMillis(10), 8, Runnable::run);
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            long start = System.nanoTime();
+            HashedWheelTimer.Timeout timeout = timer.newTimeout(latch::countDown, 100, TimeUnit.MILLISECONDS);
+
+            assertTrue(latch.await(2, TimeUnit.SECONDS));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 90);
+            assertTrue(timeout.isExpired());
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    void cancelledTimeoutsNeverFireAndAreReclaimed() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer("wheel-test", Duration.ofMillis(5), 16, Runnable::run);
+        try {
+            AtomicInteger fired = new AtomicInteger();
+            CountDownLatch survivor = new CountDownLatch(1);
+            for (int i = 0; i < 10_000; i++) {
+                assertTrue(timer.newTimeout(fired::incrementAndGet, 50, TimeUnit.MILLISECONDS).cancel());
+            }
+            timer.newTimeout(survivor::countDown, 80, TimeUnit.MILLISECONDS);
+
+            assertTrue(survivor.await(2, TimeUnit.SECONDS));
+            assertEquals(0, fired.get());
+            assertEquals(0, timer.pendingTimeouts());
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    void delaysLongerThanOneRotationWaitExtraRounds() throws Exception {
+        // 一圈 4 * 10ms = 40ms，200ms 需要多轮
+        HashedWheelTimer timer = new HashedWheelTimer("wheel-test", Duration.ofMillis(10), 4, Runnable::run);
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            long start = System.nanoTime();
+            timer.newTimeout(latch::countDown, 200, TimeUnit.MILLISECONDS);
+
+            assertTrue(latch.await(2, TimeUnit.SECONDS));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 190);
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    void stopReturnsUnprocessedTimeouts() {
+        HashedWheelTimer timer = new HashedWheelTimer("wheel-test", Duration.ofMillis(10), 8, Runnable::run);
+        timer.newTimeout(() -> { }, 1, TimeUnit.HOURS);
+        timer.newTimeout(() -> { }, 1, TimeUnit.HOURS).cancel();
+
+        Set<HashedWheelTimer.Timeout> unprocessed = timer.stop();
+        assertEquals(1, unprocessed.size());
+        assertThrows(IllegalStateException.class, () -> timer.newTimeout(() -> { }, 1, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,108 @@
+package com.qbit.framework.thread;
+
+import com.qbit.framework.core.toolkits.thread.MemoryBoundedBlockingQueue;
+import com.qbit.framework.core.toolkits.thread.SizeAwareTask;
+import com.qbit.framework.core.toolkits.thread.TaskSizeEstimator;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryBoundedBlockingQueueTests {
+
+    private static final int MB = 1024 * 1024;
+
+    @Test
+    void rejectsWhenByteBudgetExhausted() {
+        MemoryBoundedBlockingQueue<Runnable> queue =
+                new MemoryBoundedBlockingQueue<>(3 * MB + 1024, TaskSizeEstimator.sizeAware());
+
+        assertTrue(queue.offer(new PayloadTask(MB)));
+        assertTrue(queue.offer(new PayloadTask(MB)));
+        assertTrue(queue.offer(new PayloadTask(MB)));
+        assertFalse(queue.offer(new PayloadTask(MB)));
+        // 小任务仍能放入剩余预算
+        assertTrue(queue.offer(() -> { }));
+
+        queue.poll();
+        assertTrue(queue.offer(new PayloadTask(MB)));
+        assertTrue(queue.usedBytes() <= queue.maxBytes());
+    }
+
+    @Test
+    void acceptsOversizedTaskWhenEmpty() {
+        MemoryBoundedBlockingQueue<Runnable> queue =
+                new MemoryBoundedBlockingQueue<>(MB, TaskSizeEstimator.sizeAware());
+
+        assertTrue(queue.offer(new PayloadTask(5 * MB)));
+        assertFalse(queue.offer(new PayloadTask(1)));
+        assertNotNull(queue.poll());
+        assertEquals(0, queue.usedBytes());
+    }
+
+    @Test
+    void queuedBytesStayBoundedUnderProducerFlood() throws Exception {
+        long budget = 8L * MB;
+        MemoryBoundedBlockingQueue<Runnable> queue =
+                new MemoryBoundedBlockingQueue<>(budget, TaskSizeEstimator.sizeAware(), 50);
+        AtomicInteger executed = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS, queue,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        AtomicLong maxObserved = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> maxObserved.accumulateAndGet(queue.usedBytes(), Math::max),
+                0, 1, TimeUnit.MILLISECONDS);
+
+        int producers = 4;
+        int tasksPerProducer = 100;
+        ExecutorService producerPool = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            producerPool.execute(() -> {
+                for (int i = 0; i < tasksPerProducer; i++) {
+                    executor.execute(new PayloadTask(MB, executed));
+                }
+            });
+        }
+        producerPool.shutdown();
+        assertTrue(producerPool.awaitTermination(60, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        sampler.shutdownNow();
+
+        assertEquals(producers * tasksPerProducer, executed.get());
+        assertTrue(maxObserved.get() <= budget, "queued bytes exceeded budget: " + maxObserved.get());
+        assertEquals(0, queue.usedBytes());
+    }
+
+    private static final class PayloadTask implements Runnable, SizeAwareTask {
+        private final byte[] payload;
+        private final AtomicInteger counter;
+
+        PayloadTask(int size) {
+            this(size, null);
+        }
+
+        PayloadTask(int size, AtomicInteger counter) {
+            this.payload = new byte[size];
+            this.counter = counter;
+        }
+
+        @Override
+        public long estimatedSize() {
+            return payload.length;
+        }
+
+        @Override
+        public void run() {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            if (counter != null) {
+                counter.incrementAndGet();
+            }
+        }
+    }
+}
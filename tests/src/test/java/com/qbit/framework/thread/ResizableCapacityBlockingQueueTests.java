@@ -0,0 +1,150 @@
+package com.qbit.framework.thread;
+
+import com.qbit.framework.core.toolkits.thread.ResizableCapacityBlockingQueue;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResizableCapacityBlockingQueueTests {
+
+    @Test
+    void boundedOperations() {
+        ResizableCapacityBlockingQueue<Integer> queue = new ResizableCapacityBlockingQueue<>(3);
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+        assertTrue(queue.offer(3));
+        assertFalse(queue.offer(4));
+        assertEquals(0, queue.remainingCapacity());
+
+        assertTrue(queue.remove(2));
+        assertEquals(List.of(1, 3), new ArrayList<>(queue));
+        Iterator<Integer> it = queue.iterator();
+        it.next();
+        it.remove();
+        assertEquals(Integer.valueOf(3), queue.peek());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(1, queue.drainTo(drained));
+        assertEquals(List.of(3), drained);
+        assertNull(queue.poll());
+        assertEquals(3, queue.remainingCapacity());
+    }
+
+    @Test
+    void shrinkAndGrowWhileProducersAreBlocked() throws Exception {
+        ResizableCapacityBlockingQueue<Integer> queue = new ResizableCapacityBlockingQueue<>(2);
+        queue.put(0);
+        queue.put(1);
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int value = 10 + i;
+            Thread producer = new Thread(() -> {
+                try {
+                    queue.put(value);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        awaitWaiting(producers);
+
+        // 缩容不丢弃已排队元素，长度降到新容量以下前继续阻塞生产者
+        queue.setCapacity(1);
+        assertEquals(2, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals(Integer.valueOf(0), queue.poll());
+        awaitWaiting(producers);
+        assertEquals(1, queue.size());
+
+        // 扩容立即放行所有等待的生产者
+        queue.setCapacity(4);
+        for (Thread producer : producers) {
+            producer.join(5000);
+            assertFalse(producer.isAlive());
+        }
+        assertEquals(4, queue.size());
+        assertEquals(4, queue.getCapacity());
+        assertFalse(queue.offer(99));
+
+        // 缩容后每次出队都重新判断，降到容量以下时才接受新元素
+        queue.setCapacity(2);
+        queue.poll();
+        assertFalse(queue.offer(99));
+        queue.poll();
+        queue.poll();
+        assertTrue(queue.offer(99));
+    }
+
+    @Test
+    void concurrentTransferWithResizingLosesNothing() throws Exception {
+        ResizableCapacityBlockingQueue<Long> queue = new ResizableCapacityBlockingQueue<>(16);
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 50_000;
+        AtomicLong consumedSum = new AtomicLong();
+        AtomicLong consumedCount = new AtomicLong();
+        AtomicBoolean resizing = new AtomicBoolean(true);
+
+        ExecutorService pool = Executors.newFixedThreadPool(producers + consumers + 1);
+        pool.execute(() -> {
+            int[] capacities = {1, 64, 4, 256, 16};
+            int i = 0;
+            while (resizing.get()) {
+                queue.setCapacity(capacities[i++ % capacities.length]);
+                Thread.yield();
+            }
+        });
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            futures.add(pool.submit(() -> {
+                for (long i = 1; i <= perProducer; i++) {
+                    queue.put(base + i);
+                }
+                return null;
+            }));
+        }
+        long total = (long) producers * perProducer;
+        for (int c = 0; c < consumers; c++) {
+            futures.add(pool.submit(() -> {
+                while (consumedCount.get() < total) {
+                    Long value = queue.poll(10, TimeUnit.MILLISECONDS);
+                    if (value != null) {
+                        consumedSum.addAndGet(value);
+                        consumedCount.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        resizing.set(false);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(total, consumedCount.get());
+        assertEquals(total * (total + 1) / 2, consumedSum.get());
+        assertEquals(0, queue.size());
+    }
+
+    private static void awaitWaiting(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.WAITING) {
+                assertTrue(System.nanoTime() < deadline, "producer did not block: " + thread.getState());
+                Thread.sleep(5);
+            }
+        }
+    }
+}
@@ -0,0 +1,592 @@
+package com.qbit.framework.transaction;
+
+import com.qbit.framework.core.toolkits.transaction.LockMetrics;
+import com.qbit.framework.core.toolkits.transaction.LockPrefixStats;
+import com.qbit.framework.core.toolkits.transaction.LockTransactionUtil;
+import com.qbit.framework.core.toolkits.transaction.dispatch.FileCallbackOutbox;
+import com.qbit.framework.core.toolkits.transaction.dispatch.OutboxEntry;
+import com.qbit.framework.core.toolkits.transaction.dispatch.PostCommitDispatcher;
+import org.junit.jupiter.api.Test;
+import org.redisson.RedissonReadLock;
+import org.redisson.api.RFuture;
+import org.redisson.api.RLock;
+import org.slf4j.MDC;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LockTransactionUtilTests {
+
+    private static final int THREADS = 64;
+    private static final int ACQUISITIONS_PER_THREAD = 20;
+
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(new NoopTransactionManager());
+
+    @Test
+    void localLockCollapsesContentionToOneRedisCallPerAcquisition() throws Exception {
+        FakeRedisLock redis = new FakeRedisLock("inventory:1");
+        double callsPerAcquisition = contend(redis, true);
+
+        assertEquals(1.0, callsPerAcquisition, 0.01);
+        assertEquals(1, redis.maxConcurrentHolders.get());
+    }
+
+    @Test
+    void redisOnlyContentionCostsMoreCallsPerAcquisition() throws Exception {
+        double withLocal = contend(new FakeRedisLock("inventory:2"), true);
+        double redisOnly = contend(new FakeRedisLock("inventory:3"), false);
+
+        assertEquals(1.0, withLocal, 0.01);
+        assertTrue(redisOnly > 1.5, "redis only: " + redisOnly + " calls per acquisition");
+    }
+
+    @Test
+    void waitTimeIsSharedBetweenLocalAndRedisTiers() throws Exception {
+        FakeRedisLock redis = new FakeRedisLock("inventory:4");
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> LockTransactionUtil.execute(redis.proxy(), transactionTemplate, () -> {
+            holding.countDown();
+            awaitQuietly(release);
+        }));
+        holder.start();
+        holding.await();
+
+        long start = System.nanoTime();
+        assertThrows(LockTransactionUtil.LockAcquireException.class, () -> LockTransactionUtil
+                .builder(redis.proxy(), transactionTemplate)
+                .waitTime(200)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .action(() -> null)
+                .execute());
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+        holder.join();
+
+        assertTrue(elapsed >= 190 && elapsed < 1000, "elapsed " + elapsed + " ms");
+    }
+
+    @Test
+    void readLocksStayConcurrentInLocalTier() throws Exception {
+        RedissonReadLock readLock = mock(RedissonReadLock.class);
+        when(readLock.getName()).thenReturn("catalog:1");
+        when(readLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+        when(readLock.isHeldByCurrentThread()).thenReturn(true);
+        int readers = 4;
+        // 本地层若把读锁当作独占锁，读者无法同时进入临界区，屏障会超时
+        CyclicBarrier allInside = new CyclicBarrier(readers);
+        ExecutorService pool = Executors.newFixedThreadPool(readers);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < readers; i++) {
+            futures.add(pool.submit(() -> LockTransactionUtil.<Integer>builder(readLock, transactionTemplate)
+                    .waitTime(5)
+                    .action(() -> awaitBarrier(allInside))
+                    .execute()));
+        }
+        for (Future<Integer> future : futures) {
+            assertNotNull(future.get(10, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        verify(readLock, times(readers)).unlock();
+    }
+
+    @Test
+    void multiKeyAcquisitionIsDeadlockFreeUnderRandomKeySets() throws Exception {
+        for (boolean localLock : new boolean[]{true, false}) {
+            Map<String, FakeRedisLock> redis = new HashMap<>();
+            for (int k = 0; k < 8; k++) {
+                redis.put("account:" + k, new FakeRedisLock("account:" + k));
+            }
+            List<String> keys = new ArrayList<>(redis.keySet());
+            ExecutorService pool = Executors.newFixedThreadPool(32);
+            AtomicInteger completed = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            for (int t = 0; t < 32; t++) {
+                pool.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 100; i++) {
+                        List<String> picked = new ArrayList<>(keys);
+                        Collections.shuffle(picked, random);
+                        List<RLock> locks = picked.subList(0, 2 + random.nextInt(3)).stream()
+                                .map(name -> redis.get(name).proxy())
+                                .toList();
+                        try {
+                            LockTransactionUtil.builder(locks, transactionTemplate)
+                                    .waitTime(30)
+                                    .localLock(localLock)
+                                    .action(() -> {
+                                        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                                        return completed.incrementAndGet();
+                                    })
+                                    .execute();
+                        } catch (LockTransactionUtil.LockAcquireException e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS), "multi-key acquisition deadlocked");
+            assertEquals(0, failed.get());
+            assertEquals(3200, completed.get());
+            for (FakeRedisLock lock : redis.values()) {
+                assertEquals(1, lock.maxConcurrentHolders.get());
+                assertEquals(0, lock.owner.get());
+            }
+        }
+    }
+
+    @Test
+    void partialMultiKeyFailureRollsBackAndReportsKeys() throws Exception {
+        FakeRedisLock a = new FakeRedisLock("transfer:a");
+        FakeRedisLock b = new FakeRedisLock("transfer:b");
+        FakeRedisLock c = new FakeRedisLock("transfer:c");
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> LockTransactionUtil.execute(b.proxy(), transactionTemplate, () -> {
+            holding.countDown();
+            awaitQuietly(release);
+        }));
+        holder.start();
+        holding.await();
+
+        LockTransactionUtil.LockAcquireException e = assertThrows(LockTransactionUtil.LockAcquireException.class,
+                () -> LockTransactionUtil.builder(List.of(c.proxy(), b.proxy(), a.proxy()), transactionTemplate)
+                        .waitTime(100)
+                        .timeUnit(TimeUnit.MILLISECONDS)
+                        // 跳过本地锁，模拟 b 被其他 JVM 持有
+                        .localLock(false)
+                        .action(() -> null)
+                        .execute());
+        release.countDown();
+        holder.join();
+
+        assertTrue(e.getMessage().contains("transfer:b"), e.getMessage());
+        assertTrue(e.getMessage().contains("1/3"), e.getMessage());
+        assertEquals(List.of("transfer:a", "transfer:b", "transfer:c"), e.getLockNames());
+        assertEquals(0, a.owner.get());
+        assertEquals(0, c.tryLockCalls.get());
+    }
+
+    @Test
+    void timeoutReportsHolderAndIsCountedPerPrefix() throws Exception {
+        FakeRedisLock redis = new FakeRedisLock("coupon:42");
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> LockTransactionUtil.execute(redis.proxy(), transactionTemplate, () -> {
+            holding.countDown();
+            awaitQuietly(release);
+        }), "coupon-holder");
+        holder.start();
+        holding.await();
+
+        assertTrue(LockMetrics.heldLocks().stream().anyMatch(h -> h.getName().equals("coupon:42")));
+        LockTransactionUtil.LockAcquireException e = assertThrows(LockTransactionUtil.LockAcquireException.class,
+                () -> LockTransactionUtil.builder(redis.proxy(), transactionTemplate)
+                        .waitTime(50)
+                        .timeUnit(TimeUnit.MILLISECONDS)
+                        .action(() -> null)
+                        .execute());
+        release.countDown();
+        holder.join();
+
+        assertTrue(e.getMessage().contains("held by") && e.getMessage().contains("coupon-holder"), e.getMessage());
+        LockPrefixStats stats = LockMetrics.prefixStats().stream()
+                .filter(p -> p.getPrefix().equals("coupon"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, stats.getAcquisitions());
+        assertEquals(1, stats.getTimeouts());
+        assertTrue(LockMetrics.heldLocks().stream().noneMatch(h -> h.getName().equals("coupon:42")));
+    }
+
+    @Test
+    void prefixCapHoldsUnderConcurrentRegistration() throws Exception {
+        int registered = (int) LockMetrics.prefixStats().stream()
+                .filter(p -> !p.getPrefix().equals(LockMetrics.OVERFLOW_PREFIX))
+                .count();
+        int cap = registered + 10;
+        LockMetrics.setMaxPrefixes(cap);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            CyclicBarrier start = new CyclicBarrier(8);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(callers.submit(() -> {
+                    awaitBarrier(start);
+                    for (int i = 0; i < 50; i++) {
+                        LockMetrics.prefixOf("cap-" + thread + "-" + i + ":1");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+
+            List<String> prefixes = LockMetrics.prefixStats().stream().map(LockPrefixStats::getPrefix).toList();
+            assertEquals(cap, prefixes.stream().filter(p -> !p.equals(LockMetrics.OVERFLOW_PREFIX)).count());
+            assertTrue(prefixes.contains(LockMetrics.OVERFLOW_PREFIX));
+            assertEquals(LockMetrics.OVERFLOW_PREFIX, LockMetrics.prefixOf("cap-new:1"));
+        } finally {
+            callers.shutdownNow();
+            LockMetrics.setMaxPrefixes(200);
+        }
+    }
+
+    @Test
+    void blockingAndAsyncModesUnderContention() throws Exception {
+        int operations = 400;
+
+        // 阻塞模式：16 个请求线程各自等锁
+        FakeRedisLock blockingRedis = new FakeRedisLock("order:blocking");
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        AtomicInteger blockingDone = new AtomicInteger();
+        for (int i = 0; i < operations; i++) {
+            callers.execute(() -> LockTransactionUtil.builder(blockingRedis.proxy(), transactionTemplate)
+                    .localLock(false)
+                    .action(() -> {
+                        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+                        return blockingDone.incrementAndGet();
+                    })
+                    .execute());
+        }
+        callers.shutdown();
+        assertTrue(callers.awaitTermination(60, TimeUnit.SECONDS));
+
+        // 异步模式：单个调用线程提交全部请求，等锁期间不占用任何线程
+        FakeRedisLock asyncRedis = new FakeRedisLock("order:async");
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        AtomicInteger asyncDone = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(operations);
+        long asyncStart = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            futures.add(LockTransactionUtil.<Integer>builder(asyncRedis.proxy(), transactionTemplate)
+                    .action(() -> {
+                        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+                        return asyncDone.incrementAndGet();
+                    })
+                    .executeAsync(workers));
+        }
+        long submitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - asyncStart);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+        long asyncMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - asyncStart);
+        workers.shutdown();
+
+        assertEquals(operations, blockingDone.get());
+        assertEquals(1, blockingRedis.maxConcurrentHolders.get());
+        assertEquals(0, blockingRedis.owner.get());
+        assertEquals(operations, asyncDone.get());
+        assertEquals(1, asyncRedis.maxConcurrentHolders.get());
+        assertEquals(0, asyncRedis.ownerMismatches.get());
+        assertEquals(0, asyncRedis.owner.get());
+        assertTrue(submitMillis < asyncMillis, "submission should not wait for locks");
+    }
+
+    @Test
+    void asyncTimeoutCompletesExceptionallyAndReleasesNothingItDidNotHold() throws Exception {
+        FakeRedisLock redis = new FakeRedisLock("invoice:7");
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> LockTransactionUtil.execute(redis.proxy(), transactionTemplate, () -> {
+            holding.countDown();
+            awaitQuietly(release);
+        }));
+        holder.start();
+        holding.await();
+
+        ExecutorService workers = Executors.newSingleThreadExecutor();
+        AtomicInteger ran = new AtomicInteger();
+        CompletableFuture<Integer> future = LockTransactionUtil.<Integer>builder(redis.proxy(), transactionTemplate)
+                .waitTime(80)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .action(ran::incrementAndGet)
+                .executeAsync(workers);
+        assertFalse(future.isDone());
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(LockTransactionUtil.LockAcquireException.class, e.getCause());
+        assertNotEquals(0, redis.owner.get());
+        release.countDown();
+        holder.join();
+        workers.shutdown();
+
+        assertEquals(0, ran.get());
+        assertEquals(0, redis.owner.get());
+        assertEquals(0, redis.ownerMismatches.get());
+    }
+
+    @Test
+    void asyncCriticalSectionRunsWithCallerMdc() throws Exception {
+        FakeRedisLock redis = new FakeRedisLock("invoice:8");
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> LockTransactionUtil.execute(redis.proxy(), transactionTemplate, () -> {
+            holding.countDown();
+            awaitQuietly(release);
+        }));
+        holder.start();
+        holding.await();
+
+        // 锁被占用，加锁在模拟 Redis 的重试线程上完成，该线程没有 MDC
+        ExecutorService workers = Executors.newSingleThreadExecutor();
+        CompletableFuture<Map<String, String>> future;
+        MDC.put("X-TraceId", "trace-async");
+        MDC.put("tenant", "t-1");
+        try {
+            future = LockTransactionUtil.<Map<String, String>>builder(redis.proxy(), transactionTemplate)
+                    .action(MDC::getCopyOfContextMap)
+                    .executeAsync(workers);
+        } finally {
+            MDC.clear();
+        }
+        release.countDown();
+        holder.join();
+
+        try {
+            assertEquals(Map.of("X-TraceId", "trace-async", "tenant", "t-1"), future.get(5, TimeUnit.SECONDS));
+            Map<String, String> afterwards = workers.submit(MDC::getCopyOfContextMap).get(5, TimeUnit.SECONDS);
+            assertTrue(afterwards == null || afterwards.isEmpty(), "worker MDC leaked: " + afterwards);
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    @Test
+    void typedCallbacksAreDispatchedAsPersistableEntries() throws Exception {
+        FileCallbackOutbox outbox = new FileCallbackOutbox(Files.createTempDirectory("lock-callback-outbox"));
+        PostCommitDispatcher dispatcher = PostCommitDispatcher.builder()
+                .name("lock-typed-callbacks")
+                .threads(1)
+                .maxAttempts(1)
+                .outbox(outbox)
+                .build();
+        dispatcher.registerHandler("order.created", payload -> {
+            throw new IllegalStateException("endpoint down");
+        });
+        dispatcher.registerHandler("order.failed", payload -> {
+            throw new IllegalStateException("endpoint down");
+        });
+        FakeRedisLock redis = new FakeRedisLock("order:7");
+
+        LockTransactionUtil.<Integer>builder(redis.proxy(), transactionTemplate)
+                .dispatcher(dispatcher)
+                .afterCommitDispatch("order.created", id -> "order-" + id)
+                .action(() -> 7)
+                .execute();
+        assertThrows(IllegalArgumentException.class, () -> LockTransactionUtil.<Integer>builder(redis.proxy(), transactionTemplate)
+                .dispatcher(dispatcher)
+                .afterRollbackDispatch("order.failed", "order-8")
+                .action(() -> {
+                    throw new IllegalArgumentException("invalid order");
+                })
+                .execute());
+        assertEquals(0, dispatcher.shutdown(Duration.ofSeconds(5)));
+
+        // 处理失败的类型回调写入发件箱，可在重启后重放
+        List<OutboxEntry> saved = outbox.load(10);
+        assertEquals(List.of("order-7", "order-8"), saved.stream().map(OutboxEntry::getPayload).toList());
+        assertEquals(List.of("order.created", "order.failed"), saved.stream().map(OutboxEntry::getType).toList());
+        assertEquals("order:7", saved.get(0).getKey());
+        assertEquals(0, redis.owner.get());
+
+        assertThrows(IllegalStateException.class, () -> LockTransactionUtil.<Integer>builder(redis.proxy(), transactionTemplate)
+                .afterCommitDispatch("order.created", String::valueOf)
+                .action(() -> 1)
+                .execute());
+    }
+
+    private double contend(FakeRedisLock redis, boolean localLock) throws Exception {
+        RLock lock = redis.proxy();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger acquisitions = new AtomicInteger();
+        for (int t = 0; t < THREADS; t++) {
+            pool.execute(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < ACQUISITIONS_PER_THREAD; i++) {
+                    LockTransactionUtil.builder(lock, transactionTemplate)
+                            .waitTime(60)
+                            .localLock(localLock)
+                            .action(() -> {
+                                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+                                return acquisitions.incrementAndGet();
+                            })
+                            .execute();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(120, TimeUnit.SECONDS));
+        assertEquals(THREADS * ACQUISITIONS_PER_THREAD, acquisitions.get());
+        return (double) redis.tryLockCalls.get() / acquisitions.get();
+    }
+
+    private static int awaitBarrier(CyclicBarrier barrier) {
+        try {
+            return barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("barrier not reached, parties were serialized", e);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 模拟 Redisson 锁：每次加锁尝试计为一次 Redis 调用，未抢到时按 1ms 间隔重试（模拟 pub/sub 唤醒后重试）
+     * <p>异步方法以调用方传入的拥有者 ID 加解锁，拥有者不匹配的解锁计入 ownerMismatches 并失败
+     */
+    private static final class FakeRedisLock {
+        private static final ScheduledExecutorService RETRY = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "fake-redis-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private final String name;
+        private final AtomicLong owner = new AtomicLong();
+        private final AtomicInteger ownerMismatches = new AtomicInteger();
+        private final AtomicLong tryLockCalls = new AtomicLong();
+        private final AtomicInteger holders = new AtomicInteger();
+        private final AtomicInteger maxConcurrentHolders = new AtomicInteger();
+        private RLock proxy;
+
+        FakeRedisLock(String name) {
+            this.name = name;
+        }
+
+        synchronized RLock proxy() {
+            if (proxy == null) {
+                proxy = (RLock) Proxy.newProxyInstance(RLock.class.getClassLoader(), new Class<?>[]{RLock.class},
+                        (p, method, args) -> switch (method.getName()) {
+                            case "getName" -> name;
+                            case "tryLock" -> tryLock((Long) args[0], (TimeUnit) args[2]);
+                            case "tryLockAsync" -> rFuture(tryLockAsync((Long) args[0], (TimeUnit) args[2],
+                                    (Long) args[3]));
+                            case "unlockAsync" -> rFuture(unlockAsync((Long) args[0]));
+                            case "isHeldByCurrentThread" -> owner.get() == Thread.currentThread().getId();
+                            case "unlock" -> {
+                                holders.decrementAndGet();
+                                owner.set(0);
+                                yield null;
+                            }
+                            case "hashCode" -> System.identityHashCode(p);
+                            case "equals" -> p == args[0];
+                            case "toString" -> "FakeRedisLock(" + name + ")";
+                            default -> throw new UnsupportedOperationException(method.getName());
+                        });
+            }
+            return proxy;
+        }
+
+        private boolean tryLock(long waitTime, TimeUnit unit) {
+            long deadline = System.nanoTime() + unit.toNanos(Math.max(waitTime, 0));
+            long self = Thread.currentThread().getId();
+            while (true) {
+                tryLockCalls.incrementAndGet();
+                if (owner.compareAndSet(0, self)) {
+                    maxConcurrentHolders.accumulateAndGet(holders.incrementAndGet(), Math::max);
+                    return true;
+                }
+                if (System.nanoTime() >= deadline) {
+                    return false;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+
+        private CompletableFuture<Boolean> tryLockAsync(long waitTime, TimeUnit unit, long ownerId) {
+            CompletableFuture<Boolean> result = new CompletableFuture<>();
+            attemptAsync(System.nanoTime() + unit.toNanos(Math.max(waitTime, 0)), ownerId, result);
+            return result;
+        }
+
+        private void attemptAsync(long deadline, long ownerId, CompletableFuture<Boolean> result) {
+            tryLockCalls.incrementAndGet();
+            if (owner.compareAndSet(0, ownerId)) {
+                maxConcurrentHolders.accumulateAndGet(holders.incrementAndGet(), Math::max);
+                result.complete(true);
+            } else if (System.nanoTime() >= deadline) {
+                result.complete(false);
+            } else {
+                RETRY.schedule(() -> attemptAsync(deadline, ownerId, result), 1, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private CompletableFuture<Void> unlockAsync(long ownerId) {
+            if (owner.get() != ownerId) {
+                ownerMismatches.incrementAndGet();
+                return CompletableFuture.failedFuture(new IllegalMonitorStateException(
+                        "attempt to unlock lock, not locked by current thread by node id: " + ownerId));
+            }
+            holders.decrementAndGet();
+            owner.set(0);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        /**
+         * 以 CompletableFuture 实现 RFuture
+         */
+        @SuppressWarnings("unchecked")
+        private static <V> RFuture<V> rFuture(CompletableFuture<V> future) {
+            return (RFuture<V>) Proxy.newProxyInstance(RFuture.class.getClassLoader(), new Class<?>[]{RFuture.class},
+                    (p, method, args) -> {
+                        Method target = CompletableFuture.class.getMethod(method.getName(), method.getParameterTypes());
+                        return target.invoke(future, args);
+                    });
+        }
+    }
+
+    private static final class NoopTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.qbit.framework.transaction;
+
+import com.qbit.framework.core.toolkits.transaction.dispatch.FileCallbackOutbox;
+import com.qbit.framework.core.toolkits.transaction.dispatch.OutboxEntry;
+import com.qbit.framework.core.toolkits.transaction.dispatch.PostCommitDispatcher;
+import com.qbit.framework.core.toolkits.tracing.context.MdcTraceContext;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.qbit.framework.core.toolkits.constants.WebConstants.TRACE_ID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostCommitDispatcherTests {
+
+    @Test
+    void callbacksForTheSameKeyRunInSubmissionOrderDespiteRetries() throws Exception {
+        PostCommitDispatcher dispatcher = PostCommitDispatcher.builder()
+                .name("ordering-test")
+                .threads(8)
+                .maxAttempts(3)
+                .initialBackoff(Duration.ofMillis(5))
+                .build();
+        int keys = 8;
+        int perKey = 100;
+        Map<String, List<Integer>> executed = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> failuresLeft = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(keys * perKey);
+
+        // 每个键由单独线程按顺序提交，不同键并发提交
+        ExecutorService producers = Executors.newFixedThreadPool(keys);
+        for (int k = 0; k < keys; k++) {
+            String key = "order:" + k;
+            executed.put(key, Collections.synchronizedList(new ArrayList<>()));
+            producers.execute(() -> {
+                for (int i = 0; i < perKey; i++) {
+                    int sequence = i;
+                    // 约 1/10 的回调第一次执行失败
+                    AtomicInteger failures = new AtomicInteger(ThreadLocalRandom.current().nextInt(10) == 0 ? 1 : 0);
+                    failuresLeft.put(key + "#" + i, failures);
+                    dispatcher.dispatch(key, () -> {
+                        if (failures.getAndDecrement() > 0) {
+                            throw new IllegalStateException("transient");
+                        }
+                        executed.get(key).add(sequence);
+                        done.countDown();
+                    });
+                }
+            });
+        }
+        producers.shutdown();
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        for (List<Integer> sequence : executed.values()) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < perKey; i++) {
+                expected.add(i);
+            }
+            assertEquals(expected, sequence);
+        }
+        assertEquals(0, dispatcher.failedCount());
+        assertEquals(0, dispatcher.shutdown(Duration.ofSeconds(5)));
+        assertEquals(0, dispatcher.pendingCount());
+    }
+
+    @Test
+    void exhaustedTypedCallbackGoesToOutboxAndReplays() throws Exception {
+        FileCallbackOutbox outbox = new FileCallbackOutbox(Files.createTempDirectory("post-commit-outbox"));
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        List<String> traces = new CopyOnWriteArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        PostCommitDispatcher failing = PostCommitDispatcher.builder()
+                .name("outbox-test")
+                .threads(2)
+                .maxAttempts(2)
+                .initialBackoff(Duration.ofMillis(5))
+                .outbox(outbox)
+                .build();
+        failing.registerHandler("order.webhook", payload -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("endpoint down");
+        });
+        try (MdcTraceContext ignored = MdcTraceContext.put(TRACE_ID, "trace-42")) {
+            failing.dispatch("order:1", "order.webhook", "{\"id\":1}");
+        }
+        assertEquals(0, failing.shutdown(Duration.ofSeconds(5)));
+
+        assertEquals(2, attempts.get());
+        List<OutboxEntry> saved = outbox.load(10);
+        assertEquals(1, saved.size());
+        assertEquals("order:1", saved.get(0).getKey());
+        assertEquals("{\"id\":1}", saved.get(0).getPayload());
+        assertEquals(2, saved.get(0).getAttempts());
+        assertTrue(saved.get(0).getLastError().contains("endpoint down"));
+
+        // 重启后重放：恢复原链路 ID，成功后从发件箱删除
+        PostCommitDispatcher recovered = PostCommitDispatcher.builder()
+                .name("outbox-replay-test")
+                .threads(2)
+                .outbox(outbox)
+                .build();
+        CountDownLatch replayed = new CountDownLatch(1);
+        recovered.registerHandler("order.webhook", payload -> {
+            delivered.add(payload);
+            traces.add(String.valueOf(MDC.get(TRACE_ID)));
+            replayed.countDown();
+        });
+        assertEquals(1, recovered.replayOutbox(10));
+        assertTrue(replayed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, recovered.shutdown(Duration.ofSeconds(5)));
+
+        assertEquals(List.of("{\"id\":1}"), delivered);
+        assertEquals(List.of("trace-42"), traces);
+        assertTrue(outbox.load(10).isEmpty());
+    }
+
+    @Test
+    void saturatedRunnableQueuesBehindItsKeyInsteadOfOvertaking() throws Exception {
+        PostCommitDispatcher dispatcher = PostCommitDispatcher.builder()
+                .name("saturation-order-test")
+                .threads(1)
+                .maxPending(1)
+                .build();
+        List<String> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        dispatcher.dispatch("order:1", () -> {
+            running.countDown();
+            awaitQuietly(release);
+            executed.add("first");
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        // 已饱和：同键回调排在队列后面，其他键在调用线程同步执行
+        dispatcher.dispatch("order:1", () -> executed.add("second"));
+        dispatcher.dispatch("order:2", () -> executed.add("other-key"));
+        assertEquals(List.of("other-key"), executed);
+        assertEquals(2, dispatcher.pendingCount());
+
+        release.countDown();
+        assertEquals(0, dispatcher.shutdown(Duration.ofSeconds(5)));
+        assertEquals(List.of("other-key", "first", "second"), executed);
+        assertEquals(2, dispatcher.overflowedCount());
+        assertEquals(0, dispatcher.pendingCount());
+    }
+
+    @Test
+    void saturatedTypedCallbacksForAKeyFollowEachOtherIntoTheOutbox() throws Exception {
+        FileCallbackOutbox outbox = new FileCallbackOutbox(Files.createTempDirectory("post-commit-saturated"));
+        PostCommitDispatcher dispatcher = PostCommitDispatcher.builder()
+                .name("saturation-outbox-test")
+                .threads(1)
+                .maxPending(1)
+                .outbox(outbox)
+                .build();
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        dispatcher.registerHandler("order.webhook", delivered::add);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.dispatch("other", () -> awaitQuietly(release));
+
+        dispatcher.dispatch("order:1", "order.webhook", "1");
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dispatcher.pendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        // 有空闲容量，但该键已有回调在发件箱中，后续回调跟随写入，不能抢先执行
+        dispatcher.dispatch("order:1", "order.webhook", "2");
+        assertEquals(0, dispatcher.shutdown(Duration.ofSeconds(5)));
+        assertTrue(delivered.isEmpty());
+        assertEquals(List.of("1", "2"), outbox.load(10).stream().map(OutboxEntry::getPayload).toList());
+
+        PostCommitDispatcher recovered = PostCommitDispatcher.builder()
+                .name("saturation-replay-test")
+                .threads(2)
+                .outbox(outbox)
+                .build();
+        CountDownLatch replayed = new CountDownLatch(2);
+        recovered.registerHandler("order.webhook", payload -> {
+            delivered.add(payload);
+            replayed.countDown();
+        });
+        assertEquals(2, recovered.replayOutbox(10));
+        assertTrue(replayed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, recovered.shutdown(Duration.ofSeconds(5)));
+        assertEquals(List.of("1", "2"), delivered);
+        assertTrue(outbox.load(10).isEmpty());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.qbit.framework.transaction;
+
+import com.qbit.framework.core.toolkits.exception.SystemException;
+import com.qbit.framework.core.toolkits.transaction.batch.FlushOrdering;
+import com.qbit.framework.core.toolkits.transaction.batch.TransactionalBatchWriter;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionalBatchWriterTests {
+
+    private static final int ROWS = 1000;
+
+    private final AtomicLong roundTrips = new AtomicLong();
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:batch-writer-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource = countingRoundTrips(h2);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, status VARCHAR(16))");
+        jdbcTemplate.execute("CREATE TABLE order_item (id BIGINT PRIMARY KEY, order_id BIGINT NOT NULL "
+                + "REFERENCES orders (id), sku VARCHAR(32))");
+        roundTrips.set(0);
+    }
+
+    @Test
+    void batchingSavesRoundTrips() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                jdbcTemplate.update("INSERT INTO orders (id, status) VALUES (?, ?)", i, "NEW");
+            }
+        });
+        long singleRow = roundTrips.getAndSet(0);
+
+        TransactionalBatchWriter writer = TransactionalBatchWriter.builder(dataSource).batchSize(200).build();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = ROWS; i < 2 * ROWS; i++) {
+                writer.write("INSERT INTO orders (id, status) VALUES (?, ?)", i, "NEW");
+            }
+            assertEquals(ROWS, writer.pendingCount());
+        });
+        long batched = roundTrips.get();
+
+        assertEquals(ROWS, singleRow);
+        assertEquals(ROWS / 200, batched);
+        assertTrue(singleRow >= 200 * batched, singleRow + " single-row vs " + batched + " batched round trips");
+        assertEquals(batched, writer.getRoundTrips());
+        assertEquals(2 * ROWS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class));
+    }
+
+    @Test
+    void strictOrderingKeepsDependentWritesInOrder() {
+        TransactionalBatchWriter writer = TransactionalBatchWriter.builder(dataSource)
+                .ordering(FlushOrdering.STRICT)
+                .build();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int order = 0; order < 10; order++) {
+                writer.write("INSERT INTO orders (id, status) VALUES (?, ?)", order, "NEW");
+                for (int item = 0; item < 5; item++) {
+                    writer.write("INSERT INTO order_item (id, order_id, sku) VALUES (?, ?, ?)",
+                            order * 10 + item, order, "sku-" + item);
+                }
+                writer.write("UPDATE orders SET status = ? WHERE id = ?", "CREATED", order);
+            }
+        });
+
+        assertEquals(50, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_item", Integer.class));
+        assertEquals(10, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE status = 'CREATED'", Integer.class));
+        assertEquals(30, writer.getRoundTrips());
+    }
+
+    @Test
+    void groupedOrderingUsesOneBatchPerStatement() {
+        TransactionalBatchWriter writer = TransactionalBatchWriter.builder(dataSource)
+                .ordering(FlushOrdering.GROUPED)
+                .build();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int order = 0; order < 10; order++) {
+                writer.write("INSERT INTO orders (id, status) VALUES (?, ?)", order, "NEW");
+                for (int item = 0; item < 5; item++) {
+                    writer.write("INSERT INTO order_item (id, order_id, sku) VALUES (?, ?, ?)",
+                            order * 10 + item, order, "sku-" + item);
+                }
+            }
+        });
+
+        assertEquals(2, writer.getRoundTrips());
+        assertEquals(50, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_item", Integer.class));
+    }
+
+    @Test
+    void rollbackDiscardsBufferedWritesAndFlushFailureRollsBack() {
+        TransactionalBatchWriter writer = TransactionalBatchWriter.builder(dataSource).build();
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            writer.write("INSERT INTO orders (id, status) VALUES (?, ?)", 1, "NEW");
+            throw new IllegalStateException("business failure");
+        }));
+        assertEquals(0, roundTrips.get());
+
+        // 提交前刷出失败（外键不存在）时整个事务回滚
+        assertThrows(SystemException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            writer.write("INSERT INTO orders (id, status) VALUES (?, ?)", 2, "NEW");
+            writer.write("INSERT INTO order_item (id, order_id, sku) VALUES (?, ?, ?)", 1, 404, "missing");
+        }));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class));
+        assertThrows(IllegalStateException.class, () -> writer.write("INSERT INTO orders (id) VALUES (?)", 3));
+    }
+
+    /**
+     * 包装数据源，每次 executeUpdate/executeBatch 计为一次数据库往返
+     */
+    private DataSource countingRoundTrips(DataSource target) {
+        return proxy(DataSource.class, target, (method, result) -> result instanceof Connection connection
+                ? proxy(Connection.class, connection, (m, r) -> r instanceof PreparedStatement statement
+                ? proxy(PreparedStatement.class, statement, (m2, r2) -> {
+                    if (m2.equals("executeUpdate") || m2.equals("executeBatch")) {
+                        roundTrips.incrementAndGet();
+                    }
+                    return r2;
+                })
+                : r)
+                : result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultMapper mapper) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+            try {
+                return mapper.map(method.getName(), method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface ResultMapper {
+        Object map(String method, Object result);
+    }
+}
@@ -0,0 +1,127 @@
+package com.qbit.framework.web;
+
+import com.qbit.framework.core.web.filter.content.CachedBodyHttpServletRequest;
+import com.qbit.framework.core.web.filter.content.ContentCachingRequestFilter;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentCachingRequestFilterTests {
+
+    private static final int LARGE = 64 * 1024 * 1024;
+    private static final int CACHE_LIMIT = 64 * 1024;
+    private static final long MAX_RETAINED = 8L * 1024 * 1024;
+
+    @Test
+    void largeUploadIsStreamedWithoutCopyingWholeBody() throws Exception {
+        byte[] body = pattern(LARGE);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/import");
+        request.setContentType("application/json");
+        request.setContent(body);
+        long baseline = usedHeapAfterGc();
+        AtomicLong retained = new AtomicLong();
+        AtomicLong streamed = new AtomicLong();
+        CRC32 crc = new CRC32();
+
+        new ContentCachingRequestFilter(CACHE_LIMIT).doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            CachedBodyHttpServletRequest cached = (CachedBodyHttpServletRequest) req;
+            // 日志、验签在业务之前读取前缀
+            String prefix = cached.getContentAsString();
+            assertEquals(CACHE_LIMIT, prefix.length());
+            assertEquals(new String(body, 0, CACHE_LIMIT, StandardCharsets.UTF_8), prefix);
+            assertTrue(cached.isContentTruncated());
+
+            // 业务按流读到完整请求体
+            byte[] buffer = new byte[8192];
+            try (InputStream in = cached.getInputStream()) {
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    crc.update(buffer, 0, n);
+                    if (streamed.addAndGet(n) >= LARGE / 2 && retained.get() == 0) {
+                        retained.set(usedHeapAfterGc() - baseline);
+                    }
+                }
+            }
+            // 超出缓存的部分只能读一次
+            assertThrows(IOException.class, () -> cached.getInputStream().readAllBytes());
+        });
+
+        assertEquals(LARGE, streamed.get());
+        CRC32 expected = new CRC32();
+        expected.update(body);
+        assertEquals(expected.getValue(), crc.getValue());
+        assertTrue(retained.get() < MAX_RETAINED, "retained " + retained.get() + " bytes while streaming");
+    }
+
+    @Test
+    void smallBodyIsRepeatableAndSupportsReadListener() throws Exception {
+        byte[] body = "{\"name\":\"张三\"}".getBytes(StandardCharsets.UTF_8);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users");
+        request.setContentType("application/json");
+        request.setCharacterEncoding("UTF-8");
+        request.setContent(body);
+
+        new ContentCachingRequestFilter(CACHE_LIMIT).doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            CachedBodyHttpServletRequest cached = (CachedBodyHttpServletRequest) req;
+            assertArrayEquals(body, cached.getInputStream().readAllBytes());
+            assertArrayEquals(body, cached.getInputStream().readAllBytes());
+            assertEquals("{\"name\":\"张三\"}", cached.getReader().readLine());
+            assertEquals("{\"name\":\"张三\"}", cached.getContentAsString());
+            assertFalse(cached.isContentTruncated());
+
+            ServletInputStream in = cached.getInputStream();
+            ByteArrayOutputStream received = new ByteArrayOutputStream();
+            AtomicBoolean allRead = new AtomicBoolean();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[4];
+                    while (in.isReady() && !in.isFinished()) {
+                        int n = in.read(buffer);
+                        if (n > 0) {
+                            received.write(buffer, 0, n);
+                        }
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+            assertTrue(allRead.get());
+            assertArrayEquals(body, received.toByteArray());
+        });
+    }
+
+    private static byte[] pattern(int size) {
+        byte[] body = new byte[size];
+        for (int i = 0; i < size; i++) {
+            body[i] = (byte) ('a' + i % 26);
+        }
+        return body;
+    }
+
+    private static long usedHeapAfterGc() {
+        ManagementFactory.getMemoryMXBean().gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}